@@ -61,6 +61,8 @@ extern NDRX_JAVA_API jlong JNICALL ndrxj_Java_org_endurox_AtmiCtx_tpnewctxt
         (JNIEnv *, jclass);
 extern NDRX_JAVA_API void JNICALL ndrxj_Java_org_endurox_AtmiCtx_tpfreectxt
         (JNIEnv *, jclass, jlong);
+extern NDRX_JAVA_API void JNICALL ndrxj_Java_org_endurox_AtmiCtx_setStacklessC
+        (JNIEnv *, jclass, jboolean);
 extern NDRX_JAVA_API jobject JNICALL ndrxj_Java_org_endurox_AtmiCtx_tpalloc
         (JNIEnv *, jobject, jstring, jstring, jlong);
 extern NDRX_JAVA_API void JNICALL ndrxj_Java_org_endurox_AtmiCtx_tpterm
@@ -125,6 +127,10 @@ extern NDRX_JAVA_API jobject JNICALL ndrxj_Java_org_endurox_AtmiCtx_tprecv
         (JNIEnv *, jobject, jint, jobject, jlong);
 extern NDRX_JAVA_API void JNICALL ndrxj_Java_org_endurox_AtmiCtx_tpdiscon
         (JNIEnv *, jobject, jint);
+extern NDRX_JAVA_API jobject JNICALL ndrxj_Java_org_endurox_AtmiCtx_tprecvReuseC
+        (JNIEnv *, jobject, jint, jobject, jlong, jlongArray);
+extern NDRX_JAVA_API jint JNICALL ndrxj_Java_org_endurox_AtmiCtx_tpsendArrC
+        (JNIEnv *, jobject, jint, jobjectArray, jlong, jlong, jlongArray);
 extern NDRX_JAVA_API void JNICALL ndrxj_Java_org_endurox_AtmiCtx_tpcancel
         (JNIEnv *, jobject, jint);
 extern NDRX_JAVA_API jobject JNICALL ndrxj_Java_org_endurox_AtmiCtx_Bboolco
@@ -133,11 +139,11 @@ extern NDRX_JAVA_API void JNICALL ndrxj_Java_org_endurox_AtmiCtx_Bboolpr
         (JNIEnv *, jobject, jobject, jobject);
 extern NDRX_JAVA_API void JNICALL ndrxj_Java_org_endurox_AtmiCtx_BboolsetcbfC
         (JNIEnv *, jobject, jstring);
-extern NDRX_JAVA_API jstring JNICALL ndrxj_Java_org_endurox_AtmiCtx_Btype
+extern NDRX_JAVA_API jstring JNICALL ndrxj_Java_org_endurox_AtmiCtx_BtypeC
         (JNIEnv *, jobject, jint);
-extern NDRX_JAVA_API jstring JNICALL ndrxj_Java_org_endurox_AtmiCtx_Bfname
+extern NDRX_JAVA_API jstring JNICALL ndrxj_Java_org_endurox_AtmiCtx_BfnameC
         (JNIEnv *, jobject, jint);
-extern NDRX_JAVA_API jint JNICALL ndrxj_Java_org_endurox_AtmiCtx_Bfldid
+extern NDRX_JAVA_API jint JNICALL ndrxj_Java_org_endurox_AtmiCtx_BfldidC
         (JNIEnv *, jobject, jstring);
 extern NDRX_JAVA_API jint JNICALL ndrxj_Java_org_endurox_AtmiCtx_tptoutget
         (JNIEnv *, jobject);
@@ -151,6 +157,8 @@ extern NDRX_JAVA_API void JNICALL ndrxj_Java_org_endurox_AtmiCtx_tpsetunsolC
         (JNIEnv *, jobject, jobject);
 extern NDRX_JAVA_API void JNICALL ndrxj_Java_org_endurox_AtmiCtx_tpnotify
         (JNIEnv *, jobject, jobject, jobject, jlong);
+extern NDRX_JAVA_API jintArray JNICALL ndrxj_Java_org_endurox_AtmiCtx_tpnotifyAllC
+        (JNIEnv *, jobject, jobjectArray, jobject, jlong);
 extern NDRX_JAVA_API void JNICALL ndrxj_Java_org_endurox_AtmiCtx_tpbroadcast
         (JNIEnv *, jobject, jstring, jstring, jstring, jobject, jlong);
 extern NDRX_JAVA_API jint JNICALL ndrxj_Java_org_endurox_AtmiCtx_tpchkunsol
@@ -159,10 +167,14 @@ extern NDRX_JAVA_API void JNICALL ndrxj_Java_org_endurox_AtmiCtx_tpenqueue
         (JNIEnv *, jobject, jstring, jstring, jobject, jobject, jlong);
 extern NDRX_JAVA_API void JNICALL ndrxj_Java_org_endurox_AtmiCtx_tpenqueueex
         (JNIEnv *, jobject, jshort, jshort, jstring, jobject, jobject, jlong);
+extern NDRX_JAVA_API jbyteArray JNICALL ndrxj_Java_org_endurox_AtmiCtx_tpenqueueBatchC
+        (JNIEnv *, jobject, jstring, jstring, jobjectArray, jobject, jlong);
 extern NDRX_JAVA_API jobject JNICALL ndrxj_Java_org_endurox_AtmiCtx_tpdequeue
         (JNIEnv *, jobject, jstring, jstring, jobject, jobject, jlong);
 extern NDRX_JAVA_API jobject JNICALL ndrxj_Java_org_endurox_AtmiCtx_tpdequeueex
         (JNIEnv *, jobject, jshort, jshort, jstring, jobject, jobject, jlong);
+extern NDRX_JAVA_API jobject JNICALL ndrxj_Java_org_endurox_AtmiCtx_tpdequeueNoMsgC
+        (JNIEnv *, jobject, jstring, jstring, jobject, jobject, jlong);
 extern NDRX_JAVA_API jlong JNICALL ndrxj_Java_org_endurox_AtmiCtx_tpsrvgetctxdata
         (JNIEnv *, jobject);
 extern NDRX_JAVA_API void JNICALL ndrxj_Java_org_endurox_AtmiCtx_tpsrvsetctxdata
@@ -205,6 +217,10 @@ extern NDRX_JAVA_API void JNICALL ndrxj_Java_org_endurox_TypedJson_setJSON
         (JNIEnv *, jobject, jstring);
 extern NDRX_JAVA_API jstring JNICALL ndrxj_Java_org_endurox_TypedJson_getJSON
         (JNIEnv *, jobject);
+extern NDRX_JAVA_API jint JNICALL ndrxj_Java_org_endurox_TypedJson_readC
+        (JNIEnv *, jobject, jlong, jbyteArray, jint, jint);
+extern NDRX_JAVA_API void JNICALL ndrxj_Java_org_endurox_TypedJson_writeC
+        (JNIEnv *, jobject, jlong, jbyteArray, jint, jint);
 extern NDRX_JAVA_API void JNICALL ndrxj_Java_org_endurox_TypedString_setString
         (JNIEnv *, jobject, jstring);
 extern NDRX_JAVA_API jstring JNICALL ndrxj_Java_org_endurox_TypedString_getString
@@ -225,6 +241,8 @@ extern NDRX_JAVA_API void JNICALL ndrxj_Java_org_endurox_TypedUbf_Badd__I_3B
         (JNIEnv *, jobject, jint, jbyteArray);
 extern NDRX_JAVA_API void JNICALL ndrxj_Java_org_endurox_TypedUbf_Bprint
         (JNIEnv *, jobject);
+extern NDRX_JAVA_API void JNICALL ndrxj_Java_org_endurox_TypedUbf_BfprintChunkC
+        (JNIEnv *, jobject, jobject, jobject);
 extern NDRX_JAVA_API jshort JNICALL ndrxj_Java_org_endurox_TypedUbf_BgetShort
         (JNIEnv *, jobject, jint, jint);
 extern NDRX_JAVA_API jlong JNICALL ndrxj_Java_org_endurox_TypedUbf_BgetLong
@@ -239,6 +257,28 @@ extern NDRX_JAVA_API jstring JNICALL ndrxj_Java_org_endurox_TypedUbf_BgetString
         (JNIEnv *, jobject, jint, jint);
 extern NDRX_JAVA_API jbyteArray JNICALL ndrxj_Java_org_endurox_TypedUbf_BgetByteArr
         (JNIEnv *, jobject, jint, jint);
+extern NDRX_JAVA_API jlong JNICALL ndrxj_Java_org_endurox_TypedUbf_BgetLongOr
+        (JNIEnv *, jobject, jint, jint, jlong);
+extern NDRX_JAVA_API jdouble JNICALL ndrxj_Java_org_endurox_TypedUbf_BgetDoubleOr
+        (JNIEnv *, jobject, jint, jint, jdouble);
+extern NDRX_JAVA_API jstring JNICALL ndrxj_Java_org_endurox_TypedUbf_BgetStringOr
+        (JNIEnv *, jobject, jint, jint, jstring);
+extern NDRX_JAVA_API jlongArray JNICALL ndrxj_Java_org_endurox_TypedUbf_BindexC
+        (JNIEnv *, jobject);
+extern NDRX_JAVA_API jshort JNICALL ndrxj_Java_org_endurox_TypedUbf_BgetShortAtC
+        (JNIEnv *, jobject, jlong);
+extern NDRX_JAVA_API jlong JNICALL ndrxj_Java_org_endurox_TypedUbf_BgetLongAtC
+        (JNIEnv *, jobject, jlong);
+extern NDRX_JAVA_API jbyte JNICALL ndrxj_Java_org_endurox_TypedUbf_BgetByteAtC
+        (JNIEnv *, jobject, jlong);
+extern NDRX_JAVA_API jfloat JNICALL ndrxj_Java_org_endurox_TypedUbf_BgetFloatAtC
+        (JNIEnv *, jobject, jlong);
+extern NDRX_JAVA_API jdouble JNICALL ndrxj_Java_org_endurox_TypedUbf_BgetDoubleAtC
+        (JNIEnv *, jobject, jlong);
+extern NDRX_JAVA_API jstring JNICALL ndrxj_Java_org_endurox_TypedUbf_BgetStringAtC
+        (JNIEnv *, jobject, jlong);
+extern NDRX_JAVA_API jbyteArray JNICALL ndrxj_Java_org_endurox_TypedUbf_BgetByteArrAtC
+        (JNIEnv *, jobject, jlong, jint);
 extern NDRX_JAVA_API void JNICALL ndrxj_Java_org_endurox_TypedUbf_Baddfast__ISLorg_endurox_BFldLocInfo_2
         (JNIEnv *, jobject, jint, jshort, jobject);
 extern NDRX_JAVA_API void JNICALL ndrxj_Java_org_endurox_TypedUbf_Baddfast__IJLorg_endurox_BFldLocInfo_2
@@ -269,10 +309,14 @@ extern NDRX_JAVA_API void JNICALL ndrxj_Java_org_endurox_TypedUbf_Bchg__II_3B
         (JNIEnv *, jobject, jint, jint, jbyteArray);
 extern NDRX_JAVA_API jboolean JNICALL ndrxj_Java_org_endurox_TypedUbf_Bboolev
         (JNIEnv *, jobject, jobject);
-extern NDRX_JAVA_API jboolean JNICALL ndrxj_Java_org_endurox_TypedUbf_Bqboolev
-        (JNIEnv *, jobject, jstring);
 extern NDRX_JAVA_API jdouble JNICALL ndrxj_Java_org_endurox_TypedUbf_Bfloatev
         (JNIEnv *, jobject, jobject);
+extern NDRX_JAVA_API jint JNICALL ndrxj_Java_org_endurox_TypedUbf_BboolevArrC
+        (JNIEnv *, jobject, jobjectArray, jbooleanArray, jboolean);
+extern NDRX_JAVA_API void JNICALL ndrxj_Java_org_endurox_TypedUbf_BfloatevArrC
+        (JNIEnv *, jobject, jobjectArray, jdoubleArray);
+extern NDRX_JAVA_API jboolean JNICALL ndrxj_Java_org_endurox_TypedUbf_BboolevProjC
+        (JNIEnv *, jobject, jobject, jobject, jintArray);
 extern NDRX_JAVA_API void JNICALL ndrxj_Java_org_endurox_TypedUbf_Bdel
         (JNIEnv *, jobject, jint, jint);
 extern NDRX_JAVA_API void JNICALL ndrxj_Java_org_endurox_TypedUbf_Bdelall
@@ -281,6 +325,10 @@ extern NDRX_JAVA_API jboolean JNICALL ndrxj_Java_org_endurox_TypedUbf_Bpres
         (JNIEnv *, jobject, jint, jint);
 extern NDRX_JAVA_API void JNICALL ndrxj_Java_org_endurox_TypedUbf_Bextread
         (JNIEnv *, jobject, jobject);
+extern NDRX_JAVA_API void JNICALL ndrxj_Java_org_endurox_TypedUbf_BextreadArrC
+        (JNIEnv *, jobject, jbyteArray, jint, jint);
+extern NDRX_JAVA_API void JNICALL ndrxj_Java_org_endurox_TypedUbf_BextreadDirectC
+        (JNIEnv *, jobject, jobject, jint, jint);
 extern NDRX_JAVA_API jboolean JNICALL ndrxj_Java_org_endurox_TypedUbf_Bisubf
         (JNIEnv *, jobject);
 extern NDRX_JAVA_API jint JNICALL ndrxj_Java_org_endurox_TypedUbf_Blen
@@ -293,6 +341,14 @@ extern NDRX_JAVA_API void JNICALL ndrxj_Java_org_endurox_TypedUbf_Bread
         (JNIEnv *, jobject, jbyteArray);
 extern NDRX_JAVA_API jbyteArray JNICALL ndrxj_Java_org_endurox_TypedUbf_Bwrite
         (JNIEnv *, jobject);
+extern NDRX_JAVA_API void JNICALL ndrxj_Java_org_endurox_TypedUbf_BwriteChunkC
+        (JNIEnv *, jobject, jobject, jobject);
+extern NDRX_JAVA_API jboolean JNICALL ndrxj_Java_org_endurox_TypedUbf_BreadChunkC
+        (JNIEnv *, jobject, jobject, jobject);
+extern NDRX_JAVA_API jint JNICALL ndrxj_Java_org_endurox_TypedUbf_BwriteDirectC
+        (JNIEnv *, jobject, jobject, jint);
+extern NDRX_JAVA_API void JNICALL ndrxj_Java_org_endurox_TypedUbf_BreadDirectC
+        (JNIEnv *, jobject, jobject, jint, jint);
 extern NDRX_JAVA_API jlong JNICALL ndrxj_Java_org_endurox_TypedUbf_Bsizeof
         (JNIEnv *, jobject);
 extern NDRX_JAVA_API jlong JNICALL ndrxj_Java_org_endurox_TypedUbf_Bunused
@@ -321,6 +377,16 @@ extern NDRX_JAVA_API void JNICALL ndrxj_Java_org_endurox_TypedUbf_tpjsontoubf
         (JNIEnv *, jobject, jstring);
 extern NDRX_JAVA_API jstring JNICALL ndrxj_Java_org_endurox_TypedUbf_tpubftojson
         (JNIEnv *, jobject);
+extern NDRX_JAVA_API void JNICALL ndrxj_Java_org_endurox_TypedUbf_tpjsontoubfArrC
+        (JNIEnv *, jobject, jbyteArray, jint, jint);
+extern NDRX_JAVA_API void JNICALL ndrxj_Java_org_endurox_TypedUbf_tpjsontoubfDirectC
+        (JNIEnv *, jobject, jobject, jint, jint);
+extern NDRX_JAVA_API jint JNICALL ndrxj_Java_org_endurox_TypedUbf_tpubftojsonArrC
+        (JNIEnv *, jobject, jbyteArray, jint, jint);
+extern NDRX_JAVA_API jint JNICALL ndrxj_Java_org_endurox_TypedUbf_tpubftojsonDirectC
+        (JNIEnv *, jobject, jobject, jint, jint);
+extern NDRX_JAVA_API jbyteArray JNICALL ndrxj_Java_org_endurox_TypedUbf_tpubftojsonBytes
+        (JNIEnv *, jobject);
 extern NDRX_JAVA_API void JNICALL ndrxj_Java_org_endurox_TypedUbf_tplogprintubf
         (JNIEnv *, jobject, jint, jstring);
 extern NDRX_JAVA_API jint JNICALL ndrxj_Java_org_endurox_TypedUbf_Bnum
@@ -329,6 +395,74 @@ extern NDRX_JAVA_API void JNICALL ndrxj_Java_org_endurox_TypedUbf_Bjoin
         (JNIEnv *, jobject, jobject);
 extern NDRX_JAVA_API void JNICALL ndrxj_Java_org_endurox_TypedUbf_Bojoin
         (JNIEnv *, jobject, jobject);
+extern NDRX_JAVA_API void JNICALL ndrxj_Java_org_endurox_TypedView_Bvchg__Ljava_lang_String_2IS
+        (JNIEnv *, jobject, jstring, jint, jshort);
+extern NDRX_JAVA_API void JNICALL ndrxj_Java_org_endurox_TypedView_Bvchg__Ljava_lang_String_2IJ
+        (JNIEnv *, jobject, jstring, jint, jlong);
+extern NDRX_JAVA_API void JNICALL ndrxj_Java_org_endurox_TypedView_Bvchg__Ljava_lang_String_2IB
+        (JNIEnv *, jobject, jstring, jint, jbyte);
+extern NDRX_JAVA_API void JNICALL ndrxj_Java_org_endurox_TypedView_Bvchg__Ljava_lang_String_2IF
+        (JNIEnv *, jobject, jstring, jint, jfloat);
+extern NDRX_JAVA_API void JNICALL ndrxj_Java_org_endurox_TypedView_Bvchg__Ljava_lang_String_2ID
+        (JNIEnv *, jobject, jstring, jint, jdouble);
+extern NDRX_JAVA_API void JNICALL ndrxj_Java_org_endurox_TypedView_Bvchg__Ljava_lang_String_2ILjava_lang_String_2
+        (JNIEnv *, jobject, jstring, jint, jstring);
+extern NDRX_JAVA_API void JNICALL ndrxj_Java_org_endurox_TypedView_Bvchg__Ljava_lang_String_2I_3B
+        (JNIEnv *, jobject, jstring, jint, jbyteArray);
+extern NDRX_JAVA_API jshort JNICALL ndrxj_Java_org_endurox_TypedView_BvgetShort
+        (JNIEnv *, jobject, jstring, jint);
+extern NDRX_JAVA_API jlong JNICALL ndrxj_Java_org_endurox_TypedView_BvgetLong
+        (JNIEnv *, jobject, jstring, jint);
+extern NDRX_JAVA_API jbyte JNICALL ndrxj_Java_org_endurox_TypedView_BvgetByte
+        (JNIEnv *, jobject, jstring, jint);
+extern NDRX_JAVA_API jfloat JNICALL ndrxj_Java_org_endurox_TypedView_BvgetFloat
+        (JNIEnv *, jobject, jstring, jint);
+extern NDRX_JAVA_API jdouble JNICALL ndrxj_Java_org_endurox_TypedView_BvgetDouble
+        (JNIEnv *, jobject, jstring, jint);
+extern NDRX_JAVA_API jstring JNICALL ndrxj_Java_org_endurox_TypedView_BvgetString
+        (JNIEnv *, jobject, jstring, jint);
+extern NDRX_JAVA_API jbyteArray JNICALL ndrxj_Java_org_endurox_TypedView_BvgetByteArr
+        (JNIEnv *, jobject, jstring, jint);
+extern NDRX_JAVA_API jint JNICALL ndrxj_Java_org_endurox_TypedView_Bvoccur
+        (JNIEnv *, jobject, jstring);
+extern NDRX_JAVA_API void JNICALL ndrxj_Java_org_endurox_TypedView_Bvsetoccur
+        (JNIEnv *, jobject, jstring, jint);
+extern NDRX_JAVA_API jboolean JNICALL ndrxj_Java_org_endurox_TypedView_Bvnull
+        (JNIEnv *, jobject, jstring, jint);
+extern NDRX_JAVA_API void JNICALL ndrxj_Java_org_endurox_TypedView_Bvselinit
+        (JNIEnv *, jobject, jstring);
+extern NDRX_JAVA_API void JNICALL ndrxj_Java_org_endurox_TypedView_Bvsinit
+        (JNIEnv *, jobject);
+extern NDRX_JAVA_API jlongArray JNICALL ndrxj_Java_org_endurox_TypedView_BvfieldC
+        (JNIEnv *, jobject, jstring);
+extern NDRX_JAVA_API jshort JNICALL ndrxj_Java_org_endurox_TypedView_BvgetShortAtC
+        (JNIEnv *, jobject, jint, jlong);
+extern NDRX_JAVA_API jlong JNICALL ndrxj_Java_org_endurox_TypedView_BvgetLongAtC
+        (JNIEnv *, jobject, jint, jlong);
+extern NDRX_JAVA_API jbyte JNICALL ndrxj_Java_org_endurox_TypedView_BvgetByteAtC
+        (JNIEnv *, jobject, jint, jlong);
+extern NDRX_JAVA_API jfloat JNICALL ndrxj_Java_org_endurox_TypedView_BvgetFloatAtC
+        (JNIEnv *, jobject, jint, jlong);
+extern NDRX_JAVA_API jdouble JNICALL ndrxj_Java_org_endurox_TypedView_BvgetDoubleAtC
+        (JNIEnv *, jobject, jint, jlong);
+extern NDRX_JAVA_API jstring JNICALL ndrxj_Java_org_endurox_TypedView_BvgetStringAtC
+        (JNIEnv *, jobject, jint, jlong, jint);
+extern NDRX_JAVA_API jbyteArray JNICALL ndrxj_Java_org_endurox_TypedView_BvgetByteArrAtC
+        (JNIEnv *, jobject, jint, jlong, jint);
+extern NDRX_JAVA_API void JNICALL ndrxj_Java_org_endurox_TypedView_BvchgAtC__IJS
+        (JNIEnv *, jobject, jint, jlong, jshort);
+extern NDRX_JAVA_API void JNICALL ndrxj_Java_org_endurox_TypedView_BvchgAtC__IJJ
+        (JNIEnv *, jobject, jint, jlong, jlong);
+extern NDRX_JAVA_API void JNICALL ndrxj_Java_org_endurox_TypedView_BvchgAtC__IJB
+        (JNIEnv *, jobject, jint, jlong, jbyte);
+extern NDRX_JAVA_API void JNICALL ndrxj_Java_org_endurox_TypedView_BvchgAtC__IJF
+        (JNIEnv *, jobject, jint, jlong, jfloat);
+extern NDRX_JAVA_API void JNICALL ndrxj_Java_org_endurox_TypedView_BvchgAtC__IJD
+        (JNIEnv *, jobject, jint, jlong, jdouble);
+extern NDRX_JAVA_API void JNICALL ndrxj_Java_org_endurox_TypedView_BvchgAtC__IJILjava_lang_String_2
+        (JNIEnv *, jobject, jint, jlong, jint, jstring);
+extern NDRX_JAVA_API void JNICALL ndrxj_Java_org_endurox_TypedView_BvchgAtC__IJI_3B
+        (JNIEnv *, jobject, jint, jlong, jint, jbyteArray);
 
 #endif  /* NDRXJ_EXGLUE_H__ */
 
@@ -53,6 +53,16 @@ extern "C" {
 /*---------------------------Externs------------------------------------*/
 /*---------------------------Macros-------------------------------------*/
 
+/* exception scopes for ndrxj_caches_exc(): */
+#define NDRXJ_EXC_ATMI          0   /**< AtmiXXXException               */
+#define NDRXJ_EXC_UBF           1   /**< UbfXXXException                */
+#define NDRXJ_EXC_NSTD          2   /**< NstdXXXException               */
+
+/* max error codes for which exception classes are pre-loaded: */
+#define NDRXJ_ATMI_ERR_MAX      TPINITFAIL
+#define NDRXJ_UBF_ERR_MAX       BEBADOP
+#define NDRXJ_NSTD_ERR_MAX      NEINVALKEY
+
 /** NULL Logger -> no logging made with exception */
 #define NDRXJ_LOGEX_NULL          0x0000
 /** Log exception to ndrx logger */
@@ -154,7 +164,7 @@ struct exjobjmap
     char *ftype;    /**< field type in Java             */
     long coffset;   /**< c field offset                 */
     int csz;        /**< c field size                   */
-    long flags;     /**< Special flags                  */
+    long flags;     /**< Special flags, transfer mask bits, 0 - always */
 };
 
 /**
@@ -247,6 +257,22 @@ struct exj_dyn_cache
  */
 typedef struct exj_dyn_cache exj_dyn_cache_t;
 
+/**
+ * Exception class, pre-resolved at load time. Indexed by error code.
+ */
+struct exj_exc_cache
+{
+    jclass clazz;           /**< exception class, global ref            */
+    jmethodID mid_init;     /**< (String) constructor                   */
+    jfieldID fid_data;      /**< ATMI only, typed buffer field          */
+    jfieldID fid_qctl;      /**< ATMI TPEDIAGNOSTIC only, qctl field    */
+};
+
+/**
+ * Exception class cache
+ */
+typedef struct exj_exc_cache exj_exc_cache_t;
+
 /*---------------------------Globals------------------------------------*/
 
 /*********************** AtmiCtx resources ************************************/
@@ -264,6 +290,7 @@ extern jmethodID ndrxj_clazz_AtmiCtx_mid_unsolDispatch;
 
 extern jfieldID ndrxj_clazz_AtmiCtx_fid_ctx;
 extern jfieldID ndrxj_clazz_AtmiCtx_fid_svr;
+extern jfieldID ndrxj_clazz_AtmiCtx_fid_unsolCopy;
 
 /************************ Server resources ************************************/
 extern jclass ndrxj_clazz_Server;
@@ -280,6 +307,7 @@ extern jmethodID ndrxj_clazz_TypedBuffer_mid_INIT;
 extern jfieldID ndrxj_clazz_TypedBuffer_fid_doFinalize;
 extern jfieldID ndrxj_clazz_TypedBuffer_fid_cPtr;
 extern jfieldID ndrxj_clazz_TypedBuffer_fid_len;
+extern jfieldID ndrxj_clazz_TypedBuffer_fid_modCount;
 extern jfieldID ndrxj_clazz_TypedBuffer_fid_ctx;
 
 /************************ TypedUbf resources **********************************/
@@ -344,6 +372,7 @@ extern jfieldID ndrxj_clazz_TPQCTL_fid_delivery_qos;
 extern jfieldID ndrxj_clazz_TPQCTL_fid_reply_qos;
 extern jfieldID ndrxj_clazz_TPQCTL_fid_exp_time;
 extern jfieldID ndrxj_clazz_TPQCTL_fid_cltid;
+extern jfieldID ndrxj_clazz_TPQCTL_fid_xfer;
 
 /************************** XidList resources *********************************/
 extern jclass ndrxj_clazz_XidList;
@@ -433,6 +462,12 @@ extern jclass ndrxj_clazz_NullPointerException;
 /* Methods: */
 extern jmethodID ndrxj_clazz_NullPointerException_mid_INIT;
 
+/************************** UbfChunkIO resources ******************************/
+extern jclass ndrxj_clazz_UbfChunkIO;
+/* Methods: */
+extern jmethodID ndrxj_clazz_UbfChunkIO_mid_flush;
+extern jmethodID ndrxj_clazz_UbfChunkIO_mid_fill;
+
 /*---------------------------Statics------------------------------------*/
 /*---------------------------Prototypes---------------------------------*/
 
@@ -475,6 +510,8 @@ extern int ndrxj_atmi_TypedBuffer_get_buffer(JNIEnv *env,
 extern int ndrxj_atmi_TypedBuffer_set_buffer(JNIEnv *env, 
             jobject data, char *buf, long len);
 
+extern void ndrxj_TypedBuffer_modified(JNIEnv *env, jobject data);
+
 /* TpCallResult ops: */
 
 extern jobject ndrxj_atmi_TpCallResult_new(JNIEnv *env, 
@@ -531,6 +568,14 @@ extern int ndrxj_cvt_to_java(JNIEnv *env,
             jobject ctx_obj, exjobjmap_t *tab, char *clzstr,
             void *cobj, jobject jobj);
 
+extern int ndrxj_cvt_to_c_mask(JNIEnv *env, 
+            jobject ctx_obj, exjobjmap_t *tab, char *clzstr,
+            jobject jobj, void *cobj, long mask);
+
+extern int ndrxj_cvt_to_java_mask(JNIEnv *env, 
+            jobject ctx_obj, exjobjmap_t *tab, char *clzstr,
+            void *cobj, jobject jobj, long mask);
+
 extern int ndrxj_cvt_jstr_to_c(JNIEnv *env, 
             jobject ctx_obj, jstring jstr, char *outstr, int outstrsz);
 
@@ -553,7 +598,7 @@ extern jobject ndrxj_atmi_TPTRANID_translate2java(JNIEnv *env,
 /* XA Driver */
 
 extern int ndrxj_xa_cfgparse(char *buffer, string_list_t **sets, int *nrsets, 
-        char *clazz, int clazz_bufsz);
+        string_list_t **pool, int *nrpool, char *clazz, int clazz_bufsz);
 
 extern jobjectArray ndrxj_cvt_arr_c_to_java(JNIEnv *env, string_list_t *list, int nrel);
 extern jobject ndrxj_cvt_xid_to_java(JNIEnv *env, XID *xid);
@@ -570,6 +615,7 @@ extern NDRX_JAVA_API void ndrxj_caches_unload(JNIEnv *env);
 extern exj_dyn_cache_t *ndrxj_caches_add(JNIEnv *env, char *class_name, exj_dyn_cache_t *data);
 extern exj_dyn_cache_t *ndrxj_caches_get(char *class_name);
 extern exj_dyn_cache_t* ndrxj_caches_single(JNIEnv *env, char *class_name);
+extern exj_exc_cache_t* ndrxj_caches_exc(int scope, int err);
 
 #ifdef  __cplusplus
 }
@@ -67,7 +67,7 @@ extern NDRX_API int ndrx_buffer_list(ndrx_growlist_t *list);
  * @param bfldid compiled field id
  * @return 
  */
-expublic jstring JNICALL ndrxj_Java_org_endurox_AtmiCtx_Btype
+expublic jstring JNICALL ndrxj_Java_org_endurox_AtmiCtx_BtypeC
   (JNIEnv * env, jobject atmiCtxObj, jint bfldid)
 {
     TPCONTEXT_T ctx;
@@ -103,7 +103,7 @@ out:
  * @param bfldid compiled field id
  * @return field name instring
  */
-expublic jstring JNICALL ndrxj_Java_org_endurox_AtmiCtx_Bfname
+expublic jstring JNICALL ndrxj_Java_org_endurox_AtmiCtx_BfnameC
   (JNIEnv * env, jobject atmiCtxObj, jint bfldid)
 {
     TPCONTEXT_T ctx;
@@ -140,7 +140,7 @@ out:
  * @param fldnm field name to return
  * @return field name instring
  */
-expublic jint JNICALL ndrxj_Java_org_endurox_AtmiCtx_Bfldid
+expublic jint JNICALL ndrxj_Java_org_endurox_AtmiCtx_BfldidC
   (JNIEnv * env, jobject atmiCtxObj, jstring fldnm)
 {
     TPCONTEXT_T ctx;
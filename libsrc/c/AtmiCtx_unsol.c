@@ -40,12 +40,14 @@
 #include <jni.h>
 #include <errno.h>
 #include <stdlib.h>
+#include <string.h>
 #include <exjglue.h>
 #include <atmi.h>
 #include <oatmi.h>
 #include <ndebug.h>
 #include <ondebug.h>
 #include <oatmisrv_integra.h>
+#include <ubf.h>
 #include <libsrc.h>
 #include <tmenv.h>
 #include <sys_unix.h>
@@ -64,6 +66,56 @@ exprivate __thread jobject M_atmiCtxObj;
 /*---------------------------Statics------------------------------------*/
 /*---------------------------Prototypes---------------------------------*/
 
+/**
+ * Copy unsolicited message buffer, so that ownership can be transferred
+ * to Java (buffer received by dispatcher is freed by XATMI after return)
+ * @param data incoming data buffer
+ * @param len data buffer len
+ * @return new buffer or NULL on error (tperror set)
+ */
+exprivate char *unsol_copy(char *data, long len)
+{
+    char type[XATMI_TYPE_LEN+1] = {EXEOS};
+    char subtype[XATMI_SUBTYPE_LEN+1] = {EXEOS};
+    char *ret = NULL;
+    
+    if (EXFAIL==tptypes(data, type, subtype))
+    {
+        goto out;
+    }
+    
+    if (0==strcmp(type, "UBF"))
+    {
+        long used = Bused((UBFH *)data);
+        
+        if (EXFAIL==used || NULL==(ret = tpalloc(type, NULL, used)))
+        {
+            goto out;
+        }
+        
+        if (EXSUCCEED!=Bcpy((UBFH *)ret, (UBFH *)data))
+        {
+            NDRX_LOG(log_error, "Failed to copy unsol UBF: %s", 
+                    Bstrerror(Berror));
+            tpfree(ret);
+            ret = NULL;
+            goto out;
+        }
+    }
+    else
+    {
+        if (NULL==(ret = tpalloc(type, subtype, len)))
+        {
+            goto out;
+        }
+        
+        memcpy(ret, data, len);
+    }
+    
+out:
+    return ret;
+}
+
 /**
  * Unsolicited message dispatcher.
  * We enter at ATMI context.
@@ -76,6 +128,8 @@ exprivate void ndrx_unsol_dispatcher (char *data, long len, long flags)
     int ret = EXSUCCEED;
     TPCONTEXT_T ctx;
     ndrx_ctx_priv_t *ctxpriv;
+    jobject jdata = NULL;
+    int own = EXFALSE;
     
     ctxpriv = ndrx_ctx_priv_get();
     
@@ -83,8 +137,22 @@ exprivate void ndrx_unsol_dispatcher (char *data, long len, long flags)
      * while performing C call from java 
      */
     
-    jobject jdata = ndrxj_atmi_TypedBuffer_translate(NDRXJ_JENV(ctxpriv), 
-            NDRXJ_JATMICTX(ctxpriv), EXTRUE, data, len, NULL, NULL, EXFALSE);
+    /* async dispatch: Java gets own copy of the buffer */
+    if (NULL!=data && (*NDRXJ_JENV(ctxpriv))->GetBooleanField(NDRXJ_JENV(ctxpriv), 
+            NDRXJ_JATMICTX(ctxpriv), ndrxj_clazz_AtmiCtx_fid_unsolCopy))
+    {
+        if (NULL==(data = unsol_copy(data, len)))
+        {
+            NDRX_LOG(log_error, "Failed to copy unsol buffer - drop: %s", 
+                    tpstrerror(tperrno));
+            EXFAIL_OUT(ret);
+        }
+        
+        own = EXTRUE;
+    }
+    
+    jdata = ndrxj_atmi_TypedBuffer_translate(NDRXJ_JENV(ctxpriv), 
+            NDRXJ_JATMICTX(ctxpriv), EXTRUE, data, len, NULL, NULL, own);
     
     /* check if have exception..., then do not continue... */
     if ((*NDRXJ_JENV(ctxpriv))->ExceptionCheck(NDRXJ_JENV(ctxpriv)))
@@ -126,6 +194,11 @@ out:
     {
         (*NDRXJ_JENV(ctxpriv))->DeleteLocalRef(NDRXJ_JENV(ctxpriv), jdata);
     }
+    else if (own)
+    {
+        /* copy not passed to java */
+        tpfree(data);
+    }
 
     return;
 }
@@ -251,6 +324,125 @@ JNIEXPORT void JNICALL ndrxj_Java_org_endurox_AtmiCtx_tpnotify
     tpsetctxt(TPNULLCONTEXT, 0L);
 }
 
+/**
+ * Notify list of clients with the same buffer. The buffer is resolved
+ * only once. Delivery errors are not thrown, but are returned per client.
+ * @param env java env
+ * @param atmiCtxObj ATMI Context object
+ * @param jclientids array of ClientId objects
+ * @param idata input data buffer, may be NULL
+ * @param flags tpnotify flags
+ * @return array of tperrno values, by client index, 0 on success. NULL
+ *  in case if exception is thrown.
+ */
+expublic jintArray JNICALL ndrxj_Java_org_endurox_AtmiCtx_tpnotifyAllC
+  (JNIEnv * env, jobject atmiCtxObj, jobjectArray jclientids, jobject idata, 
+        jlong flags)
+{
+    int ret = EXSUCCEED;
+    TPCONTEXT_T ctx;
+    CLIENTID cltid;
+    char *ibuf = NULL;
+    long ilen = 0;
+    jsize i;
+    jsize n = 0;
+    jint *errs = NULL;
+    jobject jclientid;
+    jintArray jret = NULL;
+    int nfail = 0;
+    
+    if (NULL==(ctx = ndrxj_get_ctx(env, atmiCtxObj, EXTRUE)))
+    {
+        return NULL;
+    }
+    
+    if (NULL==jclientids)
+    {
+        ndrxj_atmi_throw(env, idata, NULL, TPEINVAL, "jclientids is NULL");
+        EXFAIL_OUT(ret);
+    }
+    
+    /* get data buffer, once for all clients */
+    if (NULL!=idata)
+    {
+        if (EXSUCCEED!=ndrxj_atmi_TypedBuffer_get_buffer(env, idata, &ibuf, &ilen, 
+                NULL, EXFALSE, EXFALSE))
+        {
+            NDRX_LOG(log_error, "Failed to get data buffer!");
+            EXFAIL_OUT(ret);
+        }
+    }
+    
+    n = (*env)->GetArrayLength(env, jclientids);
+    
+    if (NULL==(errs = NDRX_MALLOC(sizeof(jint) * (n > 0 ? n : 1))))
+    {
+        int err = errno;
+        ndrxj_atmi_throw(env, idata, NULL, TPEOS, "Failed to malloc %d results: %s",
+                (int)n, strerror(err));
+        EXFAIL_OUT(ret);
+    }
+    
+    for (i=0; i<n; i++)
+    {
+        errs[i] = 0;
+        
+        jclientid = (*env)->GetObjectArrayElement(env, jclientids, i);
+        
+        if (NULL==jclientid)
+        {
+            NDRX_LOG(log_error, "Client id %d is NULL", (int)i);
+            errs[i] = TPEINVAL;
+            nfail++;
+            continue;
+        }
+        
+        if (EXSUCCEED!=ndrxj_atmi_ClientId_translate_toc(env, 
+            jclientid, &cltid))
+        {
+            if (!(*env)->ExceptionCheck(env))
+            {
+                ndrxj_atmi_throw(env, idata, NULL, TPESYSTEM, 
+                        "Failed to translate jclientid %d to C", (int)i);
+            }
+            EXFAIL_OUT(ret);
+        }
+        
+        if (EXSUCCEED!=tpnotify(&cltid, ibuf, ilen, (long)flags))
+        {
+            errs[i] = tperrno;
+            nfail++;
+            
+            NDRX_LOG(log_error, "Failed to notify client %d [%s]: %s", 
+                    (int)i, cltid.clientdata, tpstrerror(errs[i]));
+        }
+        
+        /* lists may be large */
+        (*env)->DeleteLocalRef(env, jclientid);
+    }
+    
+    NDRX_LOG(log_debug, "Notified %d clients, %d failed", (int)n, nfail);
+    
+    if (NULL==(jret = (*env)->NewIntArray(env, n)))
+    {
+        NDRX_LOG(log_error, "Failed to allocate result array");
+        EXFAIL_OUT(ret);
+    }
+    
+    (*env)->SetIntArrayRegion(env, jret, 0, n, errs);
+    
+out:
+    
+    if (NULL!=errs)
+    {
+        NDRX_FREE(errs);
+    }
+    
+    tpsetctxt(TPNULLCONTEXT, 0L);
+    
+    return jret;
+}
+
 /**
  * tpbroadcast backend for java
  * @param env java env
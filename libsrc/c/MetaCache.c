@@ -50,6 +50,8 @@
 #include <libsrc.h>
 #include <sys_unix.h>
 #include <tmenv.h>
+#include <ubf.h>
+#include <nerror.h>
 /*---------------------------Externs------------------------------------*/
 /*---------------------------Macros-------------------------------------*/
 /* Class reference: */
@@ -80,6 +82,7 @@ expublic jmethodID ndrxj_clazz_AtmiCtx_mid_unsolDispatch;
 /* Fields: */
 expublic jfieldID ndrxj_clazz_AtmiCtx_fid_ctx;
 expublic jfieldID ndrxj_clazz_AtmiCtx_fid_svr;
+expublic jfieldID ndrxj_clazz_AtmiCtx_fid_unsolCopy;
         
 /************************ Server resources ************************************/
 expublic jclass ndrxj_clazz_Server;
@@ -105,6 +108,7 @@ expublic jmethodID ndrxj_clazz_TypedBuffer_mid_INIT;
 expublic jfieldID ndrxj_clazz_TypedBuffer_fid_doFinalize;
 expublic jfieldID ndrxj_clazz_TypedBuffer_fid_cPtr;
 expublic jfieldID ndrxj_clazz_TypedBuffer_fid_len;
+expublic jfieldID ndrxj_clazz_TypedBuffer_fid_modCount;
 expublic jfieldID ndrxj_clazz_TypedBuffer_fid_ctx;
 
 
@@ -186,6 +190,7 @@ expublic jfieldID ndrxj_clazz_TPQCTL_fid_delivery_qos;
 expublic jfieldID ndrxj_clazz_TPQCTL_fid_reply_qos;
 expublic jfieldID ndrxj_clazz_TPQCTL_fid_exp_time;
 expublic jfieldID ndrxj_clazz_TPQCTL_fid_cltid;
+expublic jfieldID ndrxj_clazz_TPQCTL_fid_xfer;
 
 /************************** XidList resources *********************************/
 expublic jclass ndrxj_clazz_XidList;
@@ -285,6 +290,12 @@ expublic jclass ndrxj_clazz_NullPointerException;
 /* Methods: */
 expublic jmethodID ndrxj_clazz_NullPointerException_mid_INIT;
 
+/************************** UbfChunkIO resources ******************************/
+expublic jclass ndrxj_clazz_UbfChunkIO;
+/* Methods: */
+expublic jmethodID ndrxj_clazz_UbfChunkIO_mid_flush;
+expublic jmethodID ndrxj_clazz_UbfChunkIO_mid_fill;
+
 /**
  * Mapping of the classes object
  */
@@ -320,6 +331,7 @@ exprivate exj_class_cache_t M_classes[] =
     ,{"java/lang/Throwable",   &ndrxj_clazz_Throwable,              LOCL}
     ,{"java/lang/StackTraceElement",   &ndrxj_clazz_StackTraceElement,LOCL}
     ,{"java/lang/NullPointerException",   &ndrxj_clazz_NullPointerException,GLOB}
+    ,{"org/endurox/UbfChunkIO",   &ndrxj_clazz_UbfChunkIO,          GLOB}
 };
 
 /**
@@ -400,6 +412,10 @@ exprivate exj_mid_cache_t M_methods[] =
             "()Ljava/lang/String;"}
     ,{CRF(ndrxj_clazz_NullPointerException), &ndrxj_clazz_NullPointerException_mid_INIT, 
             "<init>", "(Ljava/lang/String;)V"}
+    ,{CRF(ndrxj_clazz_UbfChunkIO), &ndrxj_clazz_UbfChunkIO_mid_flush, 
+            "flush", "(I)V"}
+    ,{CRF(ndrxj_clazz_UbfChunkIO), &ndrxj_clazz_UbfChunkIO_mid_fill, 
+            "fill", "(I)I"}
 
 };
 
@@ -410,9 +426,12 @@ exprivate exj_fid_cache_t M_fields[] =
 { 
     {CRF(ndrxj_clazz_AtmiCtx), &ndrxj_clazz_AtmiCtx_fid_ctx, "ctx", "J"}
     ,{CRF(ndrxj_clazz_AtmiCtx), &ndrxj_clazz_AtmiCtx_fid_svr, "svr", "Lorg/endurox/Server;"}
+    ,{CRF(ndrxj_clazz_AtmiCtx), &ndrxj_clazz_AtmiCtx_fid_unsolCopy, "unsolCopy", "Z"}
     ,{CRF(ndrxj_clazz_TypedBuffer), &ndrxj_clazz_TypedBuffer_fid_doFinalize, "doFinalize", "Z"}
     ,{CRF(ndrxj_clazz_TypedBuffer), &ndrxj_clazz_TypedBuffer_fid_cPtr, "cPtr", "J"}
     ,{CRF(ndrxj_clazz_TypedBuffer), &ndrxj_clazz_TypedBuffer_fid_len, "len", "J"}
+    ,{CRF(ndrxj_clazz_TypedBuffer), &ndrxj_clazz_TypedBuffer_fid_modCount, 
+            "modCount", "I"}
     ,{CRF(ndrxj_clazz_TypedBuffer), &ndrxj_clazz_TypedBuffer_fid_ctx, "ctx", 
             "Lorg/endurox/AtmiCtx;"}
     ,{CRF(ndrxj_clazz_ClientId), &ndrxj_clazz_ClientId_fid_clientData, "clientData", 
@@ -436,6 +455,7 @@ exprivate exj_fid_cache_t M_fields[] =
    ,{CRF(ndrxj_clazz_TPQCTL), &ndrxj_clazz_TPQCTL_fid_reply_qos, "reply_qos", "J"}
    ,{CRF(ndrxj_clazz_TPQCTL), &ndrxj_clazz_TPQCTL_fid_exp_time, "exp_time", "J"}
    ,{CRF(ndrxj_clazz_TPQCTL), &ndrxj_clazz_TPQCTL_fid_cltid, "cltid", "Lorg/endurox/ClientId;"}
+   ,{CRF(ndrxj_clazz_TPQCTL), &ndrxj_clazz_TPQCTL_fid_xfer, "xfer", "J"}
    ,{CRF(ndrxj_clazz_XidList), &ndrxj_clazz_XidList_fid_ret, "ret", "I"}
    ,{CRF(ndrxj_clazz_XidList), &ndrxj_clazz_XidList_fid_list, "list", "[Ljavax/transaction/xa/Xid;"}
    ,{CRF(ndrxj_clazz_BExprTree), &ndrxj_clazz_BExprTree_fid_cPtr, "cPtr", "J"}
@@ -451,8 +471,125 @@ MUTEX_LOCKDECL(M_dyn_cache_lock);
  */
 exprivate exj_dyn_cache_t *M_exj_dyn_cache = NULL;
 
+/**
+ * Pre-resolved exception classes by error code. Written at load time only,
+ * thus read from throw path with out locking.
+ */
+exprivate exj_exc_cache_t M_exc_atmi[NDRXJ_ATMI_ERR_MAX+1];
+exprivate exj_exc_cache_t M_exc_ubf[NDRXJ_UBF_ERR_MAX+1];
+exprivate exj_exc_cache_t M_exc_nstd[NDRXJ_NSTD_ERR_MAX+1];
+
 /*---------------------------Statics------------------------------------*/
 
+/**
+ * Resolve exception class and its members
+ * @param env java env
+ * @param cls class name
+ * @param is_atmi load ATMI exception fields
+ * @param is_diag load TPEDIAGNOSTIC qctl field
+ * @param out cache entry to fill
+ * @return EXSUCCEED/EXFAIL
+ */
+exprivate int exc_load(JNIEnv *env, char *cls, int is_atmi, int is_diag, 
+        exj_exc_cache_t *out)
+{
+    int ret = EXSUCCEED;
+    jclass clazz;
+    
+    if (NULL==(clazz = (*env)->FindClass(env, cls)))
+    {
+        NDRX_LOG(log_error, "Failed to find exception class [%s]", cls);
+        userlog("Failed to find exception class [%s]", cls);
+        EXFAIL_OUT(ret);
+    }
+    
+    if (NULL==(out->mid_init = (*env)->GetMethodID(env, clazz, 
+            "<init>", "(Ljava/lang/String;)V")))
+    {
+        NDRX_LOG(log_error, "Failed to find constructor of [%s]", cls);
+        EXFAIL_OUT(ret);
+    }
+    
+    if (is_atmi && NULL==(out->fid_data = (*env)->GetFieldID(env, clazz, 
+            "data", "Lorg/endurox/TypedBuffer;")))
+    {
+        NDRX_LOG(log_error, "Failed to find data field of [%s]", cls);
+        EXFAIL_OUT(ret);
+    }
+    
+    if (is_diag && NULL==(out->fid_qctl = (*env)->GetFieldID(env, clazz, 
+            "qctl", "Lorg/endurox/TPQCTL;")))
+    {
+        NDRX_LOG(log_error, "Failed to find qctl field of [%s]", cls);
+        EXFAIL_OUT(ret);
+    }
+    
+    /* strong ref, entries are used by any thread until unload */
+    if (NULL==(out->clazz = (*env)->NewGlobalRef(env, clazz)))
+    {
+        NDRX_LOG(log_error, "Failed to make global ref [%s]", cls);
+        EXFAIL_OUT(ret);
+    }
+    
+out:
+    
+    if (NULL!=clazz)
+    {
+        (*env)->DeleteLocalRef(env, clazz);
+    }
+    
+    return ret;
+}
+
+/**
+ * Pre-load all ATMI, UBF and standard library exception classes
+ * @param env java env
+ * @return EXSUCCEED/EXFAIL
+ */
+exprivate int exc_load_all(JNIEnv *env)
+{
+    int ret = EXSUCCEED;
+    int i;
+    char cls[256];
+    
+    for (i=0; i<=NDRXJ_ATMI_ERR_MAX; i++)
+    {
+        snprintf(cls, sizeof(cls), "org/endurox/exceptions/Atmi%sException", 
+            tpecodestr(i));
+        
+        if (EXSUCCEED!=exc_load(env, cls, EXTRUE, TPEDIAGNOSTIC==i, 
+                &M_exc_atmi[i]))
+        {
+            EXFAIL_OUT(ret);
+        }
+    }
+    
+    for (i=0; i<=NDRXJ_UBF_ERR_MAX; i++)
+    {
+        snprintf(cls, sizeof(cls), "org/endurox/exceptions/Ubf%sException", 
+            Becodestr(i));
+        
+        if (EXSUCCEED!=exc_load(env, cls, EXFALSE, EXFALSE, &M_exc_ubf[i]))
+        {
+            EXFAIL_OUT(ret);
+        }
+    }
+    
+    for (i=0; i<=NDRXJ_NSTD_ERR_MAX; i++)
+    {
+        snprintf(cls, sizeof(cls), "org/endurox/exceptions/Nstd%sException", 
+            ndrx_Necodestr(i));
+        
+        if (EXSUCCEED!=exc_load(env, cls, EXFALSE, EXFALSE, &M_exc_nstd[i]))
+        {
+            EXFAIL_OUT(ret);
+        }
+    }
+    
+out:
+    return ret;
+}
+
 /**
  * Load the caches
  * @return EXSUCCEED/EXFAIL
@@ -536,6 +673,14 @@ expublic int ndrxj_caches_load(JNIEnv *env)
         }
     }
     
+    NDRX_LOG(log_debug, "Loading exception caches...");
+    
+    if (EXSUCCEED!=exc_load_all(env))
+    {
+        userlog("Failed to load exception classes");
+        EXFAIL_OUT(ret);
+    }
+    
 out:
     return ret;
 }
@@ -559,6 +704,36 @@ expublic void ndrxj_caches_unload(JNIEnv *env)
         }
     }
     
+    NDRX_LOG(log_debug, "Removing exception class references");
+    
+    for (i=0; i<=NDRXJ_ATMI_ERR_MAX; i++)
+    {
+        if (NULL!=M_exc_atmi[i].clazz)
+        {
+            (*env)->DeleteGlobalRef(env, M_exc_atmi[i].clazz);
+        }
+    }
+    
+    for (i=0; i<=NDRXJ_UBF_ERR_MAX; i++)
+    {
+        if (NULL!=M_exc_ubf[i].clazz)
+        {
+            (*env)->DeleteGlobalRef(env, M_exc_ubf[i].clazz);
+        }
+    }
+    
+    for (i=0; i<=NDRXJ_NSTD_ERR_MAX; i++)
+    {
+        if (NULL!=M_exc_nstd[i].clazz)
+        {
+            (*env)->DeleteGlobalRef(env, M_exc_nstd[i].clazz);
+        }
+    }
+    
+    memset(M_exc_atmi, 0, sizeof(M_exc_atmi));
+    memset(M_exc_ubf, 0, sizeof(M_exc_ubf));
+    memset(M_exc_nstd, 0, sizeof(M_exc_nstd));
+    
     /* Clean up dynamic cache */
     NDRX_LOG(log_debug, "Dynamic cache cleanup...");
         
@@ -575,6 +750,53 @@ expublic void ndrxj_caches_unload(JNIEnv *env)
     
 }
 
+/**
+ * Get pre-loaded exception class. Lock free.
+ * @param scope NDRXJ_EXC_ATMI, NDRXJ_EXC_UBF or NDRXJ_EXC_NSTD
+ * @param err error code
+ * @return cache entry or NULL if error code is not pre-loaded
+ */
+expublic exj_exc_cache_t* ndrxj_caches_exc(int scope, int err)
+{
+    exj_exc_cache_t *ret = NULL;
+    
+    if (err < 0)
+    {
+        goto out;
+    }
+    
+    switch (scope)
+    {
+        case NDRXJ_EXC_ATMI:
+            if (err <= NDRXJ_ATMI_ERR_MAX)
+            {
+                ret = &M_exc_atmi[err];
+            }
+            break;
+        case NDRXJ_EXC_UBF:
+            if (err <= NDRXJ_UBF_ERR_MAX)
+            {
+                ret = &M_exc_ubf[err];
+            }
+            break;
+        case NDRXJ_EXC_NSTD:
+            if (err <= NDRXJ_NSTD_ERR_MAX)
+            {
+                ret = &M_exc_nstd[err];
+            }
+            break;
+    }
+    
+    /* not loaded (e.g. unloaded) */
+    if (NULL!=ret && NULL==ret->clazz)
+    {
+        ret = NULL;
+    }
+    
+out:
+    return ret;
+}
+
 /**
  * Read cached data from hash
  * @param class_name class name to search for
@@ -40,6 +40,7 @@
 #include <jni.h>
 #include <errno.h>
 #include <stdlib.h>
+#include <string.h>
 #include <exjglue.h>
 #include <atmi.h>
 #include <oatmi.h>
@@ -54,6 +55,26 @@
 
 #define OFSZ(s,e)   EXOFFSET(s,e), EXELEM_SIZE(s,e)
 
+/**
+ * Transfer mask bits, see TPQCTL.XFER_* in Java.
+ * flags and diagnostic are transferred always.
+ * @defgroup tpqctlxfer TPQCTL field transfer mask
+ * @{
+ */
+#define XFER_PRIORITY       0x0001
+#define XFER_DIAGMSG        0x0002
+#define XFER_MSGID          0x0004
+#define XFER_CORRID         0x0008
+#define XFER_REPLYQUEUE     0x0010
+#define XFER_FAILUREQUEUE   0x0020
+#define XFER_CLTID          0x0040
+#define XFER_URCODE         0x0080
+#define XFER_APPKEY         0x0100
+#define XFER_QOS            0x0200
+#define XFER_EXPTIME        0x0400
+#define XFER_BASIC          0x0800
+/** @} */ /* end of tpqctlxfer */
+
 /*---------------------------Enums--------------------------------------*/
 /*---------------------------Typedefs-----------------------------------*/
 /*---------------------------Globals------------------------------------*/
@@ -65,18 +86,18 @@
 exprivate exjobjmap_t M_fieldmap[] =
 {    
     {&ndrxj_clazz_TPQCTL_fid_flags,     "flags",       "J",                 OFSZ(TPQCTL,flags)},
-    {&ndrxj_clazz_TPQCTL_fid_priority,  "priority",    "J",                 OFSZ(TPQCTL,priority)},
+    {&ndrxj_clazz_TPQCTL_fid_priority,  "priority",    "J",                 OFSZ(TPQCTL,priority), XFER_PRIORITY},
     {&ndrxj_clazz_TPQCTL_fid_diagnostic,"diagnostic",  "J",                 OFSZ(TPQCTL,diagnostic)},
-    {&ndrxj_clazz_TPQCTL_fid_diagmsg,   "diagmsg",     "Ljava/lang/String;",OFSZ(TPQCTL,diagmsg)},
-    {&ndrxj_clazz_TPQCTL_fid_msgid,     "msgid",       "[B",                OFSZ(TPQCTL,msgid)},
-    {&ndrxj_clazz_TPQCTL_fid_corrid,    "corrid",      "[B",                OFSZ(TPQCTL,corrid)},
-    {&ndrxj_clazz_TPQCTL_fid_replyqueue, "replyqueue",  "Ljava/lang/String;",OFSZ(TPQCTL,replyqueue)},
-    {&ndrxj_clazz_TPQCTL_fid_failurequeue, "failurequeue","Ljava/lang/String;",OFSZ(TPQCTL,failurequeue)},
-    {&ndrxj_clazz_TPQCTL_fid_urcode,    "urcode",      "J",                 OFSZ(TPQCTL,urcode)},
-    {&ndrxj_clazz_TPQCTL_fid_appkey,    "appkey",      "J",                 OFSZ(TPQCTL,appkey)},
-    {&ndrxj_clazz_TPQCTL_fid_delivery_qos, "delivery_qos","J",              OFSZ(TPQCTL,delivery_qos)},
-    {&ndrxj_clazz_TPQCTL_fid_reply_qos, "reply_qos",   "J",                 OFSZ(TPQCTL,reply_qos)},
-    {&ndrxj_clazz_TPQCTL_fid_exp_time,  "exp_time",    "J",                 OFSZ(TPQCTL,exp_time)},
+    {&ndrxj_clazz_TPQCTL_fid_diagmsg,   "diagmsg",     "Ljava/lang/String;",OFSZ(TPQCTL,diagmsg), XFER_DIAGMSG},
+    {&ndrxj_clazz_TPQCTL_fid_msgid,     "msgid",       "[B",                OFSZ(TPQCTL,msgid), XFER_MSGID},
+    {&ndrxj_clazz_TPQCTL_fid_corrid,    "corrid",      "[B",                OFSZ(TPQCTL,corrid), XFER_CORRID},
+    {&ndrxj_clazz_TPQCTL_fid_replyqueue, "replyqueue",  "Ljava/lang/String;",OFSZ(TPQCTL,replyqueue), XFER_REPLYQUEUE},
+    {&ndrxj_clazz_TPQCTL_fid_failurequeue, "failurequeue","Ljava/lang/String;",OFSZ(TPQCTL,failurequeue), XFER_FAILUREQUEUE},
+    {&ndrxj_clazz_TPQCTL_fid_urcode,    "urcode",      "J",                 OFSZ(TPQCTL,urcode), XFER_URCODE},
+    {&ndrxj_clazz_TPQCTL_fid_appkey,    "appkey",      "J",                 OFSZ(TPQCTL,appkey), XFER_APPKEY},
+    {&ndrxj_clazz_TPQCTL_fid_delivery_qos, "delivery_qos","J",              OFSZ(TPQCTL,delivery_qos), XFER_QOS},
+    {&ndrxj_clazz_TPQCTL_fid_reply_qos, "reply_qos",   "J",                 OFSZ(TPQCTL,reply_qos), XFER_QOS},
+    {&ndrxj_clazz_TPQCTL_fid_exp_time,  "exp_time",    "J",                 OFSZ(TPQCTL,exp_time), XFER_EXPTIME},
     {NULL}
 };
 
@@ -94,21 +115,28 @@ expublic int ndrxj_atmi_TPQCTL_translate2c(JNIEnv *env,
             jobject ctx_obj, jobject ctl_Java, TPQCTL *ctl_c, jobject idata)
 {
     int ret = EXSUCCEED;
+    long xfer;
+    jobject jcltid = NULL;
     
-    jobject jcltid;
+    memset(ctl_c, 0, sizeof(*ctl_c));
+    
+    xfer = (long)(*env)->GetLongField(env, ctl_Java, ndrxj_clazz_TPQCTL_fid_xfer);
     
     /* Load values to C */
     
-    if (EXSUCCEED!=ndrxj_cvt_to_c(env, 
+    if (EXSUCCEED!=ndrxj_cvt_to_c_mask(env, 
             ctx_obj, M_fieldmap, TPQCTL_CLASS,
-            ctl_Java, ctl_c))
+            ctl_Java, ctl_c, xfer))
     {
         NDRX_LOG(log_error, "Failed to convert %s to TPQCTL!", TPQCTL_CLASS);
         EXFAIL_OUT(ret);
     }
     
     /* get object field */
-    jcltid = (*env)->GetObjectField(env, ctl_Java, ndrxj_clazz_TPQCTL_fid_cltid);
+    if (0==xfer || (xfer & XFER_CLTID))
+    {
+        jcltid = (*env)->GetObjectField(env, ctl_Java, ndrxj_clazz_TPQCTL_fid_cltid);
+    }
     
     if (NULL==jcltid)
     {
@@ -156,6 +184,7 @@ expublic jobject ndrxj_atmi_TPQCTL_translate2java(JNIEnv *env,
     int ret = EXSUCCEED;
     jobject retObj = NULL;
     jobject jcltid;
+    long xfer = 0;
 
     if (NULL==ctl_Java)
     {
@@ -169,18 +198,25 @@ expublic jobject ndrxj_atmi_TPQCTL_translate2java(JNIEnv *env,
     {
         NDRX_LOG(log_debug, "Re-use existing java qctl");
         retObj = ctl_Java;
+        xfer = (long)(*env)->GetLongField(env, ctl_Java, 
+                ndrxj_clazz_TPQCTL_fid_xfer);
     }
     
     /* Load values to C */
     
-    if (EXSUCCEED!=ndrxj_cvt_to_java(env, 
+    if (EXSUCCEED!=ndrxj_cvt_to_java_mask(env, 
             ctx_obj, M_fieldmap, TPQCTL_CLASS,
-            ctl_c, retObj))
+            ctl_c, retObj, xfer))
     {
         NDRX_LOG(log_error, "Failed to convert C TPQCTL to java %s!", TPQCTL_CLASS);
         EXFAIL_OUT(ret);
     }
     
+    if (0!=xfer && !(xfer & XFER_CLTID))
+    {
+        goto out;
+    }
+    
     /* convert to java */
     if (NULL==(jcltid = ndrxj_atmi_ClientId_translate(env, ctx_obj, EXTRUE,
         &(ctl_c->cltid))))
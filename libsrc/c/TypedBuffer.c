@@ -416,12 +416,32 @@ expublic int ndrxj_atmi_TypedBuffer_set_buffer(JNIEnv *env,
     
     (*env)->SetLongField(env, data, ndrxj_clazz_TypedBuffer_fid_cPtr, cptr);
     (*env)->SetLongField(env, data, ndrxj_clazz_TypedBuffer_fid_len, clen);
+    ndrxj_TypedBuffer_modified(env, data);
     
 out:
     
     return ret;
 }
 
+/**
+ * Mark buffer as modified, i.e. increase modification counter
+ * @param env java env
+ * @param data buffer object (may be NULL)
+ */
+expublic void ndrxj_TypedBuffer_modified(JNIEnv *env, jobject data)
+{
+    jint cnt;
+    
+    if (NULL==data)
+    {
+        return;
+    }
+    
+    cnt = (*env)->GetIntField(env, data, ndrxj_clazz_TypedBuffer_fid_modCount);
+    (*env)->SetIntField(env, data, ndrxj_clazz_TypedBuffer_fid_modCount, 
+            cnt+1);
+}
+
 /**
  * Reallocate ATMI buffer to new size
  * @param env java env
@@ -530,10 +550,13 @@ expublic jobject ndrxj_atmi_TypedBuffer_result_prep
     {
         NDRX_LOG(log_debug, "ptr, types and len not changed...");
         ret = data;
+        /* content is replaced */
+        ndrxj_TypedBuffer_modified(env, data);
     }
     else if (is_types_eq)
     {    
         ret = data;
+        ndrxj_TypedBuffer_modified(env, data);
         
         if (ilen!=olen)
         {
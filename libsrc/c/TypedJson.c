@@ -195,4 +195,174 @@ out:
     return ret;
 }
 
+/**
+ * Read chunk of JSON text from given position, up to the EOS
+ * @param env java env
+ * @param data TypedJson object
+ * @param pos position in JSON text
+ * @param jb byte array to read to
+ * @param off offset in byte array
+ * @param len max bytes to read
+ * @return bytes read, -1 on end of text
+ */
+expublic jint JNICALL ndrxj_Java_org_endurox_TypedJson_readC
+  (JNIEnv * env, jobject data, jlong pos, jbyteArray jb, jint off, jint len)
+{
+    char *cdata;
+    long clen;
+    jint ret = EXFAIL;
+    long bufsz;
+    long n;
+    
+    /* get the context, switch */
+    if (NULL==ndrxj_TypedBuffer_get_ctx(env, data, EXTRUE))
+    {
+        goto out;
+    }
+    
+    if (EXSUCCEED!=ndrxj_atmi_TypedBuffer_get_buffer(env, data, &cdata, &clen,
+            NULL, EXFALSE, EXFALSE))
+    {
+        NDRX_LOG(log_error, "Failed to get buffer data");
+        goto out;
+    }
+    
+    bufsz = tptypes(cdata, NULL, NULL);
+    
+    if (bufsz < 1)
+    {
+         ndrxj_atmi_throw(env, data, NULL, tperrno, "%s", tpstrerror(tperrno));
+         goto out;
+    }
+    
+    n = bufsz - pos;
+    
+    if (n > len)
+    {
+        n = len;
+    }
+    
+    if (n <= 0)
+    {
+        goto out;
+    }
+    
+    /* read up to the end of the document */
+    n = strnlen(cdata+pos, n);
+    
+    if (0==n)
+    {
+        goto out;
+    }
+    
+    (*env)->SetByteArrayRegion(env, jb, off, (jsize)n, (jbyte*)(cdata+pos));
+    
+    if((*env)->ExceptionCheck(env))
+    {
+        NDRXJ_LOG_EXCEPTION(env, log_error, NDRXJ_LOGEX_ULOG, 
+                "Failed to set data bytes: %s");
+        goto out;
+    }
+    
+    ret = (jint)n;
+    
+out:
+    
+    /* switch context back */
+    tpsetctxt(TPNULLCONTEXT, 0L);
+
+    return ret;
+}
+
+/**
+ * Write chunk of JSON text at given position and terminate the text after
+ * it. Buffer is reallocated (with at least doubling of the size), if there
+ * is no space.
+ * @param env java env
+ * @param data TypedJson object
+ * @param pos position in JSON text
+ * @param jb byte array to write from
+ * @param off offset in byte array
+ * @param len bytes to write
+ */
+expublic void JNICALL ndrxj_Java_org_endurox_TypedJson_writeC
+  (JNIEnv * env, jobject data, jlong pos, jbyteArray jb, jint off, jint len)
+{
+    char *cdata;
+    long clen;
+    long bufsz;
+    long new_size;
+    
+    /* get the context, switch */
+    if (NULL==ndrxj_TypedBuffer_get_ctx(env, data, EXTRUE))
+    {
+        goto out;
+    }
+    
+    if (EXSUCCEED!=ndrxj_atmi_TypedBuffer_get_buffer(env, data, &cdata, &clen,
+            NULL, EXFALSE, EXFALSE))
+    {
+        NDRX_LOG(log_error, "Failed to get buffer data");
+        goto out;
+    }
+    
+    bufsz = tptypes(cdata, NULL, NULL);
+    
+    if (bufsz < 1)
+    {
+         ndrxj_atmi_throw(env, data, NULL, tperrno, "%s", tpstrerror(tperrno));
+         goto out;
+    }
+    
+    /* data + EOS */
+    new_size = pos + len + 1;
+    
+    if (bufsz < new_size)
+    {
+        if (new_size < bufsz*2)
+        {
+            new_size = bufsz*2;
+        }
+        
+        NDRX_LOG(log_debug, "Realloc JSON buffer from %ld to %ld",
+            bufsz, new_size);
+        
+        if (NULL==(cdata = tprealloc(cdata, new_size)))
+        {
+            /* Set buffer to NULL! to avoid crash at free */
+            if (EXSUCCEED!=ndrxj_atmi_TypedBuffer_set_buffer(env, 
+                    data, NULL, 0L))
+            {
+                NDRX_LOG(log_error, "Failed to reset buffer to NULL");
+            }
+            
+            /* throw exception */
+            ndrxj_atmi_throw(env, data, NULL, tperrno, "%s", tpstrerror(tperrno));
+            goto out;
+        }
+        else if (EXSUCCEED!=ndrxj_atmi_TypedBuffer_set_buffer(env, 
+                    data, cdata, new_size))
+        {
+            NDRX_LOG(log_error, "Failed to update buffer c address");
+            goto out;
+        }
+    }
+    
+    (*env)->GetByteArrayRegion(env, jb, off, len, (jbyte *)(cdata+pos));
+    
+    if((*env)->ExceptionCheck(env))
+    {
+        NDRXJ_LOG_EXCEPTION(env, log_error, NDRXJ_LOGEX_ULOG, 
+                "Failed to get data bytes: %s");
+        goto out;
+    }
+    
+    cdata[pos+len] = EXEOS;
+    
+out:
+    
+    /* switch context back */
+    tpsetctxt(TPNULLCONTEXT, 0L);
+}
+
 /* vim: set ts=4 sw=4 et smartindent: */
@@ -88,6 +88,8 @@ exprivate void ndrxj_ubf_CBadd(JNIEnv *env, jobject data, jint bfldid,
     
     /* Set the field */
     
+    ndrxj_TypedBuffer_modified(env, data);
+    
     if (EXSUCCEED!=CBadd((UBFH*)cdata, bfldid, value, len, usrtype))
     {
         UBF_LOG(log_error, "%s: CBadd failed to add %d (%s): %s", 
@@ -117,6 +117,8 @@ exprivate void ndrxj_ubf_Baddfast(JNIEnv *env, jobject data, jint bfldid,
     
     /* Set the field */
     
+    ndrxj_TypedBuffer_modified(env, data);
+    
     if (EXSUCCEED!=Baddfast((UBFH*)cdata, bfldid, value, len, &loc))
     {
         UBF_LOG(log_error, "%s: Baddfast failed to add %d: %s", 
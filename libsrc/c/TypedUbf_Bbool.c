@@ -256,31 +256,202 @@ out:
 }
 
 /**
- * Quick boolean expression evaluate
+ * Resolve compiled expression pointers from java array
  * @param env java env
- * @param data UBF buffer
- * @param jexprstr boolean expression string
+ * @param jtrees array of BExprTree objects
+ * @param p_len number of trees in array (out)
+ * @return malloc'd array of tree pointers or NULL (exception set)
  */
-expublic jboolean JNICALL ndrxj_Java_org_endurox_TypedUbf_Bqboolev
-  (JNIEnv * env, jobject data, jstring jexprstr)
+exprivate char **ndrxj_BExprTree_arr_get(JNIEnv *env, jobjectArray jtrees, 
+        int *p_len)
 {
-    jboolean jret = JNI_FALSE;
-    int ret = EXSUCCEED;
-    jboolean n_jexprstr_copy = EXFALSE;
-    const char *n_jexprstr;
+    char **ret = NULL;
+    int len;
+    int i;
+    jobject jtree;
+    
+    if (NULL==jtrees)
+    {
+        ndrxj_ubf_throw(env, BEINVAL, "compiled expression array must "
+                "not be NULL");
+        goto out;
+    }
+    
+    len = (*env)->GetArrayLength(env, jtrees);
+    
+    /* have at least one element, so that malloc does not return NULL */
+    ret = NDRX_MALLOC(sizeof(char *)*(len+1));
+    
+    if (NULL==ret)
+    {
+        int err = errno;
+        UBF_LOG(log_error, "%s: Failed to malloc %d bytes: %s", 
+                __func__, (int)(sizeof(char *)*(len+1)), strerror(err));
+        userlog("%s: Failed to malloc %d bytes: %s", 
+                __func__, (int)(sizeof(char *)*(len+1)), strerror(err));
+        ndrxj_ubf_throw(env, BEUNIX, "%s: Failed to malloc %d bytes: %s", 
+                __func__, (int)(sizeof(char *)*(len+1)), strerror(err));
+        goto out;
+    }
+    
+    for (i=0; i<len; i++)
+    {
+        jtree = (*env)->GetObjectArrayElement(env, jtrees, i);
+        
+        if (NULL==jtree)
+        {
+            ndrxj_ubf_throw(env, BEINVAL, "compiled expression at index %d "
+                    "must not be NULL", i);
+            NDRX_FREE(ret);
+            ret = NULL;
+            goto out;
+        }
+        
+        ret[i] = ndrxj_BExprTree_ptr_get(env, jtree);
+        (*env)->DeleteLocalRef(env, jtree);
+        
+        if (NULL==ret[i])
+        {
+            ndrxj_ubf_throw(env, BEINVAL, "compiled expression at index %d "
+                    "is free'd", i);
+            NDRX_FREE(ret);
+            ret = NULL;
+            goto out;
+        }
+    }
+    
+    *p_len = len;
     
-    char *tree = NULL;
+out:
+    return ret;
+}
+
+/**
+ * Evaluate list of compiled boolean expressions against the buffer
+ * @param env java env
+ * @param data UBF buffer
+ * @param jtrees array of compiled expressions
+ * @param jresults result array, must be the same size as \p jtrees
+ * @param firstMatch stop evaluation at first expression which is true
+ * @return index of first expression evaluated to true or -1 if none matched
+ */
+expublic jint JNICALL ndrxj_Java_org_endurox_TypedUbf_BboolevArrC
+  (JNIEnv *env, jobject data, jobjectArray jtrees, jbooleanArray jresults, 
+        jboolean firstMatch)
+{
+    jint jret = EXFAIL;
+    int ret;
+    int i;
+    int len = 0;
+    char **trees = NULL;
+    jboolean *res = NULL;
     char *cdata;
     long clen;
     
-    /* check arguments */
-    if (NULL==jexprstr)
+    /* save in thread vars the java environment data and UBF ptr */
+    M_cb_env = env;
+    M_cb_ubf = data;
+    
+    /* set context (from UBF buffer) */
+    if (NULL==ndrxj_TypedBuffer_get_ctx(env, data, EXTRUE))
     {
-        ndrxj_ubf_throw(env, Berror, "compiled expression must not be NULL: %s");
+        return EXFAIL;
+    }
+    
+    if (NULL==(trees = ndrxj_BExprTree_arr_get(env, jtrees, &len)))
+    {
+        UBF_LOG(log_error, "Failed to get compiled expression ptrs!");
         goto out;
     }
     
-    n_jexprstr = (*env)->GetStringUTFChars(env, jexprstr, &n_jexprstr_copy);
+    if (len!=(*env)->GetArrayLength(env, jresults))
+    {
+        ndrxj_ubf_throw(env, BEINVAL, "results array size %d does not match "
+                "expression count %d", (int)(*env)->GetArrayLength(env, jresults),
+                len);
+        goto out;
+    }
+    
+    if (EXSUCCEED!=ndrxj_atmi_TypedBuffer_get_buffer(env, data, &cdata, &clen,
+            NULL, EXFALSE, EXFALSE))
+    {
+        NDRX_LOG(log_error, "Failed to get buffer data");
+        goto out;
+    }
+    
+    if (NULL==(res = NDRX_CALLOC(len+1, sizeof(jboolean))))
+    {
+        int err = errno;
+        UBF_LOG(log_error, "%s: Failed to calloc %d bytes: %s", 
+                __func__, (int)(sizeof(jboolean)*(len+1)), strerror(err));
+        ndrxj_ubf_throw(env, BEUNIX, "%s: Failed to calloc %d bytes: %s", 
+                __func__, (int)(sizeof(jboolean)*(len+1)), strerror(err));
+        goto out;
+    }
+    
+    /* evaluate */
+    for (i=0; i<len; i++)
+    {
+        if (EXFAIL==(ret = Bboolev((UBFH *)cdata, trees[i])))
+        {
+            ndrxj_ubf_throw(M_cb_env, Berror, "Failed to execute Bboolev() "
+                    "on expression %d: %s", i, Bstrerror(Berror));
+            goto out;
+        }
+        
+        if (EXTRUE==ret)
+        {
+            res[i] = JNI_TRUE;
+            
+            if (EXFAIL==jret)
+            {
+                jret = i;
+            }
+            
+            if (firstMatch)
+            {
+                break;
+            }
+        }
+    }
+    
+    /* copy results back to java in one go */
+    (*env)->SetBooleanArrayRegion(env, jresults, 0, len, res);
+    
+out:
+    
+    if (NULL!=trees)
+    {
+        NDRX_FREE(trees);
+    }
+
+    if (NULL!=res)
+    {
+        NDRX_FREE(res);
+    }
+
+    /* unset context */
+    tpsetctxt(TPNULLCONTEXT, 0L);
+
+    return jret;
+}
+
+/**
+ * Evaluate list of compiled expressions as float values
+ * @param env java env
+ * @param data UBF buffer
+ * @param jtrees array of compiled expressions
+ * @param jresults result array, must be the same size as \p jtrees
+ */
+expublic void JNICALL ndrxj_Java_org_endurox_TypedUbf_BfloatevArrC
+  (JNIEnv *env, jobject data, jobjectArray jtrees, jdoubleArray jresults)
+{
+    int i;
+    int len = 0;
+    char **trees = NULL;
+    jdouble *res = NULL;
+    char *cdata;
+    long clen;
     
     /* save in thread vars the java environment data and UBF ptr */
     M_cb_env = env;
@@ -289,6 +460,20 @@ expublic jboolean JNICALL ndrxj_Java_org_endurox_TypedUbf_Bqboolev
     /* set context (from UBF buffer) */
     if (NULL==ndrxj_TypedBuffer_get_ctx(env, data, EXTRUE))
     {
+        return;
+    }
+    
+    if (NULL==(trees = ndrxj_BExprTree_arr_get(env, jtrees, &len)))
+    {
+        UBF_LOG(log_error, "Failed to get compiled expression ptrs!");
+        goto out;
+    }
+    
+    if (len!=(*env)->GetArrayLength(env, jresults))
+    {
+        ndrxj_ubf_throw(env, BEINVAL, "results array size %d does not match "
+                "expression count %d", (int)(*env)->GetArrayLength(env, jresults),
+                len);
         goto out;
     }
     
@@ -299,19 +484,108 @@ expublic jboolean JNICALL ndrxj_Java_org_endurox_TypedUbf_Bqboolev
         goto out;
     }
     
-    /* Compile the expression: */
+    if (NULL==(res = NDRX_CALLOC(len+1, sizeof(jdouble))))
+    {
+        int err = errno;
+        UBF_LOG(log_error, "%s: Failed to calloc %d bytes: %s", 
+                __func__, (int)(sizeof(jdouble)*(len+1)), strerror(err));
+        ndrxj_ubf_throw(env, BEUNIX, "%s: Failed to calloc %d bytes: %s", 
+                __func__, (int)(sizeof(jdouble)*(len+1)), strerror(err));
+        goto out;
+    }
     
-    tree = Bboolco((char *)n_jexprstr);
+    /* evaluate */
+    for (i=0; i<len; i++)
+    {
+        res[i] = (jdouble)Bfloatev((UBFH *)cdata, trees[i]);
+        
+        if (BMINVAL!=Berror)
+        {
+            ndrxj_ubf_throw(M_cb_env, Berror, "Failed to execute Bfloatev() "
+                    "on expression %d: %s", i, Bstrerror(Berror));
+            goto out;
+        }
+    }
+    
+    (*env)->SetDoubleArrayRegion(env, jresults, 0, len, res);
+    
+out:
     
-    if (NULL==tree)
+    if (NULL!=trees)
     {
-        UBF_LOG(log_error, "Failed to compile: %s", Bstrerror(Berror));
-        ndrxj_ubf_throw(env, Berror, "Failed to compile: %s", 
-                Bstrerror(Berror));
-        goto out;
+        NDRX_FREE(trees);
+    }
+
+    if (NULL!=res)
+    {
+        NDRX_FREE(res);
     }
 
-    /* Evaluate the expression: */
+    /* unset context */
+    tpsetctxt(TPNULLCONTEXT, 0L);
+}
+
+/**
+ * Evaluate boolean expression and if it is true, perform projection on the
+ * buffer (leave only listed fields). Both steps are done in single native call.
+ * @param env java env
+ * @param data UBF buffer
+ * @param jctx ATMI Context in which evaluation shall be done, if NULL, then
+ *  buffer's context is used.
+ * @param jexpr compiled boolean expression
+ * @param bfldida list of fields to leave in buffer, if NULL, projection
+ *  is not performed
+ * @return JNI_TRUE if expression matched, JNI_FALSE if not
+ */
+expublic jboolean JNICALL ndrxj_Java_org_endurox_TypedUbf_BboolevProjC
+  (JNIEnv *env, jobject data, jobject jctx, jobject jexpr, jintArray bfldida)
+{
+    jboolean jret = JNI_FALSE;
+    int ret;
+    char *tree;
+    char *cdata;
+    long clen;
+    BFLDID *barra = NULL;
+    int i;
+    int len;
+    jboolean jarr_copy = JNI_FALSE;
+    jint *jarr = NULL;
+    
+    if (NULL==jexpr)
+    {
+        ndrxj_ubf_throw(env, BEINVAL, "compiled expression must not be NULL");
+        return JNI_FALSE;
+    }
+    
+    /* save in thread vars the java environment data and UBF ptr */
+    M_cb_env = env;
+    M_cb_ubf = data;
+    
+    /* set context, either given or from UBF buffer */
+    if (NULL!=jctx)
+    {
+        if (NULL==ndrxj_get_ctx(env, jctx, EXTRUE))
+        {
+            return JNI_FALSE;
+        }
+    }
+    else if (NULL==ndrxj_TypedBuffer_get_ctx(env, data, EXTRUE))
+    {
+        return JNI_FALSE;
+    }
+    
+    if (NULL==(tree = ndrxj_BExprTree_ptr_get(env, jexpr)))
+    {
+        ndrxj_ubf_throw(env, BEINVAL, "compiled expression is free'd");
+        goto out;
+    }
+    
+    if (EXSUCCEED!=ndrxj_atmi_TypedBuffer_get_buffer(env, data, &cdata, &clen,
+            NULL, EXFALSE, EXFALSE))
+    {
+        UBF_LOG(log_error, "Failed to get buffer data");
+        goto out;
+    }
     
     if (EXFAIL==(ret = Bboolev((UBFH *)cdata, tree)))
     {
@@ -320,32 +594,81 @@ expublic jboolean JNICALL ndrxj_Java_org_endurox_TypedUbf_Bqboolev
         goto out;
     }
     
+    if (EXTRUE!=ret)
+    {
+        /* not matched, nothing to project */
+        goto out;
+    }
     
-    if (EXTRUE==ret)
+    jret = JNI_TRUE;
+    
+    if (NULL==bfldida)
     {
-        jret = JNI_TRUE;
+        goto out;
     }
-    else
+    
+    len = (*env)->GetArrayLength(env, bfldida);
+    
+    barra = NDRX_MALLOC(sizeof(BFLDID)*(len+1));
+    
+    if (NULL==barra)
     {
+        int err = errno;
+        UBF_LOG(log_error, "%s: Failed to malloc %d bytes: %s", 
+                __func__, (int)(sizeof(BFLDID)*(len+1)), strerror(err));
+        userlog("%s: Failed to malloc %d bytes: %s", 
+                __func__, (int)(sizeof(BFLDID)*(len+1)), strerror(err));
+        ndrxj_ubf_throw(env, BEUNIX, "%s: Failed to malloc %d bytes: %s", 
+                __func__, (int)(sizeof(BFLDID)*(len+1)), strerror(err));
         jret = JNI_FALSE;
+        goto out;
+    }
+    
+    jarr = (*env)->GetIntArrayElements(env, bfldida, &jarr_copy);
+    
+    if (NULL==jarr)
+    {
+        UBF_LOG(log_error, "%s: Failed to get field id array", __func__);
+        ndrxj_ubf_throw(env, BEUNIX, "%s: Failed to get field id array", 
+                __func__);
+        jret = JNI_FALSE;
+        goto out;
+    }
+    
+    for (i=0; i<len; i++)
+    {
+        barra[i] = (BFLDID)jarr[i];
+    }
+    
+    barra[i] = BBADFLDID;
+    
+    ndrxj_TypedBuffer_modified(env, data);
+    
+    if (EXSUCCEED!=Bproj((UBFH*)cdata, barra))
+    {
+        UBF_LOG(log_error, "%s: Bproj %p: %s", 
+                __func__, barra, Bstrerror(Berror));
+        ndrxj_ubf_throw(env, Berror, "%s: Bproj %p: %s", 
+                __func__, barra, Bstrerror(Berror));
+        jret = JNI_FALSE;
+        goto out;
     }
     
 out:
     
-    if (NULL!=tree)
+    if (NULL!=jarr)
     {
-        Btreefree(tree);
+        (*env)->ReleaseIntArrayElements(env, bfldida, jarr, JNI_ABORT);
     }
 
-    if (n_jexprstr_copy)
+    if (NULL!=barra)
     {
-        (*env)->ReleaseStringUTFChars(env, jexprstr, n_jexprstr);
+        NDRX_FREE(barra);
     }
-    
 
     /* unset context */
     tpsetctxt(TPNULLCONTEXT, 0L);
-            
+
     return jret;
 }
 
@@ -89,6 +89,8 @@ exprivate void ndrxj_ubf_CBchg(JNIEnv *env, jobject data, jint bfldid, jint occ,
     
     /* Set the field */
     
+    ndrxj_TypedBuffer_modified(env, data);
+    
     if (EXSUCCEED!=CBchg((UBFH*)cdata, bfldid, (BFLDOCC)occ, value, len, usrtype))
     {
         int err = Berror;
@@ -52,6 +52,7 @@
 #include <ndrstandard.h>
 /*---------------------------Externs------------------------------------*/
 /*---------------------------Macros-------------------------------------*/
+#define NOT_PRES        1       /**< field not present, no exception */
 /*---------------------------Enums--------------------------------------*/
 /*---------------------------Typedefs-----------------------------------*/
 /*---------------------------Globals------------------------------------*/
@@ -67,10 +68,11 @@
  * @param value field value to return double ptr
  * @param len field length 
  * @param usrtype user try expected (cast to if needed)
- * @return EXSUCCEED/EXFAIL
+ * @param notpres_ok do not throw exception if field is not present
+ * @return EXSUCCEED/EXFAIL, NOT_PRES if field not found and \p notpres_ok set
  */
 exprivate int ndrxj_ubf_CBfind(JNIEnv *env, jobject data, jint bfldid, BFLDOCC occ,
-        char **value, BFLDLEN *len, int usrtype)
+        char **value, BFLDLEN *len, int usrtype, int notpres_ok)
 {
     char *cdata;
     long clen;
@@ -94,6 +96,13 @@ exprivate int ndrxj_ubf_CBfind(JNIEnv *env, jobject data, jint bfldid, BFLDOCC o
     if (NULL==(*value = CBfind((UBFH*)cdata, bfldid, occ, len, usrtype)))
     {
         int err = Berror;
+        
+        if (notpres_ok && BNOTPRES==err)
+        {
+            ret = NOT_PRES;
+            goto out;
+        }
+        
         UBF_LOG(log_error, "%s: CBfind failed to find %d (%s) occ %d: %s", 
                 __func__, bfldid, Bfname(bfldid), (int)occ, Bstrerror(err));
         
@@ -126,7 +135,8 @@ expublic JNIEXPORT jshort JNICALL ndrxj_Java_org_endurox_TypedUbf_BgetShort
     short *v = NULL;
     
     /* exception will be thrown in case of failure */
-    if (EXSUCCEED!=ndrxj_ubf_CBfind(env, data, bfldid, occ, &buf, NULL, BFLD_SHORT))
+    if (EXSUCCEED!=ndrxj_ubf_CBfind(env, data, bfldid, occ, &buf, NULL, 
+            BFLD_SHORT, EXFALSE))
     {
         return (jshort)EXFAIL;
     }
@@ -152,7 +162,8 @@ JNIEXPORT jlong JNICALL ndrxj_Java_org_endurox_TypedUbf_BgetLong
     long *v = NULL;
     
     /* exception will be thrown in case of failure */
-    if (EXSUCCEED!=ndrxj_ubf_CBfind(env, data, bfldid, occ, &buf, NULL, BFLD_LONG))
+    if (EXSUCCEED!=ndrxj_ubf_CBfind(env, data, bfldid, occ, &buf, NULL, 
+            BFLD_LONG, EXFALSE))
     {
         return (jlong)EXFAIL;
     }
@@ -178,7 +189,8 @@ JNIEXPORT jbyte JNICALL ndrxj_Java_org_endurox_TypedUbf_BgetByte
     char *v = NULL;
     
     /* exception will be thrown in case of failure */
-    if (EXSUCCEED!=ndrxj_ubf_CBfind(env, data, bfldid, occ, &buf, NULL, BFLD_CHAR))
+    if (EXSUCCEED!=ndrxj_ubf_CBfind(env, data, bfldid, occ, &buf, NULL, 
+            BFLD_CHAR, EXFALSE))
     {
         return (jbyte)EXFAIL;
     }
@@ -205,7 +217,8 @@ JNIEXPORT jfloat JNICALL ndrxj_Java_org_endurox_TypedUbf_BgetFloat
     float *v = NULL;
     
     /* exception will be thrown in case of failure */
-    if (EXSUCCEED!=ndrxj_ubf_CBfind(env, data, bfldid, occ, &buf, NULL, BFLD_FLOAT))
+    if (EXSUCCEED!=ndrxj_ubf_CBfind(env, data, bfldid, occ, &buf, NULL, 
+            BFLD_FLOAT, EXFALSE))
     {
         return (jfloat)EXFAIL;
     }
@@ -231,7 +244,8 @@ JNIEXPORT jdouble JNICALL ndrxj_Java_org_endurox_TypedUbf_BgetDouble
     double *v = NULL;
     
     /* exception will be thrown in case of failure */
-    if (EXSUCCEED!=ndrxj_ubf_CBfind(env, data, bfldid, occ, &buf, NULL, BFLD_DOUBLE))
+    if (EXSUCCEED!=ndrxj_ubf_CBfind(env, data, bfldid, occ, &buf, NULL, 
+            BFLD_DOUBLE, EXFALSE))
     {
         return (jdouble)EXFAIL;
     }
@@ -257,7 +271,8 @@ JNIEXPORT jstring JNICALL ndrxj_Java_org_endurox_TypedUbf_BgetString
     jstring ret;
     
     /* exception will be thrown in case of failure */
-    if (EXSUCCEED!=ndrxj_ubf_CBfind(env, data, bfldid, occ, &buf, NULL, BFLD_STRING))
+    if (EXSUCCEED!=ndrxj_ubf_CBfind(env, data, bfldid, occ, &buf, NULL, 
+            BFLD_STRING, EXFALSE))
     {
         return (jstring)NULL;
     }
@@ -284,7 +299,8 @@ JNIEXPORT jbyteArray JNICALL ndrxj_Java_org_endurox_TypedUbf_BgetByteArr
     jbyteArray ret = NULL;
     
     /* exception will be thrown in case of failure */
-    if (EXSUCCEED!=ndrxj_ubf_CBfind(env, data, bfldid, occ, &buf, &len, BFLD_CARRAY))
+    if (EXSUCCEED!=ndrxj_ubf_CBfind(env, data, bfldid, occ, &buf, &len, 
+            BFLD_CARRAY, EXFALSE))
     {
         return (jstring)NULL;
     }
@@ -311,4 +327,79 @@ out:
     return ret;
 }
 
+/**
+ * Get long value from buffer, or default if field is not present
+ * @param env Java env
+ * @param data UBF data buffer
+ * @param bfldid compiled field
+ * @param occ field occurrence 
+ * @param dflt default value
+ * @return long value or \p dflt
+ * @throws any UBF, except BNOTPRES
+ */
+JNIEXPORT jlong JNICALL ndrxj_Java_org_endurox_TypedUbf_BgetLongOr
+      (JNIEnv * env, jobject data, jint bfldid, jint occ, jlong dflt)
+{
+    char *buf;
+    int ret;
+    
+    if (EXSUCCEED!=(ret=ndrxj_ubf_CBfind(env, data, bfldid, occ, &buf, NULL, 
+            BFLD_LONG, EXTRUE)))
+    {
+        return NOT_PRES==ret ? dflt : (jlong)EXFAIL;
+    }
+    
+    return (jlong)*((long *)buf);
+}
+
+/**
+ * Get double value from buffer, or default if field is not present
+ * @param env Java env
+ * @param data UBF data buffer
+ * @param bfldid compiled field
+ * @param occ field occurrence 
+ * @param dflt default value
+ * @return double value or \p dflt
+ * @throws any UBF, except BNOTPRES
+ */
+JNIEXPORT jdouble JNICALL ndrxj_Java_org_endurox_TypedUbf_BgetDoubleOr
+      (JNIEnv * env, jobject data, jint bfldid, jint occ, jdouble dflt)
+{
+    char *buf;
+    int ret;
+    
+    if (EXSUCCEED!=(ret=ndrxj_ubf_CBfind(env, data, bfldid, occ, &buf, NULL, 
+            BFLD_DOUBLE, EXTRUE)))
+    {
+        return NOT_PRES==ret ? dflt : (jdouble)EXFAIL;
+    }
+    
+    return (jdouble)*((double *)buf);
+}
+
+/**
+ * Get string value from buffer, or default if field is not present
+ * @param env Java env
+ * @param data UBF data buffer
+ * @param bfldid compiled field
+ * @param occ field occurrence 
+ * @param dflt default value, may be NULL
+ * @return string value or \p dflt
+ * @throws any UBF, except BNOTPRES
+ */
+JNIEXPORT jstring JNICALL ndrxj_Java_org_endurox_TypedUbf_BgetStringOr
+      (JNIEnv * env, jobject data, jint bfldid, jint occ, jstring dflt)
+{
+    char *buf;
+    int ret;
+    
+    if (EXSUCCEED!=(ret=ndrxj_ubf_CBfind(env, data, bfldid, occ, &buf, NULL, 
+            BFLD_STRING, EXTRUE)))
+    {
+        return NOT_PRES==ret ? dflt : (jstring)NULL;
+    }
+    
+    return (*env)->NewStringUTF(env, buf);
+}
+
 /* vim: set ts=4 sw=4 et smartindent: */
@@ -200,6 +200,8 @@ expublic void JNICALL ndrxj_Java_org_endurox_TypedUbf_Bextread
     ctl.data = data;
     ctl.reader = reader;
 
+    ndrxj_TypedBuffer_modified(env, data);
+    
     if (EXSUCCEED!=Bextreadcb((UBFH *)cdata, Bextread_readf, (void *)&ctl))
     {
         UBF_LOG(log_error, "Failed to call Bextreadcb(): %s", Bstrerror(Berror));
@@ -213,6 +215,196 @@ out:
     tpsetctxt(TPNULLCONTEXT, 0L);
 }
 
+/**
+ * In-memory text source for Bextread
+ */
+typedef struct Bextread_mem Bextread_mem_t;
+struct Bextread_mem
+{
+    char *buf; /**< text data */
+    long size; /**< text size */
+    long offset; /**< current read position */
+};
+
+/**
+ * Read line from memory block. Works the same way as BufferedReader.readLine()
+ * i.e. line terminator is not included, \r before \n is stripped.
+ * @param buffer output buffer
+ * @param bufsz output buffer size
+ * @param dataptr1 Bextread_mem_t
+ * @return number of bytes put in buffer including EOS, 0 on EOF
+ */
+exprivate long Bextread_memf(char *buffer, long bufsz, void *dataptr1)
+{
+    Bextread_mem_t *ctl = (Bextread_mem_t *)dataptr1;
+    long ret = 0;
+    char *start;
+    char *eol;
+    long linelen;
+    
+    if (ctl->offset >= ctl->size || bufsz < 1)
+    {
+        UBF_LOG(log_debug, "EOF reached on memory block");
+        goto out;
+    }
+    
+    start = ctl->buf+ctl->offset;
+    eol = memchr(start, '\n', ctl->size-ctl->offset);
+    
+    if (NULL==eol)
+    {
+        linelen = ctl->size-ctl->offset;
+        ctl->offset = ctl->size;
+    }
+    else
+    {
+        linelen = eol-start;
+        ctl->offset+=linelen+1;
+    }
+    
+    if (linelen > 0 && '\r'==start[linelen-1])
+    {
+        linelen--;
+    }
+    
+    if (linelen > bufsz-1)
+    {
+        linelen = bufsz-1;
+    }
+    
+    memcpy(buffer, start, linelen);
+    buffer[linelen] = EXEOS;
+    
+    ret = linelen+1;
+    
+out:
+    return ret;
+}
+
+/**
+ * Parse text in memory into UBF buffer, context must be set
+ * @param env java env
+ * @param data UBF buffer
+ * @param text text start
+ * @param len text length
+ */
+exprivate void Bextread_mem(JNIEnv * env, jobject data, char *text, long len)
+{
+    char *cdata;
+    long clen;
+    Bextread_mem_t ctl;
+    
+    if (EXSUCCEED!=ndrxj_atmi_TypedBuffer_get_buffer(env, data, &cdata, &clen,
+        NULL, EXFALSE, EXFALSE))
+    {
+        UBF_LOG(log_error, "Failed to get buffer data");
+        goto out;
+    }
+    
+    ctl.buf = text;
+    ctl.size = len;
+    ctl.offset = 0;
+    
+    ndrxj_TypedBuffer_modified(env, data);
+    
+    if (EXSUCCEED!=Bextreadcb((UBFH *)cdata, Bextread_memf, (void *)&ctl))
+    {
+        UBF_LOG(log_error, "Failed to call Bextreadcb(): %s", Bstrerror(Berror));
+        ndrxj_ubf_throw(env, Berror, "Failed to call Bextreadcb(): %s", 
+                Bstrerror(Berror));
+        goto out;
+    }
+    
+out:
+    return;
+}
+
+/**
+ * Read UBF buffer from text in byte array
+ * @param env java env
+ * @param data UBF buffer
+ * @param jb byte array with text
+ * @param off text offset in array
+ * @param len text length
+ */
+expublic void JNICALL ndrxj_Java_org_endurox_TypedUbf_BextreadArrC
+  (JNIEnv * env, jobject data, jbyteArray jb, jint off, jint len)
+{
+    jboolean n_array_copy = JNI_FALSE;
+    char *n_array = NULL;
+    
+    if (NULL==jb || off < 0 || len < 0 || 
+            (long)off+len > (*env)->GetArrayLength(env, jb))
+    {
+        ndrxj_ubf_throw(env, BEINVAL, "%s: invalid array or range "
+                "(off %d len %d)", __func__, (int)off, (int)len);
+        return;
+    }
+    
+    /* get the context, switch */
+    if (NULL==ndrxj_TypedBuffer_get_ctx(env, data, EXTRUE))
+    {
+       return; 
+    }
+    
+    n_array = (char*)(*env)->GetByteArrayElements(env, jb, &n_array_copy);
+    
+    if (NULL==n_array)
+    {
+        UBF_LOG(log_error, "Failed to get byte array elements");
+        goto out;
+    }
+    
+    Bextread_mem(env, data, n_array+off, len);
+    
+out:
+    
+    if (NULL!=n_array)
+    {
+       (*env)->ReleaseByteArrayElements(env, jb, (signed char *)n_array, JNI_ABORT);
+    }
+
+    /* switch context back */
+    tpsetctxt(TPNULLCONTEXT, 0L);
+}
+
+/**
+ * Read UBF buffer from text in direct byte buffer
+ * @param env java env
+ * @param data UBF buffer
+ * @param jbuf direct buffer with text
+ * @param off text offset in buffer
+ * @param len text length
+ */
+expublic void JNICALL ndrxj_Java_org_endurox_TypedUbf_BextreadDirectC
+  (JNIEnv * env, jobject data, jobject jbuf, jint off, jint len)
+{
+    char *addr;
+    long cap;
+    
+    addr = (*env)->GetDirectBufferAddress(env, jbuf);
+    cap = (long)(*env)->GetDirectBufferCapacity(env, jbuf);
+    
+    if (NULL==addr || off < 0 || len < 0 || (long)off+len > cap)
+    {
+        ndrxj_ubf_throw(env, BEINVAL, "%s: invalid direct buffer (addr %p "
+                "capacity %ld off %d len %d)", __func__, addr, cap, 
+                (int)off, (int)len);
+        return;
+    }
+    
+    /* get the context, switch */
+    if (NULL==ndrxj_TypedBuffer_get_ctx(env, data, EXTRUE))
+    {
+       return; 
+    }
+    
+    Bextread_mem(env, data, addr+off, len);
+    
+    /* switch context back */
+    tpsetctxt(TPNULLCONTEXT, 0L);
+}
+
 /**
  * Test data holder for bfprintcb_data
  */
@@ -307,6 +499,8 @@ expublic void JNICALL ndrxj_Java_org_endurox_TypedUbf_Bread
     
     NDRX_LOG(log_debug, "Reading buffer len: %ld", (long)ctl.size);
     
+    ndrxj_TypedBuffer_modified(env, data);
+    
     if (EXSUCCEED!=Breadcb ((UBFH *)cdata, Bread_readf, (void *)&ctl))
     {
         UBF_LOG(log_error, "Failed to call Breadcb(): %s", Bstrerror(Berror));
@@ -454,4 +648,566 @@ out:
     return ret;
 }
 
+/**
+ * Chunked I/O control block, data is moved via java direct buffer
+ */
+typedef struct chunk_io chunk_io_t;
+struct chunk_io
+{
+    JNIEnv * env; /**< java env */
+    jobject io; /**< UbfChunkIO object doing the actual I/O */
+    char *chunk; /**< direct buffer memory */
+    long size; /**< direct buffer capacity */
+    long offset; /**< number of bytes filled in chunk (write mode) */
+    long total; /**< total bytes transfered */
+    int eof; /**< end of stream reached (read mode) */
+};
+
+/**
+ * Resolve direct buffer memory for the chunked I/O
+ * @param env java env
+ * @param ctl control block to fill
+ * @param io UbfChunkIO object
+ * @param chunk direct byte buffer
+ * @return EXSUCCEED/EXFAIL (exception set)
+ */
+exprivate int chunk_io_init(JNIEnv * env, chunk_io_t *ctl, jobject io, 
+        jobject chunk)
+{
+    int ret = EXSUCCEED;
+    
+    memset(ctl, 0, sizeof(*ctl));
+    
+    ctl->env = env;
+    ctl->io = io;
+    
+    if (NULL==io || NULL==chunk)
+    {
+        ndrxj_ubf_throw(env, BEINVAL, "%s: io and chunk must not be NULL", 
+                __func__);
+        EXFAIL_OUT(ret);
+    }
+    
+    ctl->chunk = (*env)->GetDirectBufferAddress(env, chunk);
+    ctl->size = (long)(*env)->GetDirectBufferCapacity(env, chunk);
+    
+    if (NULL==ctl->chunk || ctl->size <= 0)
+    {
+        ndrxj_ubf_throw(env, BEINVAL, "%s: chunk is not direct buffer "
+                "(addr %p size %ld)", __func__, ctl->chunk, ctl->size);
+        EXFAIL_OUT(ret);
+    }
+    
+out:
+    return ret;
+}
+
+/**
+ * Pass filled chunk to java side for writing
+ * @param ctl control block
+ * @return EXSUCCEED/EXFAIL (java exception pending)
+ */
+exprivate int chunk_io_flush(chunk_io_t *ctl)
+{
+    int ret = EXSUCCEED;
+    TPCONTEXT_T context;
+    
+    if (0==ctl->offset)
+    {
+        goto out;
+    }
+    
+    /* suspend ATMI context as java might perform some other actions
+     * on given thread.
+     */
+    tpgetctxt(&context, 0L);
+    
+    (*(ctl->env))->CallVoidMethod(ctl->env, ctl->io, 
+            ndrxj_clazz_UbfChunkIO_mid_flush, (jint)ctl->offset);
+    
+    /* restore ATMI context */
+    tpsetctxt(context, 0L);
+    
+    if((*(ctl->env))->ExceptionCheck(ctl->env))
+    {
+        UBF_LOG(log_error, "Failed to flush %ld bytes chunk", ctl->offset);
+        EXFAIL_OUT(ret);
+    }
+    
+    ctl->total+=ctl->offset;
+    ctl->offset = 0;
+    
+out:
+    return ret;
+}
+
+/**
+ * Write callback, copy the data to chunk, flush when full
+ * @param buffer data to write
+ * @param bufsz data size
+ * @param dataptr1 chunk_io_t control block
+ * @return number of bytes written, must match bufsz in case of succeed
+ */
+exprivate long Bwrite_chunkf(char *buffer, long bufsz, void *dataptr1)
+{
+    long ret = EXFAIL;
+    chunk_io_t *ctl = (chunk_io_t *)dataptr1;
+    long left = bufsz;
+    long cpy;
+    
+    while (left > 0)
+    {
+        cpy = ctl->size - ctl->offset;
+        
+        if (cpy > left)
+        {
+            cpy = left;
+        }
+        
+        memcpy(ctl->chunk+ctl->offset, buffer, cpy);
+        ctl->offset+=cpy;
+        buffer+=cpy;
+        left-=cpy;
+        
+        if (ctl->offset==ctl->size && EXSUCCEED!=chunk_io_flush(ctl))
+        {
+            EXFAIL_OUT(ret);
+        }
+    }
+    
+    ret = bufsz;
+    
+out:
+    return ret;
+}
+
+/**
+ * Read callback, fetch data in chunks from java until requested
+ * number of bytes is read, or end of stream is reached. Java side never
+ * reads more than requested, thus stream is not over-read.
+ * @param buffer buffer to put data into
+ * @param bufsz requested size
+ * @param dataptr1 chunk_io_t control block
+ * @return number of bytes read
+ */
+exprivate long Bread_chunkf(char *buffer, long bufsz, void *dataptr1)
+{
+    long ret = EXFAIL;
+    chunk_io_t *ctl = (chunk_io_t *)dataptr1;
+    TPCONTEXT_T context;
+    long got = 0;
+    long req;
+    jint n;
+    
+    while (got < bufsz)
+    {
+        req = bufsz - got;
+        
+        if (req > ctl->size)
+        {
+            req = ctl->size;
+        }
+        
+        tpgetctxt(&context, 0L);
+        n = (*(ctl->env))->CallIntMethod(ctl->env, ctl->io, 
+                ndrxj_clazz_UbfChunkIO_mid_fill, (jint)req);
+        tpsetctxt(context, 0L);
+        
+        if((*(ctl->env))->ExceptionCheck(ctl->env))
+        {
+            UBF_LOG(log_error, "Failed to fill %ld bytes chunk", req);
+            EXFAIL_OUT(ret);
+        }
+        
+        if (n < 0)
+        {
+            UBF_LOG(log_debug, "EOF reached on chunk reader (read %ld of %ld)",
+                    got, bufsz);
+            ctl->eof = EXTRUE;
+            break;
+        }
+        
+        memcpy(buffer+got, ctl->chunk, n);
+        got+=n;
+        ctl->total+=n;
+    }
+    
+    ret = got;
+    
+out:
+    return ret;
+}
+
+/**
+ * Write UBF buffer image to java channel in chunks
+ * @param env java env
+ * @param data UBF buffer
+ * @param io UbfChunkIO object
+ * @param chunk direct byte buffer used for data transfer
+ */
+expublic void JNICALL ndrxj_Java_org_endurox_TypedUbf_BwriteChunkC
+  (JNIEnv * env, jobject data, jobject io, jobject chunk)
+{
+    chunk_io_t ctl;
+    char *cdata;
+    long clen;
+    
+    if (EXSUCCEED!=chunk_io_init(env, &ctl, io, chunk))
+    {
+        return;
+    }
+    
+    /* get the context, switch */
+    if (NULL==ndrxj_TypedBuffer_get_ctx(env, data, EXTRUE))
+    {
+       return; 
+    }
+    
+    if (EXSUCCEED!=ndrxj_atmi_TypedBuffer_get_buffer(env, data, &cdata, &clen,
+        NULL, EXFALSE, EXFALSE))
+    {
+        UBF_LOG(log_error, "Failed to get buffer data");
+        goto out;
+    }
+    
+    if (EXSUCCEED!=Bwritecb ((UBFH *)cdata, Bwrite_chunkf, (void *)&ctl))
+    {
+        UBF_LOG(log_error, "Failed to call Bwritecb(): %s", Bstrerror(Berror));
+        
+        /* keep the I/O exception if any */
+        if (!(*env)->ExceptionCheck(env))
+        {
+            ndrxj_ubf_throw(env, Berror, "Failed to call Bwritecb(): %s", 
+                    Bstrerror(Berror));
+        }
+        goto out;
+    }
+    
+    /* write the tail */
+    if (EXSUCCEED!=chunk_io_flush(&ctl))
+    {
+        goto out;
+    }
+    
+    UBF_LOG(log_debug, "Written %ld bytes", ctl.total);
+    
+out:
+    /* switch context back */
+    tpsetctxt(TPNULLCONTEXT, 0L);
+}
+
+/**
+ * Read UBF buffer image from java channel in chunks
+ * @param env java env
+ * @param data UBF buffer
+ * @param io UbfChunkIO object
+ * @param chunk direct byte buffer used for data transfer
+ * @return JNI_TRUE if buffer was read, JNI_FALSE if stream was at the EOF
+ */
+expublic jboolean JNICALL ndrxj_Java_org_endurox_TypedUbf_BreadChunkC
+  (JNIEnv * env, jobject data, jobject io, jobject chunk)
+{
+    jboolean jret = JNI_FALSE;
+    chunk_io_t ctl;
+    char *cdata;
+    long clen;
+    
+    if (EXSUCCEED!=chunk_io_init(env, &ctl, io, chunk))
+    {
+        return JNI_FALSE;
+    }
+    
+    /* get the context, switch */
+    if (NULL==ndrxj_TypedBuffer_get_ctx(env, data, EXTRUE))
+    {
+       return JNI_FALSE;
+    }
+    
+    if (EXSUCCEED!=ndrxj_atmi_TypedBuffer_get_buffer(env, data, &cdata, &clen,
+        NULL, EXFALSE, EXFALSE))
+    {
+        UBF_LOG(log_error, "Failed to get buffer data");
+        goto out;
+    }
+    
+    ndrxj_TypedBuffer_modified(env, data);
+    
+    if (EXSUCCEED!=Breadcb ((UBFH *)cdata, Bread_chunkf, (void *)&ctl))
+    {
+        if ((*env)->ExceptionCheck(env))
+        {
+            /* keep the I/O exception */
+            goto out;
+        }
+        
+        if (ctl.eof && 0==ctl.total)
+        {
+            UBF_LOG(log_debug, "Clean EOF, no buffer read");
+            goto out;
+        }
+        
+        UBF_LOG(log_error, "Failed to call Breadcb(): %s", Bstrerror(Berror));
+        ndrxj_ubf_throw(env, Berror, "Failed to call Breadcb(): %s", 
+                Bstrerror(Berror));
+        goto out;
+    }
+    
+    jret = JNI_TRUE;
+    
+out:
+    /* switch context back */
+    tpsetctxt(TPNULLCONTEXT, 0L);
+
+    return jret;
+}
+
+/**
+ * Write callback for direct buffer. Data is copied only while it fits
+ * in the target, but total size is always counted, so that caller may
+ * grow the target and retry.
+ * @param buffer data to write
+ * @param bufsz data size
+ * @param dataptr1 rw_data_t, buf/size describes the target memory
+ * @return bufsz
+ */
+exprivate long Bwrite_directf(char *buffer, long bufsz, void *dataptr1)
+{
+    rw_data_t *ctl = (rw_data_t *)dataptr1;
+    
+    if (ctl->offset+bufsz <= ctl->size)
+    {
+        memcpy(ctl->buf+ctl->offset, buffer, bufsz);
+    }
+    
+    ctl->offset+=bufsz;
+    
+    return bufsz;
+}
+
+/**
+ * Read callback for direct buffer, reads requested bytes or what is left
+ * @param buffer buffer to put data into
+ * @param bufsz requested size
+ * @param dataptr1 rw_data_t, buf/size describes the source memory
+ * @return number of bytes copied
+ */
+exprivate long Bread_directf(char *buffer, long bufsz, void *dataptr1)
+{
+    rw_data_t *ctl = (rw_data_t *)dataptr1;
+    long ret = ctl->size - ctl->offset;
+    
+    if (ret > bufsz)
+    {
+        ret = bufsz;
+    }
+    
+    memcpy(buffer, ctl->buf+ctl->offset, ret);
+    ctl->offset+=ret;
+    
+    return ret;
+}
+
+/**
+ * Write UBF buffer image into java direct buffer
+ * @param env java env
+ * @param data UBF buffer
+ * @param jbuf direct byte buffer
+ * @param offset offset in direct buffer where to start the image
+ * @return size of the image. If it is larger than space available after
+ *  the \p offset, then nothing is written and caller shall retry with larger
+ *  buffer. EXFAIL on error.
+ */
+expublic jint JNICALL ndrxj_Java_org_endurox_TypedUbf_BwriteDirectC
+  (JNIEnv * env, jobject data, jobject jbuf, jint offset)
+{
+    jint ret = EXFAIL;
+    rw_data_t ctl;
+    char *cdata;
+    long clen;
+    char *addr;
+    long cap;
+    
+    memset(&ctl, 0, sizeof(ctl));
+    ctl.env = env;
+    
+    addr = (*env)->GetDirectBufferAddress(env, jbuf);
+    cap = (long)(*env)->GetDirectBufferCapacity(env, jbuf);
+    
+    if (NULL==addr || offset < 0 || offset > cap)
+    {
+        ndrxj_ubf_throw(env, BEINVAL, "%s: invalid direct buffer (addr %p "
+                "capacity %ld offset %d)", __func__, addr, cap, (int)offset);
+        return EXFAIL;
+    }
+    
+    ctl.buf = addr+offset;
+    ctl.size = cap-offset;
+    
+    /* get the context, switch */
+    if (NULL==ndrxj_TypedBuffer_get_ctx(env, data, EXTRUE))
+    {
+       return EXFAIL; 
+    }
+    
+    if (EXSUCCEED!=ndrxj_atmi_TypedBuffer_get_buffer(env, data, &cdata, &clen,
+        NULL, EXFALSE, EXFALSE))
+    {
+        UBF_LOG(log_error, "Failed to get buffer data");
+        goto out;
+    }
+    
+    if (EXSUCCEED!=Bwritecb ((UBFH *)cdata, Bwrite_directf, (void *)&ctl))
+    {
+        UBF_LOG(log_error, "Failed to call Bwritecb(): %s", Bstrerror(Berror));
+        ndrxj_ubf_throw(env, Berror, "Failed to call Bwritecb(): %s", 
+                Bstrerror(Berror));
+        goto out;
+    }
+    
+    ret = (jint)ctl.offset;
+    
+out:
+    /* switch context back */
+    tpsetctxt(TPNULLCONTEXT, 0L);
+
+    return ret;
+}
+
+/**
+ * Read UBF buffer image from java direct buffer (e.g. memory mapped file)
+ * @param env java env
+ * @param data UBF buffer
+ * @param jbuf direct byte buffer
+ * @param offset offset in direct buffer where image starts
+ * @param len image length
+ */
+expublic void JNICALL ndrxj_Java_org_endurox_TypedUbf_BreadDirectC
+  (JNIEnv * env, jobject data, jobject jbuf, jint offset, jint len)
+{
+    rw_data_t ctl;
+    char *cdata;
+    long clen;
+    char *addr;
+    long cap;
+    
+    memset(&ctl, 0, sizeof(ctl));
+    ctl.env = env;
+    
+    addr = (*env)->GetDirectBufferAddress(env, jbuf);
+    cap = (long)(*env)->GetDirectBufferCapacity(env, jbuf);
+    
+    if (NULL==addr || offset < 0 || len < 0 || (long)offset+len > cap)
+    {
+        ndrxj_ubf_throw(env, BEINVAL, "%s: invalid direct buffer (addr %p "
+                "capacity %ld offset %d len %d)", __func__, addr, cap, 
+                (int)offset, (int)len);
+        return;
+    }
+    
+    ctl.buf = addr+offset;
+    ctl.size = len;
+    
+    /* get the context, switch */
+    if (NULL==ndrxj_TypedBuffer_get_ctx(env, data, EXTRUE))
+    {
+       return; 
+    }
+    
+    if (EXSUCCEED!=ndrxj_atmi_TypedBuffer_get_buffer(env, data, &cdata, &clen,
+        NULL, EXFALSE, EXFALSE))
+    {
+        UBF_LOG(log_error, "Failed to get buffer data");
+        goto out;
+    }
+    
+    ndrxj_TypedBuffer_modified(env, data);
+    
+    if (EXSUCCEED!=Breadcb ((UBFH *)cdata, Bread_directf, (void *)&ctl))
+    {
+        UBF_LOG(log_error, "Failed to call Breadcb(): %s", Bstrerror(Berror));
+        ndrxj_ubf_throw(env, Berror, "Failed to call Breadcb(): %s", 
+                Bstrerror(Berror));
+        goto out;
+    }
+    
+out:
+    /* switch context back */
+    tpsetctxt(TPNULLCONTEXT, 0L);
+}
+
+/**
+ * Bfprintcb() callback, put printed line in transfer chunk
+ * @param buffer line to print
+ * @param datalen line length including EOS
+ * @param dataptr1 chunk_io_t control block
+ * @return EXSUCCEED/EXFAIL
+ */
+exprivate int Bfprint_chunkf(char *buffer, long datalen, void *dataptr1)
+{
+    int ret = EXSUCCEED;
+    /* EOS is not written to stream */
+    long len = (long)strnlen(buffer, datalen);
+    
+    if (len > 0 && EXFAIL==Bwrite_chunkf(buffer, len, dataptr1))
+    {
+        EXFAIL_OUT(ret);
+    }
+    
+out:
+    return ret;
+}
+
+/**
+ * Print UBF buffer to java channel in chunks
+ * @param env java env
+ * @param data UBF buffer
+ * @param io UbfChunkIO object
+ * @param chunk direct byte buffer used for data transfer
+ */
+expublic void JNICALL ndrxj_Java_org_endurox_TypedUbf_BfprintChunkC
+  (JNIEnv * env, jobject data, jobject io, jobject chunk)
+{
+    chunk_io_t ctl;
+    char *cdata;
+    long clen;
+    
+    if (EXSUCCEED!=chunk_io_init(env, &ctl, io, chunk))
+    {
+        return;
+    }
+    
+    /* get the context, switch */
+    if (NULL==ndrxj_TypedBuffer_get_ctx(env, data, EXTRUE))
+    {
+       return; 
+    }
+    
+    if (EXSUCCEED!=ndrxj_atmi_TypedBuffer_get_buffer(env, data, &cdata, &clen,
+        NULL, EXFALSE, EXFALSE))
+    {
+        UBF_LOG(log_error, "Failed to get buffer data");
+        goto out;
+    }
+    
+    if (EXSUCCEED!=Bfprintcb ((UBFH *)cdata, Bfprint_chunkf, (void *)&ctl))
+    {
+        UBF_LOG(log_error, "Failed to call Bfprintcb(): %s", Bstrerror(Berror));
+        
+        /* keep the I/O exception if any */
+        if (!(*env)->ExceptionCheck(env))
+        {
+            ndrxj_ubf_throw(env, Berror, "Failed to call Bfprintcb(): %s", 
+                    Bstrerror(Berror));
+        }
+        goto out;
+    }
+    
+    /* write the tail */
+    chunk_io_flush(&ctl);
+    
+out:
+    /* switch context back */
+    tpsetctxt(TPNULLCONTEXT, 0L);
+}
+
 /* vim: set ts=4 sw=4 et smartindent: */
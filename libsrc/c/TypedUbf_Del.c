@@ -87,6 +87,8 @@ expublic void JNICALL ndrxj_Java_org_endurox_TypedUbf_Bdel
     
     /* Delete the field */
     
+    ndrxj_TypedBuffer_modified(env, data);
+    
     if (EXSUCCEED!=Bdel((UBFH*)cdata, (BFLDID)bfldid, (BFLDOCC)occ))
     {
         int err = Berror;
@@ -132,6 +134,8 @@ expublic void JNICALL ndrxj_Java_org_endurox_TypedUbf_Bdelall
     
     /* Delete the field */
     
+    ndrxj_TypedBuffer_modified(env, data);
+    
     if (EXSUCCEED!=Bdelall((UBFH*)cdata, (BFLDID)bfldid))
     {
         UBF_LOG(log_error, "%s: Bdelall on failed %d: %s", 
@@ -206,6 +210,8 @@ expublic void JNICALL ndrxj_Java_org_endurox_TypedUbf_Bdelete
     
     /* Delete the field */
     
+    ndrxj_TypedBuffer_modified(env, data);
+    
     if (EXSUCCEED!=Bdelete((UBFH*)cdata, barra))
     {
         UBF_LOG(log_error, "%s: Bdelete %p: %s", 
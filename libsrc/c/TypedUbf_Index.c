@@ -0,0 +1,372 @@
+/**
+ * @brief Field offset index of UBF buffer, for O(1) repeated reads
+ *
+ * @file TypedUbf_Index.c
+ */
+/* -----------------------------------------------------------------------------
+ * Enduro/X Middleware Platform for Distributed Transaction Processing
+ * Copyright (C) 2009-2016, ATR Baltic, Ltd. All Rights Reserved.
+ * Copyright (C) 2017-2019, Mavimax, Ltd. All Rights Reserved.
+ * This software is released under one of the following licenses:
+ * LGPL or Mavimax's license for commercial use.
+ * See LICENSE file for full text.
+ *
+ * C (as designed by Dennis Ritchie and later authors) language code is licensed
+ * under Enduro/X Modified GNU Affero General Public License, version 3.
+ * See LICENSE_C file for full text.
+ * -----------------------------------------------------------------------------
+ * LGPL license:
+ * 
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License, version 3 as published
+ * by the Free Software Foundation;
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE. See the GNU Lesser General Public License, version 3
+ * for more details.
+ *
+ * You should have received a copy of the Lesser General Public License along 
+ * with this program; if not, write to the Free Software Foundation, Inc., 
+ * 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ *
+ * -----------------------------------------------------------------------------
+ * A commercial use license is available from Mavimax, Ltd
+ * contact@mavimax.com
+ * -----------------------------------------------------------------------------
+ */
+
+/*---------------------------Includes-----------------------------------*/
+#include <jni.h>
+#include <errno.h>
+#include <stdlib.h>
+#include <exjglue.h>
+#include <atmi.h>
+#include <oatmi.h>
+#include <ndebug.h>
+#include <ondebug.h>
+#include <oatmisrv_integra.h>
+#include "libsrc.h"
+#include <sys_unix.h>
+#include "nerror.h"
+#include <ndrstandard.h>
+#include <string.h>
+/*---------------------------Externs------------------------------------*/
+/*---------------------------Macros-------------------------------------*/
+#define INDEX_REC_LEN       3   /**< longs per indexed field occurrence */
+/*---------------------------Enums--------------------------------------*/
+/*---------------------------Typedefs-----------------------------------*/
+/*---------------------------Globals------------------------------------*/
+/*---------------------------Statics------------------------------------*/
+/*---------------------------Prototypes---------------------------------*/
+
+/**
+ * Scan the buffer and return data offsets of all field occurrences.
+ * Fields are iterated with Bnext() and data pointers are resolved with
+ * Bfind(), which uses the UBF per type field positions.
+ * @param env java env
+ * @param data UBF buffer
+ * @return array of records: (fldid << 32 | occ), (offset << 32 | len), type
+ */
+expublic jlongArray JNICALL ndrxj_Java_org_endurox_TypedUbf_BindexC
+  (JNIEnv *env, jobject data)
+{
+    char *cdata;
+    long clen;
+    jlongArray ret = NULL;
+    jlong *recs = NULL;
+    BFLDOCC num;
+    BFLDID bfldid = BFIRSTFLDID;
+    BFLDOCC occ;
+    BFLDLEN len;
+    char *ptr;
+    int i = 0;
+    int r = 0;
+    
+    /* get the context, switch */
+    if (NULL==ndrxj_TypedBuffer_get_ctx(env, data, EXTRUE))
+    {
+       return NULL; 
+    }
+    
+    if (EXSUCCEED!=ndrxj_atmi_TypedBuffer_get_buffer(env, data, &cdata, &clen,
+            NULL, EXFALSE, EXFALSE))
+    {
+        UBF_LOG(log_error, "Failed to get buffer data");
+        goto out;
+    }
+    
+    if (EXFAIL==(num = Bnum((UBFH *)cdata)))
+    {
+        int err = Berror;
+        UBF_LOG(log_error, "%s: Bnum failed: %s", __func__, Bstrerror(err));
+        ndrxj_ubf_throw(env, err, "%s: Bnum failed: %s", __func__, 
+                Bstrerror(err));
+        goto out;
+    }
+    
+    if (num > 0 && NULL==(recs = NDRX_MALLOC(sizeof(jlong)*INDEX_REC_LEN*num)))
+    {
+        int err = errno;
+        UBF_LOG(log_error, "%s: Failed to malloc index of %d: %s", 
+                __func__, (int)num, strerror(err));
+        ndrxj_ubf_throw(env, BMALLOC, "%s: Failed to malloc index of %d: %s", 
+                __func__, (int)num, strerror(err));
+        goto out;
+    }
+    
+    while (i < num && 1==(r=Bnext((UBFH *)cdata, &bfldid, &occ, NULL, &len)))
+    {
+        if (NULL==(ptr = Bfind((UBFH *)cdata, bfldid, occ, &len)))
+        {
+            r = EXFAIL;
+            break;
+        }
+        
+        recs[i*INDEX_REC_LEN] = ((jlong)bfldid << 32) | (jlong)(unsigned)occ;
+        recs[i*INDEX_REC_LEN+1] = ((jlong)(ptr - cdata) << 32) | 
+                (jlong)(unsigned)len;
+        recs[i*INDEX_REC_LEN+2] = (jlong)Bfldtype(bfldid);
+        i++;
+    }
+    
+    if (EXFAIL==r)
+    {
+        int err = Berror;
+        UBF_LOG(log_error, "%s: Failed to scan buffer: %s", __func__, 
+                Bstrerror(err));
+        ndrxj_ubf_throw(env, err, "%s: Failed to scan buffer: %s", __func__, 
+                Bstrerror(err));
+        goto out;
+    }
+    
+    UBF_LOG(log_debug, "%s: indexed %d field occurrences", __func__, i);
+    
+    if (NULL==(ret = (*env)->NewLongArray(env, i*INDEX_REC_LEN)))
+    {
+        UBF_LOG(log_error, "%s: Failed to allocate long array", __func__);
+        goto out;
+    }
+    
+    if (i > 0)
+    {
+        (*env)->SetLongArrayRegion(env, ret, 0, i*INDEX_REC_LEN, recs);
+    }
+    
+out:
+    
+    if (NULL!=recs)
+    {
+        NDRX_FREE(recs);
+    }
+    
+    /* switch context back */
+    tpsetctxt(TPNULLCONTEXT, 0L);
+
+    return ret;
+}
+
+/**
+ * Get field data address by offset. Data range is checked against the
+ * used length of the buffer, so that stale index does not read outside
+ * of the buffer data.
+ * @param env java env
+ * @param data UBF buffer
+ * @param off data offset
+ * @param size data size
+ * @param p_avail if not NULL, number of used bytes from \p off is returned
+ * @return data address or NULL on failure (exception is set)
+ */
+exprivate char *ubf_at(JNIEnv *env, jobject data, jlong off, long size,
+        long *p_avail)
+{
+    char *cdata;
+    long clen;
+    long used;
+    
+    if (EXSUCCEED!=ndrxj_atmi_TypedBuffer_get_buffer(env, data, &cdata, &clen,
+            NULL, EXFALSE, EXFALSE))
+    {
+        UBF_LOG(log_error, "Failed to get buffer data");
+        return NULL;
+    }
+    
+    if (EXFAIL==(used = Bused((UBFH *)cdata)))
+    {
+        ndrxj_ubf_throw(env, Berror, "%s: Bused failed: %s", __func__, 
+                Bstrerror(Berror));
+        return NULL;
+    }
+    
+    if (off < 0 || size < 0 || off + size > used)
+    {
+        ndrxj_ubf_throw(env, BEINVAL, "%s: offset %ld size %ld out of "
+                "buffer used bounds %ld", __func__, (long)off, size, used);
+        return NULL;
+    }
+    
+    if (NULL!=p_avail)
+    {
+        *p_avail = used - (long)off;
+    }
+    
+    return cdata + off;
+}
+
+/**
+ * Read short field data at offset
+ * @param env java env
+ * @param data UBF buffer
+ * @param off data offset
+ * @return value
+ */
+expublic jshort JNICALL ndrxj_Java_org_endurox_TypedUbf_BgetShortAtC
+  (JNIEnv *env, jobject data, jlong off)
+{
+    short s = EXFAIL;
+    char *p = ubf_at(env, data, off, sizeof(s), NULL);
+    
+    if (NULL!=p)
+    {
+        memcpy(&s, p, sizeof(s));
+    }
+    
+    return (jshort)s;
+}
+
+/**
+ * Read long field data at offset
+ * @param env java env
+ * @param data UBF buffer
+ * @param off data offset
+ * @return value
+ */
+expublic jlong JNICALL ndrxj_Java_org_endurox_TypedUbf_BgetLongAtC
+  (JNIEnv *env, jobject data, jlong off)
+{
+    long l = EXFAIL;
+    char *p = ubf_at(env, data, off, sizeof(l), NULL);
+    
+    if (NULL!=p)
+    {
+        memcpy(&l, p, sizeof(l));
+    }
+    
+    return (jlong)l;
+}
+
+/**
+ * Read char field data at offset
+ * @param env java env
+ * @param data UBF buffer
+ * @param off data offset
+ * @return value
+ */
+expublic jbyte JNICALL ndrxj_Java_org_endurox_TypedUbf_BgetByteAtC
+  (JNIEnv *env, jobject data, jlong off)
+{
+    char c = EXFAIL;
+    char *p = ubf_at(env, data, off, sizeof(c), NULL);
+    
+    if (NULL!=p)
+    {
+        c = *p;
+    }
+    
+    return (jbyte)c;
+}
+
+/**
+ * Read float field data at offset
+ * @param env java env
+ * @param data UBF buffer
+ * @param off data offset
+ * @return value
+ */
+expublic jfloat JNICALL ndrxj_Java_org_endurox_TypedUbf_BgetFloatAtC
+  (JNIEnv *env, jobject data, jlong off)
+{
+    float f = EXFAIL;
+    char *p = ubf_at(env, data, off, sizeof(f), NULL);
+    
+    if (NULL!=p)
+    {
+        memcpy(&f, p, sizeof(f));
+    }
+    
+    return (jfloat)f;
+}
+
+/**
+ * Read double field data at offset
+ * @param env java env
+ * @param data UBF buffer
+ * @param off data offset
+ * @return value
+ */
+expublic jdouble JNICALL ndrxj_Java_org_endurox_TypedUbf_BgetDoubleAtC
+  (JNIEnv *env, jobject data, jlong off)
+{
+    double d = EXFAIL;
+    char *p = ubf_at(env, data, off, sizeof(d), NULL);
+    
+    if (NULL!=p)
+    {
+        memcpy(&d, p, sizeof(d));
+    }
+    
+    return (jdouble)d;
+}
+
+/**
+ * Read string field data at offset
+ * @param env java env
+ * @param data UBF buffer
+ * @param off data offset
+ * @return value
+ */
+expublic jstring JNICALL ndrxj_Java_org_endurox_TypedUbf_BgetStringAtC
+  (JNIEnv *env, jobject data, jlong off)
+{
+    long avail;
+    char *p = ubf_at(env, data, off, 1, &avail);
+    
+    if (NULL==p)
+    {
+        return NULL;
+    }
+    
+    /* UBF strings are EOS terminated, the EOS must be in the used data */
+    if (NULL==memchr(p, EXEOS, avail))
+    {
+        ndrxj_ubf_throw(env, BEINVAL, "%s: string at offset %ld is not "
+                "terminated within buffer", __func__, (long)off);
+        return NULL;
+    }
+    
+    return (*env)->NewStringUTF(env, p);
+}
+
+/**
+ * Read carray field data at offset
+ * @param env java env
+ * @param data UBF buffer
+ * @param off data offset
+ * @param len data length
+ * @return value
+ */
+expublic jbyteArray JNICALL ndrxj_Java_org_endurox_TypedUbf_BgetByteArrAtC
+  (JNIEnv *env, jobject data, jlong off, jint len)
+{
+    jbyteArray ret = NULL;
+    char *p = ubf_at(env, data, off, (long)len, NULL);
+    
+    if (NULL!=p && NULL!=(ret = (*env)->NewByteArray(env, (jsize)len)))
+    {
+        (*env)->SetByteArrayRegion(env, ret, 0, (jsize)len, (jbyte*)p);
+    }
+    
+    return ret;
+}
+
+/* vim: set ts=4 sw=4 et smartindent: */
@@ -117,6 +117,8 @@ expublic void JNICALL ndrxj_Java_org_endurox_TypedUbf_Bproj
     
     /* Delete the field */
     
+    ndrxj_TypedBuffer_modified(env, data);
+    
     if (EXSUCCEED!=Bproj((UBFH*)cdata, barra))
     {
         UBF_LOG(log_error, "%s: Bproj %p: %s", 
@@ -181,6 +183,8 @@ expublic void JNICALL ndrxj_Java_org_endurox_TypedUbf_Bconcat
     }
     
     /* contact the buffers */
+    ndrxj_TypedBuffer_modified(env, data);
+    
     if (EXSUCCEED!=Bconcat((UBFH *)cdata_dst, (UBFH *)cdata_src))
     {
         ndrxj_ubf_throw(env, Berror, "%s: Bconcat failed on %p buffer: %s", 
@@ -234,6 +238,8 @@ expublic void JNICALL ndrxj_Java_org_endurox_TypedUbf_Bcpy
     }
     
     /* Delete the field */
+    ndrxj_TypedBuffer_modified(env, data);
+    
     if (EXSUCCEED!=Bcpy((UBFH *)cdata_dst, (UBFH *)cdata_src))
     {
         ndrxj_ubf_throw(env, Berror, "%s: Bcpy failed on %p buffer: %s", 
@@ -319,6 +325,8 @@ expublic void JNICALL ndrxj_Java_org_endurox_TypedUbf_Bprojcpy
     
     barra[i] = BBADFLDID;
     
+    ndrxj_TypedBuffer_modified(env, data);
+    
     if (EXSUCCEED!=Bprojcpy((UBFH*)cdata_dst, (UBFH*)cdata_src, barra))
     {
         UBF_LOG(log_error, "%s: Bprojcpy %p: %s", 
@@ -384,6 +392,8 @@ expublic void JNICALL ndrxj_Java_org_endurox_TypedUbf_Bupdate
     }
     
     /* Delete the field */
+    ndrxj_TypedBuffer_modified(env, data);
+    
     if (EXSUCCEED!=Bupdate((UBFH *)cdata_dst, (UBFH *)cdata_src))
     {
         ndrxj_ubf_throw(env, Berror, "%s: Bupdate failed on %p buffer: %s", 
@@ -552,6 +562,8 @@ JNIEXPORT void JNICALL ndrxj_Java_org_endurox_TypedUbf_Bjoin
     }
     
     /* Delete the field */
+    ndrxj_TypedBuffer_modified(env, data);
+    
     if (EXSUCCEED!=Bjoin((UBFH *)cdata_dst, (UBFH *)cdata_src))
     {
         ndrxj_ubf_throw(env, Berror, "%s: Bjoin failed on %p buffer: %s", 
@@ -606,6 +618,8 @@ JNIEXPORT void JNICALL ndrxj_Java_org_endurox_TypedUbf_Bojoin
     }
     
     /* Delete the field */
+    ndrxj_TypedBuffer_modified(env, data);
+    
     if (EXSUCCEED!=Bojoin((UBFH *)cdata_dst, (UBFH *)cdata_src))
     {
         ndrxj_ubf_throw(env, Berror, "%s: Bojoin failed on %p buffer: %s", 
@@ -439,6 +439,8 @@ expublic jlong JNICALL ndrxj_Java_org_endurox_TypedUbf_Binit
         goto out;        
     }
     
+    ndrxj_TypedBuffer_modified(env, data);
+    
     if (EXSUCCEED!=Binit((UBFH *)cdata, (BFLDLEN)ret))
     {
         /* throw exception */
@@ -482,6 +484,8 @@ JNIEXPORT void JNICALL ndrxj_Java_org_endurox_TypedUbf_tpjsontoubf
         goto out;
     }
     
+    ndrxj_TypedBuffer_modified(env, data);
+    
     if (EXSUCCEED!=tpjsontoubf((UBFH *)cdata, (char *)n_str))
     {
         ndrxj_atmi_throw(env, data, NULL, tperrno, "%s", tpstrerror(tperrno));
@@ -553,14 +557,339 @@ out:
 
     if (EXSUCCEED==ret)
     {
-        return (*env)->NewStringUTF(env, tmp);
+        jstring jret = (*env)->NewStringUTF(env, tmp);
+        NDRX_FREE(tmp);
+        return jret;
     }
     else
     {
+        if (NULL!=tmp)
+        {
+            NDRX_FREE(tmp);
+        }
         return NULL;
     }    
 }
 
+/**
+ * Copy UTF-8 JSON text to EOS terminated C string and load into UBF buffer.
+ * Context must be set.
+ * @param env java env
+ * @param data UBF buffer
+ * @param jb java byte array holding the JSON or NULL
+ * @param json direct memory holding the JSON (if \p jb is NULL)
+ * @param off JSON text offset
+ * @param len JSON text length
+ */
+exprivate void json_bytes_to_ubf(JNIEnv * env, jobject data, jbyteArray jb,
+        char *json, jint off, jint len)
+{
+    char *cdata;
+    long clen;
+    char *tmp = NULL;
+    
+    if (EXSUCCEED!=ndrxj_atmi_TypedBuffer_get_buffer(env, data, &cdata, &clen,
+            NULL, EXFALSE, EXFALSE))
+    {
+        UBF_LOG(log_error, "Failed to get buffer data");
+        goto out;
+    }
+    
+    if (NULL==(tmp = NDRX_MALLOC(len+1)))
+    {
+        int err = errno;
+        ndrxj_ubf_throw(env, BEUNIX, "Failed to malloc JSON temp buffer of %d "
+                "bytes: %s", (int)len+1, strerror(err));
+        goto out;
+    }
+    
+    /* get the data either from java array or from direct memory */
+    if (NULL!=jb)
+    {
+        (*env)->GetByteArrayRegion(env, jb, off, len, (jbyte *)tmp);
+        
+        if((*env)->ExceptionCheck(env))
+        {
+            NDRXJ_LOG_EXCEPTION(env, log_error, NDRXJ_LOGEX_ULOG, 
+                    "Failed to get JSON bytes: %s");
+            goto out;
+        }
+    }
+    else
+    {
+        memcpy(tmp, json+off, len);
+    }
+    
+    tmp[len] = EXEOS;
+    
+    ndrxj_TypedBuffer_modified(env, data);
+    
+    if (EXSUCCEED!=tpjsontoubf((UBFH *)cdata, tmp))
+    {
+        ndrxj_atmi_throw(env, data, NULL, tperrno, "%s", tpstrerror(tperrno));
+        goto out;
+    }
+    
+out:
+    
+    if (NULL!=tmp)
+    {
+        NDRX_FREE(tmp);
+    }
+}
+
+/**
+ * Build UBF buffer from UTF-8 JSON in byte array
+ * @param env java env
+ * @param data UBF buffer
+ * @param jb byte array
+ * @param off JSON offset in array
+ * @param len JSON length
+ */
+expublic void JNICALL ndrxj_Java_org_endurox_TypedUbf_tpjsontoubfArrC
+  (JNIEnv * env, jobject data, jbyteArray jb, jint off, jint len)
+{
+    if (NULL==jb || off < 0 || len < 0 || 
+            (long)off+len > (*env)->GetArrayLength(env, jb))
+    {
+        ndrxj_atmi_throw(env, data, NULL, TPEINVAL, "%s: invalid array or "
+                "range (off %d len %d)", __func__, (int)off, (int)len);
+        return;
+    }
+    
+    /* get the context, switch */
+    if (NULL==ndrxj_TypedBuffer_get_ctx(env, data, EXTRUE))
+    {
+        return;
+    }
+    
+    json_bytes_to_ubf(env, data, jb, NULL, off, len);
+    
+    /* switch context back */
+    tpsetctxt(TPNULLCONTEXT, 0L);
+}
+
+/**
+ * Build UBF buffer from UTF-8 JSON in direct byte buffer
+ * @param env java env
+ * @param data UBF buffer
+ * @param jbuf direct buffer
+ * @param off JSON offset in buffer
+ * @param len JSON length
+ */
+expublic void JNICALL ndrxj_Java_org_endurox_TypedUbf_tpjsontoubfDirectC
+  (JNIEnv * env, jobject data, jobject jbuf, jint off, jint len)
+{
+    char *addr = (*env)->GetDirectBufferAddress(env, jbuf);
+    long cap = (long)(*env)->GetDirectBufferCapacity(env, jbuf);
+    
+    if (NULL==addr || off < 0 || len < 0 || (long)off+len > cap)
+    {
+        ndrxj_atmi_throw(env, data, NULL, TPEINVAL, "%s: invalid direct buffer "
+                "(addr %p capacity %ld off %d len %d)", __func__, addr, cap, 
+                (int)off, (int)len);
+        return;
+    }
+    
+    /* get the context, switch */
+    if (NULL==ndrxj_TypedBuffer_get_ctx(env, data, EXTRUE))
+    {
+        return;
+    }
+    
+    json_bytes_to_ubf(env, data, NULL, addr, off, len);
+    
+    /* switch context back */
+    tpsetctxt(TPNULLCONTEXT, 0L);
+}
+
+/**
+ * Generate UTF-8 JSON from UBF buffer into java memory. Either into
+ * byte array range, or into direct buffer range. If \p jb and \p jbuf
+ * are NULL, new byte array is returned with exact JSON size.
+ * For both ranges the same convention applies: \p len is the space
+ * available including the EOS, JSON is terminated with EOS, which is
+ * not counted in the returned length. Direct buffer is generated in place,
+ * byte array is generated into native scratch buffer and copied, so that
+ * java heap is not pinned for the time of generation.
+ * @param env java env
+ * @param data UBF buffer
+ * @param jb byte array to write to or NULL
+ * @param jbuf direct buffer to write to or NULL
+ * @param off offset where to start the JSON
+ * @param len space available, including EOS
+ * @param p_arr new byte array (if \p jb and \p jbuf are NULL)
+ * @return JSON length in bytes (without EOS) or EXFAIL
+ */
+exprivate jint ubf_to_json_bytes(JNIEnv * env, jobject data, jbyteArray jb, 
+        jobject jbuf, jint off, jint len, jbyteArray *p_arr)
+{
+    char *cdata;
+    long clen;
+    char *tmp = NULL;
+    char *out;
+    long outsz;
+    int err;
+    jint ret = EXFAIL;
+    
+    /* get the context, switch */
+    if (NULL==ndrxj_TypedBuffer_get_ctx(env, data, EXTRUE))
+    {
+        return EXFAIL;
+    }
+    
+    if (EXSUCCEED!=ndrxj_atmi_TypedBuffer_get_buffer(env, data, &cdata, &clen,
+            NULL, EXFALSE, EXFALSE))
+    {
+        UBF_LOG(log_error, "Failed to get buffer data");
+        goto out;
+    }
+    
+    if (NULL!=jbuf)
+    {
+        /* generate in place */
+        out = (char *)(*env)->GetDirectBufferAddress(env, jbuf) + off;
+        outsz = len;
+    }
+    else
+    {
+        if (NULL!=jb)
+        {
+            outsz = len;
+        }
+        else
+        {
+            /* the same estimate as for String version */
+            outsz = Bsizeof((UBFH *)cdata) * 10;
+        }
+        
+        /* avoid zero sized malloc, generator reports the empty range */
+        if (NULL==(tmp = NDRX_MALLOC(outsz > 0 ? outsz : 1)))
+        {
+            err = errno;
+            ndrxj_ubf_throw(env, BEUNIX, "Failed to malloc JSON temp buffer of "
+                    "%ld bytes: %s", outsz, strerror(err));
+            goto out;
+        }
+        
+        out = tmp;
+    }
+    
+    if (EXSUCCEED==tpubftojson((UBFH *)cdata, out, outsz))
+    {
+        ret = (jint)strlen(out);
+    }
+    else
+    {
+        err = tperrno;
+        ndrxj_atmi_throw(env, data, NULL, err, "%s", tpstrerror(err));
+        goto out;
+    }
+    
+    if (NULL!=jb)
+    {
+        /* EOS is copied too */
+        (*env)->SetByteArrayRegion(env, jb, off, ret+1, (jbyte*)out);
+    }
+    else if (NULL==jbuf)
+    {
+        if (NULL==(*p_arr = (*env)->NewByteArray(env, ret)))
+        {
+            NDRXJ_LOG_EXCEPTION(env, log_error, NDRXJ_LOGEX_ULOG, 
+                "Failed to create byte array with: %s, size: %d", (int)ret);
+            ret = EXFAIL;
+            goto out;
+        }
+        
+        (*env)->SetByteArrayRegion(env, *p_arr, 0, ret, (jbyte*)out);
+    }
+    
+    if((*env)->ExceptionCheck(env))
+    {
+        NDRXJ_LOG_EXCEPTION(env, log_error, NDRXJ_LOGEX_ULOG, 
+                "Failed to set JSON bytes: %s");
+        ret = EXFAIL;
+        goto out;
+    }
+    
+out:
+    
+    if (NULL!=tmp)
+    {
+        NDRX_FREE(tmp);
+    }
+
+    /* switch context back */
+    tpsetctxt(TPNULLCONTEXT, 0L);
+
+    return ret;
+}
+
+/**
+ * Generate UTF-8 JSON into byte array range
+ * @param env java env
+ * @param data UBF buffer
+ * @param jb byte array
+ * @param off start offset
+ * @param len space available (including EOS)
+ * @return JSON length
+ */
+expublic jint JNICALL ndrxj_Java_org_endurox_TypedUbf_tpubftojsonArrC
+  (JNIEnv * env, jobject data, jbyteArray jb, jint off, jint len)
+{
+    if (NULL==jb || off < 0 || len < 0 || 
+            (long)off+len > (*env)->GetArrayLength(env, jb))
+    {
+        ndrxj_atmi_throw(env, data, NULL, TPEINVAL, "%s: invalid array or "
+                "range (off %d len %d)", __func__, (int)off, (int)len);
+        return EXFAIL;
+    }
+    
+    return ubf_to_json_bytes(env, data, jb, NULL, off, len, NULL);
+}
+
+/**
+ * Generate UTF-8 JSON into direct buffer range
+ * @param env java env
+ * @param data UBF buffer
+ * @param jbuf direct buffer
+ * @param off start offset
+ * @param len space available (including EOS)
+ * @return JSON length
+ */
+expublic jint JNICALL ndrxj_Java_org_endurox_TypedUbf_tpubftojsonDirectC
+  (JNIEnv * env, jobject data, jobject jbuf, jint off, jint len)
+{
+    char *addr = (*env)->GetDirectBufferAddress(env, jbuf);
+    long cap = (long)(*env)->GetDirectBufferCapacity(env, jbuf);
+    
+    if (NULL==addr || off < 0 || len < 0 || (long)off+len > cap)
+    {
+        ndrxj_atmi_throw(env, data, NULL, TPEINVAL, "%s: invalid direct buffer "
+                "(addr %p capacity %ld off %d len %d)", __func__, addr, cap, 
+                (int)off, (int)len);
+        return EXFAIL;
+    }
+    
+    return ubf_to_json_bytes(env, data, NULL, jbuf, off, len, NULL);
+}
+
+/**
+ * Generate UTF-8 JSON into new byte array
+ * @param env java env
+ * @param data UBF buffer
+ * @return byte array with JSON (no EOS)
+ */
+expublic jbyteArray JNICALL ndrxj_Java_org_endurox_TypedUbf_tpubftojsonBytes
+  (JNIEnv * env, jobject data)
+{
+    jbyteArray ret = NULL;
+    
+    ubf_to_json_bytes(env, data, NULL, NULL, 0, 0, &ret);
+    
+    return ret;
+}
+
 /**
  * Print UBF buffer to log file
  * @param env java env
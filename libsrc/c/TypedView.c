@@ -0,0 +1,1260 @@
+/**
+ * @brief VIEW buffer field access
+ *
+ * @file TypedView.c
+ */
+/* -----------------------------------------------------------------------------
+ * Enduro/X Middleware Platform for Distributed Transaction Processing
+ * Copyright (C) 2009-2016, ATR Baltic, Ltd. All Rights Reserved.
+ * Copyright (C) 2017-2019, Mavimax, Ltd. All Rights Reserved.
+ * This software is released under one of the following licenses:
+ * LGPL or Mavimax's license for commercial use.
+ * See LICENSE file for full text.
+ *
+ * C (as designed by Dennis Ritchie and later authors) language code is licensed
+ * under Enduro/X Modified GNU Affero General Public License, version 3.
+ * See LICENSE_C file for full text.
+ * -----------------------------------------------------------------------------
+ * LGPL license:
+ * 
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License, version 3 as published
+ * by the Free Software Foundation;
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE. See the GNU Lesser General Public License, version 3
+ * for more details.
+ *
+ * You should have received a copy of the Lesser General Public License along 
+ * with this program; if not, write to the Free Software Foundation, Inc., 
+ * 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ *
+ * -----------------------------------------------------------------------------
+ * A commercial use license is available from Mavimax, Ltd
+ * contact@mavimax.com
+ * -----------------------------------------------------------------------------
+ */
+
+/*---------------------------Includes-----------------------------------*/
+#include <jni.h>
+#include <errno.h>
+#include <stdlib.h>
+#include <exjglue.h>
+#include <atmi.h>
+#include <oatmi.h>
+#include <ndebug.h>
+#include <ondebug.h>
+#include <oatmisrv_integra.h>
+#include "libsrc.h"
+#include <sys_unix.h>
+#include "nerror.h"
+#include <ndrstandard.h>
+#include <string.h>
+#include <typed_view.h>
+/*---------------------------Externs------------------------------------*/
+/*---------------------------Macros-------------------------------------*/
+#define CONV_EXTRA          64      /**< extra space for converted values */
+/*---------------------------Enums--------------------------------------*/
+/*---------------------------Typedefs-----------------------------------*/
+
+/**
+ * Name based view field call state
+ */
+typedef struct
+{
+    char *cdata;                        /**< C structure                  */
+    char view[XATMI_SUBTYPE_LEN+1];     /**< view name of the buffer      */
+    jstring jcname;                     /**< java field name              */
+    const char *cname;                  /**< C field name                 */
+    jboolean cname_copy;                /**< field name was copied        */
+    int ctx_set;                        /**< context switched             */
+} view_call_t;
+
+/*---------------------------Globals------------------------------------*/
+/*---------------------------Statics------------------------------------*/
+/*---------------------------Prototypes---------------------------------*/
+
+/**
+ * Prepare name based view call: switch context, get the C structure,
+ * the view name and the field name.
+ * @param env java env
+ * @param data TypedView object
+ * @param jcname field name, may be NULL if \p need_cname is not set
+ * @param need_cname field name is required
+ * @param vc call state to fill
+ * @return EXSUCCEED/EXFAIL (exception thrown)
+ */
+exprivate int view_call_begin(JNIEnv *env, jobject data, jstring jcname, 
+        int need_cname, view_call_t *vc)
+{
+    int ret = EXSUCCEED;
+    long clen;
+    
+    memset(vc, 0, sizeof(*vc));
+    
+    /* get the context, switch */
+    if (NULL==ndrxj_TypedBuffer_get_ctx(env, data, EXTRUE))
+    {
+        EXFAIL_OUT(ret);
+    }
+    
+    vc->ctx_set = EXTRUE;
+    
+    if (need_cname)
+    {
+        if (NULL==jcname)
+        {
+            ndrxj_ubf_throw(env, BEINVAL, "%s: null field name", __func__);
+            EXFAIL_OUT(ret);
+        }
+        
+        vc->jcname = jcname;
+        vc->cname = (*env)->GetStringUTFChars(env, jcname, &vc->cname_copy);
+    }
+    
+    if (EXSUCCEED!=ndrxj_atmi_TypedBuffer_get_buffer(env, data, &vc->cdata, 
+            &clen, NULL, EXFALSE, EXFALSE))
+    {
+        NDRX_LOG(log_error, "Failed to get buffer data");
+        EXFAIL_OUT(ret);
+    }
+    
+    if (EXFAIL==tptypes(vc->cdata, NULL, vc->view))
+    {
+        ndrxj_atmi_throw(env, data, NULL, tperrno, "%s", tpstrerror(tperrno));
+        EXFAIL_OUT(ret);
+    }
+    
+out:
+    return ret;
+}
+
+/**
+ * Finish the name based call, release resources
+ * @param env java env
+ * @param vc call state
+ */
+exprivate void view_call_end(JNIEnv *env, view_call_t *vc)
+{
+    if (NULL!=vc->cname && vc->cname_copy)
+    {
+        (*env)->ReleaseStringUTFChars(env, vc->jcname, vc->cname);
+    }
+    
+    if (vc->ctx_set)
+    {
+        /* switch context back */
+        tpsetctxt(TPNULLCONTEXT, 0L);
+    }
+}
+
+/**
+ * Common view field changing routine
+ * @param env java env
+ * @param data VIEW buffer
+ * @param jcname field name
+ * @param occ field occurrence
+ * @param value field value
+ * @param len value length
+ * @param usrtype value type (see BFLD_*)
+ */
+exprivate void ndrxj_view_CBvchg(JNIEnv *env, jobject data, jstring jcname, 
+        jint occ, char *value, BFLDLEN len, int usrtype)
+{
+    view_call_t vc;
+    
+    if (EXSUCCEED!=view_call_begin(env, data, jcname, EXTRUE, &vc))
+    {
+        goto out;
+    }
+    
+    if (EXSUCCEED!=CBvchg(vc.cdata, vc.view, (char *)vc.cname, (BFLDOCC)occ, 
+            value, len, usrtype))
+    {
+        int err = Berror;
+        UBF_LOG(log_error, "%s: CBvchg failed to change %s.%s occ %d: %s", 
+                __func__, vc.view, vc.cname, (int)occ, Bstrerror(err));
+        ndrxj_ubf_throw(env, err, "%s: CBvchg failed to change %s.%s occ %d: %s", 
+                __func__, vc.view, vc.cname, (int)occ, Bstrerror(err));
+        goto out;
+    }
+    
+out:
+    view_call_end(env, &vc);
+}
+
+/**
+ * Common view field reading routine
+ * @param env java env
+ * @param data VIEW buffer
+ * @param jcname field name
+ * @param occ field occurrence
+ * @param buf value buffer, if NULL, then allocated by field size and returned
+ *  in \p allocbuf
+ * @param len value buffer length in, value length out
+ * @param usrtype value type (see BFLD_*)
+ * @param allocbuf allocated value buffer (if \p buf is NULL), to be freed
+ *  by caller
+ * @return EXSUCCEED/EXFAIL (exception thrown)
+ */
+exprivate int ndrxj_view_CBvget(JNIEnv *env, jobject data, jstring jcname, 
+        jint occ, char *buf, BFLDLEN *len, int usrtype, char **allocbuf)
+{
+    int ret = EXSUCCEED;
+    view_call_t vc;
+    BFLDOCC maxocc;
+    BFLDOCC realocc;
+    long dim_size;
+    int fldtype;
+    
+    if (EXSUCCEED!=view_call_begin(env, data, jcname, EXTRUE, &vc))
+    {
+        EXFAIL_OUT(ret);
+    }
+    
+    if (NULL==buf)
+    {
+        if (EXFAIL==Bvoccur(vc.cdata, vc.view, (char *)vc.cname, &maxocc, 
+                &realocc, &dim_size, &fldtype))
+        {
+            int err = Berror;
+            UBF_LOG(log_error, "%s: Bvoccur failed for %s.%s: %s", 
+                    __func__, vc.view, vc.cname, Bstrerror(err));
+            ndrxj_ubf_throw(env, err, "%s: Bvoccur failed for %s.%s: %s", 
+                    __func__, vc.view, vc.cname, Bstrerror(err));
+            EXFAIL_OUT(ret);
+        }
+        
+        /* have some space for converted values too */
+        *len = (BFLDLEN)dim_size + CONV_EXTRA;
+        
+        if (NULL==(*allocbuf = NDRX_MALLOC(*len)))
+        {
+            int err = errno;
+            UBF_LOG(log_error, "%s: Failed to malloc %d bytes: %s", 
+                    __func__, (int)*len, strerror(err));
+            ndrxj_ubf_throw(env, BEUNIX, "%s: Failed to malloc %d bytes: %s", 
+                    __func__, (int)*len, strerror(err));
+            EXFAIL_OUT(ret);
+        }
+        
+        buf = *allocbuf;
+    }
+    
+    if (EXSUCCEED!=CBvget(vc.cdata, vc.view, (char *)vc.cname, (BFLDOCC)occ, 
+            buf, len, usrtype, 0L))
+    {
+        int err = Berror;
+        UBF_LOG(log_error, "%s: CBvget failed to get %s.%s occ %d: %s", 
+                __func__, vc.view, vc.cname, (int)occ, Bstrerror(err));
+        ndrxj_ubf_throw(env, err, "%s: CBvget failed to get %s.%s occ %d: %s", 
+                __func__, vc.view, vc.cname, (int)occ, Bstrerror(err));
+        EXFAIL_OUT(ret);
+    }
+    
+out:
+    
+    if (EXSUCCEED!=ret && NULL!=allocbuf && NULL!=*allocbuf)
+    {
+        NDRX_FREE(*allocbuf);
+        *allocbuf = NULL;
+    }
+    
+    view_call_end(env, &vc);
+    
+    return ret;
+}
+
+/**
+ * Change short field
+ * @param env java env
+ * @param data TypedView buffer
+ * @param jcname field name
+ * @param occ field occurrence
+ * @param js short value
+ */
+expublic void JNICALL ndrxj_Java_org_endurox_TypedView_Bvchg__Ljava_lang_String_2IS
+  (JNIEnv *env, jobject data, jstring jcname, jint occ, jshort js)
+{
+    short s = (short)js;
+    ndrxj_view_CBvchg(env, data, jcname, occ, (char *)&s, 0L, BFLD_SHORT);
+}
+
+/**
+ * Change long field
+ * @param env java env
+ * @param data TypedView buffer
+ * @param jcname field name
+ * @param occ field occurrence
+ * @param jl long value
+ */
+expublic void JNICALL ndrxj_Java_org_endurox_TypedView_Bvchg__Ljava_lang_String_2IJ
+  (JNIEnv *env, jobject data, jstring jcname, jint occ, jlong jl)
+{
+    long l = (long)jl;
+    ndrxj_view_CBvchg(env, data, jcname, occ, (char *)&l, 0L, BFLD_LONG);
+}
+
+/**
+ * Change char field
+ * @param env java env
+ * @param data TypedView buffer
+ * @param jcname field name
+ * @param occ field occurrence
+ * @param jb char value
+ */
+expublic void JNICALL ndrxj_Java_org_endurox_TypedView_Bvchg__Ljava_lang_String_2IB
+  (JNIEnv *env, jobject data, jstring jcname, jint occ, jbyte jb)
+{
+    char c = (char)jb;
+    ndrxj_view_CBvchg(env, data, jcname, occ, (char *)&c, 0L, BFLD_CHAR);
+}
+
+/**
+ * Change float field
+ * @param env java env
+ * @param data TypedView buffer
+ * @param jcname field name
+ * @param occ field occurrence
+ * @param jf float value
+ */
+expublic void JNICALL ndrxj_Java_org_endurox_TypedView_Bvchg__Ljava_lang_String_2IF
+  (JNIEnv *env, jobject data, jstring jcname, jint occ, jfloat jf)
+{
+    float f = (float)jf;
+    ndrxj_view_CBvchg(env, data, jcname, occ, (char *)&f, 0L, BFLD_FLOAT);
+}
+
+/**
+ * Change double field
+ * @param env java env
+ * @param data TypedView buffer
+ * @param jcname field name
+ * @param occ field occurrence
+ * @param jd double value
+ */
+expublic void JNICALL ndrxj_Java_org_endurox_TypedView_Bvchg__Ljava_lang_String_2ID
+  (JNIEnv *env, jobject data, jstring jcname, jint occ, jdouble jd)
+{
+    double d = (double)jd;
+    ndrxj_view_CBvchg(env, data, jcname, occ, (char *)&d, 0L, BFLD_DOUBLE);
+}
+
+/**
+ * Change string field
+ * @param env java env
+ * @param data TypedView buffer
+ * @param jcname field name
+ * @param occ field occurrence
+ * @param js string value
+ */
+expublic void JNICALL ndrxj_Java_org_endurox_TypedView_Bvchg__Ljava_lang_String_2ILjava_lang_String_2
+  (JNIEnv *env, jobject data, jstring jcname, jint occ, jstring js)
+{
+    jboolean n_str_copy = EXFALSE;
+    
+    if (NULL!=js)
+    {
+        const char *n_str = (*env)->GetStringUTFChars(env, js, &n_str_copy);
+
+        ndrxj_view_CBvchg(env, data, jcname, occ, (char *)n_str, 0L, BFLD_STRING);
+
+        if (n_str_copy)
+        {
+            (*env)->ReleaseStringUTFChars(env, js, n_str);
+        }
+    }
+    else
+    {
+        /* throw exception due to NULL string */
+        ndrxj_ubf_throw(env, BEINVAL, "%s: Failed to change field - null value", 
+                __func__);
+    }
+}
+
+/**
+ * Change carray field
+ * @param env java env
+ * @param data TypedView buffer
+ * @param jcname field name
+ * @param occ field occurrence
+ * @param jb byte array value
+ */
+expublic void JNICALL ndrxj_Java_org_endurox_TypedView_Bvchg__Ljava_lang_String_2I_3B
+  (JNIEnv *env, jobject data, jstring jcname, jint occ, jbyteArray jb)
+{
+    jboolean n_carray_copy;
+    char * n_carray;
+    jsize len;
+    
+    if (NULL==jb)
+    {
+        ndrxj_ubf_throw(env, BEINVAL, "%s: Failed to change field - null value", 
+                __func__);
+        return;
+    }
+    
+    n_carray = (char*)(*env)->GetByteArrayElements(env, jb, &n_carray_copy);
+    len = (*env)->GetArrayLength(env, jb);
+    
+    ndrxj_view_CBvchg(env, data, jcname, occ, n_carray, (BFLDLEN)len, 
+            BFLD_CARRAY);
+    
+    if(n_carray_copy)
+    {
+       (*env)->ReleaseByteArrayElements(env, jb, (signed char *)n_carray, JNI_ABORT);
+    }
+}
+
+/**
+ * Get short field
+ * @param env java env
+ * @param data TypedView buffer
+ * @param jcname field name
+ * @param occ field occurrence
+ * @return value
+ */
+expublic jshort JNICALL ndrxj_Java_org_endurox_TypedView_BvgetShort
+  (JNIEnv *env, jobject data, jstring jcname, jint occ)
+{
+    short s = EXFAIL;
+    BFLDLEN len = sizeof(s);
+    
+    ndrxj_view_CBvget(env, data, jcname, occ, (char *)&s, &len, BFLD_SHORT, NULL);
+    
+    return (jshort)s;
+}
+
+/**
+ * Get long field
+ * @param env java env
+ * @param data TypedView buffer
+ * @param jcname field name
+ * @param occ field occurrence
+ * @return value
+ */
+expublic jlong JNICALL ndrxj_Java_org_endurox_TypedView_BvgetLong
+  (JNIEnv *env, jobject data, jstring jcname, jint occ)
+{
+    long l = EXFAIL;
+    BFLDLEN len = sizeof(l);
+    
+    ndrxj_view_CBvget(env, data, jcname, occ, (char *)&l, &len, BFLD_LONG, NULL);
+    
+    return (jlong)l;
+}
+
+/**
+ * Get char field
+ * @param env java env
+ * @param data TypedView buffer
+ * @param jcname field name
+ * @param occ field occurrence
+ * @return value
+ */
+expublic jbyte JNICALL ndrxj_Java_org_endurox_TypedView_BvgetByte
+  (JNIEnv *env, jobject data, jstring jcname, jint occ)
+{
+    char c = EXFAIL;
+    BFLDLEN len = sizeof(c);
+    
+    ndrxj_view_CBvget(env, data, jcname, occ, (char *)&c, &len, BFLD_CHAR, NULL);
+    
+    return (jbyte)c;
+}
+
+/**
+ * Get float field
+ * @param env java env
+ * @param data TypedView buffer
+ * @param jcname field name
+ * @param occ field occurrence
+ * @return value
+ */
+expublic jfloat JNICALL ndrxj_Java_org_endurox_TypedView_BvgetFloat
+  (JNIEnv *env, jobject data, jstring jcname, jint occ)
+{
+    float f = EXFAIL;
+    BFLDLEN len = sizeof(f);
+    
+    ndrxj_view_CBvget(env, data, jcname, occ, (char *)&f, &len, BFLD_FLOAT, NULL);
+    
+    return (jfloat)f;
+}
+
+/**
+ * Get double field
+ * @param env java env
+ * @param data TypedView buffer
+ * @param jcname field name
+ * @param occ field occurrence
+ * @return value
+ */
+expublic jdouble JNICALL ndrxj_Java_org_endurox_TypedView_BvgetDouble
+  (JNIEnv *env, jobject data, jstring jcname, jint occ)
+{
+    double d = EXFAIL;
+    BFLDLEN len = sizeof(d);
+    
+    ndrxj_view_CBvget(env, data, jcname, occ, (char *)&d, &len, BFLD_DOUBLE, NULL);
+    
+    return (jdouble)d;
+}
+
+/**
+ * Get string field
+ * @param env java env
+ * @param data TypedView buffer
+ * @param jcname field name
+ * @param occ field occurrence
+ * @return value
+ */
+expublic jstring JNICALL ndrxj_Java_org_endurox_TypedView_BvgetString
+  (JNIEnv *env, jobject data, jstring jcname, jint occ)
+{
+    char *buf = NULL;
+    BFLDLEN len = 0;
+    jstring ret = NULL;
+    
+    if (EXSUCCEED==ndrxj_view_CBvget(env, data, jcname, occ, NULL, &len, 
+            BFLD_STRING, &buf))
+    {
+        ret = (*env)->NewStringUTF(env, buf);
+        NDRX_FREE(buf);
+    }
+    
+    return ret;
+}
+
+/**
+ * Get carray field
+ * @param env java env
+ * @param data TypedView buffer
+ * @param jcname field name
+ * @param occ field occurrence
+ * @return value
+ */
+expublic jbyteArray JNICALL ndrxj_Java_org_endurox_TypedView_BvgetByteArr
+  (JNIEnv *env, jobject data, jstring jcname, jint occ)
+{
+    char *buf = NULL;
+    BFLDLEN len = 0;
+    jbyteArray ret = NULL;
+    
+    if (EXSUCCEED==ndrxj_view_CBvget(env, data, jcname, occ, NULL, &len, 
+            BFLD_CARRAY, &buf))
+    {
+        ret = (*env)->NewByteArray(env, (jsize)len);
+        
+        if (NULL!=ret)
+        {
+            (*env)->SetByteArrayRegion(env, ret, 0, (jsize)len, (jbyte*)buf);
+        }
+        
+        NDRX_FREE(buf);
+    }
+    
+    return ret;
+}
+
+/**
+ * Return number of field occurrences
+ * @param env java env
+ * @param data TypedView buffer
+ * @param jcname field name
+ * @return number of occurrences
+ */
+expublic jint JNICALL ndrxj_Java_org_endurox_TypedView_Bvoccur
+  (JNIEnv *env, jobject data, jstring jcname)
+{
+    view_call_t vc;
+    BFLDOCC ret = EXFAIL;
+    BFLDOCC maxocc;
+    BFLDOCC realocc;
+    long dim_size;
+    int fldtype;
+    
+    if (EXSUCCEED!=view_call_begin(env, data, jcname, EXTRUE, &vc))
+    {
+        goto out;
+    }
+    
+    if (EXFAIL==(ret=Bvoccur(vc.cdata, vc.view, (char *)vc.cname, &maxocc, 
+            &realocc, &dim_size, &fldtype)))
+    {
+        int err = Berror;
+        UBF_LOG(log_error, "%s: Bvoccur failed for %s.%s: %s", 
+                __func__, vc.view, vc.cname, Bstrerror(err));
+        ndrxj_ubf_throw(env, err, "%s: Bvoccur failed for %s.%s: %s", 
+                __func__, vc.view, vc.cname, Bstrerror(err));
+        goto out;
+    }
+    
+out:
+    view_call_end(env, &vc);
+
+    return (jint)ret;
+}
+
+/**
+ * Set field count
+ * @param env java env
+ * @param data TypedView buffer
+ * @param jcname field name
+ * @param occ number of occurrences
+ */
+expublic void JNICALL ndrxj_Java_org_endurox_TypedView_Bvsetoccur
+  (JNIEnv *env, jobject data, jstring jcname, jint occ)
+{
+    view_call_t vc;
+    
+    if (EXSUCCEED!=view_call_begin(env, data, jcname, EXTRUE, &vc))
+    {
+        goto out;
+    }
+    
+    if (EXSUCCEED!=Bvsetoccur(vc.cdata, vc.view, (char *)vc.cname, 
+            (BFLDOCC)occ))
+    {
+        int err = Berror;
+        UBF_LOG(log_error, "%s: Bvsetoccur failed for %s.%s occ %d: %s", 
+                __func__, vc.view, vc.cname, (int)occ, Bstrerror(err));
+        ndrxj_ubf_throw(env, err, "%s: Bvsetoccur failed for %s.%s occ %d: %s", 
+                __func__, vc.view, vc.cname, (int)occ, Bstrerror(err));
+        goto out;
+    }
+    
+out:
+    view_call_end(env, &vc);
+}
+
+/**
+ * Test is field NULL
+ * @param env java env
+ * @param data TypedView buffer
+ * @param jcname field name
+ * @param occ occurrence
+ * @return JNI_TRUE if NULL
+ */
+expublic jboolean JNICALL ndrxj_Java_org_endurox_TypedView_Bvnull
+  (JNIEnv *env, jobject data, jstring jcname, jint occ)
+{
+    view_call_t vc;
+    int ret = EXFALSE;
+    
+    if (EXSUCCEED!=view_call_begin(env, data, jcname, EXTRUE, &vc))
+    {
+        goto out;
+    }
+    
+    if (EXFAIL==(ret=Bvnull(vc.cdata, (char *)vc.cname, (BFLDOCC)occ, 
+            vc.view)))
+    {
+        int err = Berror;
+        UBF_LOG(log_error, "%s: Bvnull failed for %s.%s occ %d: %s", 
+                __func__, vc.view, vc.cname, (int)occ, Bstrerror(err));
+        ndrxj_ubf_throw(env, err, "%s: Bvnull failed for %s.%s occ %d: %s", 
+                __func__, vc.view, vc.cname, (int)occ, Bstrerror(err));
+        ret = EXFALSE;
+        goto out;
+    }
+    
+out:
+    view_call_end(env, &vc);
+
+    return (jboolean)(EXTRUE==ret);
+}
+
+/**
+ * Set field to NULL value
+ * @param env java env
+ * @param data TypedView buffer
+ * @param jcname field name
+ */
+expublic void JNICALL ndrxj_Java_org_endurox_TypedView_Bvselinit
+  (JNIEnv *env, jobject data, jstring jcname)
+{
+    view_call_t vc;
+    
+    if (EXSUCCEED!=view_call_begin(env, data, jcname, EXTRUE, &vc))
+    {
+        goto out;
+    }
+    
+    if (EXSUCCEED!=Bvselinit(vc.cdata, (char *)vc.cname, vc.view))
+    {
+        int err = Berror;
+        UBF_LOG(log_error, "%s: Bvselinit failed for %s.%s: %s", 
+                __func__, vc.view, vc.cname, Bstrerror(err));
+        ndrxj_ubf_throw(env, err, "%s: Bvselinit failed for %s.%s: %s", 
+                __func__, vc.view, vc.cname, Bstrerror(err));
+        goto out;
+    }
+    
+out:
+    view_call_end(env, &vc);
+}
+
+/**
+ * Set all view fields to NULL values
+ * @param env java env
+ * @param data TypedView buffer
+ */
+expublic void JNICALL ndrxj_Java_org_endurox_TypedView_Bvsinit
+  (JNIEnv *env, jobject data)
+{
+    view_call_t vc;
+    
+    if (EXSUCCEED!=view_call_begin(env, data, NULL, EXFALSE, &vc))
+    {
+        goto out;
+    }
+    
+    if (EXSUCCEED!=Bvsinit(vc.cdata, vc.view))
+    {
+        int err = Berror;
+        UBF_LOG(log_error, "%s: Bvsinit failed for %s: %s", 
+                __func__, vc.view, Bstrerror(err));
+        ndrxj_ubf_throw(env, err, "%s: Bvsinit failed for %s: %s", 
+                __func__, vc.view, Bstrerror(err));
+        goto out;
+    }
+    
+out:
+    view_call_end(env, &vc);
+}
+
+/**
+ * Get field offset in the C structure from the compiled view descriptor
+ * @param view view name
+ * @param cname field name
+ * @param err UBF error code on failure
+ * @return offset or EXFAIL
+ */
+exprivate long view_field_offset(char *view, char *cname, int *err)
+{
+    long ret = EXFAIL;
+    ndrx_typedview_t *v;
+    ndrx_typedview_field_t *f;
+    
+    if (NULL==(v = ndrx_view_get_view(view)))
+    {
+        *err = BBADVIEW;
+        UBF_LOG(log_error, "%s: View [%s] not found", __func__, view);
+        goto out;
+    }
+    
+    if (NULL==(f = ndrx_view_get_field(v, cname)))
+    {
+        *err = BNOCNAME;
+        UBF_LOG(log_error, "%s: Field [%s] not found in view [%s]", 
+                __func__, cname, view);
+        goto out;
+    }
+    
+    ret = f->offset;
+    
+    UBF_LOG(log_debug, "%s: %s.%s offset %ld", __func__, view, cname, ret);
+    
+out:
+    return ret;
+}
+
+/**
+ * Resolve field descriptor
+ * @param env java env
+ * @param data TypedView buffer
+ * @param jcname field name
+ * @return array of: offset, type, max occurrences, element size, view size
+ */
+expublic jlongArray JNICALL ndrxj_Java_org_endurox_TypedView_BvfieldC
+  (JNIEnv *env, jobject data, jstring jcname)
+{
+    view_call_t vc;
+    jlongArray ret = NULL;
+    jlong d[5];
+    BFLDOCC maxocc;
+    BFLDOCC realocc;
+    long dim_size;
+    int fldtype;
+    long vsize;
+    long off;
+    int err;
+    
+    if (EXSUCCEED!=view_call_begin(env, data, jcname, EXTRUE, &vc))
+    {
+        goto out;
+    }
+    
+    if (EXFAIL==Bvoccur(vc.cdata, vc.view, (char *)vc.cname, &maxocc, 
+            &realocc, &dim_size, &fldtype) || 
+            EXFAIL==(vsize=Bvsizeof(vc.view)))
+    {
+        err = Berror;
+        UBF_LOG(log_error, "%s: Failed to get %s.%s info: %s", 
+                __func__, vc.view, vc.cname, Bstrerror(err));
+        ndrxj_ubf_throw(env, err, "%s: Failed to get %s.%s info: %s", 
+                __func__, vc.view, vc.cname, Bstrerror(err));
+        goto out;
+    }
+    
+    if (EXFAIL==(off=view_field_offset(vc.view, (char *)vc.cname, &err)))
+    {
+        ndrxj_ubf_throw(env, err, "%s: Failed to resolve %s.%s offset", 
+                __func__, vc.view, vc.cname);
+        goto out;
+    }
+    
+    d[0] = (jlong)off;
+    d[1] = (jlong)fldtype;
+    d[2] = (jlong)maxocc;
+    d[3] = (jlong)dim_size;
+    d[4] = (jlong)vsize;
+    
+    if (NULL==(ret = (*env)->NewLongArray(env, N_DIM(d))))
+    {
+        UBF_LOG(log_error, "%s: Failed to allocate long array", __func__);
+        goto out;
+    }
+    
+    (*env)->SetLongArrayRegion(env, ret, 0, N_DIM(d), d);
+    
+out:
+    view_call_end(env, &vc);
+
+    return ret;
+}
+
+/**
+ * Get field address for offset based access. The accessed range is checked
+ * against the buffer length, thus stale descriptor cannot access memory
+ * outside of the buffer.
+ * @param env java env
+ * @param data TypedView buffer
+ * @param type field type
+ * @param exptype type of the accessor
+ * @param off field offset
+ * @param size number of bytes accessed at offset
+ * @return field address or NULL (exception thrown)
+ */
+exprivate char *view_at(JNIEnv *env, jobject data, int type, int exptype, 
+        jlong off, long size)
+{
+    char *cdata;
+    long clen;
+    
+    if (type!=exptype)
+    {
+        ndrxj_ubf_throw(env, BEINVAL, "%s: field type %d accessed as %d", 
+                __func__, type, exptype);
+        return NULL;
+    }
+    
+    if (EXSUCCEED!=ndrxj_atmi_TypedBuffer_get_buffer(env, data, &cdata, &clen,
+            NULL, EXFALSE, EXFALSE))
+    {
+        NDRX_LOG(log_error, "Failed to get buffer data");
+        return NULL;
+    }
+    
+    if (off < 0 || size < 0 || off + size > clen)
+    {
+        ndrxj_ubf_throw(env, BEINVAL, "%s: offset %ld size %ld out of "
+                "buffer bounds %ld", __func__, (long)off, size, clen);
+        return NULL;
+    }
+    
+    return cdata + off;
+}
+
+/**
+ * Get short field at offset
+ * @param env java env
+ * @param data TypedView buffer
+ * @param type field type
+ * @param off field offset
+ * @return value
+ */
+expublic jshort JNICALL ndrxj_Java_org_endurox_TypedView_BvgetShortAtC
+  (JNIEnv *env, jobject data, jint type, jlong off)
+{
+    short s = EXFAIL;
+    char *p = view_at(env, data, type, BFLD_SHORT, off, sizeof(short));
+    
+    if (NULL!=p)
+    {
+        memcpy(&s, p, sizeof(s));
+    }
+    
+    return (jshort)s;
+}
+
+/**
+ * Get long (or int) field at offset
+ * @param env java env
+ * @param data TypedView buffer
+ * @param type field type
+ * @param off field offset
+ * @return value
+ */
+expublic jlong JNICALL ndrxj_Java_org_endurox_TypedView_BvgetLongAtC
+  (JNIEnv *env, jobject data, jint type, jlong off)
+{
+    long l = EXFAIL;
+    char *p;
+#ifdef BFLD_INT
+    int i;
+    
+    if (BFLD_INT==type)
+    {
+        if (NULL!=(p = view_at(env, data, type, BFLD_INT, off, sizeof(int))))
+        {
+            memcpy(&i, p, sizeof(i));
+            l = i;
+        }
+    }
+    else
+#endif
+    if (NULL!=(p = view_at(env, data, type, BFLD_LONG, off, sizeof(long))))
+    {
+        memcpy(&l, p, sizeof(l));
+    }
+    
+    return (jlong)l;
+}
+
+/**
+ * Get char field at offset
+ * @param env java env
+ * @param data TypedView buffer
+ * @param type field type
+ * @param off field offset
+ * @return value
+ */
+expublic jbyte JNICALL ndrxj_Java_org_endurox_TypedView_BvgetByteAtC
+  (JNIEnv *env, jobject data, jint type, jlong off)
+{
+    char c = EXFAIL;
+    char *p = view_at(env, data, type, BFLD_CHAR, off, sizeof(char));
+    
+    if (NULL!=p)
+    {
+        c = *p;
+    }
+    
+    return (jbyte)c;
+}
+
+/**
+ * Get float field at offset
+ * @param env java env
+ * @param data TypedView buffer
+ * @param type field type
+ * @param off field offset
+ * @return value
+ */
+expublic jfloat JNICALL ndrxj_Java_org_endurox_TypedView_BvgetFloatAtC
+  (JNIEnv *env, jobject data, jint type, jlong off)
+{
+    float f = EXFAIL;
+    char *p = view_at(env, data, type, BFLD_FLOAT, off, sizeof(float));
+    
+    if (NULL!=p)
+    {
+        memcpy(&f, p, sizeof(f));
+    }
+    
+    return (jfloat)f;
+}
+
+/**
+ * Get double field at offset
+ * @param env java env
+ * @param data TypedView buffer
+ * @param type field type
+ * @param off field offset
+ * @return value
+ */
+expublic jdouble JNICALL ndrxj_Java_org_endurox_TypedView_BvgetDoubleAtC
+  (JNIEnv *env, jobject data, jint type, jlong off)
+{
+    double d = EXFAIL;
+    char *p = view_at(env, data, type, BFLD_DOUBLE, off, sizeof(double));
+    
+    if (NULL!=p)
+    {
+        memcpy(&d, p, sizeof(d));
+    }
+    
+    return (jdouble)d;
+}
+
+/**
+ * Get string field at offset
+ * @param env java env
+ * @param data TypedView buffer
+ * @param type field type
+ * @param off field offset
+ * @param len field element size
+ * @return value
+ */
+expublic jstring JNICALL ndrxj_Java_org_endurox_TypedView_BvgetStringAtC
+  (JNIEnv *env, jobject data, jint type, jlong off, jint len)
+{
+    jstring ret = NULL;
+    char *tmp;
+    size_t n;
+    char *p = view_at(env, data, type, BFLD_STRING, off, len);
+    
+    if (NULL==p)
+    {
+        goto out;
+    }
+    
+    n = strnlen(p, len);
+    
+    if (n < len)
+    {
+        ret = (*env)->NewStringUTF(env, p);
+    }
+    else if (NULL!=(tmp = NDRX_MALLOC(n+1)))
+    {
+        /* not terminated */
+        memcpy(tmp, p, n);
+        tmp[n] = EXEOS;
+        ret = (*env)->NewStringUTF(env, tmp);
+        NDRX_FREE(tmp);
+    }
+    else
+    {
+        ndrxj_ubf_throw(env, BMALLOC, "%s: Failed to malloc %d bytes", 
+                __func__, (int)(n+1));
+    }
+    
+out:
+    return ret;
+}
+
+/**
+ * Get carray field at offset
+ * @param env java env
+ * @param data TypedView buffer
+ * @param type field type
+ * @param off field offset
+ * @param len field element size
+ * @return value
+ */
+expublic jbyteArray JNICALL ndrxj_Java_org_endurox_TypedView_BvgetByteArrAtC
+  (JNIEnv *env, jobject data, jint type, jlong off, jint len)
+{
+    jbyteArray ret = NULL;
+    char *p = view_at(env, data, type, BFLD_CARRAY, off, len);
+    
+    if (NULL!=p && NULL!=(ret = (*env)->NewByteArray(env, (jsize)len)))
+    {
+        (*env)->SetByteArrayRegion(env, ret, 0, (jsize)len, (jbyte*)p);
+    }
+    
+    return ret;
+}
+
+/**
+ * Set short field at offset
+ * @param env java env
+ * @param data TypedView buffer
+ * @param type field type
+ * @param off field offset
+ * @param js value
+ */
+expublic void JNICALL ndrxj_Java_org_endurox_TypedView_BvchgAtC__IJS
+  (JNIEnv *env, jobject data, jint type, jlong off, jshort js)
+{
+    short s = (short)js;
+    char *p = view_at(env, data, type, BFLD_SHORT, off, sizeof(short));
+    
+    if (NULL!=p)
+    {
+        memcpy(p, &s, sizeof(s));
+    }
+}
+
+/**
+ * Set long (or int) field at offset
+ * @param env java env
+ * @param data TypedView buffer
+ * @param type field type
+ * @param off field offset
+ * @param jl value
+ */
+expublic void JNICALL ndrxj_Java_org_endurox_TypedView_BvchgAtC__IJJ
+  (JNIEnv *env, jobject data, jint type, jlong off, jlong jl)
+{
+    long l = (long)jl;
+    char *p;
+#ifdef BFLD_INT
+    int i = (int)jl;
+    
+    if (BFLD_INT==type)
+    {
+        if (NULL!=(p = view_at(env, data, type, BFLD_INT, off, sizeof(int))))
+        {
+            memcpy(p, &i, sizeof(i));
+        }
+    }
+    else
+#endif
+    if (NULL!=(p = view_at(env, data, type, BFLD_LONG, off, sizeof(long))))
+    {
+        memcpy(p, &l, sizeof(l));
+    }
+}
+
+/**
+ * Set char field at offset
+ * @param env java env
+ * @param data TypedView buffer
+ * @param type field type
+ * @param off field offset
+ * @param jb value
+ */
+expublic void JNICALL ndrxj_Java_org_endurox_TypedView_BvchgAtC__IJB
+  (JNIEnv *env, jobject data, jint type, jlong off, jbyte jb)
+{
+    char *p = view_at(env, data, type, BFLD_CHAR, off, sizeof(char));
+    
+    if (NULL!=p)
+    {
+        *p = (char)jb;
+    }
+}
+
+/**
+ * Set float field at offset
+ * @param env java env
+ * @param data TypedView buffer
+ * @param type field type
+ * @param off field offset
+ * @param jf value
+ */
+expublic void JNICALL ndrxj_Java_org_endurox_TypedView_BvchgAtC__IJF
+  (JNIEnv *env, jobject data, jint type, jlong off, jfloat jf)
+{
+    float f = (float)jf;
+    char *p = view_at(env, data, type, BFLD_FLOAT, off, sizeof(float));
+    
+    if (NULL!=p)
+    {
+        memcpy(p, &f, sizeof(f));
+    }
+}
+
+/**
+ * Set double field at offset
+ * @param env java env
+ * @param data TypedView buffer
+ * @param type field type
+ * @param off field offset
+ * @param jd value
+ */
+expublic void JNICALL ndrxj_Java_org_endurox_TypedView_BvchgAtC__IJD
+  (JNIEnv *env, jobject data, jint type, jlong off, jdouble jd)
+{
+    double d = (double)jd;
+    char *p = view_at(env, data, type, BFLD_DOUBLE, off, sizeof(double));
+    
+    if (NULL!=p)
+    {
+        memcpy(p, &d, sizeof(d));
+    }
+}
+
+/**
+ * Set string field at offset
+ * @param env java env
+ * @param data TypedView buffer
+ * @param type field type
+ * @param off field offset
+ * @param len field element size
+ * @param js value
+ */
+expublic void JNICALL ndrxj_Java_org_endurox_TypedView_BvchgAtC__IJILjava_lang_String_2
+  (JNIEnv *env, jobject data, jint type, jlong off, jint len, jstring js)
+{
+    jboolean n_str_copy = EXFALSE;
+    const char *n_str;
+    size_t n;
+    char *p;
+    
+    if (NULL==js)
+    {
+        ndrxj_ubf_throw(env, BEINVAL, "%s: Failed to change field - null value", 
+                __func__);
+        return;
+    }
+    
+    if (NULL==(p = view_at(env, data, type, BFLD_STRING, off, len)))
+    {
+        return;
+    }
+    
+    n_str = (*env)->GetStringUTFChars(env, js, &n_str_copy);
+    n = strlen(n_str);
+    
+    if (n >= len)
+    {
+        ndrxj_ubf_throw(env, BNOSPACE, "%s: string length %d, but field size %d", 
+                __func__, (int)n, (int)len);
+    }
+    else
+    {
+        memcpy(p, n_str, n+1);
+    }
+    
+    if (n_str_copy)
+    {
+        (*env)->ReleaseStringUTFChars(env, js, n_str);
+    }
+}
+
+/**
+ * Set carray field at offset, rest of the element is zeroed
+ * @param env java env
+ * @param data TypedView buffer
+ * @param type field type
+ * @param off field offset
+ * @param len field element size
+ * @param jb value
+ */
+expublic void JNICALL ndrxj_Java_org_endurox_TypedView_BvchgAtC__IJI_3B
+  (JNIEnv *env, jobject data, jint type, jlong off, jint len, jbyteArray jb)
+{
+    jsize n;
+    char *p;
+    
+    if (NULL==jb)
+    {
+        ndrxj_ubf_throw(env, BEINVAL, "%s: Failed to change field - null value", 
+                __func__);
+        return;
+    }
+    
+    if (NULL==(p = view_at(env, data, type, BFLD_CARRAY, off, len)))
+    {
+        return;
+    }
+    
+    n = (*env)->GetArrayLength(env, jb);
+    
+    if (n > len)
+    {
+        ndrxj_ubf_throw(env, BNOSPACE, "%s: data length %d, but field size %d", 
+                __func__, (int)n, (int)len);
+        return;
+    }
+    
+    (*env)->GetByteArrayRegion(env, jb, 0, n, (jbyte *)p);
+    memset(p+n, 0, len-n);
+}
+
+/* vim: set ts=4 sw=4 et smartindent: */
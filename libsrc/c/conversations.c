@@ -135,21 +135,20 @@ out:
 }
 
 /**
- * Receive data from conversation
+ * Receive data from conversation, common part. Context must be set.
  * @param env java environment
  * @param atmiCtxObj ATMI Context
  * @param cd call descriptor
  * @param idata data buffer
  * @param flags input flags
- * @return TprecvResult obj
+ * @param revent returned event
+ * @param odata received buffer object (reused \p idata if types match)
+ * @return EXSUCCEED/EXFAIL (exception set)
  */
-expublic JNIEXPORT jobject JNICALL ndrxj_Java_org_endurox_AtmiCtx_tprecv
-  (JNIEnv * env, jobject atmiCtxObj, jint cd, jobject idata, jlong flags)
+exprivate int ndrxj_tprecv_int(JNIEnv * env, jobject atmiCtxObj, jint cd, 
+        jobject idata, jlong flags, long *revent, jobject *odata)
 {
-    jint ret = EXFAIL;
-    jobject retObj = NULL;
-    long revent = 0;
-    TPCONTEXT_T ctx;
+    int ret = EXFAIL;
     int err;
     
     /* input buffer */
@@ -160,16 +159,11 @@ expublic JNIEXPORT jobject JNICALL ndrxj_Java_org_endurox_AtmiCtx_tprecv
     char *obuf;
     long olen;
     
-    jobject odata = NULL;
     char itype[XATMI_TYPE_LEN+1] = {EXEOS};
     char isubtype[XATMI_SUBTYPE_LEN+1]  = {EXEOS};
     
-    /* get context & set */
-    
-    if (NULL==(ctx = ndrxj_get_ctx(env, atmiCtxObj, EXTRUE)))
-    {
-        goto out;
-    } 
+    *revent = 0;
+    *odata = NULL;
     
     /* get data buffer... */
     if (NULL!=idata)
@@ -196,7 +190,7 @@ expublic JNIEXPORT jobject JNICALL ndrxj_Java_org_endurox_AtmiCtx_tprecv
     obuf = ibuf;
     olen = ilen;
     
-    ret = tprecv((int)cd, &obuf, &olen, (long)flags, &revent);    
+    ret = tprecv((int)cd, &obuf, &olen, (long)flags, revent);    
     err = tperrno;
    
     /* OK might get exception, but there could be buffer associated with it.. */
@@ -217,17 +211,59 @@ expublic JNIEXPORT jobject JNICALL ndrxj_Java_org_endurox_AtmiCtx_tprecv
         ret = EXSUCCEED;
     }
     
-    NDRX_LOG(log_debug, "RECV OK cd=%d event %ld", (int)cd, revent);
+    NDRX_LOG(log_debug, "RECV OK cd=%d event %ld", (int)cd, *revent);
     
-    odata = ndrxj_atmi_TypedBuffer_result_prep(env, atmiCtxObj, 
+    *odata = ndrxj_atmi_TypedBuffer_result_prep(env, atmiCtxObj, 
                 idata, ibuf, ilen, obuf, olen, itype, isubtype);
     
+    if ((*env)->ExceptionCheck(env))
+    {
+        EXFAIL_OUT(ret);
+    }
+    
+out:
+    return ret;
+}
+
+/**
+ * Receive data from conversation
+ * @param env java environment
+ * @param atmiCtxObj ATMI Context
+ * @param cd call descriptor
+ * @param idata data buffer
+ * @param flags input flags
+ * @return TprecvResult obj
+ */
+expublic JNIEXPORT jobject JNICALL ndrxj_Java_org_endurox_AtmiCtx_tprecv
+  (JNIEnv * env, jobject atmiCtxObj, jint cd, jobject idata, jlong flags)
+{
+    jint ret = EXFAIL;
+    jobject retObj = NULL;
+    long revent = 0;
+    TPCONTEXT_T ctx;
+    jobject odata = NULL;
+    
+    /* get context & set */
+    
+    if (NULL==(ctx = ndrxj_get_ctx(env, atmiCtxObj, EXTRUE)))
+    {
+        goto out;
+    } 
+    
+    if (EXSUCCEED!=ndrxj_tprecv_int(env, atmiCtxObj, cd, idata, flags, 
+            &revent, &odata))
+    {
+        goto out;
+    }
+    
     if (NULL==(retObj = ndrxj_TprecvResult_new(env, atmiCtxObj, cd, odata, revent)))
     {
         NDRX_LOG(log_error, "Failed to generate reply object!");
-        EXFAIL_OUT(ret);
+        goto out;
     }
     
+    ret = EXSUCCEED;
+    
 out:
 
     NDRX_LOG(log_debug, "returns %d", ret);
@@ -245,6 +281,49 @@ out:
     }
 }
 
+/**
+ * Receive data from conversation, without allocating result object
+ * @param env java environment
+ * @param atmiCtxObj ATMI Context
+ * @param cd call descriptor
+ * @param idata data buffer, reused for the received data if types match
+ * @param flags input flags
+ * @param jrevent array where at index 0 event is returned
+ * @return received buffer
+ */
+expublic JNIEXPORT jobject JNICALL ndrxj_Java_org_endurox_AtmiCtx_tprecvReuseC
+  (JNIEnv * env, jobject atmiCtxObj, jint cd, jobject idata, jlong flags, 
+        jlongArray jrevent)
+{
+    long revent = 0;
+    jlong jrev;
+    jobject odata = NULL;
+    
+    /* get context & set */
+    
+    if (NULL==ndrxj_get_ctx(env, atmiCtxObj, EXTRUE))
+    {
+        goto out;
+    } 
+    
+    if (EXSUCCEED!=ndrxj_tprecv_int(env, atmiCtxObj, cd, idata, flags, 
+            &revent, &odata))
+    {
+        odata = NULL;
+        goto out;
+    }
+    
+    jrev = (jlong)revent;
+    (*env)->SetLongArrayRegion(env, jrevent, 0, 1, &jrev);
+    
+out:
+    
+    /* unset context */
+    tpsetctxt(TPNULLCONTEXT, 0L);
+    
+    return odata;
+}
+
 /**
  * Send data to conversational end point
  * @param env java environment
@@ -317,6 +396,93 @@ out:
     return revent;
 }
 
+/**
+ * Send list of buffers to conversational end point in single native call.
+ * Sending stops at first event received.
+ * @param env java environment
+ * @param atmiCtxObj ATMI Context
+ * @param cd call descriptor
+ * @param jbufs buffers to send
+ * @param flags ATMI flags for all but last buffer
+ * @param lastflags ATMI flags for last buffer (i.e. TPRECVONLY)
+ * @param jrevent array where at index 0 event is returned
+ * @return number of buffers sent (the one with event included)
+ */
+expublic JNIEXPORT jint JNICALL ndrxj_Java_org_endurox_AtmiCtx_tpsendArrC
+  (JNIEnv * env, jobject atmiCtxObj, jint cd, jobjectArray jbufs, 
+        jlong flags, jlong lastflags, jlongArray jrevent)
+{
+    jint ret = 0;
+    long revent = 0;
+    jlong jrev;
+    jsize n;
+    jsize i;
+    jobject idata;
+    char *ibuf;
+    long ilen;
+    int err;
+    
+    if (NULL==ndrxj_get_ctx(env, atmiCtxObj, EXTRUE))
+    {
+        goto out;
+    } 
+    
+    n = (*env)->GetArrayLength(env, jbufs);
+    
+    for (i=0; i<n; i++)
+    {
+        ibuf = NULL;
+        ilen = 0;
+        idata = (*env)->GetObjectArrayElement(env, jbufs, i);
+        
+        if (NULL!=idata && EXSUCCEED!=ndrxj_atmi_TypedBuffer_get_buffer(env, 
+                idata, &ibuf, &ilen, NULL, EXFALSE, EXFALSE))
+        {
+            NDRX_LOG(log_error, "Failed to get data buffer %d!", (int)i);
+            (*env)->DeleteLocalRef(env, idata);
+            goto out;
+        }
+        
+        if (EXSUCCEED!=tpsend((int)cd, ibuf, ilen, 
+                (long)(i==n-1?lastflags:flags), &revent))
+        {
+            err = tperrno;
+            
+            if (TPEEVENT!=err)
+            {
+                char errbuf[MAX_ERROR_LEN+1];
+                NDRX_LOG(log_debug, "tpsend failed with %d", err);
+                NDRX_STRCPY_SAFE(errbuf, tpstrerror(err));
+                ndrxj_atmi_throw(env, idata, NULL, err, "%s", errbuf);
+                (*env)->DeleteLocalRef(env, idata);
+                goto out;
+            }
+        }
+        
+        (*env)->DeleteLocalRef(env, idata);
+        ret++;
+        
+        if (0!=revent)
+        {
+            NDRX_LOG(log_debug, "cd=%d got event %ld at %d", (int)cd, 
+                    revent, (int)i);
+            break;
+        }
+    }
+    
+    jrev = (jlong)revent;
+    (*env)->SetLongArrayRegion(env, jrevent, 0, 1, &jrev);
+    
+    NDRX_LOG(log_debug, "SEND OK cd=%d sent %d", (int)cd, (int)ret);
+    
+out:
+    
+    /* unset context */
+    tpsetctxt(TPNULLCONTEXT, 0L);
+    
+    return ret;
+}
+
 /**
  * Terminate ATMI conversation
  * @param env java env
@@ -53,133 +53,194 @@
 /*---------------------------Enums--------------------------------------*/
 /*---------------------------Typedefs-----------------------------------*/
 /*---------------------------Globals------------------------------------*/
+/**
+ * Create exceptions without formatted message, see
+ * AtmiCtx.setStacklessExceptions()
+ */
+expublic volatile int ndrxj_G_stackless = EXFALSE;
 /*---------------------------Statics------------------------------------*/
 /*---------------------------Prototypes---------------------------------*/
 
 /**
- * Throw ATMI error 
+ * Configure stackless exception mode
  * @param env java env
- * @param data Any typed buffer associated with error / tpcall result 
- * @param[in] addarg1 additional argument 1, error specific
- * @param err ATMI Errro code
- * @param msg message
+ * @param cls AtmiCtx class
+ * @param stackless JNI_TRUE if exceptions shall be created without message
  */
-expublic void ndrxj_atmi_throw(JNIEnv *env, jobject data, jobject addarg1, 
-        int err, char *msgfmt, ...)
+expublic void JNICALL ndrxj_Java_org_endurox_AtmiCtx_setStacklessC
+  (JNIEnv * env, jclass cls, jboolean stackless)
 {
-    char cls[256];
-    char error[ERROR_MAX];
-    jstring jerror;
+    ndrxj_G_stackless = (JNI_TRUE==stackless);
     
-    jobject exception = NULL;
-    /* jfieldID data_fldid; */
-    
-    exj_dyn_cache_t new_cache;
+    NDRX_LOG(log_info, "Stackless exceptions: %d", ndrxj_G_stackless);
+}
+
+/**
+ * Resolve exception class for error code. Classes are pre-loaded at library
+ * load, thus normally this is lock free. Unknown error codes are resolved
+ * from dynamic cache.
+ * @param env java env
+ * @param scope NDRXJ_EXC_ATMI, NDRXJ_EXC_UBF or NDRXJ_EXC_NSTD
+ * @param err error code
+ * @param prefix class name prefix (Atmi, Ubf, Nstd)
+ * @param codestr error code string
+ * @param out resolved class data
+ * @return EXSUCCEED/EXFAIL
+ */
+exprivate int exc_get(JNIEnv *env, int scope, int err, char *prefix, 
+        const char *codestr, exj_exc_cache_t *out)
+{
+    int ret = EXSUCCEED;
+    exj_exc_cache_t *pre;
     exj_dyn_cache_t *cached;
+    char cls[256];
     
-    va_list args;
+    if (NULL!=(pre = ndrxj_caches_exc(scope, err)))
+    {
+        memcpy(out, pre, sizeof(*out));
+        goto out;
+    }
     
-    va_start (args, msgfmt);
-    vsnprintf (error, sizeof(error), msgfmt, args);
-    va_end (args);
+    /* slow path */
+    snprintf(cls, sizeof(cls), "org/endurox/exceptions/%s%sException", 
+            prefix, codestr);
     
-    jerror = (*env)->NewStringUTF(env, error);
+    NDRX_LOG(log_warn, "[%s] not pre-loaded (err %d)", cls, err);
     
-    snprintf(cls, sizeof(cls), "org/endurox/exceptions/Atmi%sException", 
-            tpecodestr(err));
+    if (NULL==(cached = ndrxj_caches_single(env, cls)))
+    {
+        NDRX_LOG(log_error, "exception  [%s] not found!!!!", cls);
+        EXFAIL_OUT(ret);
+    }
     
-    NDRX_LOG(log_info, "Throwing: [%s]: %s", cls, error);
+    memset(out, 0, sizeof(*out));
+    out->clazz = cached->clazz;
     
-    cached = ndrxj_caches_get(cls);
+    if (NULL==(out->mid_init = (*env)->GetMethodID(env, out->clazz,
+            "<init>", "(Ljava/lang/String;)V")))
+    {
+        NDRXJ_LOG_EXCEPTION(env, log_error, NDRXJ_LOGEX_NDRX, 
+                "Cannot get constructor for exception: %s");
+        EXFAIL_OUT(ret);
+    }
     
-    if (NULL==cached)
+    if (NDRXJ_EXC_ATMI==scope && NULL==(out->fid_data = 
+            (*env)->GetFieldID(env, out->clazz, "data", 
+            "Lorg/endurox/TypedBuffer;")))
     {
-        memset(&new_cache, 0, sizeof(new_cache));
-        
-        new_cache.clazz = (*env)->FindClass(env, cls);
-
-        if (NULL==new_cache.clazz)
-        {
-            NDRX_LOG(log_error, "exception  [%s] not found!!!! - aborting!", cls);
-            abort();
-        }
-        
-        new_cache.mid1 = (*env)->GetMethodID(env, new_cache.clazz,
-                "<init>", "(Ljava/lang/String;)V");
+        NDRXJ_LOG_EXCEPTION(env, log_error, NDRXJ_LOGEX_NDRX, 
+                "Failed to find data field in exception: %s");
+        EXFAIL_OUT(ret);
+    }
+    
+out:
+    return ret;
+}
 
-        if (NULL==new_cache.mid1)
-        {
-            NDRXJ_LOG_EXCEPTION(env, log_error, NDRXJ_LOGEX_NDRX, 
-                    "Cannot get constructor for ATMI exception: %s");
-            return;
-        }
-        
-        if (TPEDIAGNOSTIC == err)
+/**
+ * Create exception object. In stackless mode message is formatted only
+ * if it is going to be logged, it is not passed to java, exception builds
+ * the message from error code when needed.
+ * @param env java env
+ * @param scope NDRXJ_EXC_ATMI, NDRXJ_EXC_UBF or NDRXJ_EXC_NSTD
+ * @param err error code
+ * @param prefix class name prefix (Atmi, Ubf, Nstd)
+ * @param codestr error code string
+ * @param exc resolved class data
+ * @param msgfmt message format
+ * @param args format arguments
+ * @return exception object or NULL on failure
+ */
+exprivate jobject exc_create(JNIEnv *env, int scope, int err, char *prefix, 
+        const char *codestr, exj_exc_cache_t *exc, char *msgfmt, va_list args)
+{
+    char error[ERROR_MAX];
+    jstring jerror = NULL;
+    jobject exception = NULL;
+    
+    if (ndrxj_G_stackless)
+    {
+        /* format only if detail goes to the log */
+        if (tplogqinfo(log_info, TPLOGQI_GET_NDRX|TPLOGQI_EVAL_RETURN) > 0)
         {
-            /* In this case addarg1 qctl buffer associated with the queue
-             * call
-             */
+            vsnprintf (error, sizeof(error), msgfmt, args);
             
-            NDRX_LOG(log_debug, "Getting qctl for TPEDIAGNOSTIC");
-
-            if (NULL==(new_cache.fid1 = (*env)->GetFieldID(env, new_cache.clazz, 
-                    "qctl", "Lorg/endurox/TPQCTL;")))
-            {
-                NDRXJ_LOG_EXCEPTION(env, log_error, NDRXJ_LOGEX_NDRX, 
-                        "Failed to find data field in exception: %s");
-            }
-        }
-        
-        if (NULL==(new_cache.fid2 = (*env)->GetFieldID(env, new_cache.clazz, "data", 
-                "Lorg/endurox/TypedBuffer;")))
-        {
-            NDRXJ_LOG_EXCEPTION(env, log_error, NDRXJ_LOGEX_NDRX, 
-                    "Failed to find data field in exception: %s");
-            return;
+            NDRX_LOG(log_info, "Throwing: [%s%sException]: (stackless) %s", 
+                    prefix, codestr, error);
         }
+    }
+    else
+    {
+        vsnprintf (error, sizeof(error), msgfmt, args);
         
-        if (NULL==(cached = ndrxj_caches_add(env, cls, &new_cache)))
-        {
-            NDRXJ_LOG_EXCEPTION(env, log_error, NDRXJ_LOGEX_NDRX | NDRXJ_LOGEX_ULOG, 
-                        "Failed to cached exception class!");
-            abort();
-        }
+        NDRX_LOG(log_info, "Throwing: [%s%sException]: %s", 
+                prefix, codestr, error);
         
+        jerror = (*env)->NewStringUTF(env, error);
     }
     
-    exception = (*env)->NewObject(env, cached->clazz, cached->mid1, jerror);
+    if (EXSUCCEED!=exc_get(env, scope, err, prefix, codestr, exc))
+    {
+        NDRX_LOG(log_error, "Cannot resolve exception [%s%sException] - aborting!", 
+                prefix, codestr);
+        abort();
+    }
     
-    if (NULL==exception)
+    if (NULL==(exception = (*env)->NewObject(env, exc->clazz, 
+            exc->mid_init, jerror)))
     {
         NDRXJ_LOG_EXCEPTION(env, log_error, NDRXJ_LOGEX_NDRX, 
                 "Failed to create exception object: %s");
+    }
+    
+    if (NULL!=jerror)
+    {
+        (*env)->DeleteLocalRef(env, jerror);
+    }
+    
+    return exception;
+}
+
+/**
+ * Throw ATMI error 
+ * @param env java env
+ * @param data Any typed buffer associated with error / tpcall result 
+ * @param[in] addarg1 additional argument 1, error specific
+ * @param err ATMI Errro code
+ * @param msg message
+ */
+expublic void ndrxj_atmi_throw(JNIEnv *env, jobject data, jobject addarg1, 
+        int err, char *msgfmt, ...)
+{
+    jobject exception;
+    exj_exc_cache_t exc;
+    va_list args;
+    
+    va_start (args, msgfmt);
+    exception = exc_create(env, NDRXJ_EXC_ATMI, err, "Atmi", tpecodestr(err), 
+            &exc, msgfmt, args);
+    va_end (args);
+    
+    if (NULL==exception)
+    {
         return;
     }
     
     /* set data field if any */
-    
     if (NULL!=data)
     {
         NDRX_LOG(log_debug, "Setting data object for exception");
-        
-        
-        /* set object */
-        
-        (*env)->SetObjectField(env, exception, cached->fid2, data);
+        (*env)->SetObjectField(env, exception, exc.fid_data, data);
     }
     
-    if (NULL!=addarg1 && TPEDIAGNOSTIC == err)
+    /* In this case addarg1 qctl buffer associated with the queue call */
+    if (NULL!=addarg1 && TPEDIAGNOSTIC == err && NULL!=exc.fid_qctl)
     {
-        /* set object */
-        (*env)->SetObjectField(env, exception, cached->fid1, addarg1);
+        (*env)->SetObjectField(env, exception, exc.fid_qctl, addarg1);
     }
     
     /* throw finally */
     (*env)->Throw(env, (jthrowable)exception);
-    
-out:
-    
-    return;
 }
 
 /**
@@ -190,30 +251,19 @@ out:
  */
 expublic void ndrxj_nstd_throw(JNIEnv *env, int err, char *msgfmt, ...)
 {
-    char cls[256];
-    char error[ERROR_MAX];
-    exj_dyn_cache_t *cached;
-    
+    jobject exception;
+    exj_exc_cache_t exc;
     va_list args;
+    
     va_start (args, msgfmt);
-    vsnprintf (error, sizeof(error), msgfmt, args);
+    exception = exc_create(env, NDRXJ_EXC_NSTD, err, "Nstd", 
+            ndrx_Necodestr(err), &exc, msgfmt, args);
     va_end (args);
     
-    snprintf(cls, sizeof(cls), "org/endurox/exceptions/Nstd%sException", 
-            ndrx_Necodestr(err));
-    
-    
-    NDRX_LOG(log_info, "Throwing: [%s]: %s", cls, error);
-    
-    cached = ndrxj_caches_single(env, cls);
-    
-    if (!cached)
+    if (NULL!=exception)
     {
-        NDRX_LOG(log_error, "exception  [%s] not found!!!!", cls);
-        abort();
+        (*env)->Throw(env, (jthrowable)exception);
     }
-        
-    (*env)->ThrowNew(env, cached->clazz, error);
 }
 
 /**
@@ -224,29 +274,19 @@ expublic void ndrxj_nstd_throw(JNIEnv *env, int err, char *msgfmt, ...)
  */
 expublic void ndrxj_ubf_throw(JNIEnv *env, int err, char *msgfmt, ...)
 {
-    char cls[256];
-    char error[ERROR_MAX];
-    exj_dyn_cache_t *cached;
-    
+    jobject exception;
+    exj_exc_cache_t exc;
     va_list args;
+    
     va_start (args, msgfmt);
-    vsnprintf (error, sizeof(error), msgfmt, args);
+    exception = exc_create(env, NDRXJ_EXC_UBF, err, "Ubf", Becodestr(err), 
+            &exc, msgfmt, args);
     va_end (args);
     
-    snprintf(cls, sizeof(cls), "org/endurox/exceptions/Ubf%sException", 
-            Becodestr(err));
-    
-    NDRX_LOG(log_info, "Throwing: [%s]: %s", cls, error);
-    
-    cached = ndrxj_caches_single(env, cls);
-    
-    if (!cached)
+    if (NULL!=exception)
     {
-        NDRX_LOG(log_error, "exception  [%s] not found!!!!", cls);
-        abort();
+        (*env)->Throw(env, (jthrowable)exception);
     }
-        
-    (*env)->ThrowNew(env, cached->clazz, error);
 }
 
 
@@ -61,6 +61,7 @@
 #include <org_endurox_TypedJson.h>
 #include <org_endurox_TypedString.h>
 #include <org_endurox_TypedUbf.h>
+#include <org_endurox_TypedView.h>
 /*---------------------------Externs------------------------------------*/
 /*---------------------------Macros-------------------------------------*/
 /*---------------------------Enums--------------------------------------*/
@@ -87,6 +88,8 @@ exprivate jlong (*p_ndrxj_Java_org_endurox_AtmiCtx_tpnewctxt)
         (JNIEnv * v0,  jclass v1) = NULL;
 exprivate void (*p_ndrxj_Java_org_endurox_AtmiCtx_tpfreectxt)
         (JNIEnv * v0,  jclass v1,  jlong v2) = NULL;
+exprivate void (*p_ndrxj_Java_org_endurox_AtmiCtx_setStacklessC)
+        (JNIEnv * v0,  jclass v1,  jboolean v2) = NULL;
 exprivate jobject (*p_ndrxj_Java_org_endurox_AtmiCtx_tpalloc)
         (JNIEnv * v0,  jobject v1,  jstring v2,  jstring v3,  jlong v4) = NULL;
 exprivate void (*p_ndrxj_Java_org_endurox_AtmiCtx_tpterm)
@@ -151,6 +154,10 @@ exprivate jobject (*p_ndrxj_Java_org_endurox_AtmiCtx_tprecv)
         (JNIEnv * v0,  jobject v1,  jint v2,  jobject v3,  jlong v4) = NULL;
 exprivate void (*p_ndrxj_Java_org_endurox_AtmiCtx_tpdiscon)
         (JNIEnv * v0,  jobject v1,  jint v2) = NULL;
+exprivate jobject (*p_ndrxj_Java_org_endurox_AtmiCtx_tprecvReuseC)
+        (JNIEnv * v0,  jobject v1,  jint v2,  jobject v3,  jlong v4,  jlongArray v5) = NULL;
+exprivate jint (*p_ndrxj_Java_org_endurox_AtmiCtx_tpsendArrC)
+        (JNIEnv * v0,  jobject v1,  jint v2,  jobjectArray v3,  jlong v4,  jlong v5,  jlongArray v6) = NULL;
 exprivate void (*p_ndrxj_Java_org_endurox_AtmiCtx_tpcancel)
         (JNIEnv * v0,  jobject v1,  jint v2) = NULL;
 exprivate jobject (*p_ndrxj_Java_org_endurox_AtmiCtx_Bboolco)
@@ -159,11 +166,11 @@ exprivate void (*p_ndrxj_Java_org_endurox_AtmiCtx_Bboolpr)
         (JNIEnv * v0,  jobject v1,  jobject v2,  jobject v3) = NULL;
 exprivate void (*p_ndrxj_Java_org_endurox_AtmiCtx_BboolsetcbfC)
         (JNIEnv * v0,  jobject v1,  jstring v2) = NULL;
-exprivate jstring (*p_ndrxj_Java_org_endurox_AtmiCtx_Btype)
+exprivate jstring (*p_ndrxj_Java_org_endurox_AtmiCtx_BtypeC)
         (JNIEnv * v0,  jobject v1,  jint v2) = NULL;
-exprivate jstring (*p_ndrxj_Java_org_endurox_AtmiCtx_Bfname)
+exprivate jstring (*p_ndrxj_Java_org_endurox_AtmiCtx_BfnameC)
         (JNIEnv * v0,  jobject v1,  jint v2) = NULL;
-exprivate jint (*p_ndrxj_Java_org_endurox_AtmiCtx_Bfldid)
+exprivate jint (*p_ndrxj_Java_org_endurox_AtmiCtx_BfldidC)
         (JNIEnv * v0,  jobject v1,  jstring v2) = NULL;
 exprivate jint (*p_ndrxj_Java_org_endurox_AtmiCtx_tptoutget)
         (JNIEnv * v0,  jobject v1) = NULL;
@@ -177,6 +184,8 @@ exprivate void (*p_ndrxj_Java_org_endurox_AtmiCtx_tpsetunsolC)
         (JNIEnv * v0,  jobject v1,  jobject v2) = NULL;
 exprivate void (*p_ndrxj_Java_org_endurox_AtmiCtx_tpnotify)
         (JNIEnv * v0,  jobject v1,  jobject v2,  jobject v3,  jlong v4) = NULL;
+exprivate jintArray (*p_ndrxj_Java_org_endurox_AtmiCtx_tpnotifyAllC)
+        (JNIEnv * v0,  jobject v1,  jobjectArray v2,  jobject v3,  jlong v4) = NULL;
 exprivate void (*p_ndrxj_Java_org_endurox_AtmiCtx_tpbroadcast)
         (JNIEnv * v0,  jobject v1,  jstring v2,  jstring v3,  jstring v4,  jobject v5,  jlong v6) = NULL;
 exprivate jint (*p_ndrxj_Java_org_endurox_AtmiCtx_tpchkunsol)
@@ -185,10 +194,14 @@ exprivate void (*p_ndrxj_Java_org_endurox_AtmiCtx_tpenqueue)
         (JNIEnv * v0,  jobject v1,  jstring v2,  jstring v3,  jobject v4,  jobject v5,  jlong v6) = NULL;
 exprivate void (*p_ndrxj_Java_org_endurox_AtmiCtx_tpenqueueex)
         (JNIEnv * v0,  jobject v1,  jshort v2,  jshort v3,  jstring v4,  jobject v5,  jobject v6,  jlong v7) = NULL;
+exprivate jbyteArray (*p_ndrxj_Java_org_endurox_AtmiCtx_tpenqueueBatchC)
+        (JNIEnv * v0,  jobject v1,  jstring v2,  jstring v3,  jobjectArray v4,  jobject v5,  jlong v6) = NULL;
 exprivate jobject (*p_ndrxj_Java_org_endurox_AtmiCtx_tpdequeue)
         (JNIEnv * v0,  jobject v1,  jstring v2,  jstring v3,  jobject v4,  jobject v5,  jlong v6) = NULL;
 exprivate jobject (*p_ndrxj_Java_org_endurox_AtmiCtx_tpdequeueex)
         (JNIEnv * v0,  jobject v1,  jshort v2,  jshort v3,  jstring v4,  jobject v5,  jobject v6,  jlong v7) = NULL;
+exprivate jobject (*p_ndrxj_Java_org_endurox_AtmiCtx_tpdequeueNoMsgC)
+        (JNIEnv * v0,  jobject v1,  jstring v2,  jstring v3,  jobject v4,  jobject v5,  jlong v6) = NULL;
 exprivate jlong (*p_ndrxj_Java_org_endurox_AtmiCtx_tpsrvgetctxdata)
         (JNIEnv * v0,  jobject v1) = NULL;
 exprivate void (*p_ndrxj_Java_org_endurox_AtmiCtx_tpsrvsetctxdata)
@@ -231,6 +244,10 @@ exprivate void (*p_ndrxj_Java_org_endurox_TypedJson_setJSON)
         (JNIEnv * v0,  jobject v1,  jstring v2) = NULL;
 exprivate jstring (*p_ndrxj_Java_org_endurox_TypedJson_getJSON)
         (JNIEnv * v0,  jobject v1) = NULL;
+exprivate jint (*p_ndrxj_Java_org_endurox_TypedJson_readC)
+        (JNIEnv * v0,  jobject v1,  jlong v2,  jbyteArray v3,  jint v4,  jint v5) = NULL;
+exprivate void (*p_ndrxj_Java_org_endurox_TypedJson_writeC)
+        (JNIEnv * v0,  jobject v1,  jlong v2,  jbyteArray v3,  jint v4,  jint v5) = NULL;
 exprivate void (*p_ndrxj_Java_org_endurox_TypedString_setString)
         (JNIEnv * v0,  jobject v1,  jstring v2) = NULL;
 exprivate jstring (*p_ndrxj_Java_org_endurox_TypedString_getString)
@@ -251,6 +268,8 @@ exprivate void (*p_ndrxj_Java_org_endurox_TypedUbf_Badd__I_3B)
         (JNIEnv * v0,  jobject v1,  jint v2,  jbyteArray v3) = NULL;
 exprivate void (*p_ndrxj_Java_org_endurox_TypedUbf_Bprint)
         (JNIEnv * v0,  jobject v1) = NULL;
+exprivate void (*p_ndrxj_Java_org_endurox_TypedUbf_BfprintChunkC)
+        (JNIEnv * v0,  jobject v1,  jobject v2,  jobject v3) = NULL;
 exprivate jshort (*p_ndrxj_Java_org_endurox_TypedUbf_BgetShort)
         (JNIEnv * v0,  jobject v1,  jint v2,  jint v3) = NULL;
 exprivate jlong (*p_ndrxj_Java_org_endurox_TypedUbf_BgetLong)
@@ -265,6 +284,28 @@ exprivate jstring (*p_ndrxj_Java_org_endurox_TypedUbf_BgetString)
         (JNIEnv * v0,  jobject v1,  jint v2,  jint v3) = NULL;
 exprivate jbyteArray (*p_ndrxj_Java_org_endurox_TypedUbf_BgetByteArr)
         (JNIEnv * v0,  jobject v1,  jint v2,  jint v3) = NULL;
+exprivate jlong (*p_ndrxj_Java_org_endurox_TypedUbf_BgetLongOr)
+        (JNIEnv * v0,  jobject v1,  jint v2,  jint v3,  jlong v4) = NULL;
+exprivate jdouble (*p_ndrxj_Java_org_endurox_TypedUbf_BgetDoubleOr)
+        (JNIEnv * v0,  jobject v1,  jint v2,  jint v3,  jdouble v4) = NULL;
+exprivate jstring (*p_ndrxj_Java_org_endurox_TypedUbf_BgetStringOr)
+        (JNIEnv * v0,  jobject v1,  jint v2,  jint v3,  jstring v4) = NULL;
+exprivate jlongArray (*p_ndrxj_Java_org_endurox_TypedUbf_BindexC)
+        (JNIEnv * v0,  jobject v1) = NULL;
+exprivate jshort (*p_ndrxj_Java_org_endurox_TypedUbf_BgetShortAtC)
+        (JNIEnv * v0,  jobject v1,  jlong v2) = NULL;
+exprivate jlong (*p_ndrxj_Java_org_endurox_TypedUbf_BgetLongAtC)
+        (JNIEnv * v0,  jobject v1,  jlong v2) = NULL;
+exprivate jbyte (*p_ndrxj_Java_org_endurox_TypedUbf_BgetByteAtC)
+        (JNIEnv * v0,  jobject v1,  jlong v2) = NULL;
+exprivate jfloat (*p_ndrxj_Java_org_endurox_TypedUbf_BgetFloatAtC)
+        (JNIEnv * v0,  jobject v1,  jlong v2) = NULL;
+exprivate jdouble (*p_ndrxj_Java_org_endurox_TypedUbf_BgetDoubleAtC)
+        (JNIEnv * v0,  jobject v1,  jlong v2) = NULL;
+exprivate jstring (*p_ndrxj_Java_org_endurox_TypedUbf_BgetStringAtC)
+        (JNIEnv * v0,  jobject v1,  jlong v2) = NULL;
+exprivate jbyteArray (*p_ndrxj_Java_org_endurox_TypedUbf_BgetByteArrAtC)
+        (JNIEnv * v0,  jobject v1,  jlong v2,  jint v3) = NULL;
 exprivate void (*p_ndrxj_Java_org_endurox_TypedUbf_Baddfast__ISLorg_endurox_BFldLocInfo_2)
         (JNIEnv * v0,  jobject v1,  jint v2,  jshort v3,  jobject v4) = NULL;
 exprivate void (*p_ndrxj_Java_org_endurox_TypedUbf_Baddfast__IJLorg_endurox_BFldLocInfo_2)
@@ -295,10 +336,14 @@ exprivate void (*p_ndrxj_Java_org_endurox_TypedUbf_Bchg__II_3B)
         (JNIEnv * v0,  jobject v1,  jint v2,  jint v3,  jbyteArray v4) = NULL;
 exprivate jboolean (*p_ndrxj_Java_org_endurox_TypedUbf_Bboolev)
         (JNIEnv * v0,  jobject v1,  jobject v2) = NULL;
-exprivate jboolean (*p_ndrxj_Java_org_endurox_TypedUbf_Bqboolev)
-        (JNIEnv * v0,  jobject v1,  jstring v2) = NULL;
 exprivate jdouble (*p_ndrxj_Java_org_endurox_TypedUbf_Bfloatev)
         (JNIEnv * v0,  jobject v1,  jobject v2) = NULL;
+exprivate jint (*p_ndrxj_Java_org_endurox_TypedUbf_BboolevArrC)
+        (JNIEnv * v0,  jobject v1,  jobjectArray v2,  jbooleanArray v3,  jboolean v4) = NULL;
+exprivate void (*p_ndrxj_Java_org_endurox_TypedUbf_BfloatevArrC)
+        (JNIEnv * v0,  jobject v1,  jobjectArray v2,  jdoubleArray v3) = NULL;
+exprivate jboolean (*p_ndrxj_Java_org_endurox_TypedUbf_BboolevProjC)
+        (JNIEnv * v0,  jobject v1,  jobject v2,  jobject v3,  jintArray v4) = NULL;
 exprivate void (*p_ndrxj_Java_org_endurox_TypedUbf_Bdel)
         (JNIEnv * v0,  jobject v1,  jint v2,  jint v3) = NULL;
 exprivate void (*p_ndrxj_Java_org_endurox_TypedUbf_Bdelall)
@@ -307,6 +352,10 @@ exprivate jboolean (*p_ndrxj_Java_org_endurox_TypedUbf_Bpres)
         (JNIEnv * v0,  jobject v1,  jint v2,  jint v3) = NULL;
 exprivate void (*p_ndrxj_Java_org_endurox_TypedUbf_Bextread)
         (JNIEnv * v0,  jobject v1,  jobject v2) = NULL;
+exprivate void (*p_ndrxj_Java_org_endurox_TypedUbf_BextreadArrC)
+        (JNIEnv * v0,  jobject v1,  jbyteArray v2,  jint v3,  jint v4) = NULL;
+exprivate void (*p_ndrxj_Java_org_endurox_TypedUbf_BextreadDirectC)
+        (JNIEnv * v0,  jobject v1,  jobject v2,  jint v3,  jint v4) = NULL;
 exprivate jboolean (*p_ndrxj_Java_org_endurox_TypedUbf_Bisubf)
         (JNIEnv * v0,  jobject v1) = NULL;
 exprivate jint (*p_ndrxj_Java_org_endurox_TypedUbf_Blen)
@@ -319,6 +368,14 @@ exprivate void (*p_ndrxj_Java_org_endurox_TypedUbf_Bread)
         (JNIEnv * v0,  jobject v1,  jbyteArray v2) = NULL;
 exprivate jbyteArray (*p_ndrxj_Java_org_endurox_TypedUbf_Bwrite)
         (JNIEnv * v0,  jobject v1) = NULL;
+exprivate void (*p_ndrxj_Java_org_endurox_TypedUbf_BwriteChunkC)
+        (JNIEnv * v0,  jobject v1,  jobject v2,  jobject v3) = NULL;
+exprivate jboolean (*p_ndrxj_Java_org_endurox_TypedUbf_BreadChunkC)
+        (JNIEnv * v0,  jobject v1,  jobject v2,  jobject v3) = NULL;
+exprivate jint (*p_ndrxj_Java_org_endurox_TypedUbf_BwriteDirectC)
+        (JNIEnv * v0,  jobject v1,  jobject v2,  jint v3) = NULL;
+exprivate void (*p_ndrxj_Java_org_endurox_TypedUbf_BreadDirectC)
+        (JNIEnv * v0,  jobject v1,  jobject v2,  jint v3,  jint v4) = NULL;
 exprivate jlong (*p_ndrxj_Java_org_endurox_TypedUbf_Bsizeof)
         (JNIEnv * v0,  jobject v1) = NULL;
 exprivate jlong (*p_ndrxj_Java_org_endurox_TypedUbf_Bunused)
@@ -347,6 +404,16 @@ exprivate void (*p_ndrxj_Java_org_endurox_TypedUbf_tpjsontoubf)
         (JNIEnv * v0,  jobject v1,  jstring v2) = NULL;
 exprivate jstring (*p_ndrxj_Java_org_endurox_TypedUbf_tpubftojson)
         (JNIEnv * v0,  jobject v1) = NULL;
+exprivate void (*p_ndrxj_Java_org_endurox_TypedUbf_tpjsontoubfArrC)
+        (JNIEnv * v0,  jobject v1,  jbyteArray v2,  jint v3,  jint v4) = NULL;
+exprivate void (*p_ndrxj_Java_org_endurox_TypedUbf_tpjsontoubfDirectC)
+        (JNIEnv * v0,  jobject v1,  jobject v2,  jint v3,  jint v4) = NULL;
+exprivate jint (*p_ndrxj_Java_org_endurox_TypedUbf_tpubftojsonArrC)
+        (JNIEnv * v0,  jobject v1,  jbyteArray v2,  jint v3,  jint v4) = NULL;
+exprivate jint (*p_ndrxj_Java_org_endurox_TypedUbf_tpubftojsonDirectC)
+        (JNIEnv * v0,  jobject v1,  jobject v2,  jint v3,  jint v4) = NULL;
+exprivate jbyteArray (*p_ndrxj_Java_org_endurox_TypedUbf_tpubftojsonBytes)
+        (JNIEnv * v0,  jobject v1) = NULL;
 exprivate void (*p_ndrxj_Java_org_endurox_TypedUbf_tplogprintubf)
         (JNIEnv * v0,  jobject v1,  jint v2,  jstring v3) = NULL;
 exprivate jint (*p_ndrxj_Java_org_endurox_TypedUbf_Bnum)
@@ -355,6 +422,74 @@ exprivate void (*p_ndrxj_Java_org_endurox_TypedUbf_Bjoin)
         (JNIEnv * v0,  jobject v1,  jobject v2) = NULL;
 exprivate void (*p_ndrxj_Java_org_endurox_TypedUbf_Bojoin)
         (JNIEnv * v0,  jobject v1,  jobject v2) = NULL;
+exprivate void (*p_ndrxj_Java_org_endurox_TypedView_Bvchg__Ljava_lang_String_2IS)
+        (JNIEnv * v0,  jobject v1,  jstring v2,  jint v3,  jshort v4) = NULL;
+exprivate void (*p_ndrxj_Java_org_endurox_TypedView_Bvchg__Ljava_lang_String_2IJ)
+        (JNIEnv * v0,  jobject v1,  jstring v2,  jint v3,  jlong v4) = NULL;
+exprivate void (*p_ndrxj_Java_org_endurox_TypedView_Bvchg__Ljava_lang_String_2IB)
+        (JNIEnv * v0,  jobject v1,  jstring v2,  jint v3,  jbyte v4) = NULL;
+exprivate void (*p_ndrxj_Java_org_endurox_TypedView_Bvchg__Ljava_lang_String_2IF)
+        (JNIEnv * v0,  jobject v1,  jstring v2,  jint v3,  jfloat v4) = NULL;
+exprivate void (*p_ndrxj_Java_org_endurox_TypedView_Bvchg__Ljava_lang_String_2ID)
+        (JNIEnv * v0,  jobject v1,  jstring v2,  jint v3,  jdouble v4) = NULL;
+exprivate void (*p_ndrxj_Java_org_endurox_TypedView_Bvchg__Ljava_lang_String_2ILjava_lang_String_2)
+        (JNIEnv * v0,  jobject v1,  jstring v2,  jint v3,  jstring v4) = NULL;
+exprivate void (*p_ndrxj_Java_org_endurox_TypedView_Bvchg__Ljava_lang_String_2I_3B)
+        (JNIEnv * v0,  jobject v1,  jstring v2,  jint v3,  jbyteArray v4) = NULL;
+exprivate jshort (*p_ndrxj_Java_org_endurox_TypedView_BvgetShort)
+        (JNIEnv * v0,  jobject v1,  jstring v2,  jint v3) = NULL;
+exprivate jlong (*p_ndrxj_Java_org_endurox_TypedView_BvgetLong)
+        (JNIEnv * v0,  jobject v1,  jstring v2,  jint v3) = NULL;
+exprivate jbyte (*p_ndrxj_Java_org_endurox_TypedView_BvgetByte)
+        (JNIEnv * v0,  jobject v1,  jstring v2,  jint v3) = NULL;
+exprivate jfloat (*p_ndrxj_Java_org_endurox_TypedView_BvgetFloat)
+        (JNIEnv * v0,  jobject v1,  jstring v2,  jint v3) = NULL;
+exprivate jdouble (*p_ndrxj_Java_org_endurox_TypedView_BvgetDouble)
+        (JNIEnv * v0,  jobject v1,  jstring v2,  jint v3) = NULL;
+exprivate jstring (*p_ndrxj_Java_org_endurox_TypedView_BvgetString)
+        (JNIEnv * v0,  jobject v1,  jstring v2,  jint v3) = NULL;
+exprivate jbyteArray (*p_ndrxj_Java_org_endurox_TypedView_BvgetByteArr)
+        (JNIEnv * v0,  jobject v1,  jstring v2,  jint v3) = NULL;
+exprivate jint (*p_ndrxj_Java_org_endurox_TypedView_Bvoccur)
+        (JNIEnv * v0,  jobject v1,  jstring v2) = NULL;
+exprivate void (*p_ndrxj_Java_org_endurox_TypedView_Bvsetoccur)
+        (JNIEnv * v0,  jobject v1,  jstring v2,  jint v3) = NULL;
+exprivate jboolean (*p_ndrxj_Java_org_endurox_TypedView_Bvnull)
+        (JNIEnv * v0,  jobject v1,  jstring v2,  jint v3) = NULL;
+exprivate void (*p_ndrxj_Java_org_endurox_TypedView_Bvselinit)
+        (JNIEnv * v0,  jobject v1,  jstring v2) = NULL;
+exprivate void (*p_ndrxj_Java_org_endurox_TypedView_Bvsinit)
+        (JNIEnv * v0,  jobject v1) = NULL;
+exprivate jlongArray (*p_ndrxj_Java_org_endurox_TypedView_BvfieldC)
+        (JNIEnv * v0,  jobject v1,  jstring v2) = NULL;
+exprivate jshort (*p_ndrxj_Java_org_endurox_TypedView_BvgetShortAtC)
+        (JNIEnv * v0,  jobject v1,  jint v2,  jlong v3) = NULL;
+exprivate jlong (*p_ndrxj_Java_org_endurox_TypedView_BvgetLongAtC)
+        (JNIEnv * v0,  jobject v1,  jint v2,  jlong v3) = NULL;
+exprivate jbyte (*p_ndrxj_Java_org_endurox_TypedView_BvgetByteAtC)
+        (JNIEnv * v0,  jobject v1,  jint v2,  jlong v3) = NULL;
+exprivate jfloat (*p_ndrxj_Java_org_endurox_TypedView_BvgetFloatAtC)
+        (JNIEnv * v0,  jobject v1,  jint v2,  jlong v3) = NULL;
+exprivate jdouble (*p_ndrxj_Java_org_endurox_TypedView_BvgetDoubleAtC)
+        (JNIEnv * v0,  jobject v1,  jint v2,  jlong v3) = NULL;
+exprivate jstring (*p_ndrxj_Java_org_endurox_TypedView_BvgetStringAtC)
+        (JNIEnv * v0,  jobject v1,  jint v2,  jlong v3,  jint v4) = NULL;
+exprivate jbyteArray (*p_ndrxj_Java_org_endurox_TypedView_BvgetByteArrAtC)
+        (JNIEnv * v0,  jobject v1,  jint v2,  jlong v3,  jint v4) = NULL;
+exprivate void (*p_ndrxj_Java_org_endurox_TypedView_BvchgAtC__IJS)
+        (JNIEnv * v0,  jobject v1,  jint v2,  jlong v3,  jshort v4) = NULL;
+exprivate void (*p_ndrxj_Java_org_endurox_TypedView_BvchgAtC__IJJ)
+        (JNIEnv * v0,  jobject v1,  jint v2,  jlong v3,  jlong v4) = NULL;
+exprivate void (*p_ndrxj_Java_org_endurox_TypedView_BvchgAtC__IJB)
+        (JNIEnv * v0,  jobject v1,  jint v2,  jlong v3,  jbyte v4) = NULL;
+exprivate void (*p_ndrxj_Java_org_endurox_TypedView_BvchgAtC__IJF)
+        (JNIEnv * v0,  jobject v1,  jint v2,  jlong v3,  jfloat v4) = NULL;
+exprivate void (*p_ndrxj_Java_org_endurox_TypedView_BvchgAtC__IJD)
+        (JNIEnv * v0,  jobject v1,  jint v2,  jlong v3,  jdouble v4) = NULL;
+exprivate void (*p_ndrxj_Java_org_endurox_TypedView_BvchgAtC__IJILjava_lang_String_2)
+        (JNIEnv * v0,  jobject v1,  jint v2,  jlong v3,  jint v4,  jstring v5) = NULL;
+exprivate void (*p_ndrxj_Java_org_endurox_TypedView_BvchgAtC__IJI_3B)
+        (JNIEnv * v0,  jobject v1,  jint v2,  jlong v3,  jint v4,  jbyteArray v5) = NULL;
 /**
  * Function mapping table
  */
@@ -364,6 +499,7 @@ exprivate ndrxj_loader_map_t M_funcmap[] =
     {"ndrxj_Java_org_endurox_AtmiCtx_getAtmiError", (void *)&p_ndrxj_Java_org_endurox_AtmiCtx_getAtmiError},
     {"ndrxj_Java_org_endurox_AtmiCtx_tpnewctxt", (void *)&p_ndrxj_Java_org_endurox_AtmiCtx_tpnewctxt},
     {"ndrxj_Java_org_endurox_AtmiCtx_tpfreectxt", (void *)&p_ndrxj_Java_org_endurox_AtmiCtx_tpfreectxt},
+    {"ndrxj_Java_org_endurox_AtmiCtx_setStacklessC", (void *)&p_ndrxj_Java_org_endurox_AtmiCtx_setStacklessC},
     {"ndrxj_Java_org_endurox_AtmiCtx_tpalloc", (void *)&p_ndrxj_Java_org_endurox_AtmiCtx_tpalloc},
     {"ndrxj_Java_org_endurox_AtmiCtx_tpterm", (void *)&p_ndrxj_Java_org_endurox_AtmiCtx_tpterm},
     {"ndrxj_Java_org_endurox_AtmiCtx_finalizeC", (void *)&p_ndrxj_Java_org_endurox_AtmiCtx_finalizeC},
@@ -396,25 +532,30 @@ exprivate ndrxj_loader_map_t M_funcmap[] =
     {"ndrxj_Java_org_endurox_AtmiCtx_tpsend", (void *)&p_ndrxj_Java_org_endurox_AtmiCtx_tpsend},
     {"ndrxj_Java_org_endurox_AtmiCtx_tprecv", (void *)&p_ndrxj_Java_org_endurox_AtmiCtx_tprecv},
     {"ndrxj_Java_org_endurox_AtmiCtx_tpdiscon", (void *)&p_ndrxj_Java_org_endurox_AtmiCtx_tpdiscon},
+    {"ndrxj_Java_org_endurox_AtmiCtx_tprecvReuseC", (void *)&p_ndrxj_Java_org_endurox_AtmiCtx_tprecvReuseC},
+    {"ndrxj_Java_org_endurox_AtmiCtx_tpsendArrC", (void *)&p_ndrxj_Java_org_endurox_AtmiCtx_tpsendArrC},
     {"ndrxj_Java_org_endurox_AtmiCtx_tpcancel", (void *)&p_ndrxj_Java_org_endurox_AtmiCtx_tpcancel},
     {"ndrxj_Java_org_endurox_AtmiCtx_Bboolco", (void *)&p_ndrxj_Java_org_endurox_AtmiCtx_Bboolco},
     {"ndrxj_Java_org_endurox_AtmiCtx_Bboolpr", (void *)&p_ndrxj_Java_org_endurox_AtmiCtx_Bboolpr},
     {"ndrxj_Java_org_endurox_AtmiCtx_BboolsetcbfC", (void *)&p_ndrxj_Java_org_endurox_AtmiCtx_BboolsetcbfC},
-    {"ndrxj_Java_org_endurox_AtmiCtx_Btype", (void *)&p_ndrxj_Java_org_endurox_AtmiCtx_Btype},
-    {"ndrxj_Java_org_endurox_AtmiCtx_Bfname", (void *)&p_ndrxj_Java_org_endurox_AtmiCtx_Bfname},
-    {"ndrxj_Java_org_endurox_AtmiCtx_Bfldid", (void *)&p_ndrxj_Java_org_endurox_AtmiCtx_Bfldid},
+    {"ndrxj_Java_org_endurox_AtmiCtx_BtypeC", (void *)&p_ndrxj_Java_org_endurox_AtmiCtx_BtypeC},
+    {"ndrxj_Java_org_endurox_AtmiCtx_BfnameC", (void *)&p_ndrxj_Java_org_endurox_AtmiCtx_BfnameC},
+    {"ndrxj_Java_org_endurox_AtmiCtx_BfldidC", (void *)&p_ndrxj_Java_org_endurox_AtmiCtx_BfldidC},
     {"ndrxj_Java_org_endurox_AtmiCtx_tptoutget", (void *)&p_ndrxj_Java_org_endurox_AtmiCtx_tptoutget},
     {"ndrxj_Java_org_endurox_AtmiCtx_tpurcode", (void *)&p_ndrxj_Java_org_endurox_AtmiCtx_tpurcode},
     {"ndrxj_Java_org_endurox_AtmiCtx_tptoutset", (void *)&p_ndrxj_Java_org_endurox_AtmiCtx_tptoutset},
     {"ndrxj_Java_org_endurox_AtmiCtx_getBuffers", (void *)&p_ndrxj_Java_org_endurox_AtmiCtx_getBuffers},
     {"ndrxj_Java_org_endurox_AtmiCtx_tpsetunsolC", (void *)&p_ndrxj_Java_org_endurox_AtmiCtx_tpsetunsolC},
     {"ndrxj_Java_org_endurox_AtmiCtx_tpnotify", (void *)&p_ndrxj_Java_org_endurox_AtmiCtx_tpnotify},
+    {"ndrxj_Java_org_endurox_AtmiCtx_tpnotifyAllC", (void *)&p_ndrxj_Java_org_endurox_AtmiCtx_tpnotifyAllC},
     {"ndrxj_Java_org_endurox_AtmiCtx_tpbroadcast", (void *)&p_ndrxj_Java_org_endurox_AtmiCtx_tpbroadcast},
     {"ndrxj_Java_org_endurox_AtmiCtx_tpchkunsol", (void *)&p_ndrxj_Java_org_endurox_AtmiCtx_tpchkunsol},
     {"ndrxj_Java_org_endurox_AtmiCtx_tpenqueue", (void *)&p_ndrxj_Java_org_endurox_AtmiCtx_tpenqueue},
     {"ndrxj_Java_org_endurox_AtmiCtx_tpenqueueex", (void *)&p_ndrxj_Java_org_endurox_AtmiCtx_tpenqueueex},
+    {"ndrxj_Java_org_endurox_AtmiCtx_tpenqueueBatchC", (void *)&p_ndrxj_Java_org_endurox_AtmiCtx_tpenqueueBatchC},
     {"ndrxj_Java_org_endurox_AtmiCtx_tpdequeue", (void *)&p_ndrxj_Java_org_endurox_AtmiCtx_tpdequeue},
     {"ndrxj_Java_org_endurox_AtmiCtx_tpdequeueex", (void *)&p_ndrxj_Java_org_endurox_AtmiCtx_tpdequeueex},
+    {"ndrxj_Java_org_endurox_AtmiCtx_tpdequeueNoMsgC", (void *)&p_ndrxj_Java_org_endurox_AtmiCtx_tpdequeueNoMsgC},
     {"ndrxj_Java_org_endurox_AtmiCtx_tpsrvgetctxdata", (void *)&p_ndrxj_Java_org_endurox_AtmiCtx_tpsrvgetctxdata},
     {"ndrxj_Java_org_endurox_AtmiCtx_tpsrvsetctxdata", (void *)&p_ndrxj_Java_org_endurox_AtmiCtx_tpsrvsetctxdata},
     {"ndrxj_Java_org_endurox_AtmiCtx_tpsrvfreectxdata", (void *)&p_ndrxj_Java_org_endurox_AtmiCtx_tpsrvfreectxdata},
@@ -436,6 +577,8 @@ exprivate ndrxj_loader_map_t M_funcmap[] =
     {"ndrxj_Java_org_endurox_TypedCarray_getBytes", (void *)&p_ndrxj_Java_org_endurox_TypedCarray_getBytes},
     {"ndrxj_Java_org_endurox_TypedJson_setJSON", (void *)&p_ndrxj_Java_org_endurox_TypedJson_setJSON},
     {"ndrxj_Java_org_endurox_TypedJson_getJSON", (void *)&p_ndrxj_Java_org_endurox_TypedJson_getJSON},
+    {"ndrxj_Java_org_endurox_TypedJson_readC", (void *)&p_ndrxj_Java_org_endurox_TypedJson_readC},
+    {"ndrxj_Java_org_endurox_TypedJson_writeC", (void *)&p_ndrxj_Java_org_endurox_TypedJson_writeC},
     {"ndrxj_Java_org_endurox_TypedString_setString", (void *)&p_ndrxj_Java_org_endurox_TypedString_setString},
     {"ndrxj_Java_org_endurox_TypedString_getString", (void *)&p_ndrxj_Java_org_endurox_TypedString_getString},
     {"ndrxj_Java_org_endurox_TypedUbf_Badd__IS", (void *)&p_ndrxj_Java_org_endurox_TypedUbf_Badd__IS},
@@ -446,6 +589,7 @@ exprivate ndrxj_loader_map_t M_funcmap[] =
     {"ndrxj_Java_org_endurox_TypedUbf_Badd__ILjava_lang_String_2", (void *)&p_ndrxj_Java_org_endurox_TypedUbf_Badd__ILjava_lang_String_2},
     {"ndrxj_Java_org_endurox_TypedUbf_Badd__I_3B", (void *)&p_ndrxj_Java_org_endurox_TypedUbf_Badd__I_3B},
     {"ndrxj_Java_org_endurox_TypedUbf_Bprint", (void *)&p_ndrxj_Java_org_endurox_TypedUbf_Bprint},
+    {"ndrxj_Java_org_endurox_TypedUbf_BfprintChunkC", (void *)&p_ndrxj_Java_org_endurox_TypedUbf_BfprintChunkC},
     {"ndrxj_Java_org_endurox_TypedUbf_BgetShort", (void *)&p_ndrxj_Java_org_endurox_TypedUbf_BgetShort},
     {"ndrxj_Java_org_endurox_TypedUbf_BgetLong", (void *)&p_ndrxj_Java_org_endurox_TypedUbf_BgetLong},
     {"ndrxj_Java_org_endurox_TypedUbf_BgetByte", (void *)&p_ndrxj_Java_org_endurox_TypedUbf_BgetByte},
@@ -453,6 +597,17 @@ exprivate ndrxj_loader_map_t M_funcmap[] =
     {"ndrxj_Java_org_endurox_TypedUbf_BgetDouble", (void *)&p_ndrxj_Java_org_endurox_TypedUbf_BgetDouble},
     {"ndrxj_Java_org_endurox_TypedUbf_BgetString", (void *)&p_ndrxj_Java_org_endurox_TypedUbf_BgetString},
     {"ndrxj_Java_org_endurox_TypedUbf_BgetByteArr", (void *)&p_ndrxj_Java_org_endurox_TypedUbf_BgetByteArr},
+    {"ndrxj_Java_org_endurox_TypedUbf_BgetLongOr", (void *)&p_ndrxj_Java_org_endurox_TypedUbf_BgetLongOr},
+    {"ndrxj_Java_org_endurox_TypedUbf_BgetDoubleOr", (void *)&p_ndrxj_Java_org_endurox_TypedUbf_BgetDoubleOr},
+    {"ndrxj_Java_org_endurox_TypedUbf_BgetStringOr", (void *)&p_ndrxj_Java_org_endurox_TypedUbf_BgetStringOr},
+    {"ndrxj_Java_org_endurox_TypedUbf_BindexC", (void *)&p_ndrxj_Java_org_endurox_TypedUbf_BindexC},
+    {"ndrxj_Java_org_endurox_TypedUbf_BgetShortAtC", (void *)&p_ndrxj_Java_org_endurox_TypedUbf_BgetShortAtC},
+    {"ndrxj_Java_org_endurox_TypedUbf_BgetLongAtC", (void *)&p_ndrxj_Java_org_endurox_TypedUbf_BgetLongAtC},
+    {"ndrxj_Java_org_endurox_TypedUbf_BgetByteAtC", (void *)&p_ndrxj_Java_org_endurox_TypedUbf_BgetByteAtC},
+    {"ndrxj_Java_org_endurox_TypedUbf_BgetFloatAtC", (void *)&p_ndrxj_Java_org_endurox_TypedUbf_BgetFloatAtC},
+    {"ndrxj_Java_org_endurox_TypedUbf_BgetDoubleAtC", (void *)&p_ndrxj_Java_org_endurox_TypedUbf_BgetDoubleAtC},
+    {"ndrxj_Java_org_endurox_TypedUbf_BgetStringAtC", (void *)&p_ndrxj_Java_org_endurox_TypedUbf_BgetStringAtC},
+    {"ndrxj_Java_org_endurox_TypedUbf_BgetByteArrAtC", (void *)&p_ndrxj_Java_org_endurox_TypedUbf_BgetByteArrAtC},
     {"ndrxj_Java_org_endurox_TypedUbf_Baddfast__ISLorg_endurox_BFldLocInfo_2", (void *)&p_ndrxj_Java_org_endurox_TypedUbf_Baddfast__ISLorg_endurox_BFldLocInfo_2},
     {"ndrxj_Java_org_endurox_TypedUbf_Baddfast__IJLorg_endurox_BFldLocInfo_2", (void *)&p_ndrxj_Java_org_endurox_TypedUbf_Baddfast__IJLorg_endurox_BFldLocInfo_2},
     {"ndrxj_Java_org_endurox_TypedUbf_Baddfast__IBLorg_endurox_BFldLocInfo_2", (void *)&p_ndrxj_Java_org_endurox_TypedUbf_Baddfast__IBLorg_endurox_BFldLocInfo_2},
@@ -468,18 +623,26 @@ exprivate ndrxj_loader_map_t M_funcmap[] =
     {"ndrxj_Java_org_endurox_TypedUbf_Bchg__IILjava_lang_String_2", (void *)&p_ndrxj_Java_org_endurox_TypedUbf_Bchg__IILjava_lang_String_2},
     {"ndrxj_Java_org_endurox_TypedUbf_Bchg__II_3B", (void *)&p_ndrxj_Java_org_endurox_TypedUbf_Bchg__II_3B},
     {"ndrxj_Java_org_endurox_TypedUbf_Bboolev", (void *)&p_ndrxj_Java_org_endurox_TypedUbf_Bboolev},
-    {"ndrxj_Java_org_endurox_TypedUbf_Bqboolev", (void *)&p_ndrxj_Java_org_endurox_TypedUbf_Bqboolev},
     {"ndrxj_Java_org_endurox_TypedUbf_Bfloatev", (void *)&p_ndrxj_Java_org_endurox_TypedUbf_Bfloatev},
+    {"ndrxj_Java_org_endurox_TypedUbf_BboolevArrC", (void *)&p_ndrxj_Java_org_endurox_TypedUbf_BboolevArrC},
+    {"ndrxj_Java_org_endurox_TypedUbf_BfloatevArrC", (void *)&p_ndrxj_Java_org_endurox_TypedUbf_BfloatevArrC},
+    {"ndrxj_Java_org_endurox_TypedUbf_BboolevProjC", (void *)&p_ndrxj_Java_org_endurox_TypedUbf_BboolevProjC},
     {"ndrxj_Java_org_endurox_TypedUbf_Bdel", (void *)&p_ndrxj_Java_org_endurox_TypedUbf_Bdel},
     {"ndrxj_Java_org_endurox_TypedUbf_Bdelall", (void *)&p_ndrxj_Java_org_endurox_TypedUbf_Bdelall},
     {"ndrxj_Java_org_endurox_TypedUbf_Bpres", (void *)&p_ndrxj_Java_org_endurox_TypedUbf_Bpres},
     {"ndrxj_Java_org_endurox_TypedUbf_Bextread", (void *)&p_ndrxj_Java_org_endurox_TypedUbf_Bextread},
+    {"ndrxj_Java_org_endurox_TypedUbf_BextreadArrC", (void *)&p_ndrxj_Java_org_endurox_TypedUbf_BextreadArrC},
+    {"ndrxj_Java_org_endurox_TypedUbf_BextreadDirectC", (void *)&p_ndrxj_Java_org_endurox_TypedUbf_BextreadDirectC},
     {"ndrxj_Java_org_endurox_TypedUbf_Bisubf", (void *)&p_ndrxj_Java_org_endurox_TypedUbf_Bisubf},
     {"ndrxj_Java_org_endurox_TypedUbf_Blen", (void *)&p_ndrxj_Java_org_endurox_TypedUbf_Blen},
     {"ndrxj_Java_org_endurox_TypedUbf_Bnext", (void *)&p_ndrxj_Java_org_endurox_TypedUbf_Bnext},
     {"ndrxj_Java_org_endurox_TypedUbf_Boccur", (void *)&p_ndrxj_Java_org_endurox_TypedUbf_Boccur},
     {"ndrxj_Java_org_endurox_TypedUbf_Bread", (void *)&p_ndrxj_Java_org_endurox_TypedUbf_Bread},
     {"ndrxj_Java_org_endurox_TypedUbf_Bwrite", (void *)&p_ndrxj_Java_org_endurox_TypedUbf_Bwrite},
+    {"ndrxj_Java_org_endurox_TypedUbf_BwriteChunkC", (void *)&p_ndrxj_Java_org_endurox_TypedUbf_BwriteChunkC},
+    {"ndrxj_Java_org_endurox_TypedUbf_BreadChunkC", (void *)&p_ndrxj_Java_org_endurox_TypedUbf_BreadChunkC},
+    {"ndrxj_Java_org_endurox_TypedUbf_BwriteDirectC", (void *)&p_ndrxj_Java_org_endurox_TypedUbf_BwriteDirectC},
+    {"ndrxj_Java_org_endurox_TypedUbf_BreadDirectC", (void *)&p_ndrxj_Java_org_endurox_TypedUbf_BreadDirectC},
     {"ndrxj_Java_org_endurox_TypedUbf_Bsizeof", (void *)&p_ndrxj_Java_org_endurox_TypedUbf_Bsizeof},
     {"ndrxj_Java_org_endurox_TypedUbf_Bunused", (void *)&p_ndrxj_Java_org_endurox_TypedUbf_Bunused},
     {"ndrxj_Java_org_endurox_TypedUbf_Bused", (void *)&p_ndrxj_Java_org_endurox_TypedUbf_Bused},
@@ -494,10 +657,49 @@ exprivate ndrxj_loader_map_t M_funcmap[] =
     {"ndrxj_Java_org_endurox_TypedUbf_Bsubset", (void *)&p_ndrxj_Java_org_endurox_TypedUbf_Bsubset},
     {"ndrxj_Java_org_endurox_TypedUbf_tpjsontoubf", (void *)&p_ndrxj_Java_org_endurox_TypedUbf_tpjsontoubf},
     {"ndrxj_Java_org_endurox_TypedUbf_tpubftojson", (void *)&p_ndrxj_Java_org_endurox_TypedUbf_tpubftojson},
+    {"ndrxj_Java_org_endurox_TypedUbf_tpjsontoubfArrC", (void *)&p_ndrxj_Java_org_endurox_TypedUbf_tpjsontoubfArrC},
+    {"ndrxj_Java_org_endurox_TypedUbf_tpjsontoubfDirectC", (void *)&p_ndrxj_Java_org_endurox_TypedUbf_tpjsontoubfDirectC},
+    {"ndrxj_Java_org_endurox_TypedUbf_tpubftojsonArrC", (void *)&p_ndrxj_Java_org_endurox_TypedUbf_tpubftojsonArrC},
+    {"ndrxj_Java_org_endurox_TypedUbf_tpubftojsonDirectC", (void *)&p_ndrxj_Java_org_endurox_TypedUbf_tpubftojsonDirectC},
+    {"ndrxj_Java_org_endurox_TypedUbf_tpubftojsonBytes", (void *)&p_ndrxj_Java_org_endurox_TypedUbf_tpubftojsonBytes},
     {"ndrxj_Java_org_endurox_TypedUbf_tplogprintubf", (void *)&p_ndrxj_Java_org_endurox_TypedUbf_tplogprintubf},
     {"ndrxj_Java_org_endurox_TypedUbf_Bnum", (void *)&p_ndrxj_Java_org_endurox_TypedUbf_Bnum},
     {"ndrxj_Java_org_endurox_TypedUbf_Bjoin", (void *)&p_ndrxj_Java_org_endurox_TypedUbf_Bjoin},
     {"ndrxj_Java_org_endurox_TypedUbf_Bojoin", (void *)&p_ndrxj_Java_org_endurox_TypedUbf_Bojoin},
+    {"ndrxj_Java_org_endurox_TypedView_Bvchg__Ljava_lang_String_2IS", (void *)&p_ndrxj_Java_org_endurox_TypedView_Bvchg__Ljava_lang_String_2IS},
+    {"ndrxj_Java_org_endurox_TypedView_Bvchg__Ljava_lang_String_2IJ", (void *)&p_ndrxj_Java_org_endurox_TypedView_Bvchg__Ljava_lang_String_2IJ},
+    {"ndrxj_Java_org_endurox_TypedView_Bvchg__Ljava_lang_String_2IB", (void *)&p_ndrxj_Java_org_endurox_TypedView_Bvchg__Ljava_lang_String_2IB},
+    {"ndrxj_Java_org_endurox_TypedView_Bvchg__Ljava_lang_String_2IF", (void *)&p_ndrxj_Java_org_endurox_TypedView_Bvchg__Ljava_lang_String_2IF},
+    {"ndrxj_Java_org_endurox_TypedView_Bvchg__Ljava_lang_String_2ID", (void *)&p_ndrxj_Java_org_endurox_TypedView_Bvchg__Ljava_lang_String_2ID},
+    {"ndrxj_Java_org_endurox_TypedView_Bvchg__Ljava_lang_String_2ILjava_lang_String_2", (void *)&p_ndrxj_Java_org_endurox_TypedView_Bvchg__Ljava_lang_String_2ILjava_lang_String_2},
+    {"ndrxj_Java_org_endurox_TypedView_Bvchg__Ljava_lang_String_2I_3B", (void *)&p_ndrxj_Java_org_endurox_TypedView_Bvchg__Ljava_lang_String_2I_3B},
+    {"ndrxj_Java_org_endurox_TypedView_BvgetShort", (void *)&p_ndrxj_Java_org_endurox_TypedView_BvgetShort},
+    {"ndrxj_Java_org_endurox_TypedView_BvgetLong", (void *)&p_ndrxj_Java_org_endurox_TypedView_BvgetLong},
+    {"ndrxj_Java_org_endurox_TypedView_BvgetByte", (void *)&p_ndrxj_Java_org_endurox_TypedView_BvgetByte},
+    {"ndrxj_Java_org_endurox_TypedView_BvgetFloat", (void *)&p_ndrxj_Java_org_endurox_TypedView_BvgetFloat},
+    {"ndrxj_Java_org_endurox_TypedView_BvgetDouble", (void *)&p_ndrxj_Java_org_endurox_TypedView_BvgetDouble},
+    {"ndrxj_Java_org_endurox_TypedView_BvgetString", (void *)&p_ndrxj_Java_org_endurox_TypedView_BvgetString},
+    {"ndrxj_Java_org_endurox_TypedView_BvgetByteArr", (void *)&p_ndrxj_Java_org_endurox_TypedView_BvgetByteArr},
+    {"ndrxj_Java_org_endurox_TypedView_Bvoccur", (void *)&p_ndrxj_Java_org_endurox_TypedView_Bvoccur},
+    {"ndrxj_Java_org_endurox_TypedView_Bvsetoccur", (void *)&p_ndrxj_Java_org_endurox_TypedView_Bvsetoccur},
+    {"ndrxj_Java_org_endurox_TypedView_Bvnull", (void *)&p_ndrxj_Java_org_endurox_TypedView_Bvnull},
+    {"ndrxj_Java_org_endurox_TypedView_Bvselinit", (void *)&p_ndrxj_Java_org_endurox_TypedView_Bvselinit},
+    {"ndrxj_Java_org_endurox_TypedView_Bvsinit", (void *)&p_ndrxj_Java_org_endurox_TypedView_Bvsinit},
+    {"ndrxj_Java_org_endurox_TypedView_BvfieldC", (void *)&p_ndrxj_Java_org_endurox_TypedView_BvfieldC},
+    {"ndrxj_Java_org_endurox_TypedView_BvgetShortAtC", (void *)&p_ndrxj_Java_org_endurox_TypedView_BvgetShortAtC},
+    {"ndrxj_Java_org_endurox_TypedView_BvgetLongAtC", (void *)&p_ndrxj_Java_org_endurox_TypedView_BvgetLongAtC},
+    {"ndrxj_Java_org_endurox_TypedView_BvgetByteAtC", (void *)&p_ndrxj_Java_org_endurox_TypedView_BvgetByteAtC},
+    {"ndrxj_Java_org_endurox_TypedView_BvgetFloatAtC", (void *)&p_ndrxj_Java_org_endurox_TypedView_BvgetFloatAtC},
+    {"ndrxj_Java_org_endurox_TypedView_BvgetDoubleAtC", (void *)&p_ndrxj_Java_org_endurox_TypedView_BvgetDoubleAtC},
+    {"ndrxj_Java_org_endurox_TypedView_BvgetStringAtC", (void *)&p_ndrxj_Java_org_endurox_TypedView_BvgetStringAtC},
+    {"ndrxj_Java_org_endurox_TypedView_BvgetByteArrAtC", (void *)&p_ndrxj_Java_org_endurox_TypedView_BvgetByteArrAtC},
+    {"ndrxj_Java_org_endurox_TypedView_BvchgAtC__IJS", (void *)&p_ndrxj_Java_org_endurox_TypedView_BvchgAtC__IJS},
+    {"ndrxj_Java_org_endurox_TypedView_BvchgAtC__IJJ", (void *)&p_ndrxj_Java_org_endurox_TypedView_BvchgAtC__IJJ},
+    {"ndrxj_Java_org_endurox_TypedView_BvchgAtC__IJB", (void *)&p_ndrxj_Java_org_endurox_TypedView_BvchgAtC__IJB},
+    {"ndrxj_Java_org_endurox_TypedView_BvchgAtC__IJF", (void *)&p_ndrxj_Java_org_endurox_TypedView_BvchgAtC__IJF},
+    {"ndrxj_Java_org_endurox_TypedView_BvchgAtC__IJD", (void *)&p_ndrxj_Java_org_endurox_TypedView_BvchgAtC__IJD},
+    {"ndrxj_Java_org_endurox_TypedView_BvchgAtC__IJILjava_lang_String_2", (void *)&p_ndrxj_Java_org_endurox_TypedView_BvchgAtC__IJILjava_lang_String_2},
+    {"ndrxj_Java_org_endurox_TypedView_BvchgAtC__IJI_3B", (void *)&p_ndrxj_Java_org_endurox_TypedView_BvchgAtC__IJI_3B},
     {NULL, NULL}
 };
     
@@ -680,6 +882,22 @@ expublic void JNICALL Java_org_endurox_AtmiCtx_tpfreectxt (JNIEnv * v0,  jclass
     p_ndrxj_Java_org_endurox_AtmiCtx_tpfreectxt(v0, v1, v2);
 }
 
+/**
+ * Auto generated
+ */
+expublic void JNICALL Java_org_endurox_AtmiCtx_setStacklessC (JNIEnv * v0,  jclass v1,  jboolean v2)
+{
+    if (!M_lib_init)
+    {
+        if (EXSUCCEED!=ndrxj_lib_init(v0))
+        {
+            return;
+        }
+    }
+    
+    p_ndrxj_Java_org_endurox_AtmiCtx_setStacklessC(v0, v1, v2);
+}
+
 /**
  * Auto generated
  */
@@ -1192,6 +1410,38 @@ expublic void JNICALL Java_org_endurox_AtmiCtx_tpdiscon (JNIEnv * v0,  jobject v
     p_ndrxj_Java_org_endurox_AtmiCtx_tpdiscon(v0, v1, v2);
 }
 
+/**
+ * Auto generated
+ */
+expublic jobject JNICALL Java_org_endurox_AtmiCtx_tprecvReuseC (JNIEnv * v0,  jobject v1,  jint v2,  jobject v3,  jlong v4,  jlongArray v5)
+{
+    if (!M_lib_init)
+    {
+        if (EXSUCCEED!=ndrxj_lib_init(v0))
+        {
+            return (jobject)0;
+        }
+    }
+    
+    return p_ndrxj_Java_org_endurox_AtmiCtx_tprecvReuseC(v0, v1, v2, v3, v4, v5);
+}
+
+/**
+ * Auto generated
+ */
+expublic jint JNICALL Java_org_endurox_AtmiCtx_tpsendArrC (JNIEnv * v0,  jobject v1,  jint v2,  jobjectArray v3,  jlong v4,  jlong v5,  jlongArray v6)
+{
+    if (!M_lib_init)
+    {
+        if (EXSUCCEED!=ndrxj_lib_init(v0))
+        {
+            return (jint)0;
+        }
+    }
+    
+    return p_ndrxj_Java_org_endurox_AtmiCtx_tpsendArrC(v0, v1, v2, v3, v4, v5, v6);
+}
+
 /**
  * Auto generated
  */
@@ -1259,7 +1509,7 @@ expublic void JNICALL Java_org_endurox_AtmiCtx_BboolsetcbfC (JNIEnv * v0,  jobje
 /**
  * Auto generated
  */
-expublic jstring JNICALL Java_org_endurox_AtmiCtx_Btype (JNIEnv * v0,  jobject v1,  jint v2)
+expublic jstring JNICALL Java_org_endurox_AtmiCtx_BtypeC (JNIEnv * v0,  jobject v1,  jint v2)
 {
     if (!M_lib_init)
     {
@@ -1269,13 +1519,13 @@ expublic jstring JNICALL Java_org_endurox_AtmiCtx_Btype (JNIEnv * v0,  jobject v
         }
     }
     
-    return p_ndrxj_Java_org_endurox_AtmiCtx_Btype(v0, v1, v2);
+    return p_ndrxj_Java_org_endurox_AtmiCtx_BtypeC(v0, v1, v2);
 }
 
 /**
  * Auto generated
  */
-expublic jstring JNICALL Java_org_endurox_AtmiCtx_Bfname (JNIEnv * v0,  jobject v1,  jint v2)
+expublic jstring JNICALL Java_org_endurox_AtmiCtx_BfnameC (JNIEnv * v0,  jobject v1,  jint v2)
 {
     if (!M_lib_init)
     {
@@ -1285,13 +1535,13 @@ expublic jstring JNICALL Java_org_endurox_AtmiCtx_Bfname (JNIEnv * v0,  jobject
         }
     }
     
-    return p_ndrxj_Java_org_endurox_AtmiCtx_Bfname(v0, v1, v2);
+    return p_ndrxj_Java_org_endurox_AtmiCtx_BfnameC(v0, v1, v2);
 }
 
 /**
  * Auto generated
  */
-expublic jint JNICALL Java_org_endurox_AtmiCtx_Bfldid (JNIEnv * v0,  jobject v1,  jstring v2)
+expublic jint JNICALL Java_org_endurox_AtmiCtx_BfldidC (JNIEnv * v0,  jobject v1,  jstring v2)
 {
     if (!M_lib_init)
     {
@@ -1301,7 +1551,7 @@ expublic jint JNICALL Java_org_endurox_AtmiCtx_Bfldid (JNIEnv * v0,  jobject v1,
         }
     }
     
-    return p_ndrxj_Java_org_endurox_AtmiCtx_Bfldid(v0, v1, v2);
+    return p_ndrxj_Java_org_endurox_AtmiCtx_BfldidC(v0, v1, v2);
 }
 
 /**
@@ -1400,6 +1650,22 @@ expublic void JNICALL Java_org_endurox_AtmiCtx_tpnotify (JNIEnv * v0,  jobject v
     p_ndrxj_Java_org_endurox_AtmiCtx_tpnotify(v0, v1, v2, v3, v4);
 }
 
+/**
+ * Auto generated
+ */
+expublic jintArray JNICALL Java_org_endurox_AtmiCtx_tpnotifyAllC (JNIEnv * v0,  jobject v1,  jobjectArray v2,  jobject v3,  jlong v4)
+{
+    if (!M_lib_init)
+    {
+        if (EXSUCCEED!=ndrxj_lib_init(v0))
+        {
+            return (jintArray)0;
+        }
+    }
+    
+    return p_ndrxj_Java_org_endurox_AtmiCtx_tpnotifyAllC(v0, v1, v2, v3, v4);
+}
+
 /**
  * Auto generated
  */
@@ -1464,6 +1730,22 @@ expublic void JNICALL Java_org_endurox_AtmiCtx_tpenqueueex (JNIEnv * v0,  jobjec
     p_ndrxj_Java_org_endurox_AtmiCtx_tpenqueueex(v0, v1, v2, v3, v4, v5, v6, v7);
 }
 
+/**
+ * Auto generated
+ */
+expublic jbyteArray JNICALL Java_org_endurox_AtmiCtx_tpenqueueBatchC (JNIEnv * v0,  jobject v1,  jstring v2,  jstring v3,  jobjectArray v4,  jobject v5,  jlong v6)
+{
+    if (!M_lib_init)
+    {
+        if (EXSUCCEED!=ndrxj_lib_init(v0))
+        {
+            return (jbyteArray)0;
+        }
+    }
+    
+    return p_ndrxj_Java_org_endurox_AtmiCtx_tpenqueueBatchC(v0, v1, v2, v3, v4, v5, v6);
+}
+
 /**
  * Auto generated
  */
@@ -1496,6 +1778,22 @@ expublic jobject JNICALL Java_org_endurox_AtmiCtx_tpdequeueex (JNIEnv * v0,  job
     return p_ndrxj_Java_org_endurox_AtmiCtx_tpdequeueex(v0, v1, v2, v3, v4, v5, v6, v7);
 }
 
+/**
+ * Auto generated
+ */
+expublic jobject JNICALL Java_org_endurox_AtmiCtx_tpdequeueNoMsgC (JNIEnv * v0,  jobject v1,  jstring v2,  jstring v3,  jobject v4,  jobject v5,  jlong v6)
+{
+    if (!M_lib_init)
+    {
+        if (EXSUCCEED!=ndrxj_lib_init(v0))
+        {
+            return (jobject)0;
+        }
+    }
+    
+    return p_ndrxj_Java_org_endurox_AtmiCtx_tpdequeueNoMsgC(v0, v1, v2, v3, v4, v5, v6);
+}
+
 /**
  * Auto generated
  */
@@ -1832,6 +2130,38 @@ expublic jstring JNICALL Java_org_endurox_TypedJson_getJSON (JNIEnv * v0,  jobje
     return p_ndrxj_Java_org_endurox_TypedJson_getJSON(v0, v1);
 }
 
+/**
+ * Auto generated
+ */
+expublic jint JNICALL Java_org_endurox_TypedJson_readC (JNIEnv * v0,  jobject v1,  jlong v2,  jbyteArray v3,  jint v4,  jint v5)
+{
+    if (!M_lib_init)
+    {
+        if (EXSUCCEED!=ndrxj_lib_init(v0))
+        {
+            return (jint)0;
+        }
+    }
+    
+    return p_ndrxj_Java_org_endurox_TypedJson_readC(v0, v1, v2, v3, v4, v5);
+}
+
+/**
+ * Auto generated
+ */
+expublic void JNICALL Java_org_endurox_TypedJson_writeC (JNIEnv * v0,  jobject v1,  jlong v2,  jbyteArray v3,  jint v4,  jint v5)
+{
+    if (!M_lib_init)
+    {
+        if (EXSUCCEED!=ndrxj_lib_init(v0))
+        {
+            return;
+        }
+    }
+    
+    p_ndrxj_Java_org_endurox_TypedJson_writeC(v0, v1, v2, v3, v4, v5);
+}
+
 /**
  * Auto generated
  */
@@ -1992,6 +2322,22 @@ expublic void JNICALL Java_org_endurox_TypedUbf_Bprint (JNIEnv * v0,  jobject v1
     p_ndrxj_Java_org_endurox_TypedUbf_Bprint(v0, v1);
 }
 
+/**
+ * Auto generated
+ */
+expublic void JNICALL Java_org_endurox_TypedUbf_BfprintChunkC (JNIEnv * v0,  jobject v1,  jobject v2,  jobject v3)
+{
+    if (!M_lib_init)
+    {
+        if (EXSUCCEED!=ndrxj_lib_init(v0))
+        {
+            return;
+        }
+    }
+    
+    p_ndrxj_Java_org_endurox_TypedUbf_BfprintChunkC(v0, v1, v2, v3);
+}
+
 /**
  * Auto generated
  */
@@ -2107,183 +2453,183 @@ expublic jbyteArray JNICALL Java_org_endurox_TypedUbf_BgetByteArr (JNIEnv * v0,
 /**
  * Auto generated
  */
-expublic void JNICALL Java_org_endurox_TypedUbf_Baddfast__ISLorg_endurox_BFldLocInfo_2 (JNIEnv * v0,  jobject v1,  jint v2,  jshort v3,  jobject v4)
+expublic jlong JNICALL Java_org_endurox_TypedUbf_BgetLongOr (JNIEnv * v0,  jobject v1,  jint v2,  jint v3,  jlong v4)
 {
     if (!M_lib_init)
     {
         if (EXSUCCEED!=ndrxj_lib_init(v0))
         {
-            return;
+            return (jlong)0;
         }
     }
     
-    p_ndrxj_Java_org_endurox_TypedUbf_Baddfast__ISLorg_endurox_BFldLocInfo_2(v0, v1, v2, v3, v4);
+    return p_ndrxj_Java_org_endurox_TypedUbf_BgetLongOr(v0, v1, v2, v3, v4);
 }
 
 /**
  * Auto generated
  */
-expublic void JNICALL Java_org_endurox_TypedUbf_Baddfast__IJLorg_endurox_BFldLocInfo_2 (JNIEnv * v0,  jobject v1,  jint v2,  jlong v3,  jobject v4)
+expublic jdouble JNICALL Java_org_endurox_TypedUbf_BgetDoubleOr (JNIEnv * v0,  jobject v1,  jint v2,  jint v3,  jdouble v4)
 {
     if (!M_lib_init)
     {
         if (EXSUCCEED!=ndrxj_lib_init(v0))
         {
-            return;
+            return (jdouble)0;
         }
     }
     
-    p_ndrxj_Java_org_endurox_TypedUbf_Baddfast__IJLorg_endurox_BFldLocInfo_2(v0, v1, v2, v3, v4);
+    return p_ndrxj_Java_org_endurox_TypedUbf_BgetDoubleOr(v0, v1, v2, v3, v4);
 }
 
 /**
  * Auto generated
  */
-expublic void JNICALL Java_org_endurox_TypedUbf_Baddfast__IBLorg_endurox_BFldLocInfo_2 (JNIEnv * v0,  jobject v1,  jint v2,  jbyte v3,  jobject v4)
+expublic jstring JNICALL Java_org_endurox_TypedUbf_BgetStringOr (JNIEnv * v0,  jobject v1,  jint v2,  jint v3,  jstring v4)
 {
     if (!M_lib_init)
     {
         if (EXSUCCEED!=ndrxj_lib_init(v0))
         {
-            return;
+            return (jstring)0;
         }
     }
     
-    p_ndrxj_Java_org_endurox_TypedUbf_Baddfast__IBLorg_endurox_BFldLocInfo_2(v0, v1, v2, v3, v4);
+    return p_ndrxj_Java_org_endurox_TypedUbf_BgetStringOr(v0, v1, v2, v3, v4);
 }
 
 /**
  * Auto generated
  */
-expublic void JNICALL Java_org_endurox_TypedUbf_Baddfast__IFLorg_endurox_BFldLocInfo_2 (JNIEnv * v0,  jobject v1,  jint v2,  jfloat v3,  jobject v4)
+expublic jlongArray JNICALL Java_org_endurox_TypedUbf_BindexC (JNIEnv * v0,  jobject v1)
 {
     if (!M_lib_init)
     {
         if (EXSUCCEED!=ndrxj_lib_init(v0))
         {
-            return;
+            return (jlongArray)0;
         }
     }
     
-    p_ndrxj_Java_org_endurox_TypedUbf_Baddfast__IFLorg_endurox_BFldLocInfo_2(v0, v1, v2, v3, v4);
+    return p_ndrxj_Java_org_endurox_TypedUbf_BindexC(v0, v1);
 }
 
 /**
  * Auto generated
  */
-expublic void JNICALL Java_org_endurox_TypedUbf_Baddfast__IDLorg_endurox_BFldLocInfo_2 (JNIEnv * v0,  jobject v1,  jint v2,  jdouble v3,  jobject v4)
+expublic jshort JNICALL Java_org_endurox_TypedUbf_BgetShortAtC (JNIEnv * v0,  jobject v1,  jlong v2)
 {
     if (!M_lib_init)
     {
         if (EXSUCCEED!=ndrxj_lib_init(v0))
         {
-            return;
+            return (jshort)0;
         }
     }
     
-    p_ndrxj_Java_org_endurox_TypedUbf_Baddfast__IDLorg_endurox_BFldLocInfo_2(v0, v1, v2, v3, v4);
+    return p_ndrxj_Java_org_endurox_TypedUbf_BgetShortAtC(v0, v1, v2);
 }
 
 /**
  * Auto generated
  */
-expublic void JNICALL Java_org_endurox_TypedUbf_Baddfast__ILjava_lang_String_2Lorg_endurox_BFldLocInfo_2 (JNIEnv * v0,  jobject v1,  jint v2,  jstring v3,  jobject v4)
+expublic jlong JNICALL Java_org_endurox_TypedUbf_BgetLongAtC (JNIEnv * v0,  jobject v1,  jlong v2)
 {
     if (!M_lib_init)
     {
         if (EXSUCCEED!=ndrxj_lib_init(v0))
         {
-            return;
+            return (jlong)0;
         }
     }
     
-    p_ndrxj_Java_org_endurox_TypedUbf_Baddfast__ILjava_lang_String_2Lorg_endurox_BFldLocInfo_2(v0, v1, v2, v3, v4);
+    return p_ndrxj_Java_org_endurox_TypedUbf_BgetLongAtC(v0, v1, v2);
 }
 
 /**
  * Auto generated
  */
-expublic void JNICALL Java_org_endurox_TypedUbf_Baddfast__I_3BLorg_endurox_BFldLocInfo_2 (JNIEnv * v0,  jobject v1,  jint v2,  jbyteArray v3,  jobject v4)
+expublic jbyte JNICALL Java_org_endurox_TypedUbf_BgetByteAtC (JNIEnv * v0,  jobject v1,  jlong v2)
 {
     if (!M_lib_init)
     {
         if (EXSUCCEED!=ndrxj_lib_init(v0))
         {
-            return;
+            return (jbyte)0;
         }
     }
     
-    p_ndrxj_Java_org_endurox_TypedUbf_Baddfast__I_3BLorg_endurox_BFldLocInfo_2(v0, v1, v2, v3, v4);
+    return p_ndrxj_Java_org_endurox_TypedUbf_BgetByteAtC(v0, v1, v2);
 }
 
 /**
  * Auto generated
  */
-expublic void JNICALL Java_org_endurox_TypedUbf_Bchg__IIS (JNIEnv * v0,  jobject v1,  jint v2,  jint v3,  jshort v4)
+expublic jfloat JNICALL Java_org_endurox_TypedUbf_BgetFloatAtC (JNIEnv * v0,  jobject v1,  jlong v2)
 {
     if (!M_lib_init)
     {
         if (EXSUCCEED!=ndrxj_lib_init(v0))
         {
-            return;
+            return (jfloat)0;
         }
     }
     
-    p_ndrxj_Java_org_endurox_TypedUbf_Bchg__IIS(v0, v1, v2, v3, v4);
+    return p_ndrxj_Java_org_endurox_TypedUbf_BgetFloatAtC(v0, v1, v2);
 }
 
 /**
  * Auto generated
  */
-expublic void JNICALL Java_org_endurox_TypedUbf_Bchg__IIJ (JNIEnv * v0,  jobject v1,  jint v2,  jint v3,  jlong v4)
+expublic jdouble JNICALL Java_org_endurox_TypedUbf_BgetDoubleAtC (JNIEnv * v0,  jobject v1,  jlong v2)
 {
     if (!M_lib_init)
     {
         if (EXSUCCEED!=ndrxj_lib_init(v0))
         {
-            return;
+            return (jdouble)0;
         }
     }
     
-    p_ndrxj_Java_org_endurox_TypedUbf_Bchg__IIJ(v0, v1, v2, v3, v4);
+    return p_ndrxj_Java_org_endurox_TypedUbf_BgetDoubleAtC(v0, v1, v2);
 }
 
 /**
  * Auto generated
  */
-expublic void JNICALL Java_org_endurox_TypedUbf_Bchg__IIB (JNIEnv * v0,  jobject v1,  jint v2,  jint v3,  jbyte v4)
+expublic jstring JNICALL Java_org_endurox_TypedUbf_BgetStringAtC (JNIEnv * v0,  jobject v1,  jlong v2)
 {
     if (!M_lib_init)
     {
         if (EXSUCCEED!=ndrxj_lib_init(v0))
         {
-            return;
+            return (jstring)0;
         }
     }
     
-    p_ndrxj_Java_org_endurox_TypedUbf_Bchg__IIB(v0, v1, v2, v3, v4);
+    return p_ndrxj_Java_org_endurox_TypedUbf_BgetStringAtC(v0, v1, v2);
 }
 
 /**
  * Auto generated
  */
-expublic void JNICALL Java_org_endurox_TypedUbf_Bchg__IIF (JNIEnv * v0,  jobject v1,  jint v2,  jint v3,  jfloat v4)
+expublic jbyteArray JNICALL Java_org_endurox_TypedUbf_BgetByteArrAtC (JNIEnv * v0,  jobject v1,  jlong v2,  jint v3)
 {
     if (!M_lib_init)
     {
         if (EXSUCCEED!=ndrxj_lib_init(v0))
         {
-            return;
+            return (jbyteArray)0;
         }
     }
     
-    p_ndrxj_Java_org_endurox_TypedUbf_Bchg__IIF(v0, v1, v2, v3, v4);
+    return p_ndrxj_Java_org_endurox_TypedUbf_BgetByteArrAtC(v0, v1, v2, v3);
 }
 
 /**
  * Auto generated
  */
-expublic void JNICALL Java_org_endurox_TypedUbf_Bchg__IID (JNIEnv * v0,  jobject v1,  jint v2,  jint v3,  jdouble v4)
+expublic void JNICALL Java_org_endurox_TypedUbf_Baddfast__ISLorg_endurox_BFldLocInfo_2 (JNIEnv * v0,  jobject v1,  jint v2,  jshort v3,  jobject v4)
 {
     if (!M_lib_init)
     {
@@ -2293,13 +2639,13 @@ expublic void JNICALL Java_org_endurox_TypedUbf_Bchg__IID (JNIEnv * v0,  jobject
         }
     }
     
-    p_ndrxj_Java_org_endurox_TypedUbf_Bchg__IID(v0, v1, v2, v3, v4);
+    p_ndrxj_Java_org_endurox_TypedUbf_Baddfast__ISLorg_endurox_BFldLocInfo_2(v0, v1, v2, v3, v4);
 }
 
 /**
  * Auto generated
  */
-expublic void JNICALL Java_org_endurox_TypedUbf_Bchg__IILjava_lang_String_2 (JNIEnv * v0,  jobject v1,  jint v2,  jint v3,  jstring v4)
+expublic void JNICALL Java_org_endurox_TypedUbf_Baddfast__IJLorg_endurox_BFldLocInfo_2 (JNIEnv * v0,  jobject v1,  jint v2,  jlong v3,  jobject v4)
 {
     if (!M_lib_init)
     {
@@ -2309,13 +2655,13 @@ expublic void JNICALL Java_org_endurox_TypedUbf_Bchg__IILjava_lang_String_2 (JNI
         }
     }
     
-    p_ndrxj_Java_org_endurox_TypedUbf_Bchg__IILjava_lang_String_2(v0, v1, v2, v3, v4);
+    p_ndrxj_Java_org_endurox_TypedUbf_Baddfast__IJLorg_endurox_BFldLocInfo_2(v0, v1, v2, v3, v4);
 }
 
 /**
  * Auto generated
  */
-expublic void JNICALL Java_org_endurox_TypedUbf_Bchg__II_3B (JNIEnv * v0,  jobject v1,  jint v2,  jint v3,  jbyteArray v4)
+expublic void JNICALL Java_org_endurox_TypedUbf_Baddfast__IBLorg_endurox_BFldLocInfo_2 (JNIEnv * v0,  jobject v1,  jint v2,  jbyte v3,  jobject v4)
 {
     if (!M_lib_init)
     {
@@ -2325,61 +2671,61 @@ expublic void JNICALL Java_org_endurox_TypedUbf_Bchg__II_3B (JNIEnv * v0,  jobje
         }
     }
     
-    p_ndrxj_Java_org_endurox_TypedUbf_Bchg__II_3B(v0, v1, v2, v3, v4);
+    p_ndrxj_Java_org_endurox_TypedUbf_Baddfast__IBLorg_endurox_BFldLocInfo_2(v0, v1, v2, v3, v4);
 }
 
 /**
  * Auto generated
  */
-expublic jboolean JNICALL Java_org_endurox_TypedUbf_Bboolev (JNIEnv * v0,  jobject v1,  jobject v2)
+expublic void JNICALL Java_org_endurox_TypedUbf_Baddfast__IFLorg_endurox_BFldLocInfo_2 (JNIEnv * v0,  jobject v1,  jint v2,  jfloat v3,  jobject v4)
 {
     if (!M_lib_init)
     {
         if (EXSUCCEED!=ndrxj_lib_init(v0))
         {
-            return (jboolean)0;
+            return;
         }
     }
     
-    return p_ndrxj_Java_org_endurox_TypedUbf_Bboolev(v0, v1, v2);
+    p_ndrxj_Java_org_endurox_TypedUbf_Baddfast__IFLorg_endurox_BFldLocInfo_2(v0, v1, v2, v3, v4);
 }
 
 /**
  * Auto generated
  */
-expublic jboolean JNICALL Java_org_endurox_TypedUbf_Bqboolev (JNIEnv * v0,  jobject v1,  jstring v2)
+expublic void JNICALL Java_org_endurox_TypedUbf_Baddfast__IDLorg_endurox_BFldLocInfo_2 (JNIEnv * v0,  jobject v1,  jint v2,  jdouble v3,  jobject v4)
 {
     if (!M_lib_init)
     {
         if (EXSUCCEED!=ndrxj_lib_init(v0))
         {
-            return (jboolean)0;
+            return;
         }
     }
     
-    return p_ndrxj_Java_org_endurox_TypedUbf_Bqboolev(v0, v1, v2);
+    p_ndrxj_Java_org_endurox_TypedUbf_Baddfast__IDLorg_endurox_BFldLocInfo_2(v0, v1, v2, v3, v4);
 }
 
 /**
  * Auto generated
  */
-expublic jdouble JNICALL Java_org_endurox_TypedUbf_Bfloatev (JNIEnv * v0,  jobject v1,  jobject v2)
+expublic void JNICALL Java_org_endurox_TypedUbf_Baddfast__ILjava_lang_String_2Lorg_endurox_BFldLocInfo_2 (JNIEnv * v0,  jobject v1,  jint v2,  jstring v3,  jobject v4)
 {
     if (!M_lib_init)
     {
         if (EXSUCCEED!=ndrxj_lib_init(v0))
         {
-            return (jdouble)0;
+            return;
         }
     }
     
-    return p_ndrxj_Java_org_endurox_TypedUbf_Bfloatev(v0, v1, v2);
+    p_ndrxj_Java_org_endurox_TypedUbf_Baddfast__ILjava_lang_String_2Lorg_endurox_BFldLocInfo_2(v0, v1, v2, v3, v4);
 }
 
 /**
  * Auto generated
  */
-expublic void JNICALL Java_org_endurox_TypedUbf_Bdel (JNIEnv * v0,  jobject v1,  jint v2,  jint v3)
+expublic void JNICALL Java_org_endurox_TypedUbf_Baddfast__I_3BLorg_endurox_BFldLocInfo_2 (JNIEnv * v0,  jobject v1,  jint v2,  jbyteArray v3,  jobject v4)
 {
     if (!M_lib_init)
     {
@@ -2389,13 +2735,13 @@ expublic void JNICALL Java_org_endurox_TypedUbf_Bdel (JNIEnv * v0,  jobject v1,
         }
     }
     
-    p_ndrxj_Java_org_endurox_TypedUbf_Bdel(v0, v1, v2, v3);
+    p_ndrxj_Java_org_endurox_TypedUbf_Baddfast__I_3BLorg_endurox_BFldLocInfo_2(v0, v1, v2, v3, v4);
 }
 
 /**
  * Auto generated
  */
-expublic void JNICALL Java_org_endurox_TypedUbf_Bdelall (JNIEnv * v0,  jobject v1,  jint v2)
+expublic void JNICALL Java_org_endurox_TypedUbf_Bchg__IIS (JNIEnv * v0,  jobject v1,  jint v2,  jint v3,  jshort v4)
 {
     if (!M_lib_init)
     {
@@ -2405,29 +2751,29 @@ expublic void JNICALL Java_org_endurox_TypedUbf_Bdelall (JNIEnv * v0,  jobject v
         }
     }
     
-    p_ndrxj_Java_org_endurox_TypedUbf_Bdelall(v0, v1, v2);
+    p_ndrxj_Java_org_endurox_TypedUbf_Bchg__IIS(v0, v1, v2, v3, v4);
 }
 
 /**
  * Auto generated
  */
-expublic jboolean JNICALL Java_org_endurox_TypedUbf_Bpres (JNIEnv * v0,  jobject v1,  jint v2,  jint v3)
+expublic void JNICALL Java_org_endurox_TypedUbf_Bchg__IIJ (JNIEnv * v0,  jobject v1,  jint v2,  jint v3,  jlong v4)
 {
     if (!M_lib_init)
     {
         if (EXSUCCEED!=ndrxj_lib_init(v0))
         {
-            return (jboolean)0;
+            return;
         }
     }
     
-    return p_ndrxj_Java_org_endurox_TypedUbf_Bpres(v0, v1, v2, v3);
+    p_ndrxj_Java_org_endurox_TypedUbf_Bchg__IIJ(v0, v1, v2, v3, v4);
 }
 
 /**
  * Auto generated
  */
-expublic void JNICALL Java_org_endurox_TypedUbf_Bextread (JNIEnv * v0,  jobject v1,  jobject v2)
+expublic void JNICALL Java_org_endurox_TypedUbf_Bchg__IIB (JNIEnv * v0,  jobject v1,  jint v2,  jint v3,  jbyte v4)
 {
     if (!M_lib_init)
     {
@@ -2437,173 +2783,173 @@ expublic void JNICALL Java_org_endurox_TypedUbf_Bextread (JNIEnv * v0,  jobject
         }
     }
     
-    p_ndrxj_Java_org_endurox_TypedUbf_Bextread(v0, v1, v2);
+    p_ndrxj_Java_org_endurox_TypedUbf_Bchg__IIB(v0, v1, v2, v3, v4);
 }
 
 /**
  * Auto generated
  */
-expublic jboolean JNICALL Java_org_endurox_TypedUbf_Bisubf (JNIEnv * v0,  jobject v1)
+expublic void JNICALL Java_org_endurox_TypedUbf_Bchg__IIF (JNIEnv * v0,  jobject v1,  jint v2,  jint v3,  jfloat v4)
 {
     if (!M_lib_init)
     {
         if (EXSUCCEED!=ndrxj_lib_init(v0))
         {
-            return (jboolean)0;
+            return;
         }
     }
     
-    return p_ndrxj_Java_org_endurox_TypedUbf_Bisubf(v0, v1);
+    p_ndrxj_Java_org_endurox_TypedUbf_Bchg__IIF(v0, v1, v2, v3, v4);
 }
 
 /**
  * Auto generated
  */
-expublic jint JNICALL Java_org_endurox_TypedUbf_Blen (JNIEnv * v0,  jobject v1,  jint v2,  jint v3)
+expublic void JNICALL Java_org_endurox_TypedUbf_Bchg__IID (JNIEnv * v0,  jobject v1,  jint v2,  jint v3,  jdouble v4)
 {
     if (!M_lib_init)
     {
         if (EXSUCCEED!=ndrxj_lib_init(v0))
         {
-            return (jint)0;
+            return;
         }
     }
     
-    return p_ndrxj_Java_org_endurox_TypedUbf_Blen(v0, v1, v2, v3);
+    p_ndrxj_Java_org_endurox_TypedUbf_Bchg__IID(v0, v1, v2, v3, v4);
 }
 
 /**
  * Auto generated
  */
-expublic jobject JNICALL Java_org_endurox_TypedUbf_Bnext (JNIEnv * v0,  jobject v1,  jboolean v2)
+expublic void JNICALL Java_org_endurox_TypedUbf_Bchg__IILjava_lang_String_2 (JNIEnv * v0,  jobject v1,  jint v2,  jint v3,  jstring v4)
 {
     if (!M_lib_init)
     {
         if (EXSUCCEED!=ndrxj_lib_init(v0))
         {
-            return (jobject)0;
+            return;
         }
     }
     
-    return p_ndrxj_Java_org_endurox_TypedUbf_Bnext(v0, v1, v2);
+    p_ndrxj_Java_org_endurox_TypedUbf_Bchg__IILjava_lang_String_2(v0, v1, v2, v3, v4);
 }
 
 /**
  * Auto generated
  */
-expublic jint JNICALL Java_org_endurox_TypedUbf_Boccur (JNIEnv * v0,  jobject v1,  jint v2)
+expublic void JNICALL Java_org_endurox_TypedUbf_Bchg__II_3B (JNIEnv * v0,  jobject v1,  jint v2,  jint v3,  jbyteArray v4)
 {
     if (!M_lib_init)
     {
         if (EXSUCCEED!=ndrxj_lib_init(v0))
         {
-            return (jint)0;
+            return;
         }
     }
     
-    return p_ndrxj_Java_org_endurox_TypedUbf_Boccur(v0, v1, v2);
+    p_ndrxj_Java_org_endurox_TypedUbf_Bchg__II_3B(v0, v1, v2, v3, v4);
 }
 
 /**
  * Auto generated
  */
-expublic void JNICALL Java_org_endurox_TypedUbf_Bread (JNIEnv * v0,  jobject v1,  jbyteArray v2)
+expublic jboolean JNICALL Java_org_endurox_TypedUbf_Bboolev (JNIEnv * v0,  jobject v1,  jobject v2)
 {
     if (!M_lib_init)
     {
         if (EXSUCCEED!=ndrxj_lib_init(v0))
         {
-            return;
+            return (jboolean)0;
         }
     }
     
-    p_ndrxj_Java_org_endurox_TypedUbf_Bread(v0, v1, v2);
+    return p_ndrxj_Java_org_endurox_TypedUbf_Bboolev(v0, v1, v2);
 }
 
 /**
  * Auto generated
  */
-expublic jbyteArray JNICALL Java_org_endurox_TypedUbf_Bwrite (JNIEnv * v0,  jobject v1)
+expublic jdouble JNICALL Java_org_endurox_TypedUbf_Bfloatev (JNIEnv * v0,  jobject v1,  jobject v2)
 {
     if (!M_lib_init)
     {
         if (EXSUCCEED!=ndrxj_lib_init(v0))
         {
-            return (jbyteArray)0;
+            return (jdouble)0;
         }
     }
     
-    return p_ndrxj_Java_org_endurox_TypedUbf_Bwrite(v0, v1);
+    return p_ndrxj_Java_org_endurox_TypedUbf_Bfloatev(v0, v1, v2);
 }
 
 /**
  * Auto generated
  */
-expublic jlong JNICALL Java_org_endurox_TypedUbf_Bsizeof (JNIEnv * v0,  jobject v1)
+expublic jint JNICALL Java_org_endurox_TypedUbf_BboolevArrC (JNIEnv * v0,  jobject v1,  jobjectArray v2,  jbooleanArray v3,  jboolean v4)
 {
     if (!M_lib_init)
     {
         if (EXSUCCEED!=ndrxj_lib_init(v0))
         {
-            return (jlong)0;
+            return (jint)0;
         }
     }
     
-    return p_ndrxj_Java_org_endurox_TypedUbf_Bsizeof(v0, v1);
+    return p_ndrxj_Java_org_endurox_TypedUbf_BboolevArrC(v0, v1, v2, v3, v4);
 }
 
 /**
  * Auto generated
  */
-expublic jlong JNICALL Java_org_endurox_TypedUbf_Bunused (JNIEnv * v0,  jobject v1)
+expublic void JNICALL Java_org_endurox_TypedUbf_BfloatevArrC (JNIEnv * v0,  jobject v1,  jobjectArray v2,  jdoubleArray v3)
 {
     if (!M_lib_init)
     {
         if (EXSUCCEED!=ndrxj_lib_init(v0))
         {
-            return (jlong)0;
+            return;
         }
     }
     
-    return p_ndrxj_Java_org_endurox_TypedUbf_Bunused(v0, v1);
+    p_ndrxj_Java_org_endurox_TypedUbf_BfloatevArrC(v0, v1, v2, v3);
 }
 
 /**
  * Auto generated
  */
-expublic jlong JNICALL Java_org_endurox_TypedUbf_Bused (JNIEnv * v0,  jobject v1)
+expublic jboolean JNICALL Java_org_endurox_TypedUbf_BboolevProjC (JNIEnv * v0,  jobject v1,  jobject v2,  jobject v3,  jintArray v4)
 {
     if (!M_lib_init)
     {
         if (EXSUCCEED!=ndrxj_lib_init(v0))
         {
-            return (jlong)0;
+            return (jboolean)0;
         }
     }
     
-    return p_ndrxj_Java_org_endurox_TypedUbf_Bused(v0, v1);
+    return p_ndrxj_Java_org_endurox_TypedUbf_BboolevProjC(v0, v1, v2, v3, v4);
 }
 
 /**
  * Auto generated
  */
-expublic jlong JNICALL Java_org_endurox_TypedUbf_Binit (JNIEnv * v0,  jobject v1)
+expublic void JNICALL Java_org_endurox_TypedUbf_Bdel (JNIEnv * v0,  jobject v1,  jint v2,  jint v3)
 {
     if (!M_lib_init)
     {
         if (EXSUCCEED!=ndrxj_lib_init(v0))
         {
-            return (jlong)0;
+            return;
         }
     }
     
-    return p_ndrxj_Java_org_endurox_TypedUbf_Binit(v0, v1);
+    p_ndrxj_Java_org_endurox_TypedUbf_Bdel(v0, v1, v2, v3);
 }
 
 /**
  * Auto generated
  */
-expublic void JNICALL Java_org_endurox_TypedUbf_Bproj (JNIEnv * v0,  jobject v1,  jintArray v2)
+expublic void JNICALL Java_org_endurox_TypedUbf_Bdelall (JNIEnv * v0,  jobject v1,  jint v2)
 {
     if (!M_lib_init)
     {
@@ -2613,29 +2959,29 @@ expublic void JNICALL Java_org_endurox_TypedUbf_Bproj (JNIEnv * v0,  jobject v1,
         }
     }
     
-    p_ndrxj_Java_org_endurox_TypedUbf_Bproj(v0, v1, v2);
+    p_ndrxj_Java_org_endurox_TypedUbf_Bdelall(v0, v1, v2);
 }
 
 /**
  * Auto generated
  */
-expublic void JNICALL Java_org_endurox_TypedUbf_Bdelete (JNIEnv * v0,  jobject v1,  jintArray v2)
+expublic jboolean JNICALL Java_org_endurox_TypedUbf_Bpres (JNIEnv * v0,  jobject v1,  jint v2,  jint v3)
 {
     if (!M_lib_init)
     {
         if (EXSUCCEED!=ndrxj_lib_init(v0))
         {
-            return;
+            return (jboolean)0;
         }
     }
     
-    p_ndrxj_Java_org_endurox_TypedUbf_Bdelete(v0, v1, v2);
+    return p_ndrxj_Java_org_endurox_TypedUbf_Bpres(v0, v1, v2, v3);
 }
 
 /**
  * Auto generated
  */
-expublic void JNICALL Java_org_endurox_TypedUbf_Bconcat (JNIEnv * v0,  jobject v1,  jobject v2)
+expublic void JNICALL Java_org_endurox_TypedUbf_Bextread (JNIEnv * v0,  jobject v1,  jobject v2)
 {
     if (!M_lib_init)
     {
@@ -2645,13 +2991,13 @@ expublic void JNICALL Java_org_endurox_TypedUbf_Bconcat (JNIEnv * v0,  jobject v
         }
     }
     
-    p_ndrxj_Java_org_endurox_TypedUbf_Bconcat(v0, v1, v2);
+    p_ndrxj_Java_org_endurox_TypedUbf_Bextread(v0, v1, v2);
 }
 
 /**
  * Auto generated
  */
-expublic void JNICALL Java_org_endurox_TypedUbf_Bcpy (JNIEnv * v0,  jobject v1,  jobject v2)
+expublic void JNICALL Java_org_endurox_TypedUbf_BextreadArrC (JNIEnv * v0,  jobject v1,  jbyteArray v2,  jint v3,  jint v4)
 {
     if (!M_lib_init)
     {
@@ -2661,13 +3007,13 @@ expublic void JNICALL Java_org_endurox_TypedUbf_Bcpy (JNIEnv * v0,  jobject v1,
         }
     }
     
-    p_ndrxj_Java_org_endurox_TypedUbf_Bcpy(v0, v1, v2);
+    p_ndrxj_Java_org_endurox_TypedUbf_BextreadArrC(v0, v1, v2, v3, v4);
 }
 
 /**
  * Auto generated
  */
-expublic void JNICALL Java_org_endurox_TypedUbf_Bprojcpy (JNIEnv * v0,  jobject v1,  jobject v2,  jintArray v3)
+expublic void JNICALL Java_org_endurox_TypedUbf_BextreadDirectC (JNIEnv * v0,  jobject v1,  jobject v2,  jint v3,  jint v4)
 {
     if (!M_lib_init)
     {
@@ -2677,29 +3023,29 @@ expublic void JNICALL Java_org_endurox_TypedUbf_Bprojcpy (JNIEnv * v0,  jobject
         }
     }
     
-    p_ndrxj_Java_org_endurox_TypedUbf_Bprojcpy(v0, v1, v2, v3);
+    p_ndrxj_Java_org_endurox_TypedUbf_BextreadDirectC(v0, v1, v2, v3, v4);
 }
 
 /**
  * Auto generated
  */
-expublic void JNICALL Java_org_endurox_TypedUbf_Bupdate (JNIEnv * v0,  jobject v1,  jobject v2)
+expublic jboolean JNICALL Java_org_endurox_TypedUbf_Bisubf (JNIEnv * v0,  jobject v1)
 {
     if (!M_lib_init)
     {
         if (EXSUCCEED!=ndrxj_lib_init(v0))
         {
-            return;
+            return (jboolean)0;
         }
     }
     
-    p_ndrxj_Java_org_endurox_TypedUbf_Bupdate(v0, v1, v2);
+    return p_ndrxj_Java_org_endurox_TypedUbf_Bisubf(v0, v1);
 }
 
 /**
  * Auto generated
  */
-expublic jint JNICALL Java_org_endurox_TypedUbf_Bcmp (JNIEnv * v0,  jobject v1,  jobject v2)
+expublic jint JNICALL Java_org_endurox_TypedUbf_Blen (JNIEnv * v0,  jobject v1,  jint v2,  jint v3)
 {
     if (!M_lib_init)
     {
@@ -2709,29 +3055,45 @@ expublic jint JNICALL Java_org_endurox_TypedUbf_Bcmp (JNIEnv * v0,  jobject v1,
         }
     }
     
-    return p_ndrxj_Java_org_endurox_TypedUbf_Bcmp(v0, v1, v2);
+    return p_ndrxj_Java_org_endurox_TypedUbf_Blen(v0, v1, v2, v3);
 }
 
 /**
  * Auto generated
  */
-expublic jboolean JNICALL Java_org_endurox_TypedUbf_Bsubset (JNIEnv * v0,  jobject v1,  jobject v2)
+expublic jobject JNICALL Java_org_endurox_TypedUbf_Bnext (JNIEnv * v0,  jobject v1,  jboolean v2)
 {
     if (!M_lib_init)
     {
         if (EXSUCCEED!=ndrxj_lib_init(v0))
         {
-            return (jboolean)0;
+            return (jobject)0;
         }
     }
     
-    return p_ndrxj_Java_org_endurox_TypedUbf_Bsubset(v0, v1, v2);
+    return p_ndrxj_Java_org_endurox_TypedUbf_Bnext(v0, v1, v2);
 }
 
 /**
  * Auto generated
  */
-expublic void JNICALL Java_org_endurox_TypedUbf_tpjsontoubf (JNIEnv * v0,  jobject v1,  jstring v2)
+expublic jint JNICALL Java_org_endurox_TypedUbf_Boccur (JNIEnv * v0,  jobject v1,  jint v2)
+{
+    if (!M_lib_init)
+    {
+        if (EXSUCCEED!=ndrxj_lib_init(v0))
+        {
+            return (jint)0;
+        }
+    }
+    
+    return p_ndrxj_Java_org_endurox_TypedUbf_Boccur(v0, v1, v2);
+}
+
+/**
+ * Auto generated
+ */
+expublic void JNICALL Java_org_endurox_TypedUbf_Bread (JNIEnv * v0,  jobject v1,  jbyteArray v2)
 {
     if (!M_lib_init)
     {
@@ -2741,29 +3103,29 @@ expublic void JNICALL Java_org_endurox_TypedUbf_tpjsontoubf (JNIEnv * v0,  jobje
         }
     }
     
-    p_ndrxj_Java_org_endurox_TypedUbf_tpjsontoubf(v0, v1, v2);
+    p_ndrxj_Java_org_endurox_TypedUbf_Bread(v0, v1, v2);
 }
 
 /**
  * Auto generated
  */
-expublic jstring JNICALL Java_org_endurox_TypedUbf_tpubftojson (JNIEnv * v0,  jobject v1)
+expublic jbyteArray JNICALL Java_org_endurox_TypedUbf_Bwrite (JNIEnv * v0,  jobject v1)
 {
     if (!M_lib_init)
     {
         if (EXSUCCEED!=ndrxj_lib_init(v0))
         {
-            return (jstring)0;
+            return (jbyteArray)0;
         }
     }
     
-    return p_ndrxj_Java_org_endurox_TypedUbf_tpubftojson(v0, v1);
+    return p_ndrxj_Java_org_endurox_TypedUbf_Bwrite(v0, v1);
 }
 
 /**
  * Auto generated
  */
-expublic void JNICALL Java_org_endurox_TypedUbf_tplogprintubf (JNIEnv * v0,  jobject v1,  jint v2,  jstring v3)
+expublic void JNICALL Java_org_endurox_TypedUbf_BwriteChunkC (JNIEnv * v0,  jobject v1,  jobject v2,  jobject v3)
 {
     if (!M_lib_init)
     {
@@ -2773,13 +3135,29 @@ expublic void JNICALL Java_org_endurox_TypedUbf_tplogprintubf (JNIEnv * v0,  job
         }
     }
     
-    p_ndrxj_Java_org_endurox_TypedUbf_tplogprintubf(v0, v1, v2, v3);
+    p_ndrxj_Java_org_endurox_TypedUbf_BwriteChunkC(v0, v1, v2, v3);
 }
 
 /**
  * Auto generated
  */
-expublic jint JNICALL Java_org_endurox_TypedUbf_Bnum (JNIEnv * v0,  jobject v1)
+expublic jboolean JNICALL Java_org_endurox_TypedUbf_BreadChunkC (JNIEnv * v0,  jobject v1,  jobject v2,  jobject v3)
+{
+    if (!M_lib_init)
+    {
+        if (EXSUCCEED!=ndrxj_lib_init(v0))
+        {
+            return (jboolean)0;
+        }
+    }
+    
+    return p_ndrxj_Java_org_endurox_TypedUbf_BreadChunkC(v0, v1, v2, v3);
+}
+
+/**
+ * Auto generated
+ */
+expublic jint JNICALL Java_org_endurox_TypedUbf_BwriteDirectC (JNIEnv * v0,  jobject v1,  jobject v2,  jint v3)
 {
     if (!M_lib_init)
     {
@@ -2789,13 +3167,13 @@ expublic jint JNICALL Java_org_endurox_TypedUbf_Bnum (JNIEnv * v0,  jobject v1)
         }
     }
     
-    return p_ndrxj_Java_org_endurox_TypedUbf_Bnum(v0, v1);
+    return p_ndrxj_Java_org_endurox_TypedUbf_BwriteDirectC(v0, v1, v2, v3);
 }
 
 /**
  * Auto generated
  */
-expublic void JNICALL Java_org_endurox_TypedUbf_Bjoin (JNIEnv * v0,  jobject v1,  jobject v2)
+expublic void JNICALL Java_org_endurox_TypedUbf_BreadDirectC (JNIEnv * v0,  jobject v1,  jobject v2,  jint v3,  jint v4)
 {
     if (!M_lib_init)
     {
@@ -2805,13 +3183,77 @@ expublic void JNICALL Java_org_endurox_TypedUbf_Bjoin (JNIEnv * v0,  jobject v1,
         }
     }
     
-    p_ndrxj_Java_org_endurox_TypedUbf_Bjoin(v0, v1, v2);
+    p_ndrxj_Java_org_endurox_TypedUbf_BreadDirectC(v0, v1, v2, v3, v4);
 }
 
 /**
  * Auto generated
  */
-expublic void JNICALL Java_org_endurox_TypedUbf_Bojoin (JNIEnv * v0,  jobject v1,  jobject v2)
+expublic jlong JNICALL Java_org_endurox_TypedUbf_Bsizeof (JNIEnv * v0,  jobject v1)
+{
+    if (!M_lib_init)
+    {
+        if (EXSUCCEED!=ndrxj_lib_init(v0))
+        {
+            return (jlong)0;
+        }
+    }
+    
+    return p_ndrxj_Java_org_endurox_TypedUbf_Bsizeof(v0, v1);
+}
+
+/**
+ * Auto generated
+ */
+expublic jlong JNICALL Java_org_endurox_TypedUbf_Bunused (JNIEnv * v0,  jobject v1)
+{
+    if (!M_lib_init)
+    {
+        if (EXSUCCEED!=ndrxj_lib_init(v0))
+        {
+            return (jlong)0;
+        }
+    }
+    
+    return p_ndrxj_Java_org_endurox_TypedUbf_Bunused(v0, v1);
+}
+
+/**
+ * Auto generated
+ */
+expublic jlong JNICALL Java_org_endurox_TypedUbf_Bused (JNIEnv * v0,  jobject v1)
+{
+    if (!M_lib_init)
+    {
+        if (EXSUCCEED!=ndrxj_lib_init(v0))
+        {
+            return (jlong)0;
+        }
+    }
+    
+    return p_ndrxj_Java_org_endurox_TypedUbf_Bused(v0, v1);
+}
+
+/**
+ * Auto generated
+ */
+expublic jlong JNICALL Java_org_endurox_TypedUbf_Binit (JNIEnv * v0,  jobject v1)
+{
+    if (!M_lib_init)
+    {
+        if (EXSUCCEED!=ndrxj_lib_init(v0))
+        {
+            return (jlong)0;
+        }
+    }
+    
+    return p_ndrxj_Java_org_endurox_TypedUbf_Binit(v0, v1);
+}
+
+/**
+ * Auto generated
+ */
+expublic void JNICALL Java_org_endurox_TypedUbf_Bproj (JNIEnv * v0,  jobject v1,  jintArray v2)
 {
     if (!M_lib_init)
     {
@@ -2821,7 +3263,839 @@ expublic void JNICALL Java_org_endurox_TypedUbf_Bojoin (JNIEnv * v0,  jobject v1
         }
     }
     
-    p_ndrxj_Java_org_endurox_TypedUbf_Bojoin(v0, v1, v2);
+    p_ndrxj_Java_org_endurox_TypedUbf_Bproj(v0, v1, v2);
+}
+
+/**
+ * Auto generated
+ */
+expublic void JNICALL Java_org_endurox_TypedUbf_Bdelete (JNIEnv * v0,  jobject v1,  jintArray v2)
+{
+    if (!M_lib_init)
+    {
+        if (EXSUCCEED!=ndrxj_lib_init(v0))
+        {
+            return;
+        }
+    }
+    
+    p_ndrxj_Java_org_endurox_TypedUbf_Bdelete(v0, v1, v2);
+}
+
+/**
+ * Auto generated
+ */
+expublic void JNICALL Java_org_endurox_TypedUbf_Bconcat (JNIEnv * v0,  jobject v1,  jobject v2)
+{
+    if (!M_lib_init)
+    {
+        if (EXSUCCEED!=ndrxj_lib_init(v0))
+        {
+            return;
+        }
+    }
+    
+    p_ndrxj_Java_org_endurox_TypedUbf_Bconcat(v0, v1, v2);
+}
+
+/**
+ * Auto generated
+ */
+expublic void JNICALL Java_org_endurox_TypedUbf_Bcpy (JNIEnv * v0,  jobject v1,  jobject v2)
+{
+    if (!M_lib_init)
+    {
+        if (EXSUCCEED!=ndrxj_lib_init(v0))
+        {
+            return;
+        }
+    }
+    
+    p_ndrxj_Java_org_endurox_TypedUbf_Bcpy(v0, v1, v2);
+}
+
+/**
+ * Auto generated
+ */
+expublic void JNICALL Java_org_endurox_TypedUbf_Bprojcpy (JNIEnv * v0,  jobject v1,  jobject v2,  jintArray v3)
+{
+    if (!M_lib_init)
+    {
+        if (EXSUCCEED!=ndrxj_lib_init(v0))
+        {
+            return;
+        }
+    }
+    
+    p_ndrxj_Java_org_endurox_TypedUbf_Bprojcpy(v0, v1, v2, v3);
+}
+
+/**
+ * Auto generated
+ */
+expublic void JNICALL Java_org_endurox_TypedUbf_Bupdate (JNIEnv * v0,  jobject v1,  jobject v2)
+{
+    if (!M_lib_init)
+    {
+        if (EXSUCCEED!=ndrxj_lib_init(v0))
+        {
+            return;
+        }
+    }
+    
+    p_ndrxj_Java_org_endurox_TypedUbf_Bupdate(v0, v1, v2);
+}
+
+/**
+ * Auto generated
+ */
+expublic jint JNICALL Java_org_endurox_TypedUbf_Bcmp (JNIEnv * v0,  jobject v1,  jobject v2)
+{
+    if (!M_lib_init)
+    {
+        if (EXSUCCEED!=ndrxj_lib_init(v0))
+        {
+            return (jint)0;
+        }
+    }
+    
+    return p_ndrxj_Java_org_endurox_TypedUbf_Bcmp(v0, v1, v2);
+}
+
+/**
+ * Auto generated
+ */
+expublic jboolean JNICALL Java_org_endurox_TypedUbf_Bsubset (JNIEnv * v0,  jobject v1,  jobject v2)
+{
+    if (!M_lib_init)
+    {
+        if (EXSUCCEED!=ndrxj_lib_init(v0))
+        {
+            return (jboolean)0;
+        }
+    }
+    
+    return p_ndrxj_Java_org_endurox_TypedUbf_Bsubset(v0, v1, v2);
+}
+
+/**
+ * Auto generated
+ */
+expublic void JNICALL Java_org_endurox_TypedUbf_tpjsontoubf (JNIEnv * v0,  jobject v1,  jstring v2)
+{
+    if (!M_lib_init)
+    {
+        if (EXSUCCEED!=ndrxj_lib_init(v0))
+        {
+            return;
+        }
+    }
+    
+    p_ndrxj_Java_org_endurox_TypedUbf_tpjsontoubf(v0, v1, v2);
+}
+
+/**
+ * Auto generated
+ */
+expublic jstring JNICALL Java_org_endurox_TypedUbf_tpubftojson (JNIEnv * v0,  jobject v1)
+{
+    if (!M_lib_init)
+    {
+        if (EXSUCCEED!=ndrxj_lib_init(v0))
+        {
+            return (jstring)0;
+        }
+    }
+    
+    return p_ndrxj_Java_org_endurox_TypedUbf_tpubftojson(v0, v1);
+}
+
+/**
+ * Auto generated
+ */
+expublic void JNICALL Java_org_endurox_TypedUbf_tpjsontoubfArrC (JNIEnv * v0,  jobject v1,  jbyteArray v2,  jint v3,  jint v4)
+{
+    if (!M_lib_init)
+    {
+        if (EXSUCCEED!=ndrxj_lib_init(v0))
+        {
+            return;
+        }
+    }
+    
+    p_ndrxj_Java_org_endurox_TypedUbf_tpjsontoubfArrC(v0, v1, v2, v3, v4);
+}
+
+/**
+ * Auto generated
+ */
+expublic void JNICALL Java_org_endurox_TypedUbf_tpjsontoubfDirectC (JNIEnv * v0,  jobject v1,  jobject v2,  jint v3,  jint v4)
+{
+    if (!M_lib_init)
+    {
+        if (EXSUCCEED!=ndrxj_lib_init(v0))
+        {
+            return;
+        }
+    }
+    
+    p_ndrxj_Java_org_endurox_TypedUbf_tpjsontoubfDirectC(v0, v1, v2, v3, v4);
+}
+
+/**
+ * Auto generated
+ */
+expublic jint JNICALL Java_org_endurox_TypedUbf_tpubftojsonArrC (JNIEnv * v0,  jobject v1,  jbyteArray v2,  jint v3,  jint v4)
+{
+    if (!M_lib_init)
+    {
+        if (EXSUCCEED!=ndrxj_lib_init(v0))
+        {
+            return (jint)0;
+        }
+    }
+    
+    return p_ndrxj_Java_org_endurox_TypedUbf_tpubftojsonArrC(v0, v1, v2, v3, v4);
+}
+
+/**
+ * Auto generated
+ */
+expublic jint JNICALL Java_org_endurox_TypedUbf_tpubftojsonDirectC (JNIEnv * v0,  jobject v1,  jobject v2,  jint v3,  jint v4)
+{
+    if (!M_lib_init)
+    {
+        if (EXSUCCEED!=ndrxj_lib_init(v0))
+        {
+            return (jint)0;
+        }
+    }
+    
+    return p_ndrxj_Java_org_endurox_TypedUbf_tpubftojsonDirectC(v0, v1, v2, v3, v4);
+}
+
+/**
+ * Auto generated
+ */
+expublic jbyteArray JNICALL Java_org_endurox_TypedUbf_tpubftojsonBytes (JNIEnv * v0,  jobject v1)
+{
+    if (!M_lib_init)
+    {
+        if (EXSUCCEED!=ndrxj_lib_init(v0))
+        {
+            return (jbyteArray)0;
+        }
+    }
+    
+    return p_ndrxj_Java_org_endurox_TypedUbf_tpubftojsonBytes(v0, v1);
+}
+
+/**
+ * Auto generated
+ */
+expublic void JNICALL Java_org_endurox_TypedUbf_tplogprintubf (JNIEnv * v0,  jobject v1,  jint v2,  jstring v3)
+{
+    if (!M_lib_init)
+    {
+        if (EXSUCCEED!=ndrxj_lib_init(v0))
+        {
+            return;
+        }
+    }
+    
+    p_ndrxj_Java_org_endurox_TypedUbf_tplogprintubf(v0, v1, v2, v3);
+}
+
+/**
+ * Auto generated
+ */
+expublic jint JNICALL Java_org_endurox_TypedUbf_Bnum (JNIEnv * v0,  jobject v1)
+{
+    if (!M_lib_init)
+    {
+        if (EXSUCCEED!=ndrxj_lib_init(v0))
+        {
+            return (jint)0;
+        }
+    }
+    
+    return p_ndrxj_Java_org_endurox_TypedUbf_Bnum(v0, v1);
+}
+
+/**
+ * Auto generated
+ */
+expublic void JNICALL Java_org_endurox_TypedUbf_Bjoin (JNIEnv * v0,  jobject v1,  jobject v2)
+{
+    if (!M_lib_init)
+    {
+        if (EXSUCCEED!=ndrxj_lib_init(v0))
+        {
+            return;
+        }
+    }
+    
+    p_ndrxj_Java_org_endurox_TypedUbf_Bjoin(v0, v1, v2);
+}
+
+/**
+ * Auto generated
+ */
+expublic void JNICALL Java_org_endurox_TypedUbf_Bojoin (JNIEnv * v0,  jobject v1,  jobject v2)
+{
+    if (!M_lib_init)
+    {
+        if (EXSUCCEED!=ndrxj_lib_init(v0))
+        {
+            return;
+        }
+    }
+    
+    p_ndrxj_Java_org_endurox_TypedUbf_Bojoin(v0, v1, v2);
+}
+
+/**
+ * Auto generated
+ */
+expublic void JNICALL Java_org_endurox_TypedView_Bvchg__Ljava_lang_String_2IS (JNIEnv * v0,  jobject v1,  jstring v2,  jint v3,  jshort v4)
+{
+    if (!M_lib_init)
+    {
+        if (EXSUCCEED!=ndrxj_lib_init(v0))
+        {
+            return;
+        }
+    }
+    
+    p_ndrxj_Java_org_endurox_TypedView_Bvchg__Ljava_lang_String_2IS(v0, v1, v2, v3, v4);
+}
+
+/**
+ * Auto generated
+ */
+expublic void JNICALL Java_org_endurox_TypedView_Bvchg__Ljava_lang_String_2IJ (JNIEnv * v0,  jobject v1,  jstring v2,  jint v3,  jlong v4)
+{
+    if (!M_lib_init)
+    {
+        if (EXSUCCEED!=ndrxj_lib_init(v0))
+        {
+            return;
+        }
+    }
+    
+    p_ndrxj_Java_org_endurox_TypedView_Bvchg__Ljava_lang_String_2IJ(v0, v1, v2, v3, v4);
+}
+
+/**
+ * Auto generated
+ */
+expublic void JNICALL Java_org_endurox_TypedView_Bvchg__Ljava_lang_String_2IB (JNIEnv * v0,  jobject v1,  jstring v2,  jint v3,  jbyte v4)
+{
+    if (!M_lib_init)
+    {
+        if (EXSUCCEED!=ndrxj_lib_init(v0))
+        {
+            return;
+        }
+    }
+    
+    p_ndrxj_Java_org_endurox_TypedView_Bvchg__Ljava_lang_String_2IB(v0, v1, v2, v3, v4);
+}
+
+/**
+ * Auto generated
+ */
+expublic void JNICALL Java_org_endurox_TypedView_Bvchg__Ljava_lang_String_2IF (JNIEnv * v0,  jobject v1,  jstring v2,  jint v3,  jfloat v4)
+{
+    if (!M_lib_init)
+    {
+        if (EXSUCCEED!=ndrxj_lib_init(v0))
+        {
+            return;
+        }
+    }
+    
+    p_ndrxj_Java_org_endurox_TypedView_Bvchg__Ljava_lang_String_2IF(v0, v1, v2, v3, v4);
+}
+
+/**
+ * Auto generated
+ */
+expublic void JNICALL Java_org_endurox_TypedView_Bvchg__Ljava_lang_String_2ID (JNIEnv * v0,  jobject v1,  jstring v2,  jint v3,  jdouble v4)
+{
+    if (!M_lib_init)
+    {
+        if (EXSUCCEED!=ndrxj_lib_init(v0))
+        {
+            return;
+        }
+    }
+    
+    p_ndrxj_Java_org_endurox_TypedView_Bvchg__Ljava_lang_String_2ID(v0, v1, v2, v3, v4);
+}
+
+/**
+ * Auto generated
+ */
+expublic void JNICALL Java_org_endurox_TypedView_Bvchg__Ljava_lang_String_2ILjava_lang_String_2 (JNIEnv * v0,  jobject v1,  jstring v2,  jint v3,  jstring v4)
+{
+    if (!M_lib_init)
+    {
+        if (EXSUCCEED!=ndrxj_lib_init(v0))
+        {
+            return;
+        }
+    }
+    
+    p_ndrxj_Java_org_endurox_TypedView_Bvchg__Ljava_lang_String_2ILjava_lang_String_2(v0, v1, v2, v3, v4);
+}
+
+/**
+ * Auto generated
+ */
+expublic void JNICALL Java_org_endurox_TypedView_Bvchg__Ljava_lang_String_2I_3B (JNIEnv * v0,  jobject v1,  jstring v2,  jint v3,  jbyteArray v4)
+{
+    if (!M_lib_init)
+    {
+        if (EXSUCCEED!=ndrxj_lib_init(v0))
+        {
+            return;
+        }
+    }
+    
+    p_ndrxj_Java_org_endurox_TypedView_Bvchg__Ljava_lang_String_2I_3B(v0, v1, v2, v3, v4);
+}
+
+/**
+ * Auto generated
+ */
+expublic jshort JNICALL Java_org_endurox_TypedView_BvgetShort (JNIEnv * v0,  jobject v1,  jstring v2,  jint v3)
+{
+    if (!M_lib_init)
+    {
+        if (EXSUCCEED!=ndrxj_lib_init(v0))
+        {
+            return (jshort)0;
+        }
+    }
+    
+    return p_ndrxj_Java_org_endurox_TypedView_BvgetShort(v0, v1, v2, v3);
+}
+
+/**
+ * Auto generated
+ */
+expublic jlong JNICALL Java_org_endurox_TypedView_BvgetLong (JNIEnv * v0,  jobject v1,  jstring v2,  jint v3)
+{
+    if (!M_lib_init)
+    {
+        if (EXSUCCEED!=ndrxj_lib_init(v0))
+        {
+            return (jlong)0;
+        }
+    }
+    
+    return p_ndrxj_Java_org_endurox_TypedView_BvgetLong(v0, v1, v2, v3);
+}
+
+/**
+ * Auto generated
+ */
+expublic jbyte JNICALL Java_org_endurox_TypedView_BvgetByte (JNIEnv * v0,  jobject v1,  jstring v2,  jint v3)
+{
+    if (!M_lib_init)
+    {
+        if (EXSUCCEED!=ndrxj_lib_init(v0))
+        {
+            return (jbyte)0;
+        }
+    }
+    
+    return p_ndrxj_Java_org_endurox_TypedView_BvgetByte(v0, v1, v2, v3);
+}
+
+/**
+ * Auto generated
+ */
+expublic jfloat JNICALL Java_org_endurox_TypedView_BvgetFloat (JNIEnv * v0,  jobject v1,  jstring v2,  jint v3)
+{
+    if (!M_lib_init)
+    {
+        if (EXSUCCEED!=ndrxj_lib_init(v0))
+        {
+            return (jfloat)0;
+        }
+    }
+    
+    return p_ndrxj_Java_org_endurox_TypedView_BvgetFloat(v0, v1, v2, v3);
+}
+
+/**
+ * Auto generated
+ */
+expublic jdouble JNICALL Java_org_endurox_TypedView_BvgetDouble (JNIEnv * v0,  jobject v1,  jstring v2,  jint v3)
+{
+    if (!M_lib_init)
+    {
+        if (EXSUCCEED!=ndrxj_lib_init(v0))
+        {
+            return (jdouble)0;
+        }
+    }
+    
+    return p_ndrxj_Java_org_endurox_TypedView_BvgetDouble(v0, v1, v2, v3);
+}
+
+/**
+ * Auto generated
+ */
+expublic jstring JNICALL Java_org_endurox_TypedView_BvgetString (JNIEnv * v0,  jobject v1,  jstring v2,  jint v3)
+{
+    if (!M_lib_init)
+    {
+        if (EXSUCCEED!=ndrxj_lib_init(v0))
+        {
+            return (jstring)0;
+        }
+    }
+    
+    return p_ndrxj_Java_org_endurox_TypedView_BvgetString(v0, v1, v2, v3);
+}
+
+/**
+ * Auto generated
+ */
+expublic jbyteArray JNICALL Java_org_endurox_TypedView_BvgetByteArr (JNIEnv * v0,  jobject v1,  jstring v2,  jint v3)
+{
+    if (!M_lib_init)
+    {
+        if (EXSUCCEED!=ndrxj_lib_init(v0))
+        {
+            return (jbyteArray)0;
+        }
+    }
+    
+    return p_ndrxj_Java_org_endurox_TypedView_BvgetByteArr(v0, v1, v2, v3);
+}
+
+/**
+ * Auto generated
+ */
+expublic jint JNICALL Java_org_endurox_TypedView_Bvoccur (JNIEnv * v0,  jobject v1,  jstring v2)
+{
+    if (!M_lib_init)
+    {
+        if (EXSUCCEED!=ndrxj_lib_init(v0))
+        {
+            return (jint)0;
+        }
+    }
+    
+    return p_ndrxj_Java_org_endurox_TypedView_Bvoccur(v0, v1, v2);
+}
+
+/**
+ * Auto generated
+ */
+expublic void JNICALL Java_org_endurox_TypedView_Bvsetoccur (JNIEnv * v0,  jobject v1,  jstring v2,  jint v3)
+{
+    if (!M_lib_init)
+    {
+        if (EXSUCCEED!=ndrxj_lib_init(v0))
+        {
+            return;
+        }
+    }
+    
+    p_ndrxj_Java_org_endurox_TypedView_Bvsetoccur(v0, v1, v2, v3);
+}
+
+/**
+ * Auto generated
+ */
+expublic jboolean JNICALL Java_org_endurox_TypedView_Bvnull (JNIEnv * v0,  jobject v1,  jstring v2,  jint v3)
+{
+    if (!M_lib_init)
+    {
+        if (EXSUCCEED!=ndrxj_lib_init(v0))
+        {
+            return (jboolean)0;
+        }
+    }
+    
+    return p_ndrxj_Java_org_endurox_TypedView_Bvnull(v0, v1, v2, v3);
+}
+
+/**
+ * Auto generated
+ */
+expublic void JNICALL Java_org_endurox_TypedView_Bvselinit (JNIEnv * v0,  jobject v1,  jstring v2)
+{
+    if (!M_lib_init)
+    {
+        if (EXSUCCEED!=ndrxj_lib_init(v0))
+        {
+            return;
+        }
+    }
+    
+    p_ndrxj_Java_org_endurox_TypedView_Bvselinit(v0, v1, v2);
+}
+
+/**
+ * Auto generated
+ */
+expublic void JNICALL Java_org_endurox_TypedView_Bvsinit (JNIEnv * v0,  jobject v1)
+{
+    if (!M_lib_init)
+    {
+        if (EXSUCCEED!=ndrxj_lib_init(v0))
+        {
+            return;
+        }
+    }
+    
+    p_ndrxj_Java_org_endurox_TypedView_Bvsinit(v0, v1);
+}
+
+/**
+ * Auto generated
+ */
+expublic jlongArray JNICALL Java_org_endurox_TypedView_BvfieldC (JNIEnv * v0,  jobject v1,  jstring v2)
+{
+    if (!M_lib_init)
+    {
+        if (EXSUCCEED!=ndrxj_lib_init(v0))
+        {
+            return (jlongArray)0;
+        }
+    }
+    
+    return p_ndrxj_Java_org_endurox_TypedView_BvfieldC(v0, v1, v2);
+}
+
+/**
+ * Auto generated
+ */
+expublic jshort JNICALL Java_org_endurox_TypedView_BvgetShortAtC (JNIEnv * v0,  jobject v1,  jint v2,  jlong v3)
+{
+    if (!M_lib_init)
+    {
+        if (EXSUCCEED!=ndrxj_lib_init(v0))
+        {
+            return (jshort)0;
+        }
+    }
+    
+    return p_ndrxj_Java_org_endurox_TypedView_BvgetShortAtC(v0, v1, v2, v3);
+}
+
+/**
+ * Auto generated
+ */
+expublic jlong JNICALL Java_org_endurox_TypedView_BvgetLongAtC (JNIEnv * v0,  jobject v1,  jint v2,  jlong v3)
+{
+    if (!M_lib_init)
+    {
+        if (EXSUCCEED!=ndrxj_lib_init(v0))
+        {
+            return (jlong)0;
+        }
+    }
+    
+    return p_ndrxj_Java_org_endurox_TypedView_BvgetLongAtC(v0, v1, v2, v3);
+}
+
+/**
+ * Auto generated
+ */
+expublic jbyte JNICALL Java_org_endurox_TypedView_BvgetByteAtC (JNIEnv * v0,  jobject v1,  jint v2,  jlong v3)
+{
+    if (!M_lib_init)
+    {
+        if (EXSUCCEED!=ndrxj_lib_init(v0))
+        {
+            return (jbyte)0;
+        }
+    }
+    
+    return p_ndrxj_Java_org_endurox_TypedView_BvgetByteAtC(v0, v1, v2, v3);
+}
+
+/**
+ * Auto generated
+ */
+expublic jfloat JNICALL Java_org_endurox_TypedView_BvgetFloatAtC (JNIEnv * v0,  jobject v1,  jint v2,  jlong v3)
+{
+    if (!M_lib_init)
+    {
+        if (EXSUCCEED!=ndrxj_lib_init(v0))
+        {
+            return (jfloat)0;
+        }
+    }
+    
+    return p_ndrxj_Java_org_endurox_TypedView_BvgetFloatAtC(v0, v1, v2, v3);
+}
+
+/**
+ * Auto generated
+ */
+expublic jdouble JNICALL Java_org_endurox_TypedView_BvgetDoubleAtC (JNIEnv * v0,  jobject v1,  jint v2,  jlong v3)
+{
+    if (!M_lib_init)
+    {
+        if (EXSUCCEED!=ndrxj_lib_init(v0))
+        {
+            return (jdouble)0;
+        }
+    }
+    
+    return p_ndrxj_Java_org_endurox_TypedView_BvgetDoubleAtC(v0, v1, v2, v3);
+}
+
+/**
+ * Auto generated
+ */
+expublic jstring JNICALL Java_org_endurox_TypedView_BvgetStringAtC (JNIEnv * v0,  jobject v1,  jint v2,  jlong v3,  jint v4)
+{
+    if (!M_lib_init)
+    {
+        if (EXSUCCEED!=ndrxj_lib_init(v0))
+        {
+            return (jstring)0;
+        }
+    }
+    
+    return p_ndrxj_Java_org_endurox_TypedView_BvgetStringAtC(v0, v1, v2, v3, v4);
+}
+
+/**
+ * Auto generated
+ */
+expublic jbyteArray JNICALL Java_org_endurox_TypedView_BvgetByteArrAtC (JNIEnv * v0,  jobject v1,  jint v2,  jlong v3,  jint v4)
+{
+    if (!M_lib_init)
+    {
+        if (EXSUCCEED!=ndrxj_lib_init(v0))
+        {
+            return (jbyteArray)0;
+        }
+    }
+    
+    return p_ndrxj_Java_org_endurox_TypedView_BvgetByteArrAtC(v0, v1, v2, v3, v4);
+}
+
+/**
+ * Auto generated
+ */
+expublic void JNICALL Java_org_endurox_TypedView_BvchgAtC__IJS (JNIEnv * v0,  jobject v1,  jint v2,  jlong v3,  jshort v4)
+{
+    if (!M_lib_init)
+    {
+        if (EXSUCCEED!=ndrxj_lib_init(v0))
+        {
+            return;
+        }
+    }
+    
+    p_ndrxj_Java_org_endurox_TypedView_BvchgAtC__IJS(v0, v1, v2, v3, v4);
+}
+
+/**
+ * Auto generated
+ */
+expublic void JNICALL Java_org_endurox_TypedView_BvchgAtC__IJJ (JNIEnv * v0,  jobject v1,  jint v2,  jlong v3,  jlong v4)
+{
+    if (!M_lib_init)
+    {
+        if (EXSUCCEED!=ndrxj_lib_init(v0))
+        {
+            return;
+        }
+    }
+    
+    p_ndrxj_Java_org_endurox_TypedView_BvchgAtC__IJJ(v0, v1, v2, v3, v4);
+}
+
+/**
+ * Auto generated
+ */
+expublic void JNICALL Java_org_endurox_TypedView_BvchgAtC__IJB (JNIEnv * v0,  jobject v1,  jint v2,  jlong v3,  jbyte v4)
+{
+    if (!M_lib_init)
+    {
+        if (EXSUCCEED!=ndrxj_lib_init(v0))
+        {
+            return;
+        }
+    }
+    
+    p_ndrxj_Java_org_endurox_TypedView_BvchgAtC__IJB(v0, v1, v2, v3, v4);
+}
+
+/**
+ * Auto generated
+ */
+expublic void JNICALL Java_org_endurox_TypedView_BvchgAtC__IJF (JNIEnv * v0,  jobject v1,  jint v2,  jlong v3,  jfloat v4)
+{
+    if (!M_lib_init)
+    {
+        if (EXSUCCEED!=ndrxj_lib_init(v0))
+        {
+            return;
+        }
+    }
+    
+    p_ndrxj_Java_org_endurox_TypedView_BvchgAtC__IJF(v0, v1, v2, v3, v4);
+}
+
+/**
+ * Auto generated
+ */
+expublic void JNICALL Java_org_endurox_TypedView_BvchgAtC__IJD (JNIEnv * v0,  jobject v1,  jint v2,  jlong v3,  jdouble v4)
+{
+    if (!M_lib_init)
+    {
+        if (EXSUCCEED!=ndrxj_lib_init(v0))
+        {
+            return;
+        }
+    }
+    
+    p_ndrxj_Java_org_endurox_TypedView_BvchgAtC__IJD(v0, v1, v2, v3, v4);
+}
+
+/**
+ * Auto generated
+ */
+expublic void JNICALL Java_org_endurox_TypedView_BvchgAtC__IJILjava_lang_String_2 (JNIEnv * v0,  jobject v1,  jint v2,  jlong v3,  jint v4,  jstring v5)
+{
+    if (!M_lib_init)
+    {
+        if (EXSUCCEED!=ndrxj_lib_init(v0))
+        {
+            return;
+        }
+    }
+    
+    p_ndrxj_Java_org_endurox_TypedView_BvchgAtC__IJILjava_lang_String_2(v0, v1, v2, v3, v4, v5);
+}
+
+/**
+ * Auto generated
+ */
+expublic void JNICALL Java_org_endurox_TypedView_BvchgAtC__IJI_3B (JNIEnv * v0,  jobject v1,  jint v2,  jlong v3,  jint v4,  jbyteArray v5)
+{
+    if (!M_lib_init)
+    {
+        if (EXSUCCEED!=ndrxj_lib_init(v0))
+        {
+            return;
+        }
+    }
+    
+    p_ndrxj_Java_org_endurox_TypedView_BvchgAtC__IJI_3B(v0, v1, v2, v3, v4, v5);
 }
 
 #undef __USE_GNU
@@ -69,11 +69,13 @@
  * @param idata input data buffer into which to install output data (or reallocated
  *  this to new buffer returned)
  * @param flags dequeue flags
+ * @param nomsg_null if EXTRUE, empty queue (QMENOMSG) is not thrown, but NULL
+ *  is returned and \p jqctl diagnostic is set
  * @return Dequeued data buffer object
  */
 exprivate jobject tpdequeue_int (JNIEnv * env, jobject atmiCtxObj, jstring jqspace, 
         jshort nodeid, jshort srvid, jstring jqname, jobject jqctl, 
-        jobject idata, jlong flags)
+        jobject idata, jlong flags, int nomsg_null)
 {
     /* convert jqctl to C */
     jobject retObj = NULL;
@@ -179,6 +181,12 @@ exprivate jobject tpdequeue_int (JNIEnv * env, jobject atmiCtxObj, jstring jqspa
                 NDRX_LOG(log_error, "ndrxj_atmi_TPQCTL_translate2java failed - continue");
             }
 
+            /* empty queue is expected by pollers */
+            if (nomsg_null && TPEDIAGNOSTIC==err && QMENOMSG==q.diagnostic)
+            {
+                goto out;
+            }
+
             /* nothing todo: continue with old object.. */
             ndrxj_atmi_throw(env, idata, jqctl, err, "%s", errbuf);
             goto out;
@@ -204,6 +212,11 @@ exprivate jobject tpdequeue_int (JNIEnv * env, jobject atmiCtxObj, jstring jqspa
                 NDRX_LOG(log_error, "ndrxj_atmi_TPQCTL_translate2java failed - continue");
             }
 
+            if (nomsg_null && TPEDIAGNOSTIC==err && QMENOMSG==q.diagnostic)
+            {
+                goto out;
+            }
+
             ndrxj_atmi_throw(env, idata, jqctl, err, "%s", errbuf);
             goto out;
 
@@ -249,7 +262,7 @@ expublic jobject JNICALL ndrxj_Java_org_endurox_AtmiCtx_tpdequeue
         jobject jqctl, jobject idata, jlong flags)
 {
     return tpdequeue_int (env, atmiCtxObj, jqspace, 
-          EXFAIL, EXFAIL, jqname, jqctl, idata, flags);
+          EXFAIL, EXFAIL, jqname, jqctl, idata, flags, EXFALSE);
 }
 /**
  * Dequeue message
@@ -268,7 +281,27 @@ expublic jobject JNICALL ndrxj_Java_org_endurox_AtmiCtx_tpdequeueex
         jstring jqname, jobject jqctl, jobject idata, jlong flags)
 {
     return tpdequeue_int (env, atmiCtxObj, NULL, 
-          nodeid, srvid, jqname, jqctl, idata, flags);
+          nodeid, srvid, jqname, jqctl, idata, flags, EXFALSE);
+}
+
+/**
+ * Dequeue message, empty queue is not reported as exception
+ * @param env java env
+ * @param atmiCtxObj ATMI Context
+ * @param jqspace queue space name
+ * @param jqname queue name
+ * @param jqctl queue control struct (will be updated)
+ * @param idata input buffer may be-reused on return
+ * @param flags flags
+ * @return output buffer or NULL, if queue is empty (jqctl diagnostic is
+ *  QMENOMSG)
+ */
+expublic jobject JNICALL ndrxj_Java_org_endurox_AtmiCtx_tpdequeueNoMsgC
+  (JNIEnv * env, jobject atmiCtxObj, jstring jqspace, jstring jqname, 
+        jobject jqctl, jobject idata, jlong flags)
+{
+    return tpdequeue_int (env, atmiCtxObj, jqspace, 
+          EXFAIL, EXFAIL, jqname, jqctl, idata, flags, EXTRUE);
 }
 
 /* vim: set ts=4 sw=4 et smartindent: */
@@ -40,6 +40,7 @@
 #include <jni.h>
 #include <errno.h>
 #include <stdlib.h>
+#include <string.h>
 #include <exjglue.h>
 #include <atmi.h>
 #include <oatmi.h>
@@ -228,4 +229,149 @@ JNIEXPORT void JNICALL ndrxj_Java_org_endurox_AtmiCtx_tpenqueueex
         idata, flags);
 }
 
+/**
+ * Enqueue series of messages with the same control block template.
+ * Template is converted to C once. Enqueue stops at first failure, for
+ * which exception is thrown with failed buffer and its control block
+ * (as new object). Messages enqueued before the failure stay enqueued,
+ * unless caller runs the batch in transaction.
+ * @param env java env
+ * @param atmiCtxObj Atmi Context
+ * @param jqspace queue space
+ * @param jqname queue name
+ * @param jbufs buffers to enqueue
+ * @param jqctl queue control template (not updated)
+ * @param flags queue flags
+ * @return msgids of the enqueued messages, TMMSGIDLEN bytes per message
+ */
+expublic jbyteArray JNICALL ndrxj_Java_org_endurox_AtmiCtx_tpenqueueBatchC
+  (JNIEnv * env, jobject atmiCtxObj, jstring jqspace, jstring jqname, 
+        jobjectArray jbufs, jobject jqctl, jlong flags)
+{
+    TPQCTL tmpl;
+    TPQCTL q;
+    int ret = EXSUCCEED;
+    TPCONTEXT_T ctx;
+    char *ibuf;
+    long ilen;
+    char qspace[MAXTIDENT+1];
+    char qname[TMQNAMELEN+1];
+    jsize i;
+    jsize n = 0;
+    char *msgids = NULL;
+    jbyteArray jret = NULL;
+    jobject idata;
+    
+    /* get context & set */
+    if (NULL==(ctx = ndrxj_get_ctx(env, atmiCtxObj, EXTRUE)))
+    {
+        goto out;
+    }
+    
+    if (NULL==jqspace || NULL==jqname || NULL==jqctl || NULL==jbufs)
+    {
+        ndrxj_atmi_throw(env, NULL, NULL, TPEINVAL, "Null argument: "
+                "jqspace/jqname/jqctl/jbufs");
+        EXFAIL_OUT(ret);
+    }
+    
+    if (EXSUCCEED!=ndrxj_cvt_jstr_to_c(env, 
+            atmiCtxObj, jqspace, qspace, sizeof(qspace)))
+    {
+        NDRX_LOG(log_error, "Failed to convert qspace to C");
+        EXFAIL_OUT(ret);
+    }
+    
+    if (EXSUCCEED!=ndrxj_cvt_jstr_to_c(env, 
+            atmiCtxObj, jqname, qname, sizeof(qname)))
+    {
+        NDRX_LOG(log_error, "Failed to convert qname to C");
+        EXFAIL_OUT(ret);
+    }
+    
+    if (EXSUCCEED!=ndrxj_atmi_TPQCTL_translate2c(env, atmiCtxObj, jqctl, 
+            &tmpl, NULL))
+    {
+        NDRX_LOG(log_error, "ndrxj_atmi_TPQCTL_translate2c failed");
+        EXFAIL_OUT(ret);
+    }
+    
+    n = (*env)->GetArrayLength(env, jbufs);
+    
+    if (NULL==(msgids = NDRX_MALLOC(TMMSGIDLEN * (n > 0 ? n : 1))))
+    {
+        int err = errno;
+        ndrxj_atmi_throw(env, NULL, NULL, TPEOS, "Failed to malloc %d msgids: %s",
+                (int)n, strerror(err));
+        EXFAIL_OUT(ret);
+    }
+    
+    NDRX_LOG(log_debug, "batch tpenqueue of %d msgs on [%s]/[%s]", 
+            (int)n, qspace, qname);
+    
+    for (i=0; i<n; i++)
+    {
+        idata = (*env)->GetObjectArrayElement(env, jbufs, i);
+        
+        if (EXSUCCEED!=ndrxj_atmi_TypedBuffer_get_buffer(env, idata, &ibuf, 
+                &ilen, NULL, EXFALSE, EXFALSE))
+        {
+            NDRX_LOG(log_error, "Failed to get data buffer %d!", (int)i);
+            EXFAIL_OUT(ret);
+        }
+        
+        memcpy(&q, &tmpl, sizeof(q));
+        
+        if (EXSUCCEED!=tpenqueue(qspace, qname, &q, ibuf, ilen, flags))
+        {
+            int err = tperrno;
+            char errbuf[MAX_ERROR_LEN+1];
+            jobject jfailctl;
+
+            NDRX_LOG(log_debug, "tpenqueue of msg %d failed with %d", 
+                    (int)i, err);
+
+            NDRX_STRCPY_SAFE(errbuf, tpstrerror(err));
+            
+            if (NULL==(jfailctl = ndrxj_atmi_TPQCTL_translate2java(env, 
+                    atmiCtxObj, NULL, &q)))
+            {
+                NDRX_LOG(log_error, "ndrxj_atmi_TPQCTL_translate2java failed");
+                EXFAIL_OUT(ret);
+            }
+
+            ndrxj_atmi_throw(env, idata, jfailctl, err, "msg %d: %s", 
+                    (int)i, errbuf);
+            EXFAIL_OUT(ret);
+        }
+        
+        memcpy(msgids + i*TMMSGIDLEN, q.msgid, TMMSGIDLEN);
+        
+        /* batches may be large */
+        (*env)->DeleteLocalRef(env, idata);
+    }
+    
+    if (NULL==(jret = (*env)->NewByteArray(env, n*TMMSGIDLEN)))
+    {
+        NDRX_LOG(log_error, "Failed to allocate msgid array");
+        EXFAIL_OUT(ret);
+    }
+    
+    (*env)->SetByteArrayRegion(env, jret, 0, n*TMMSGIDLEN, (jbyte *)msgids);
+    
+out:
+
+    NDRX_LOG(log_debug, "returns %d", ret);
+    
+    if (NULL!=msgids)
+    {
+        NDRX_FREE(msgids);
+    }
+
+    /* unset context */
+    tpsetctxt(TPNULLCONTEXT, 0L);
+    
+    return jret;
+}
+
 /* vim: set ts=4 sw=4 et smartindent: */
@@ -77,11 +77,35 @@
 expublic int ndrxj_cvt_to_c(JNIEnv *env, 
             jobject ctx_obj, exjobjmap_t *tab, char *clzstr,
             jobject jobj, void *cobj)
+{
+    return ndrxj_cvt_to_c_mask(env, ctx_obj, tab, clzstr, jobj, cobj, 0);
+}
+
+/**
+ * Convert Java object to C, only fields matching the mask
+ * @param env java env
+ * @param ctx_obj ATMI context
+ * @param tab conversion table, terminated with null field
+ * @param clzstr class string
+ * @param jobj java object
+ * @param cobj c object
+ * @param mask fields to convert (by tab flags), 0 - all. Fields with
+ *  0 flags are always converted.
+ * @return EXSUCCEED/EXFAIL (exception set)
+ */
+expublic int ndrxj_cvt_to_c_mask(JNIEnv *env, 
+            jobject ctx_obj, exjobjmap_t *tab, char *clzstr,
+            jobject jobj, void *cobj, long mask)
 {
     int ret = EXSUCCEED;
     
-    while (tab->field)
+    for (; tab->field; tab++)
     {
+        if (0!=mask && 0!=tab->flags && !(tab->flags & mask))
+        {
+            continue;
+        }
+        
         /* read the field accordingly */
         if (0==strcmp(tab->ftype, "J"))
         {
@@ -176,8 +200,6 @@ expublic int ndrxj_cvt_to_c(JNIEnv *env,
                 memset(cmem, 0, tab->csz);
             }
         } /* if [B */
-        
-        tab++;
     }
     
 out:
@@ -203,11 +225,36 @@ out:
 expublic int ndrxj_cvt_to_java(JNIEnv *env, 
             jobject ctx_obj, exjobjmap_t *tab, char *clzstr,
             void *cobj, jobject jobj)
+{
+    return ndrxj_cvt_to_java_mask(env, ctx_obj, tab, clzstr, cobj, jobj, 0);
+}
+
+/**
+ * Convert C object to Java, only fields matching the mask.
+ * In mask mode existing byte arrays of matching size are updated in place.
+ * @param env java env
+ * @param ctx_obj ATMI context
+ * @param tab conversion table, terminated with null field
+ * @param clzstr class string
+ * @param cobj c object
+ * @param jobj java object
+ * @param mask fields to convert (by tab flags), 0 - all. Fields with
+ *  0 flags are always converted.
+ * @return EXSUCCEED/EXFAIL (exception set)
+ */
+expublic int ndrxj_cvt_to_java_mask(JNIEnv *env, 
+            jobject ctx_obj, exjobjmap_t *tab, char *clzstr,
+            void *cobj, jobject jobj, long mask)
 {
     int ret = EXSUCCEED;
     
-    while (tab->field)
+    for (; tab->field; tab++)
     {
+        if (0!=mask && 0!=tab->flags && !(tab->flags & mask))
+        {
+            continue;
+        }
+        
         /* read the field accordingly */
         if (0==strcmp(tab->ftype, "J"))
         {
@@ -225,6 +272,23 @@ expublic int ndrxj_cvt_to_java(JNIEnv *env,
         {
             char *cfld = ((char *)cobj)+tab->coffset;
             jbyteArray jb = NULL;
+            
+            if (0!=mask)
+            {
+                jb = (jbyteArray)(*env)->GetObjectField(env, jobj, *tab->fid);
+                
+                if (NULL!=jb && (*env)->GetArrayLength(env, jb)==tab->csz)
+                {
+                    (*env)->SetByteArrayRegion(env, jb, 0, tab->csz, (jbyte*)cfld);
+                    (*env)->DeleteLocalRef( env, jb);
+                    continue;
+                }
+                
+                if (NULL!=jb)
+                {
+                    (*env)->DeleteLocalRef( env, jb);
+                }
+            }
     
             jb = (*env)->NewByteArray(env, (jsize)tab->csz);
 
@@ -242,8 +306,6 @@ expublic int ndrxj_cvt_to_java(JNIEnv *env,
             (*env)->DeleteLocalRef( env, jb);
 
         } /* if [B */
-        
-        tab++;
     }
     
 out:
@@ -63,23 +63,28 @@
  * JSON to parse is following:
  * 
  * {"class":"org.postgresql.xa.PGXADataSource", "props":{"PROP":"VAL", "PROP2":"VAL2"}, 
- *  "set":{"SetHost":"192.168.0.1", "SetPort":"7777"}}
+ *  "set":{"SetHost":"192.168.0.1", "SetPort":"7777"},
+ *  "pool":{"maxsize":"50", "minidle":"5"}}
  * 
  * Output is following:
  * class = "org.postgresql.xa.PGXADataSource"
  * set = ["SetHost<FS>192.168.0.1","SetPort<FS>7777"]
  * props = ["PROP<FS>VAL", "PROP2<FS>VAL2"]
+ * pool = ["maxsize<FS>50", "minidle<FS>5"]
  * 
  * @param [in] buffer - json text to parse
  * @param [out[ sets - parsed set commands. The key/value separator
  *  is "\n" - newline.
  * @param [out] nrsets number of strings loaded in sets
+ * @param [out] pool XA connection pool settings, key/value separated as sets.
+ *  If not set, connections are not pooled.
+ * @param [out] nrpool number of strings loaded in pool
  * @param [out] clazz driver class
  * @param [out] clazz_bufsz buffer size of class
  * @return SUCCEED/FAIL
  */
 expublic int ndrxj_xa_cfgparse(char *buffer, string_list_t **sets, int *nrsets, 
-        char *clazz, int clazz_bufsz)
+        string_list_t **pool, int *nrpool, char *clazz, int clazz_bufsz)
 {
     int ret = EXSUCCEED;
     EXJSON_Value *root_value=NULL;
@@ -226,6 +231,47 @@ expublic int ndrxj_xa_cfgparse(char *buffer, string_list_t **sets, int *nrsets,
                 (*nrsets)++;
             }
         } /* for settings */ 
+        else if (0==strcmp(name, "pool"))
+        {
+            typ = exjson_value_get_type(exjson_object_get_value_at(root_object, i));
+
+            if (EXJSONObject!=typ)
+            {
+                NDRX_LOG(log_error, "Invalid type %d for `pool', must be Object", 
+                        typ);
+                EXFAIL_OUT(ret);
+            }
+            
+            sub_obj = exjson_object_get_object(root_object, name);
+            sub_cnt = exjson_object_get_count(sub_obj);
+            
+            for (j=0; j<sub_cnt; j++)
+            {
+                sub_name = (char *)exjson_object_get_name(sub_obj, j);
+                typ = exjson_value_get_type(exjson_object_get_value_at(sub_obj, j));
+                
+                if (EXJSONString!=typ)
+                {
+                    NDRX_LOG(log_error, "Invalid type %d for `pool.%s', must be string", 
+                            typ, sub_name);
+                    EXFAIL_OUT(ret);
+                }
+                
+                str_val = (char *)exjson_object_get_string(sub_obj, sub_name);
+                snprintf(tmpbuf, sizeof(tmpbuf), "%s%c%s", sub_name, NDRXJ_FS, str_val);
+                
+                NDRX_LOG(log_debug, "Got pool setting: [%s]", tmpbuf);
+                
+                if (EXSUCCEED!=ndrx_string_list_add(pool, tmpbuf))
+                {
+                    NDRX_LOG(log_error, "Failed to add pool setting to list: [%s]", 
+                            tmpbuf);
+                    EXFAIL_OUT(ret);
+                }
+                
+                (*nrpool)++;
+            }
+        }
         else
         {
             NDRX_LOG(log_warn, "Skipping [%s] - unsupported", name);
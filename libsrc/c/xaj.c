@@ -115,9 +115,12 @@ expublic int ndrxj_xa_init(void)
     int ret = EXSUCCEED;
     int nrsets = 0;
     string_list_t *sets = NULL;
+    int nrpool = 0;
+    string_list_t *pool = NULL;
     char clazz[PATH_MAX] = {EXEOS};
     char *opensrv = getenv(CONF_NDRX_XA_OPEN_STR);
     jobjectArray jsets = NULL;
+    jobjectArray jpool = NULL;
     jstring jclazz = NULL;
     ndrx_ctx_priv_t *ctxpriv;
     jmethodID mid;
@@ -137,7 +140,8 @@ expublic int ndrxj_xa_init(void)
     
     /* NDRX_XA_OPEN_STR -> json */
     
-    if (EXSUCCEED!=ndrxj_xa_cfgparse(opensrv, &sets, &nrsets, clazz, sizeof(clazz)))
+    if (EXSUCCEED!=ndrxj_xa_cfgparse(opensrv, &sets, &nrsets, &pool, &nrpool,
+            clazz, sizeof(clazz)))
     {
         NDRX_LOG(log_error, "Failed to parse %s env", CONF_NDRX_XA_OPEN_STR);
         ret = TPEINVAL;
@@ -161,6 +165,14 @@ expublic int ndrxj_xa_init(void)
         goto out;
     }
     
+    if (NULL==(jpool = ndrxj_cvt_arr_c_to_java(NDRXJ_JENV(ctxpriv), 
+        pool, nrpool)))
+    {
+        NDRX_LOG(log_error, "Failed to coverts pool settings to Java");
+        ret = TPESYSTEM;
+        goto out;
+    }
+    
     /* get the class string */
     jclazz = (*(NDRXJ_JENV(ctxpriv)))->NewStringUTF(NDRXJ_JENV(ctxpriv), 
             clazz);
@@ -191,7 +203,7 @@ expublic int ndrxj_xa_init(void)
     
     mid = (*NDRXJ_JENV(ctxpriv))->GetMethodID(NDRXJ_JENV(ctxpriv), 
         ctxClass, "ndrxj_xa_init",
-        "(Ljava/lang/String;[Ljava/lang/String;)I");
+        "(Ljava/lang/String;[Ljava/lang/String;[Ljava/lang/String;)I");
     
     if (NULL==mid)
     {
@@ -205,7 +217,7 @@ expublic int ndrxj_xa_init(void)
     tpgetctxt(&ctx, 0L);
     
     ret = (*NDRXJ_JENV(ctxpriv))->CallIntMethod(NDRXJ_JENV(ctxpriv), 
-        NDRXJ_JATMICTX(ctxpriv), mid, jclazz, jsets);
+        NDRXJ_JATMICTX(ctxpriv), mid, jclazz, jsets, jpool);
 
     /* set context back... 
      * well this is not available for client processes
@@ -245,12 +257,29 @@ out:
                 jsets);
     }
 
+    if (NULL!=jpool)
+    {
+        (*NDRXJ_JENV(ctxpriv))->DeleteLocalRef(NDRXJ_JENV(ctxpriv), 
+                jpool);
+    }
+
     if (NULL!=jclazz)
     {
         (*NDRXJ_JENV(ctxpriv))->DeleteLocalRef(NDRXJ_JENV(ctxpriv), 
                 jclazz);
     }
     
+    /* parsed settings are copied to Java arrays */
+    if (NULL!=sets)
+    {
+        ndrx_string_list_free(sets);
+    }
+
+    if (NULL!=pool)
+    {
+        ndrx_string_list_free(pool);
+    }
+    
     return ret;
 }
 
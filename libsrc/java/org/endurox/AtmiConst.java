@@ -114,6 +114,16 @@ public class AtmiConst {
     public static final int BNOCNAME	= 21;
     public static final int BEBADOP	= 22;
 
+    /* UBF field types: */
+
+    public static final int BFLD_SHORT	= 0;
+    public static final int BFLD_LONG	= 1;
+    public static final int BFLD_CHAR	= 2;
+    public static final int BFLD_FLOAT	= 3;
+    public static final int BFLD_DOUBLE	= 4;
+    public static final int BFLD_STRING	= 5;
+    public static final int BFLD_CARRAY	= 6;
+
     /* Enduro/X Standard library error codes: */
 
     /** no error code set */
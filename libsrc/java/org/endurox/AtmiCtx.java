@@ -42,10 +42,14 @@ import java.io.OutputStream;
 import java.lang.reflect.Method;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.endurox.exceptions.AtmiTPEINVALException;
 import org.endurox.exceptions.AtmiTPESYSTEMException;
 
@@ -139,6 +143,41 @@ public class AtmiCtx {
      * Currently active resource
      */
     public XAResource xaRes = null;
+    
+    /**
+     * XA connection pool shared between contexts, if "pool" is configured
+     * in NDRX_XA_OPEN_STR. If null, each context opens own connection
+     * at tpopen().
+     */
+    static XaConnectionPool xaPool = null;
+    
+    /**
+     * Pooled connection bound to this context for the active transaction
+     * branch (pool mode only)
+     */
+    XaConnectionPool.Entry xaEntry = null;
+    
+    /**
+     * XA call timing statistics of the process
+     */
+    static final XaStats xaStats = new XaStats();
+    
+    /**
+     * tpopen() performed (pool mode only)
+     */
+    boolean xaOpen = false;
+    
+    /**
+     * Number of contexts with XA open in the process, statistics are
+     * dumped when last one is closed
+     */
+    static final AtomicInteger xaOpenCount = new AtomicInteger();
+    
+    /**
+     * Debug level enabled for tp logger, evaluated at xa_open, used to
+     * skip per branch debug logging
+     */
+    boolean xaLogDebug = false;
 
     /**
      * Get The C Context
@@ -184,6 +223,17 @@ public class AtmiCtx {
      */
     UnsolCallback unslcb = null;
     
+    /**
+     * Asynchronous unsolicited message dispatcher, if set
+     */
+    UnsolDispatcher unsolDisp = null;
+    
+    /**
+     * C side shall pass own copy of unsolicited message buffer (for
+     * async dispatch)
+     */
+    boolean unsolCopy = false;
+    
     
     /**
      * Server interface (if we run in server mode)
@@ -222,6 +272,37 @@ public class AtmiCtx {
      * @param ctx ATMI Context
      */
     private static native void tpfreectxt(long ctx);
+    
+    /**
+     * Configure native exception mode
+     * @param stackless create exceptions with out formatted message
+     */
+    private static native void setStacklessC(boolean stackless);
+    
+    /**
+     * Enable or disable stackless exception mode for the whole process.
+     * In stackless mode ATMI, UBF and standard library exceptions do not 
+     * collect stack trace and native side formats the error message only
+     * when it is logged (info level). The message is formatted from error
+     * code when requested by getMessage(), detailed text is available in
+     * Enduro/X logs only.
+     * Mode is useful when expected errors (e.g. \ref TypedUbf.BgetLong()
+     * for missing field or \ref tpdequeue() on empty queue) are routinely
+     * handled by catching exceptions.
+     * @param stackless true to enable stackless mode, false for default mode
+     */
+    public static void setStacklessExceptions(boolean stackless) {
+        ExceptionMode.stackless = stackless;
+        setStacklessC(stackless);
+    }
+    
+    /**
+     * Check is stackless exception mode enabled
+     * @return true if stackless exceptions are used
+     */
+    public static boolean isStacklessExceptions() {
+        return ExceptionMode.isStackless();
+    }
 
     /**
      * Allocate buffer
@@ -1028,6 +1109,32 @@ public class AtmiCtx {
      */
     public native void tpdiscon(int cd);
     
+    /**
+     * Receive data from endpoint, without allocation of the result object.
+     * Used by \ref Conversation
+     * @param cd conversation id
+     * @param idata buffer into which data is received, reused if the
+     *  received buffer type is the same
+     * @param flags TPNOBLOCK, TPSIGRSTRT, TPNOTIME
+     * @param revent event is returned at index 0
+     * @return received buffer (\p idata or new object if type is changed)
+     */
+    native TypedBuffer tprecvReuseC(int cd, TypedBuffer idata, long flags, 
+            long[] revent);
+    
+    /**
+     * Send series of buffers to the endpoint in single native call.
+     * Sending stops at first event. Used by \ref Conversation
+     * @param cd conversation id
+     * @param bufs buffers to send
+     * @param flags flags for all but the last buffer
+     * @param lastflags flags for the last buffer (e.g. TPRECVONLY)
+     * @param revent event is returned at index 0
+     * @return number of buffers sent
+     */
+    native int tpsendArrC(int cd, TypedBuffer[] bufs, long flags, 
+            long lastflags, long[] revent);
+    
     /** @} */ // end of Convers
     
     /**
@@ -1087,32 +1194,26 @@ public class AtmiCtx {
     native void BboolsetcbfC (String funcname);
     
     /**
-     * UBF expression callback mappings 
+     * UBF expression callback mappings. The map is immutable snapshot, which
+     * is replaced on each registration (copy-on-write), thus lookups from
+     * the expression evaluator does not need any locking.
      */
-    static Map<String, Bboolcbf> ubfcbMap = new HashMap<String, Bboolcbf>();
+    static volatile Map<String, Bboolcbf> ubfcbMap = 
+            Collections.unmodifiableMap(new HashMap<String, Bboolcbf>());
     
     /**
-     * Lock for hashmap of the UBF callback
+     * Lock for serializing the UBF callback registrations (writers only)
      */
-    static final Lock ubfcbMapMutex = new ReentrantLock(true);
+    static final Lock ubfcbMapMutex = new ReentrantLock();
     
     /**
-     * Get the boolean expression callback object in synchronized way
+     * Get the boolean expression callback object. Lock-free, reads current
+     * snapshot of the callback map.
      * @param funcname function for which to lookup
      * @return null if  not found, not null if object found
      */
     static Bboolcbf BoolgetcbfObj(String funcname) {
-        
-        ubfcbMapMutex.lock();
-        
-        try
-        {
-            return ubfcbMap.get(funcname);
-        }
-        finally
-        {
-            ubfcbMapMutex.unlock();
-        }
+        return ubfcbMap.get(funcname);
     }
     
     /**
@@ -1143,7 +1244,10 @@ public class AtmiCtx {
         ubfcbMapMutex.lock();
         try
         {
-            ubfcbMap.put(funcname, callback);
+            Map<String, Bboolcbf> newMap = 
+                    new HashMap<String, Bboolcbf>(ubfcbMap);
+            newMap.put(funcname, callback);
+            ubfcbMap = Collections.unmodifiableMap(newMap);
         }
         finally
         {
@@ -1155,36 +1259,65 @@ public class AtmiCtx {
     /** @} */ // end of Bbool
     
     
+    /**
+     * Return field type in string format (native version)
+     * @param bfldid compiled field id.
+     * @return returns field type string
+     */
+    native String BtypeC(int bfldid);
+    
     /**
      * Return field type in string format. The possible values are following:
      * 'short', 'long', 'char', 'float', 'double', 'string', 'carray'
+     * Results are cached process wide by \ref UbfFieldCache.
      * See Btype(3) manpage for more information.
      * @param bfldid compiled field id.
      * @return returns field type string
      * @throws UbfBTYPERRException Invalid field - 
      *  bad type extracted from oldest bits.
      */
-    public native String Btype(int bfldid);
+    public String Btype(int bfldid) {
+        return UbfFieldCache.Btype(this, bfldid);
+    }
+    
+    /**
+     * Get field name by compiled field id (native version)
+     * @param bfldid compiled filed
+     * @return String name of the field
+     */
+    native String BfnameC(int bfldid);
     
     /**
      * Get field name by give compiled field id. If field tables are bad
      * or field is not found, then output id is formatted as: "((BFLDID32)%d)"
      * where "%d" is filled with \p bfldid
+     * Resolved names are cached process wide by \ref UbfFieldCache.
      * See Bfname(3) manpage for more information.
      * @param bfldid compiled filed
      * @return String name of the field
      */
-    public native String Bfname(int bfldid);
+    public String Bfname(int bfldid) {
+        return UbfFieldCache.Bfname(this, bfldid);
+    }
     
+    /**
+     * Resolve field id from field name (native version)
+     * @param fldnm Field name
+     * @return compiled field id
+     */
+    native int BfldidC(String fldnm);
     
     /**
      * Method is used to dynamically resolve field id from given field name
+     * Resolved ids are cached process wide by \ref UbfFieldCache.
      * See Bfldid(3) manpage for more information.
      * @param fldnm Field name
      * @return compiled field id
      * @throws UbfBEINVALException null value passed in \p fldnm
      */
-    public native int Bfldid(String fldnm);
+    public int Bfldid(String fldnm) {
+        return UbfFieldCache.Bfldid(this, fldnm);
+    }
     
     /**
      * Return current XATMI timeout for IPC communications.
@@ -1249,6 +1382,20 @@ public class AtmiCtx {
         
     }
     
+    /**
+     * Allocate VIEW buffer, fields are initialized to NULL values
+     * @param view view name
+     * @return Typed view buffer
+     */
+    public TypedView newView(String view) {
+        
+        TypedView ret = (TypedView)tpalloc("VIEW", view, 0);
+        
+        ret.Bvsinit();
+        
+        return ret;
+    }
+    
     /**
      * List XATMI buffers (C side pointers). Note 
      * these pointer might not be valid after the call due to
@@ -1282,7 +1429,12 @@ public class AtmiCtx {
      */
     void unsolDispatch(TypedBuffer idata, long flags) {
         
-        if (null!=unslcb) {
+        UnsolDispatcher disp = unsolDisp;
+        
+        if (null!=disp && null!=unslcb) {
+            disp.dispatch(this, unslcb, idata, flags);
+        }
+        else if (null!=unslcb) {
             unslcb.unsolCallback(this, idata, flags);
         }
     }
@@ -1300,9 +1452,31 @@ public class AtmiCtx {
      *  See logs i.e. user log, or debugs for more info.
      */
     public UnsolCallback tpsetunsol(UnsolCallback cb) {
+        return tpsetunsol(cb, null);
+    }
+    
+    /**
+     * Register unsolicited message callback handler, which is invoked
+     * asynchronously by the \p dispatcher. Received buffers are copied
+     * and ownership is passed to the callback. Messages of this context are
+     * delivered in order of arrival.
+     * @param cb callback handler
+     * @param dispatcher asynchronous dispatcher, null for synchronous
+     *  delivery (as \ref tpsetunsol(UnsolCallback))
+     * @return previous callback handler
+     * @throws AtmiTPEINVALException Environment variables not configured, 
+     *  see ex_env(5) page.
+     * @throws AtmiTPESYSTEMException System failure occurred during serving. 
+     *  See logs i.e. user log, or debugs for more info.
+     * @throws AtmiTPEOSException System failure occurred during serving. 
+     *  See logs i.e. user log, or debugs for more info.
+     */
+    public UnsolCallback tpsetunsol(UnsolCallback cb, UnsolDispatcher dispatcher) {
         
         UnsolCallback tmp = this.unslcb;
         
+        this.unsolDisp = dispatcher;
+        this.unsolCopy = (null!=dispatcher);
         this.unslcb = cb;
         
         tpsetunsolC(cb);
@@ -1345,6 +1519,44 @@ public class AtmiCtx {
      */
     public native void tpnotify(ClientId clientid, TypedBuffer idata, long flags);
     
+    /**
+     * Notify clients with the same buffer
+     * @param clientids clients to notify
+     * @param idata input typed buffer
+     * @param flags tpnotify flags
+     * @return tperrno by client index, 0 if notified
+     */
+    native int[] tpnotifyAllC(ClientId[] clientids, TypedBuffer idata, long flags);
+    
+    /**
+     * Send the same notification to list of clients in single native call.
+     * Buffer is prepared once for all clients. Delivery failures are not
+     * thrown, but returned per client, so that one dead client does not stop
+     * the notification of others.
+     * See tpnotify(3) manpage for more information.
+     * @param clientids clients to notify
+     * @param idata input typed buffer, may be null
+     * @param flags see \ref tpnotify(ClientId, TypedBuffer, long)
+     * @return error codes in iteration order of \p clientids. 0 means that
+     *  client was notified, otherwise tperrno value, e.g.
+     *  \ref AtmiConst.TPENOENT if client does not exist. null client id
+     *  gives \ref AtmiConst.TPEINVAL.
+     * @throws AtmiTPEINVALException \p clientids is null
+     * @throws AtmiTPESYSTEMException System failure occurred during serving. 
+     *  See logs i.e. user log, or debugs for more info.
+     * @throws AtmiTPEOSException System failure occurred during serving. 
+     *  See logs i.e. user log, or debugs for more info.
+     */
+    public int[] tpnotifyAll(Collection<ClientId> clientids, TypedBuffer idata, 
+            long flags) {
+        
+        if (null==clientids) {
+            throw new AtmiTPEINVALException("clientids must not be null");
+        }
+        
+        return tpnotifyAllC(clientids.toArray(new ClientId[0]), idata, flags);
+    }
+    
     /**
      * Broadcast a message to matched clients or send message to remove
      * remote server's '@TPBROADNNN' service for local broadcasting.
@@ -1459,6 +1671,92 @@ public class AtmiCtx {
     public native void tpenqueueex (short nodeid, short srvid, String qname, TPQCTL ctl, 
             TypedBuffer idata, long flags);
     
+    /**
+     * Enqueue buffers in single native call
+     * @param qspace queue space name
+     * @param qname queue name
+     * @param bufs buffers to enqueue
+     * @param ctl control template
+     * @param flags flags
+     * @return msgids, \ref AtmiConst.TMMSGIDLEN bytes per message
+     */
+    native byte[] tpenqueueBatchC (String qspace, String qname, 
+            TypedBuffer[] bufs, TPQCTL ctl, long flags);
+    
+    /**
+     * Enqueue series of messages to persistent storage in single native call.
+     * Every message is enqueued with copy of \p ctl, which is converted to C
+     * only once and is not updated by the call. Enqueue stops at the first
+     * failure, for which exception is thrown. Exception contains failed 
+     * buffer and new TPQCTL object with the failure details, message
+     * index is given in the exception message. Messages enqueued before the
+     * failure are kept, unless batch is run in transaction, see
+     * \ref tpenqueueBatch(String, String, List, TPQCTL, long, long).
+     * @param qspace queue space name
+     * @param qname queue name
+     * @param bufs buffers to enqueue
+     * @param ctl queue control template
+     * @param flags flags TPNOTRAN, TPSIGRSTRT, TPNOTIME, TPNOBLOCK, TPNOABORT
+     * @return message ids, \ref AtmiConst.TMMSGIDLEN bytes per message, 
+     *  in order of \p bufs
+     * @throws AtmiTPEINVALException invalid arguments
+     * @throws AtmiTPEDIAGNOSTICException see TPQCTL diagnostic of exception
+     *  getQctl()
+     * @throws AtmiException other \ref tpenqueue() errors
+     */
+    public byte[] tpenqueueBatch (String qspace, String qname, 
+            List<? extends TypedBuffer> bufs, TPQCTL ctl, long flags) {
+        return tpenqueueBatchC(qspace, qname, 
+                bufs.toArray(new TypedBuffer[0]), ctl, flags);
+    }
+    
+    /**
+     * Enqueue series of messages in one global transaction. Transaction
+     * is started with \p timeout, committed on success and aborted if
+     * any enqueue fails, thus either all or none of the messages are
+     * enqueued. Context shall be opened with \ref tpopen() and must not
+     * be in transaction already.
+     * @param qspace queue space name
+     * @param qname queue name
+     * @param bufs buffers to enqueue
+     * @param ctl queue control template
+     * @param flags enqueue flags (TPNOTRAN shall not be used)
+     * @param timeout transaction timeout in seconds
+     * @return message ids, \ref AtmiConst.TMMSGIDLEN bytes per message
+     * @throws AtmiTPEPROTOException context is already in transaction
+     * @throws AtmiException see \ref tpbegin(), \ref tpcommit() and
+     *  \ref tpenqueue() errors. If rollback fails too, its error is
+     *  attached as suppressed exception to the enqueue error.
+     */
+    public byte[] tpenqueueBatch (String qspace, String qname, 
+            List<? extends TypedBuffer> bufs, TPQCTL ctl, long flags, 
+            long timeout) {
+        
+        byte[] ret;
+        
+        tpbegin(timeout, 0);
+        
+        try {
+            ret = tpenqueueBatchC(qspace, qname, 
+                    bufs.toArray(new TypedBuffer[0]), ctl, flags);
+        }
+        catch (RuntimeException e) {
+            
+            /* keep the enqueue error, abort failure is attached to it */
+            try {
+                tpabort(0);
+            }
+            catch (RuntimeException ae) {
+                e.addSuppressed(ae);
+            }
+            throw e;
+        }
+        
+        tpcommit(0);
+        
+        return ret;
+    }
+    
     /**
      * Dequeue message from Queue sub-system
      * See tpdequeue(3) manpage for more information.
@@ -1517,6 +1815,19 @@ public class AtmiCtx {
      */
     public native TypedBuffer tpdequeueex (short nodeid, short srvid, String qname, 
             TPQCTL ctl, TypedBuffer odata, long flags);
+    
+    /**
+     * Dequeue message, but report empty queue with \p null return and
+     * QMENOMSG in \p ctl diagnostic instead of exception. Used by pollers.
+     * @param qspace queue space name
+     * @param qname queue name
+     * @param ctl queue control obj
+     * @param odata output data to rewrite received message
+     * @param flags see \ref tpdequeue()
+     * @return Returned buffer from queue or \p null
+     */
+    native TypedBuffer tpdequeueNoMsgC (String qspace, String qname, 
+            TPQCTL ctl, TypedBuffer odata, long flags);
 
     /** @} */ // end of Queue
     
@@ -1530,9 +1841,11 @@ public class AtmiCtx {
      *  each line consists of key<FS>value
      * @param sets  setting to set for data source class
      *  each line consists of key (func name)<FS>value
+     * @param pool connection pool settings, each line consists of
+     *  key<FS>value. If empty, pool is not used.
      * @return TPERROR Code, so that it can be used from C side.
      */
-    int ndrxj_xa_init(String clazz, String []sets) {
+    int ndrxj_xa_init(String clazz, String []sets, String []pool) {
         
         Class cls = null;
         
@@ -1689,6 +2002,33 @@ public class AtmiCtx {
             
         } /* for set arguments */        
         
+        if (null!=pool && pool.length > 0) {
+            
+            XaConnectionPool xp = new XaConnectionPool(xads);
+            
+            for (int i=0; i<pool.length; i++) {
+                
+                String []setting = pool[i].split(Character.toString((char)0x1c));
+                
+                try {
+                    xp.configure(setting[0], setting.length > 1?setting[1]:"");
+                }
+                catch (IllegalArgumentException ex) {
+                    tplogex(AtmiConst.LOG_ERROR, String.format("Invalid XA pool "
+                            + "setting [%s]", setting[0]), ex);
+                    return AtmiConst.TPEINVAL; /* <<<< Return! */
+                }
+                
+                tplogDebug("XA pool setting [%s] applied", setting[0]);
+            }
+            
+            xp.start();
+            xaPool = xp;
+            
+            tplogInfo("XA connection pool started, %d connections open", 
+                    xp.getTotal());
+        }
+        
         tplogInfo("XA Data Source [%s] registered OK", clazz);
         
         return AtmiConst.SUCCEED;
@@ -1705,14 +2045,29 @@ public class AtmiCtx {
             return AtmiConst.XAER_PROTO;
         }
         
+        if (null!=xaPool) {
+            
+            if (xaOpen) {
+                return AtmiConst.XA_OK;
+            }
+            
+            if (xaLogDebug) {
+                tplogDebug("xa_is_open: XA is not opened (pool)");
+            }
+            
+            return AtmiConst.XAER_RMERR;
+        }
+        
         if (null!=xaConn && null!=xaRes) {
-            tplogDebug("xa_is_open: XA is opened");
             return AtmiConst.XA_OK;
         }
         
-        tplogDebug("xa_is_open: XA is not opened: dbConn=%s xaRes=%s",
-                null!=xaConn?"non NULL":"NULL",
-                null!=xaRes?"non NULL":"NULL");
+        if (xaLogDebug) {
+            tplogDebug("xa_is_open: XA is not opened: dbConn=%s xaRes=%s",
+                    null!=xaConn?"non NULL":"NULL",
+                    null!=xaRes?"non NULL":"NULL");
+        }
+        
         return AtmiConst.XAER_RMERR;
     }
     
@@ -1725,6 +2080,9 @@ public class AtmiCtx {
         
         int ret = AtmiConst.XA_OK;
         
+        xaLogDebug = tplogqinfo(AtmiConst.LOG_DEBUG, 
+                AtmiConst.TPLOGQI_GET_TP | AtmiConst.TPLOGQI_EVAL_RETURN) > 0;
+        
         /* Check some conditions */
         
         if (AtmiConst.XA_OK==xa_is_open())
@@ -1733,6 +2091,14 @@ public class AtmiCtx {
             return AtmiConst.XAER_PROTO;
         }
         
+        if (null!=xaPool) {
+            /* connection is borrowed when branch starts */
+            tplogInfo("xa_open_entry: using XA connection pool");
+            xaOpen = true;
+            xaOpenCount.incrementAndGet();
+            return ret;
+        }
+        
         try {
             tplogInfo("xa_open_entry: get XA Connection");
             xaConn = xads.getXAConnection();
@@ -1757,6 +2123,8 @@ public class AtmiCtx {
             return AtmiConst.XAER_RMERR;
         }
         
+        xaOpenCount.incrementAndGet();
+        
         return ret;
     }
     
@@ -1771,6 +2139,16 @@ public class AtmiCtx {
         /* Close database connection */
         boolean got_err = false;
         
+        if (AtmiConst.XA_OK==xa_is_open() && 0==xaOpenCount.decrementAndGet()) {
+            xa_stats_log();
+        }
+        
+        if (null!=xaPool) {
+            xa_pool_unbind();
+            xaOpen = false;
+            return AtmiConst.XA_OK;
+        }
+        
         /* Close XA Connection */
         try {
             if (null!=xaConn) {
@@ -1795,6 +2173,117 @@ public class AtmiCtx {
         }
     }
     
+    /**
+     * Dump XA timing statistics to the tp log, if debug level is enabled.
+     * Called when last XA open context of the process is closed.
+     */
+    void xa_stats_log() {
+        
+        if (tplogqinfo(AtmiConst.LOG_DEBUG, AtmiConst.TPLOGQI_GET_TP) <= 0) {
+            return;
+        }
+        
+        tplogDebug("%s", xaStats);
+    }
+    
+    /**
+     * Bind pooled connection to the context for the transaction branch.
+     * Connection of suspended branch is taken back, otherwise free
+     * connection is borrowed from the pool.
+     * @param xid branch to bind
+     * @throws SQLException failed to get connection from pool
+     */
+    void xa_pool_bind(Xid xid) throws SQLException {
+        
+        if (null==xaPool || null!=xaEntry) {
+            return;
+        }
+        
+        XaConnectionPool.Entry e = xaPool.claim(xid);
+        
+        if (null==e) {
+            e = xaPool.borrow();
+        }
+        
+        xaEntry = e;
+        xaConn = e.conn;
+        xaRes = e.res;
+    }
+    
+    /**
+     * Unbind connection from the context. Handle returned by \ref tpgetconn()
+     * is closed.
+     * @return unbound connection or null if there was none
+     */
+    XaConnectionPool.Entry xa_pool_detach() {
+        
+        XaConnectionPool.Entry e = xaEntry;
+        
+        if (null!=e) {
+            xaEntry = null;
+            xaConn = null;
+            xaRes = null;
+            e.closeHandle();
+        }
+        
+        return e;
+    }
+    
+    /**
+     * Unbind connection at branch end. If pool reservation is configured,
+     * connection is kept for the branch (until it expires), so that resume,
+     * prepare, commit or rollback done by this process runs on the same
+     * connection. Otherwise connection is returned to the pool.
+     * @param xid branch which was ended or suspended
+     */
+    void xa_pool_park(Xid xid) {
+        
+        XaConnectionPool.Entry e = xa_pool_detach();
+        
+        if (null!=e) {
+            xaPool.park(xid, e);
+        }
+    }
+    
+    /**
+     * Return bound connection to the pool
+     */
+    void xa_pool_unbind() {
+        
+        XaConnectionPool.Entry e = xa_pool_detach();
+        
+        if (null!=e) {
+            xaPool.release(e);
+        }
+    }
+    
+    /**
+     * Get connection for the branch completion call. Context binding is not
+     * used, as completion may be requested by any context of the process.
+     * @param xid branch, or null if any connection is suitable
+     * @return connection reserved for the branch, or free connection from
+     *  the pool. null if pool is not used.
+     * @throws SQLException failed to get connection from pool
+     */
+    XaConnectionPool.Entry xa_pool_claim(Xid xid) throws SQLException {
+        
+        if (null==xaPool) {
+            return null;
+        }
+        
+        XaConnectionPool.Entry e = null;
+        
+        if (null!=xid) {
+            e = xaPool.claim(xid);
+        }
+        
+        if (null==e) {
+            e = xaPool.borrow();
+        }
+        
+        return e;
+    }
+    
     /**
      * Map the C flags to the java XAResource flags.
      * Translate all flags, not?
@@ -1803,49 +2292,42 @@ public class AtmiCtx {
      */
     int xa_xaresource_flags_map(long cflags) {
         int ret = 0;
-        String flag = "";
 
         if ( (cflags & AtmiConst.TMJOIN) > 0) {
             ret |= XAResource.TMJOIN;
-            flag = flag.concat("TMJOIN;");
         }
         
         if ( (cflags & AtmiConst.TMSUSPEND) > 0) {
             ret |= XAResource.TMSUSPEND;
-            flag = flag.concat("TMSUSPEND;");
         }
 
         if ( (cflags & AtmiConst.TMRESUME) > 0) {
             ret |= XAResource.TMRESUME;
-            flag = flag.concat("TMRESUME;");
         }
         
         if ( (cflags & AtmiConst.TMSTARTRSCAN) > 0) {
             ret |= XAResource.TMSTARTRSCAN;
-            flag = flag.concat("TMSTARTRSCAN;");
         }
         
         if ( (cflags & AtmiConst.TMENDRSCAN) > 0) {
             ret |= XAResource.TMENDRSCAN;
-            flag = flag.concat("TMENDRSCAN;");
         }
         
         if ( (cflags & AtmiConst.TMSUCCESS) > 0) {
             ret |= XAResource.TMSUCCESS;
-            flag = flag.concat("TMSUCCESS;");
         }
         
         if ( (cflags & AtmiConst.TMFAIL) > 0) {
             ret |= XAResource.TMFAIL;
-            flag = flag.concat("TMFAIL;");
         }
         
         if (0==ret) {
             ret = XAResource.TMNOFLAGS;
-            flag = flag.concat("TMNOFLAGS;");
         }
         
-        tplogInfo("XA C flag %d mapped to Java %d (%s)", cflags, ret, flag);
+        if (xaLogDebug) {
+            tplogDebug("XA C flag %d mapped to Java %d", cflags, ret);
+        }
 
         return ret;
     }
@@ -1969,19 +2451,37 @@ public class AtmiCtx {
             return ret;
         }
         
+        try {
+            xa_pool_bind(xid);
+        }
+        catch (SQLException ex) {
+            tplogex(AtmiConst.LOG_ERROR, "xa_start_entry: failed to get pooled "
+                    + "XA connection", ex);
+            return AtmiConst.XAER_RMFAIL;
+        }
+        
         /* start the tranaction */
+        long t0 = System.nanoTime();
         
         try {
-            tplogInfo("format id %d", xid.getFormatId());
-            tplogDump(AtmiConst.LOG_INFO, "xid getGlobalTransactionId", xid.getGlobalTransactionId());
-            tplogDump(AtmiConst.LOG_INFO, "xid getBranchQualifier", xid.getBranchQualifier());
-            
             xaRes.start(xid, jflags);
         } catch (XAException ex) {
             /* Log exception here */
             tplogex(AtmiConst.LOG_ERROR,"xa_start_entry got exception", ex);
             ret = xa_jerror_map(ex.errorCode);
+            
+            /* keep existing branch reserved for rollback */
+            if ( (flags & (AtmiConst.TMJOIN | AtmiConst.TMRESUME)) != 0) {
+                xa_pool_park(xid);
+            }
+            else {
+                xa_pool_unbind();
+            }
         }
+        
+        xaStats.record(XaStats.XA_START, System.nanoTime() - t0, 
+                AtmiConst.XA_OK==ret);
+        
         return ret;
     }
     
@@ -2003,22 +2503,21 @@ public class AtmiCtx {
             return ret;
         }
         
+        try {
+            xa_pool_bind(xid);
+        }
+        catch (SQLException ex) {
+            tplogex(AtmiConst.LOG_ERROR, "xa_end_entry: failed to get pooled "
+                    + "XA connection", ex);
+            return AtmiConst.XAER_RMFAIL;
+        }
+        
         /* end xid session */
+        long t0 = System.nanoTime();
         
         try {
             
-            //tplogInfo("jflags=%d", jflags);
-            tplogInfo("format id %d", xid.getFormatId());
-            tplogDump(AtmiConst.LOG_INFO, "xid getGlobalTransactionId", xid.getGlobalTransactionId());
-            tplogDump(AtmiConst.LOG_INFO, "xid getBranchQualifier", xid.getBranchQualifier());
-            //xaRes.end(xid, jflags);
             xaRes.end(xid, jflags);
-            /*
-            tplogInfo("About to prep..");
-            xaRes.prepare(xid);
-            tplogInfo("About to commit..");
-            xaRes.commit(xid, false);
-            */
         
         } catch (XAException ex) {
             /* ignore??? */
@@ -2028,6 +2527,13 @@ public class AtmiCtx {
             ret = xa_jerror_map(ex.errorCode);
             
         }
+        
+        xaStats.record(XaStats.XA_END, System.nanoTime() - t0, 
+                AtmiConst.XA_OK==ret);
+        
+        /* connection goes back to the pool, or is reserved for the branch
+         * if configured so */
+        xa_pool_park(xid);
     
         return ret;
     }
@@ -2048,15 +2554,39 @@ public class AtmiCtx {
             return ret;
         }
         
+        XaConnectionPool.Entry e;
+        
+        try {
+            e = xa_pool_claim(xid);
+        }
+        catch (SQLException ex) {
+            tplogex(AtmiConst.LOG_ERROR, "xa_rollback_entry: failed to get pooled "
+                    + "XA connection", ex);
+            return AtmiConst.XAER_RMFAIL;
+        }
+        
+        XAResource res = null!=e?e.res:xaRes;
+        
         /* rollback transaction */
         
+        long t0 = System.nanoTime();
+        
         try {
-            xaRes.rollback(xid);
+            res.rollback(xid);
         } catch (XAException ex) {
             /* Log exception here */
             tplogex(AtmiConst.LOG_ERROR,"xa_rollback_entry got exception", ex);
             ret = xa_jerror_map(ex.errorCode);
         }
+        finally {
+            
+            xaStats.record(XaStats.XA_ROLLBACK, System.nanoTime() - t0, 
+                    AtmiConst.XA_OK==ret);
+            
+            if (null!=e) {
+                xaPool.release(e);
+            }
+        }
         return ret;
     }
     
@@ -2076,15 +2606,39 @@ public class AtmiCtx {
             return ret;
         }
         
+        XaConnectionPool.Entry e;
+        
+        try {
+            e = xa_pool_claim(xid);
+        }
+        catch (SQLException ex) {
+            tplogex(AtmiConst.LOG_ERROR, "xa_prepare_entry: failed to get pooled "
+                    + "XA connection", ex);
+            return AtmiConst.XAER_RMFAIL;
+        }
+        
+        XAResource res = null!=e?e.res:xaRes;
+        
         /* prepare for commit */
         
+        long t0 = System.nanoTime();
+        
         try {
-            xaRes.prepare(xid);
+            res.prepare(xid);
         } catch (XAException ex) {
             /* Log exception here */
             tplogex(AtmiConst.LOG_ERROR,"xa_prepare_entry got exception", ex);
             ret = xa_jerror_map(ex.errorCode);
         }
+        finally {
+            
+            xaStats.record(XaStats.XA_PREPARE, System.nanoTime() - t0, 
+                    AtmiConst.XA_OK==ret);
+            
+            if (null!=e) {
+                xaPool.release(e);
+            }
+        }
         return ret;
     }
     
@@ -2104,15 +2658,39 @@ public class AtmiCtx {
             return ret;
         }
         
+        XaConnectionPool.Entry e;
+        
+        try {
+            e = xa_pool_claim(xid);
+        }
+        catch (SQLException ex) {
+            tplogex(AtmiConst.LOG_ERROR, "xa_commit_entry: failed to get pooled "
+                    + "XA connection", ex);
+            return AtmiConst.XAER_RMFAIL;
+        }
+        
+        XAResource res = null!=e?e.res:xaRes;
+        
         /* prepare for commit */
         
+        long t0 = System.nanoTime();
+        
         try {
-            xaRes.commit(xid, false);
+            res.commit(xid, false);
         } catch (XAException ex) {
             /* Log exception here */
             tplogex(AtmiConst.LOG_ERROR,"xa_commit_entry got exception", ex);
             ret = xa_jerror_map(ex.errorCode);
         }
+        finally {
+            
+            xaStats.record(XaStats.XA_COMMIT, System.nanoTime() - t0, 
+                    AtmiConst.XA_OK==ret);
+            
+            if (null!=e) {
+                xaPool.release(e);
+            }
+        }
         
         return ret;
     }
@@ -2134,15 +2712,39 @@ public class AtmiCtx {
             return ret;
         }
         
+        XaConnectionPool.Entry e;
+        
+        try {
+            e = xa_pool_claim(xid);
+        }
+        catch (SQLException ex) {
+            tplogex(AtmiConst.LOG_ERROR, "xa_forget_entry: failed to get pooled "
+                    + "XA connection", ex);
+            return AtmiConst.XAER_RMFAIL;
+        }
+        
+        XAResource res = null!=e?e.res:xaRes;
+        
         /* prepare for commit */
         
+        long t0 = System.nanoTime();
+        
         try {
-            xaRes.forget(xid);
+            res.forget(xid);
         } catch (XAException ex) {
             /* Log exception here */
             tplogex(AtmiConst.LOG_ERROR,"xa_forget_entry got exception", ex);
             ret = xa_jerror_map(ex.errorCode);
         }
+        finally {
+            
+            xaStats.record(XaStats.XA_FORGET, System.nanoTime() - t0, 
+                    AtmiConst.XA_OK==ret);
+            
+            if (null!=e) {
+                xaPool.release(e);
+            }
+        }
         
         return ret;
     }
@@ -2165,13 +2767,38 @@ public class AtmiCtx {
             return ret;
         }
         
+        XaConnectionPool.Entry e;
+        
+        try {
+            e = xa_pool_claim(null);
+        }
+        catch (SQLException ex) {
+            tplogex(AtmiConst.LOG_ERROR, "xa_recover_entry: failed to get pooled "
+                    + "XA connection", ex);
+            ret.ret = AtmiConst.XAER_RMFAIL;
+            return ret;
+        }
+        
+        XAResource res = null!=e?e.res:xaRes;
+        
+        long t0 = System.nanoTime();
+        
         try {
-            ret.list = xaRes.recover(jflags);
+            ret.list = res.recover(jflags);
         } catch (XAException ex) {
             /* Log exception here */
             tplogex(AtmiConst.LOG_ERROR,"xa_forget_entry got exception", ex);
             ret.ret = xa_jerror_map(ex.errorCode);
         }
+        finally {
+            
+            xaStats.record(XaStats.XA_RECOVER, System.nanoTime() - t0, 
+                    AtmiConst.XA_OK==ret.ret);
+            
+            if (null!=e) {
+                xaPool.release(e);
+            }
+        }
         
         return ret;
         
@@ -2399,12 +3026,52 @@ public class AtmiCtx {
     /**
      * Get database connection
      * It is up to user to close the connections.
+     * When XA connection pool is used, the connection of the current
+     * transaction branch is returned. The handle is valid only inside of
+     * the branch, it is closed when branch is ended or suspended (i.e. by
+     * tpcommit(), tpabort(), tpsuspend() or by service return), thus it
+     * must be acquired again in each transaction.
      * @return DB connection, null in case if there was no tpopen(), or there was tpclose().
+     * @throws SQLException failed to get connection, or XA pool is used
+     *  and there is no active transaction branch.
      */
     public Connection tpgetconn() throws SQLException {
+        
+        if (null!=xaPool) {
+            
+            if (!xaOpen) {
+                return null;
+            }
+            
+            if (null==xaEntry) {
+                throw new SQLException("XA connection pool is used, "
+                        + "tpgetconn() is valid only in global transaction");
+            }
+            
+            return xaEntry.getHandle();
+        }
+        
         return xaConn.getConnection();
     }
     
+    /**
+     * Get XA call timing statistics of the process. Statistics are also
+     * written to the log at debug level when XA sub-system is closed
+     * by \ref tpclose().
+     * @return statistics object
+     */
+    public static XaStats getXaStats() {
+        return xaStats;
+    }
+    
+    /**
+     * Get XA connection pool shared by contexts of the process
+     * @return pool or null if pool is not configured in NDRX_XA_OPEN_STR
+     */
+    public static XaConnectionPool getXaPool() {
+        return xaPool;
+    }
+    
     /**
      * Return global transaction level
      * @return 0 - current thread is not part of global transaction. 
@@ -0,0 +1,274 @@
+/**
+ * @brief Compiled boolean expression cache
+ *
+ * @class BExprTreeCache
+ */
+/* -----------------------------------------------------------------------------
+ * Enduro/X Middleware Platform for Distributed Transaction Processing
+ * Copyright (C) 2009-2016, ATR Baltic, Ltd. All Rights Reserved.
+ * Copyright (C) 2017-2019, Mavimax, Ltd. All Rights Reserved.
+ * This software is released under one of the following licenses:
+ * LGPL or Mavimax's license for commercial use.
+ * See LICENSE file for full text.
+ *
+ * C (as designed by Dennis Ritchie and later authors) language code is licensed
+ * under Enduro/X Modified GNU Affero General Public License, version 3.
+ * See LICENSE_C file for full text.
+ * -----------------------------------------------------------------------------
+ * LGPL license:
+ * 
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License, version 3 as published
+ * by the Free Software Foundation;
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE. See the GNU Lesser General Public License, version 3
+ * for more details.
+ *
+ * You should have received a copy of the Lesser General Public License along 
+ * with this program; if not, write to the Free Software Foundation, Inc., 
+ * 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ *
+ * -----------------------------------------------------------------------------
+ * A commercial use license is available from Mavimax, Ltd
+ * contact@mavimax.com
+ * -----------------------------------------------------------------------------
+ */
+
+package org.endurox;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Process wide, bounded cache of compiled boolean expressions. The cache is
+ * keyed by the expression text and uses least recently used eviction policy.
+ * Compiled trees are not bound to any ATMI Context, thus single cache instance
+ * is shared between all contexts and threads.
+ * Trees are reference counted while evaluation is in progress, thus when
+ * entry is evicted (or cache is cleared) the C side tree is free'd
+ * (with Btreefree()) by the last user of the tree. The cache is used by
+ * \ref TypedUbf.Bqboolev() and \ref TypedUbf.Bqfloatev() methods.
+ */
+public class BExprTreeCache {
+    
+    /**
+     * Default number of expressions kept in cache
+     */
+    public static final int DEFAULT_CAPACITY = 256;
+    
+    /**
+     * Cache entry, holds the compiled tree and usage counter
+     */
+    static class Entry {
+        
+        /** Compiled expression */
+        BExprTree tree;
+        
+        /** Number of evaluations currently using the tree */
+        int refs = 0;
+        
+        /** Entry is removed from cache, free tree when not used */
+        boolean evicted = false;
+        
+        Entry(BExprTree tree) {
+            this.tree = tree;
+        }
+    }
+    
+    /**
+     * Max number of compiled expressions in cache
+     */
+    private static int capacity = DEFAULT_CAPACITY;
+    
+    /**
+     * Expression string to compiled tree mapping, in access order
+     */
+    private static final LinkedHashMap<String, Entry> cache = 
+            new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+        
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            
+            if (size() > capacity) {
+                evict(eldest.getValue());
+                return true;
+            }
+            return false;
+        }
+    };
+    
+    /**
+     * Cache lock
+     */
+    private static final Lock cacheMutex = new ReentrantLock();
+    
+    /**
+     * Mark entry as evicted and free the tree if nobody uses it.
+     * Must be called while holding the cache lock.
+     * @param e entry removed from the cache
+     */
+    private static void evict(Entry e) {
+        
+        e.evicted = true;
+        
+        if (0==e.refs) {
+            e.tree.cleanup();
+        }
+    }
+    
+    /**
+     * Get compiled expression from cache, compile if not found. The returned
+     * entry must be released by \ref release() when evaluation is finished.
+     * @param ctx ATMI Context used for compiling the expression
+     * @param expr boolean expression
+     * @return cache entry holding the compiled tree
+     * @throws UbfBSYNTAXException Synax error in script.
+     * @throws UbfBBADNAMEException Bad field name specified.
+     */
+    static Entry acquire(AtmiCtx ctx, String expr) {
+        
+        Entry e;
+        
+        cacheMutex.lock();
+        try {
+            e = cache.get(expr);
+            
+            if (null!=e) {
+                e.refs++;
+                return e;
+            }
+        }
+        finally {
+            cacheMutex.unlock();
+        }
+        
+        /* compile out of the lock, so that hits are not blocked */
+        e = new Entry(ctx.Bboolco(expr));
+        
+        cacheMutex.lock();
+        try {
+            Entry other = cache.get(expr);
+            
+            if (null!=other) {
+                /* some other thread got here first, use that */
+                e.tree.cleanup();
+                e = other;
+            }
+            else if (capacity > 0) {
+                cache.put(expr, e);
+            }
+            else {
+                /* caching disabled, tree lives for single evaluation */
+                e.evicted = true;
+            }
+            e.refs++;
+        }
+        finally {
+            cacheMutex.unlock();
+        }
+        
+        return e;
+    }
+    
+    /**
+     * Release the entry acquired by \ref acquire(). If entry was evicted
+     * in the mean time, the compiled tree is free'd.
+     * @param e cache entry
+     */
+    static void release(Entry e) {
+        
+        cacheMutex.lock();
+        try {
+            e.refs--;
+            
+            if (e.evicted && 0==e.refs) {
+                e.tree.cleanup();
+            }
+        }
+        finally {
+            cacheMutex.unlock();
+        }
+    }
+    
+    /**
+     * Get max number of compiled expressions kept in cache
+     * @return cache capacity
+     */
+    public static int getCapacity() {
+        
+        cacheMutex.lock();
+        try {
+            return capacity;
+        }
+        finally {
+            cacheMutex.unlock();
+        }
+    }
+    
+    /**
+     * Set max number of compiled expressions kept in cache. If cache
+     * currently holds more entries, the least recently used ones are evicted.
+     * @param capacity new capacity, 0 disables caching
+     */
+    public static void setCapacity(int capacity) {
+        
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity must not be negative");
+        }
+        
+        cacheMutex.lock();
+        try {
+            BExprTreeCache.capacity = capacity;
+            
+            Iterator<Map.Entry<String, Entry>> it = cache.entrySet().iterator();
+            
+            while (cache.size() > capacity && it.hasNext()) {
+                evict(it.next().getValue());
+                it.remove();
+            }
+        }
+        finally {
+            cacheMutex.unlock();
+        }
+    }
+    
+    /**
+     * Return number of compiled expressions currently in cache
+     * @return number of entries
+     */
+    public static int size() {
+        
+        cacheMutex.lock();
+        try {
+            return cache.size();
+        }
+        finally {
+            cacheMutex.unlock();
+        }
+    }
+    
+    /**
+     * Remove all expressions from cache. Trees which are not currently
+     * evaluated are free'd immediately, the others are free'd when
+     * evaluation completes.
+     */
+    public static void clear() {
+        
+        cacheMutex.lock();
+        try {
+            for (Entry e : cache.values()) {
+                evict(e);
+            }
+            cache.clear();
+        }
+        finally {
+            cacheMutex.unlock();
+        }
+    }
+}
+/* vim: set ts=4 sw=4 et smartindent: */
@@ -0,0 +1,253 @@
+/**
+ * @brief Conversational session helper
+ *
+ * @class Conversation
+ */
+/* -----------------------------------------------------------------------------
+ * Enduro/X Middleware Platform for Distributed Transaction Processing
+ * Copyright (C) 2009-2016, ATR Baltic, Ltd. All Rights Reserved.
+ * Copyright (C) 2017-2019, Mavimax, Ltd. All Rights Reserved.
+ * This software is released under one of the following licenses:
+ * LGPL or Mavimax's license for commercial use.
+ * See LICENSE file for full text.
+ *
+ * C (as designed by Dennis Ritchie and later authors) language code is licensed
+ * under Enduro/X Modified GNU Affero General Public License, version 3.
+ * See LICENSE_C file for full text.
+ * -----------------------------------------------------------------------------
+ * LGPL license:
+ * 
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License, version 3 as published
+ * by the Free Software Foundation;
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE. See the GNU Lesser General Public License, version 3
+ * for more details.
+ *
+ * You should have received a copy of the Lesser General Public License along 
+ * with this program; if not, write to the Free Software Foundation, Inc., 
+ * 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ *
+ * -----------------------------------------------------------------------------
+ * A commercial use license is available from Mavimax, Ltd
+ * contact@mavimax.com
+ * -----------------------------------------------------------------------------
+ */
+package org.endurox;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Conversation over the connection descriptor, for bulk transfers.
+ * Received buffers are iterated, reusing the same receive buffer object
+ * (and XATMI buffer) for all messages, while type is not changed. Thus
+ * the buffer returned by the iterator is valid only until next message
+ * is received. No per message result objects are allocated.
+ * Series of buffers may be sent in single native call.
+ * Object is bound to the ATMI context, thus to single thread.
+ */
+public class Conversation implements Iterable<TypedBuffer>, AutoCloseable {
+    
+    private final AtmiCtx ctx;
+    private final int cd;
+    
+    /**
+     * Receive buffer, reused between receives
+     */
+    private TypedBuffer rbuf;
+    
+    /**
+     * Event holder for natives
+     */
+    private final long[] revent = new long[1];
+    private long lastEvent = 0;
+    
+    /**
+     * Connection descriptor is valid
+     */
+    private boolean open = true;
+    
+    /**
+     * Wrap existing conversation (e.g. in service TpSvcInfo.getCd())
+     * @param ctx ATMI Context
+     * @param cd connection descriptor
+     */
+    public Conversation(AtmiCtx ctx, int cd) {
+        this.ctx = ctx;
+        this.cd = cd;
+    }
+    
+    /**
+     * Connect to conversational service
+     * @param ctx ATMI Context
+     * @param svc service name
+     * @param idata data to send with connect, may be null
+     * @param flags \ref AtmiCtx.tpconnect() flags
+     * @return conversation
+     */
+    public static Conversation connect(AtmiCtx ctx, String svc, 
+            TypedBuffer idata, long flags) {
+        return new Conversation(ctx, ctx.tpconnect(svc, idata, flags));
+    }
+    
+    /**
+     * @return connection descriptor
+     */
+    public int getCd() {
+        return cd;
+    }
+    
+    /**
+     * @return last event received at send or receive, 0 if none
+     */
+    public long getLastEvent() {
+        return lastEvent;
+    }
+    
+    /**
+     * @return is connection still open (not finished by event or closed)
+     */
+    public boolean isOpen() {
+        return open;
+    }
+    
+    /**
+     * Set buffer to use for receiving data. If not set, first receive will
+     * allocate one.
+     * @param buf receive buffer
+     */
+    public void setReceiveBuffer(TypedBuffer buf) {
+        rbuf = buf;
+    }
+    
+    /**
+     * Process the event
+     * @param ev event received
+     */
+    private void event(long ev) {
+        
+        lastEvent = ev;
+        
+        if (0!=(ev & (AtmiConst.TPEV_DISCONIMM | AtmiConst.TPEV_SVCERR | 
+                AtmiConst.TPEV_SVCFAIL | AtmiConst.TPEV_SVCSUCC))) {
+            /* conversation is finished */
+            open = false;
+        }
+    }
+    
+    /**
+     * Receive message, reusing the receive buffer
+     * @param flags \ref AtmiCtx.tprecv() flags
+     * @return received buffer, valid until next receive
+     */
+    public TypedBuffer recv(long flags) {
+        
+        rbuf = ctx.tprecvReuseC(cd, rbuf, flags, revent);
+        event(revent[0]);
+        
+        return rbuf;
+    }
+    
+    /**
+     * Send message
+     * @param buf buffer to send
+     * @param flags \ref AtmiCtx.tpsend() flags
+     * @return event or 0
+     */
+    public long send(TypedBuffer buf, long flags) {
+        
+        long ev = ctx.tpsend(cd, buf, flags);
+        event(ev);
+        
+        return ev;
+    }
+    
+    /**
+     * Send series of messages in single native call. Sending stops at
+     * first event.
+     * @param bufs buffers to send
+     * @param flags flags for all but the last message
+     * @param lastflags flags for the last message, e.g. TPRECVONLY to give
+     *  control to the other side
+     * @return number of messages sent
+     */
+    public int send(List<? extends TypedBuffer> bufs, long flags, 
+            long lastflags) {
+        
+        if (bufs.isEmpty()) {
+            return 0;
+        }
+        
+        revent[0] = 0;
+        int ret = ctx.tpsendArrC(cd, bufs.toArray(new TypedBuffer[0]), flags, 
+                lastflags, revent);
+        event(revent[0]);
+        
+        return ret;
+    }
+    
+    /**
+     * Iterate received messages while control is with the other side, i.e.
+     * up to TPEV_SENDONLY or end of conversation event. Buffer received with
+     * the event is returned as last element. Returned buffer object is
+     * reused, thus valid only until the next element is requested.
+     * Elements are \p null for NULL buffer messages.
+     * @return iterator of received buffers
+     */
+    @Override
+    public Iterator<TypedBuffer> iterator() {
+        
+        return new Iterator<TypedBuffer>() {
+            
+            TypedBuffer next;
+            boolean fetched = false;
+            boolean done = !open;
+            
+            @Override
+            public boolean hasNext() {
+                
+                if (!fetched && !done) {
+                    
+                    next = recv(0);
+                    fetched = true;
+                    
+                    if (0!=lastEvent) {
+                        done = true;
+                    }
+                }
+                
+                return fetched;
+            }
+            
+            @Override
+            public TypedBuffer next() {
+                
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                
+                fetched = false;
+                
+                return next;
+            }
+        };
+    }
+    
+    /**
+     * Disconnect, if conversation is still open
+     */
+    @Override
+    public void close() {
+        
+        if (open) {
+            open = false;
+            ctx.tpdiscon(cd);
+        }
+    }
+}
+
+/* vim: set ts=4 sw=4 et smartindent: */
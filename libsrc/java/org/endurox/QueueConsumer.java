@@ -0,0 +1,565 @@
+/**
+ * @brief Demand driven persistent queue consumer
+ *
+ * @class QueueConsumer
+ */
+/* -----------------------------------------------------------------------------
+ * Enduro/X Middleware Platform for Distributed Transaction Processing
+ * Copyright (C) 2009-2016, ATR Baltic, Ltd. All Rights Reserved.
+ * Copyright (C) 2017-2019, Mavimax, Ltd. All Rights Reserved.
+ * This software is released under one of the following licenses:
+ * LGPL or Mavimax's license for commercial use.
+ * See LICENSE file for full text.
+ *
+ * C (as designed by Dennis Ritchie and later authors) language code is licensed
+ * under Enduro/X Modified GNU Affero General Public License, version 3.
+ * See LICENSE_C file for full text.
+ * -----------------------------------------------------------------------------
+ * LGPL license:
+ * 
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License, version 3 as published
+ * by the Free Software Foundation;
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE. See the GNU Lesser General Public License, version 3
+ * for more details.
+ *
+ * You should have received a copy of the Lesser General Public License along 
+ * with this program; if not, write to the Free Software Foundation, Inc., 
+ * 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ *
+ * -----------------------------------------------------------------------------
+ * A commercial use license is available from Mavimax, Ltd
+ * contact@mavimax.com
+ * -----------------------------------------------------------------------------
+ */
+package org.endurox;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Demand driven consumer of Enduro/X persistent queue. Messages are
+ * dequeued by configurable number of threads, each running on its own
+ * ATMI Context, into the prefetch buffer, from which they are delivered
+ * to the subscriber according to requested demand.
+ * Interfaces follow the java.util.concurrent.Flow contract (onSubscribe,
+ * serialized onNext, onError/onComplete, request/cancel), but are defined
+ * here as library still supports Java 8.
+ *
+ * Empty queue does not produce exceptions: dequeue threads back-off
+ * exponentially from \ref setBackoff() min to max wait, and the wait is
+ * reset when message is received.
+ *
+ * Signals are delivered by dedicated thread, and delivered buffers are bound
+ * to that thread's ATMI Context. If buffer is passed to other thread, it
+ * shall be re-bound to its context with TypedBuffer.setAtmiCtx().
+ * Note that with non transactional dequeue (default TPNOTRAN) prefetched
+ * messages which are not delivered due to cancel, are lost.
+ *
+ * ATMI Contexts of the dequeue and delivery threads are owned by the consumer
+ * and are terminated when the threads finish.
+ */
+public class QueueConsumer implements AutoCloseable {
+    
+    /**
+     * Subscription, see java.util.concurrent.Flow.Subscription
+     */
+    public interface Subscription {
+        
+        /**
+         * Add demand
+         * @param n number of messages, must be positive
+         */
+        void request(long n);
+        
+        /**
+         * Stop receiving messages
+         */
+        void cancel();
+    }
+    
+    /**
+     * Message subscriber, see java.util.concurrent.Flow.Subscriber
+     */
+    public interface Subscriber {
+        
+        /**
+         * Invoked prior any other signal
+         * @param subscription subscription to request messages
+         */
+        void onSubscribe(Subscription subscription);
+        
+        /**
+         * Next message dequeued
+         * @param item message buffer
+         */
+        void onNext(TypedBuffer item);
+        
+        /**
+         * Terminal error, e.g. AtmiException from dequeue
+         * @param throwable error
+         */
+        void onError(Throwable throwable);
+        
+        /**
+         * Consumer is closed and all prefetched messages are delivered
+         */
+        void onComplete();
+    }
+    
+    private final String qspace;
+    private final String qname;
+    private int threads = 1;
+    private int prefetch = 16;
+    private long flags = AtmiConst.TPNOTRAN;
+    private long ctlFlags = 0;
+    private long backoffMin = 1;
+    private long backoffMax = 500;
+    
+    private final AtomicBoolean subscribed = new AtomicBoolean(false);
+    private final AtomicLong demand = new AtomicLong(0);
+    private final AtomicReference<Throwable> error = 
+            new AtomicReference<Throwable>();
+    
+    /**
+     * Stop dequeue
+     */
+    private volatile boolean stopped = false;
+    
+    /**
+     * Stop delivery (cancel or error)
+     */
+    private volatile boolean cancelled = false;
+    
+    private ArrayBlockingQueue<TypedBuffer> buffer;
+    private final List<Thread> workers = new ArrayList<Thread>();
+    private Thread emitter;
+    
+    /**
+     * Dequeue threads not yet finished
+     */
+    private final AtomicInteger running = new AtomicInteger(0);
+    
+    /**
+     * Delivery thread waits here for demand and messages
+     */
+    private final Object lock = new Object();
+    
+    /**
+     * Dequeue threads back-off here, woken up only by stop
+     */
+    private final Object idle = new Object();
+    
+    /**
+     * Create consumer
+     * @param qspace queue space name
+     * @param qname queue name
+     */
+    public QueueConsumer(String qspace, String qname) {
+        this.qspace = qspace;
+        this.qname = qname;
+    }
+    
+    /**
+     * @param threads number of dequeue threads (contexts), default 1
+     */
+    public void setThreads(int threads) {
+        
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be >= 1");
+        }
+        this.threads = threads;
+    }
+    
+    /**
+     * @param prefetch number of messages dequeued ahead of demand, default 16
+     */
+    public void setPrefetch(int prefetch) {
+        
+        if (prefetch < 1) {
+            throw new IllegalArgumentException("prefetch must be >= 1");
+        }
+        this.prefetch = prefetch;
+    }
+    
+    /**
+     * @param flags \ref AtmiCtx.tpdequeue() flags, default TPNOTRAN
+     */
+    public void setFlags(long flags) {
+        this.flags = flags;
+    }
+    
+    /**
+     * @param ctlFlags TPQCTL flags for dequeue
+     */
+    public void setCtlFlags(long ctlFlags) {
+        this.ctlFlags = ctlFlags;
+    }
+    
+    /**
+     * Empty queue back-off
+     * @param minMs first wait in milliseconds
+     * @param maxMs max wait in milliseconds
+     */
+    public void setBackoff(long minMs, long maxMs) {
+        
+        if (minMs < 1 || maxMs < minMs) {
+            throw new IllegalArgumentException("invalid back-off: " 
+                    + minMs + ".." + maxMs);
+        }
+        this.backoffMin = minMs;
+        this.backoffMax = maxMs;
+    }
+    
+    /**
+     * Subscribe and start dequeue. Only one subscriber is supported,
+     * further ones receive IllegalStateException with onError.
+     * @param subscriber subscriber
+     */
+    public void subscribe(final Subscriber subscriber) {
+        
+        if (null==subscriber) {
+            throw new NullPointerException("subscriber must not be null");
+        }
+        
+        if (!subscribed.compareAndSet(false, true)) {
+            
+            subscriber.onSubscribe(new Subscription() {
+                public void request(long n) {}
+                public void cancel() {}
+            });
+            
+            subscriber.onError(new IllegalStateException(
+                    "QueueConsumer supports single subscriber"));
+            return;
+        }
+        
+        buffer = new ArrayBlockingQueue<TypedBuffer>(prefetch);
+        
+        subscriber.onSubscribe(new Subscription() {
+            
+            @Override
+            public void request(long n) {
+                
+                if (n <= 0) {
+                    fail(new IllegalArgumentException(
+                            "non-positive request: " + n));
+                    return;
+                }
+                
+                long cur;
+                long upd;
+                
+                do {
+                    cur = demand.get();
+                    upd = cur + n;
+                    
+                    if (upd < 0) {
+                        upd = Long.MAX_VALUE;
+                    }
+                } while (!demand.compareAndSet(cur, upd));
+                
+                signal();
+            }
+            
+            @Override
+            public void cancel() {
+                cancelled = true;
+                stop();
+            }
+        });
+        
+        for (int i=0; i<threads; i++) {
+            
+            final AtmiCtx ctx = new AtmiCtx();
+            
+            Thread t = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    dequeueLoop(ctx);
+                }
+            }, "QueueConsumer-" + qname + "-" + i);
+            
+            t.setDaemon(true);
+            workers.add(t);
+        }
+        
+        emitter = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                emitLoop(subscriber);
+            }
+        }, "QueueConsumer-" + qname + "-emit");
+        emitter.setDaemon(true);
+        
+        running.set(workers.size());
+        
+        for (Thread t : workers) {
+            t.start();
+        }
+        emitter.start();
+    }
+    
+    /**
+     * @return number of dequeued messages waiting for demand
+     */
+    public int getPending() {
+        return null==buffer ? 0 : buffer.size();
+    }
+    
+    /**
+     * Stop dequeue and wait for dequeue threads to finish. Prefetched
+     * messages are still delivered as demand allows, then onComplete is
+     * signalled.
+     */
+    @Override
+    public void close() {
+        
+        stop();
+        
+        for (Thread t : workers) {
+            
+            try {
+                t.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+    
+    /**
+     * Wake up delivery thread, state shall be changed before the call
+     */
+    private void signal() {
+        synchronized (lock) {
+            lock.notifyAll();
+        }
+    }
+    
+    /**
+     * Stop dequeue and wake up all waiting threads
+     */
+    private void stop() {
+        
+        stopped = true;
+        
+        synchronized (idle) {
+            idle.notifyAll();
+        }
+        
+        signal();
+    }
+    
+    /**
+     * Dequeue thread back-off, returns earlier only if consumer is stopped
+     * @param ms milliseconds to wait
+     */
+    private void backoff(long ms) throws InterruptedException {
+        
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(ms);
+        long left;
+        
+        synchronized (idle) {
+            while (!stopped && 
+                    (left = deadline - System.nanoTime()) > 0) {
+                TimeUnit.NANOSECONDS.timedWait(idle, left);
+            }
+        }
+    }
+    
+    /**
+     * @return delivery thread has something to do
+     */
+    private boolean ready() {
+        return cancelled || null!=error.get() 
+                || (demand.get() > 0 && !buffer.isEmpty())
+                || (stopped && workersDone() && buffer.isEmpty());
+    }
+    
+    /**
+     * Wait until \ref ready(). Predicate is checked under the lock and
+     * state changes are followed by \ref signal(), so no wakeup is lost.
+     */
+    private void await() throws InterruptedException {
+        
+        synchronized (lock) {
+            while (!ready()) {
+                lock.wait();
+            }
+        }
+    }
+    
+    /**
+     * Terminate with error
+     * @param t error
+     */
+    private void fail(Throwable t) {
+        
+        error.compareAndSet(null, t);
+        stop();
+    }
+    
+    /**
+     * Dequeue thread main loop
+     * @param ctx thread ATMI Context
+     */
+    private void dequeueLoop(AtmiCtx ctx) {
+        
+        TPQCTL ctl = new TPQCTL(TPQCTL.XFER_BASIC);
+        long wait = 0;
+        TypedBuffer held = null;
+        
+        try {
+            while (!stopped) {
+                
+                if (null==held) {
+                    
+                    ctl.setFlags(ctlFlags);
+                    ctl.setDiagnostic(0);
+                    
+                    held = ctx.tpdequeueNoMsgC(qspace, qname, ctl, null, flags);
+                    
+                    if (null==held && AtmiConst.QMENOMSG==ctl.getDiagnostic()) {
+                        
+                        wait = (0==wait) ? backoffMin : 
+                                Math.min(wait * 2, backoffMax);
+                        backoff(wait);
+                        continue;
+                    }
+                    
+                    wait = 0;
+                    
+                    /* NULL typed message has nothing to deliver */
+                    if (null==held) {
+                        continue;
+                    }
+                }
+                
+                /* prefetch buffer full -> wait for demand */
+                if (buffer.offer(held, backoffMax, TimeUnit.MILLISECONDS)) {
+                    
+                    held = null;
+                    
+                    /* without demand, request() does the wakeup */
+                    if (demand.get() > 0) {
+                        signal();
+                    }
+                }
+            }
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        catch (RuntimeException e) {
+            ctx.tplogex(AtmiConst.LOG_ERROR, "Dequeue from [" + qspace + "]/[" 
+                    + qname + "] failed", e);
+            fail(e);
+        }
+        finally {
+            
+            if (null!=held) {
+                ctx.tplogError("Dequeued message not delivered, "
+                        + "consumer stopped");
+                held.cleanup();
+            }
+            
+            ctx.cleanup();
+            
+            /* delivery thread waits for workers to finish */
+            running.decrementAndGet();
+            signal();
+        }
+    }
+    
+    /**
+     * Delivery thread loop, serializes subscriber signals
+     * @param subscriber subscriber
+     */
+    private void emitLoop(Subscriber subscriber) {
+        
+        AtmiCtx ctx = new AtmiCtx();
+        
+        try {
+            while (!cancelled && null==error.get()) {
+                
+                await();
+                
+                if (cancelled || null!=error.get()) {
+                    break;
+                }
+                
+                /* workers first, as those could add before finish */
+                if (stopped && workersDone() && buffer.isEmpty()) {
+                    break;
+                }
+                
+                TypedBuffer b = buffer.poll();
+                
+                if (null==b) {
+                    continue;
+                }
+                
+                if (Long.MAX_VALUE!=demand.get()) {
+                    demand.decrementAndGet();
+                }
+                
+                b.setAtmiCtx(ctx);
+                
+                try {
+                    subscriber.onNext(b);
+                }
+                catch (RuntimeException e) {
+                    /* rule: subscriber failure cancels the subscription */
+                    cancelled = true;
+                    stop();
+                }
+            }
+            
+            /* wait for workers, before terminal signal */
+            stop();
+            
+            for (Thread t : workers) {
+                t.join();
+            }
+            
+            /* undelivered prefetch (cancel or error) */
+            TypedBuffer b;
+            
+            while (null!=(b = buffer.poll())) {
+                b.cleanup();
+            }
+            
+            if (null!=error.get()) {
+                subscriber.onError(error.get());
+            }
+            else if (!cancelled) {
+                subscriber.onComplete();
+            }
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        finally {
+            ctx.cleanup();
+        }
+    }
+    
+    /**
+     * @return all dequeue threads are finished
+     */
+    private boolean workersDone() {
+        return 0==running.get();
+    }
+}
+
+/* vim: set ts=4 sw=4 et smartindent: */
@@ -0,0 +1,590 @@
+/**
+ * @brief Transactional persistent queue worker pool
+ *
+ * @class QueueWorkerPool
+ */
+/* -----------------------------------------------------------------------------
+ * Enduro/X Middleware Platform for Distributed Transaction Processing
+ * Copyright (C) 2009-2016, ATR Baltic, Ltd. All Rights Reserved.
+ * Copyright (C) 2017-2019, Mavimax, Ltd. All Rights Reserved.
+ * This software is released under one of the following licenses:
+ * LGPL or Mavimax's license for commercial use.
+ * See LICENSE file for full text.
+ *
+ * C (as designed by Dennis Ritchie and later authors) language code is licensed
+ * under Enduro/X Modified GNU Affero General Public License, version 3.
+ * See LICENSE_C file for full text.
+ * -----------------------------------------------------------------------------
+ * LGPL license:
+ * 
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License, version 3 as published
+ * by the Free Software Foundation;
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE. See the GNU Lesser General Public License, version 3
+ * for more details.
+ *
+ * You should have received a copy of the Lesser General Public License along 
+ * with this program; if not, write to the Free Software Foundation, Inc., 
+ * 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ *
+ * -----------------------------------------------------------------------------
+ * A commercial use license is available from Mavimax, Ltd
+ * contact@mavimax.com
+ * -----------------------------------------------------------------------------
+ */
+package org.endurox;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pool of worker threads processing Enduro/X persistent queue in global
+ * transactions. Each worker runs on its own ATMI Context (opened with
+ * tpopen(), thus XA configuration for the queue space resource manager is
+ * required) and loops: tpbegin, dequeue, invoke handler, and commits the
+ * transaction once batch of \ref setBatch() messages is processed, or
+ * batch time has elapsed, or queue becomes empty.
+ *
+ * If handler fails, it is retried in the same transaction up to
+ * \ref setRetries() times. If retries are exhausted, transaction is aborted
+ * and all messages of the batch are returned to the queue (where tmqueue
+ * redelivery/failure queue settings apply). Thus processing is at-least-once,
+ * handlers shall be idempotent or batch size shall be 1.
+ *
+ * Empty queue is handled with out exceptions, workers back-off
+ * exponentially up to \ref setBackoff() max wait. Dequeue in transaction
+ * is done with TPNOABORT, so that empty queue does not mark the batch
+ * abort-only. While queue is idle, workers check it with non-transactional
+ * peek and start the transaction only when there is a message.
+ */
+public class QueueWorkerPool {
+    
+    /**
+     * Message handler, called on the worker thread, in the transaction
+     */
+    public interface Handler {
+        
+        /**
+         * Process message
+         * @param ctx worker ATMI Context, may be used for further calls
+         *  in the same transaction
+         * @param buf message, may be null for NULL buffer messages
+         * @param ctl message control block, fields according to
+         *  \ref QueueWorkerPool.setCtlXfer()
+         */
+        void handle(AtmiCtx ctx, TypedBuffer buf, TPQCTL ctl);
+    }
+    
+    /**
+     * Pool metrics snapshot
+     */
+    public static class Metrics {
+        
+        long processed;
+        long commits;
+        long aborts;
+        long retries;
+        long failures;
+        long emptyPolls;
+        long commitLatencyMaxNs;
+        long commitLatencyTotNs;
+        long elapsedNs;
+        
+        /**
+         * @return messages processed and committed
+         */
+        public long getProcessed() {
+            return processed;
+        }
+        
+        /**
+         * @return number of committed transactions
+         */
+        public long getCommits() {
+            return commits;
+        }
+        
+        /**
+         * @return number of aborted transactions
+         */
+        public long getAborts() {
+            return aborts;
+        }
+        
+        /**
+         * @return number of handler retries
+         */
+        public long getRetries() {
+            return retries;
+        }
+        
+        /**
+         * @return messages which failed after all retries
+         */
+        public long getFailures() {
+            return failures;
+        }
+        
+        /**
+         * @return dequeue attempts on empty queue
+         */
+        public long getEmptyPolls() {
+            return emptyPolls;
+        }
+        
+        /**
+         * @return committed messages per second since start
+         */
+        public double getThroughput() {
+            return 0==elapsedNs ? 0 : processed * 1000000000.0 / elapsedNs;
+        }
+        
+        /**
+         * Lag of the message from dequeue until commit, i.e. how long
+         * processed message stays uncommitted.
+         * @return max lag in milliseconds
+         */
+        public double getCommitLagMax() {
+            return commitLatencyMaxNs / 1000000.0;
+        }
+        
+        /**
+         * @return average batch (dequeue to commit) lag in milliseconds
+         */
+        public double getCommitLagAvg() {
+            return 0==commits ? 0 : commitLatencyTotNs / 1000000.0 / commits;
+        }
+        
+        @Override
+        public String toString() {
+            return String.format("processed=%d commits=%d aborts=%d retries=%d "
+                    + "failures=%d emptyPolls=%d throughput=%.1f/s "
+                    + "lagAvg=%.3fms lagMax=%.3fms", processed, commits, aborts,
+                    retries, failures, emptyPolls, getThroughput(), 
+                    getCommitLagAvg(), getCommitLagMax());
+        }
+    }
+    
+    private final String qspace;
+    private final String qname;
+    private final Handler handler;
+    private int threads = 1;
+    private int batch = 1;
+    private long batchMs = 1000;
+    private int retries = 0;
+    private long retryDelayMs = 0;
+    private long tranTimeout = 60;
+    private long ctlXfer = TPQCTL.XFER_ALL;
+    private long backoffMin = 1;
+    private long backoffMax = 500;
+    
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong commits = new AtomicLong();
+    private final AtomicLong aborts = new AtomicLong();
+    private final AtomicLong retried = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong emptyPolls = new AtomicLong();
+    private final AtomicLong commitLatencyMaxNs = new AtomicLong();
+    private final AtomicLong commitLatencyTotNs = new AtomicLong();
+    private long startNs;
+    
+    private volatile boolean stopped = false;
+    private final List<Thread> workers = new ArrayList<Thread>();
+    
+    /**
+     * Wait/notify object for back-off
+     */
+    private final Object lock = new Object();
+    
+    /**
+     * Create worker pool
+     * @param qspace queue space name
+     * @param qname queue name
+     * @param handler message handler, shared by all workers
+     */
+    public QueueWorkerPool(String qspace, String qname, Handler handler) {
+        this.qspace = qspace;
+        this.qname = qname;
+        this.handler = handler;
+    }
+    
+    /**
+     * @param threads number of workers, default 1
+     */
+    public void setThreads(int threads) {
+        
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be >= 1");
+        }
+        this.threads = threads;
+    }
+    
+    /**
+     * Batch commit settings
+     * @param messages commit after given number of messages, default 1
+     * @param ms or when given milliseconds elapsed since transaction begin,
+     *  default 1000
+     */
+    public void setBatch(int messages, long ms) {
+        
+        if (messages < 1 || ms < 0) {
+            throw new IllegalArgumentException("invalid batch: " 
+                    + messages + "/" + ms);
+        }
+        this.batch = messages;
+        this.batchMs = ms;
+    }
+    
+    /**
+     * Handler retries in the same transaction
+     * @param retries number of retries after first failure, default 0
+     * @param delayMs delay between retries
+     */
+    public void setRetries(int retries, long delayMs) {
+        
+        if (retries < 0 || delayMs < 0) {
+            throw new IllegalArgumentException("invalid retries: " 
+                    + retries + "/" + delayMs);
+        }
+        this.retries = retries;
+        this.retryDelayMs = delayMs;
+    }
+    
+    /**
+     * @param seconds transaction timeout, default 60
+     */
+    public void setTranTimeout(long seconds) {
+        this.tranTimeout = seconds;
+    }
+    
+    /**
+     * @param xfer TPQCTL fields to pass to handler, see TPQCTL.setXfer()
+     */
+    public void setCtlXfer(long xfer) {
+        this.ctlXfer = xfer;
+    }
+    
+    /**
+     * Empty queue back-off
+     * @param minMs first wait in milliseconds
+     * @param maxMs max wait in milliseconds
+     */
+    public void setBackoff(long minMs, long maxMs) {
+        
+        if (minMs < 1 || maxMs < minMs) {
+            throw new IllegalArgumentException("invalid back-off: " 
+                    + minMs + ".." + maxMs);
+        }
+        this.backoffMin = minMs;
+        this.backoffMax = maxMs;
+    }
+    
+    /**
+     * Start the workers
+     */
+    public synchronized void start() {
+        
+        if (!workers.isEmpty()) {
+            throw new IllegalStateException("pool already started");
+        }
+        
+        startNs = System.nanoTime();
+        
+        for (int i=0; i<threads; i++) {
+            
+            Thread t = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    work();
+                }
+            }, "QueueWorkerPool-" + qname + "-" + i);
+            
+            workers.add(t);
+            t.start();
+        }
+    }
+    
+    /**
+     * Stop the workers. Current batches are committed.
+     * @throws InterruptedException interrupted while waiting for workers
+     */
+    public void stop() throws InterruptedException {
+        
+        stopped = true;
+        
+        synchronized (lock) {
+            lock.notifyAll();
+        }
+        
+        for (Thread t : workers) {
+            t.join();
+        }
+    }
+    
+    /**
+     * @return current metrics
+     */
+    public Metrics getMetrics() {
+        
+        Metrics m = new Metrics();
+        
+        m.processed = processed.get();
+        m.commits = commits.get();
+        m.aborts = aborts.get();
+        m.retries = retried.get();
+        m.failures = failures.get();
+        m.emptyPolls = emptyPolls.get();
+        m.commitLatencyMaxNs = commitLatencyMaxNs.get();
+        m.commitLatencyTotNs = commitLatencyTotNs.get();
+        m.elapsedNs = 0==startNs ? 0 : System.nanoTime() - startNs;
+        
+        return m;
+    }
+    
+    /**
+     * Wait on the lock
+     * @param ms milliseconds to wait
+     */
+    private void pause(long ms) {
+        
+        synchronized (lock) {
+            try {
+                lock.wait(ms);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                stopped = true;
+            }
+        }
+    }
+    
+    /**
+     * Commit current transaction
+     * @param ctx ATMI Context
+     * @param count messages in transaction
+     * @param beginNs transaction begin time
+     */
+    private void commit(AtmiCtx ctx, int count, long beginNs) {
+        
+        try {
+            ctx.tpcommit(0);
+        }
+        catch (RuntimeException e) {
+            aborts.incrementAndGet();
+            throw e;
+        }
+        
+        long lat = System.nanoTime() - beginNs;
+        long max;
+        
+        commits.incrementAndGet();
+        processed.addAndGet(count);
+        commitLatencyTotNs.addAndGet(lat);
+        
+        while (lat > (max = commitLatencyMaxNs.get()) && 
+                !commitLatencyMaxNs.compareAndSet(max, lat)) {
+            /* retry */
+        }
+    }
+    
+    /**
+     * Run handler with retries
+     * @param ctx ATMI Context
+     * @param buf message
+     * @param ctl control block
+     * @return true if handled
+     */
+    private boolean handle(AtmiCtx ctx, TypedBuffer buf, TPQCTL ctl) {
+        
+        for (int attempt=0; ; attempt++) {
+            
+            try {
+                handler.handle(ctx, buf, ctl);
+                return true;
+            }
+            catch (RuntimeException e) {
+                
+                if (attempt >= retries) {
+                    ctx.tplogex(AtmiConst.LOG_ERROR, "Handler failed on [" 
+                            + qname + "] after " + (attempt+1) + " attempts", e);
+                    failures.incrementAndGet();
+                    return false;
+                }
+                
+                ctx.tplogex(AtmiConst.LOG_WARN, "Handler failed on [" 
+                        + qname + "], retrying", e);
+                retried.incrementAndGet();
+                
+                if (retryDelayMs > 0) {
+                    pause(retryDelayMs);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Abort the transaction after failure, if still active
+     * @param ctx ATMI Context
+     */
+    private void abortActive(AtmiCtx ctx) {
+        
+        try {
+            if (ctx.tpgetlev() > 0) {
+                ctx.tpabort(0);
+                aborts.incrementAndGet();
+            }
+        }
+        catch (RuntimeException e) {
+            ctx.tplogex(AtmiConst.LOG_ERROR, "Failed to abort", e);
+        }
+    }
+    
+    /**
+     * Check is there message in the queue, with out transaction
+     * @param ctx ATMI Context
+     * @param ctl control block for peek
+     * @return true if message is available
+     */
+    private boolean peek(AtmiCtx ctx, TPQCTL ctl) {
+        
+        ctl.setFlags(AtmiConst.TPQPEEK);
+        ctl.setDiagnostic(0);
+        
+        TypedBuffer buf = ctx.tpdequeueNoMsgC(qspace, qname, ctl, null, 
+                AtmiConst.TPNOTRAN);
+        
+        if (null!=buf) {
+            buf.cleanup();
+            return true;
+        }
+        
+        return AtmiConst.QMENOMSG!=ctl.getDiagnostic();
+    }
+    
+    /**
+     * Worker loop. Failures of dequeue or transaction calls abort current
+     * batch, and worker continues after back-off max wait.
+     */
+    private void work() {
+        
+        AtmiCtx ctx = new AtmiCtx();
+        TPQCTL ctl = new TPQCTL(ctlXfer);
+        TPQCTL peekCtl = new TPQCTL(TPQCTL.XFER_BASIC);
+        int count = 0;
+        long beginNs = 0;
+        long wait = 0;
+        boolean idle = true;
+        
+        try {
+            ctx.tpopen();
+        }
+        catch (RuntimeException e) {
+            ctx.tplogex(AtmiConst.LOG_ERROR, "Queue worker on [" + qspace + "]/[" 
+                    + qname + "] failed to open XA", e);
+            ctx.cleanup();
+            return;
+        }
+        
+        while (!stopped) {
+            
+            try {
+                if (0==count) {
+                    
+                    /* no transaction per poll while queue is empty */
+                    if (idle) {
+                        
+                        if (!peek(ctx, peekCtl)) {
+                            emptyPolls.incrementAndGet();
+                            wait = (0==wait) ? backoffMin : Math.min(wait * 2, backoffMax);
+                            pause(wait);
+                            continue;
+                        }
+                        
+                        idle = false;
+                    }
+                    
+                    ctx.tpbegin(tranTimeout, 0);
+                    beginNs = System.nanoTime();
+                }
+                
+                ctl.setFlags(0);
+                ctl.setDiagnostic(0);
+                
+                /* empty queue must not mark the batch abort-only */
+                TypedBuffer buf = ctx.tpdequeueNoMsgC(qspace, qname, ctl, null, 
+                        AtmiConst.TPNOABORT);
+                
+                if (null==buf && AtmiConst.QMENOMSG==ctl.getDiagnostic()) {
+                    
+                    emptyPolls.incrementAndGet();
+                    idle = true;
+                    
+                    /* do not keep transaction open while idle */
+                    if (count > 0) {
+                        int n = count;
+                        count = 0;
+                        commit(ctx, n, beginNs);
+                    }
+                    else {
+                        /* peeked message was taken by other worker */
+                        ctx.tpabort(0);
+                    }
+                    
+                    wait = (0==wait) ? backoffMin : Math.min(wait * 2, backoffMax);
+                    pause(wait);
+                    continue;
+                }
+                
+                wait = 0;
+                
+                if (!handle(ctx, buf, ctl)) {
+                    
+                    /* messages go back to queue */
+                    count = 0;
+                    ctx.tpabort(0);
+                    aborts.incrementAndGet();
+                    continue;
+                }
+                
+                count++;
+                
+                if (count >= batch || 
+                        System.nanoTime() - beginNs >= batchMs * 1000000L) {
+                    
+                    int n = count;
+                    count = 0;
+                    commit(ctx, n, beginNs);
+                }
+            }
+            catch (RuntimeException e) {
+                ctx.tplogex(AtmiConst.LOG_ERROR, "Queue worker on [" + qspace + "]/[" 
+                        + qname + "] failed", e);
+                count = 0;
+                abortActive(ctx);
+                pause(backoffMax);
+            }
+        }
+        
+        try {
+            if (count > 0) {
+                commit(ctx, count, beginNs);
+            }
+            else if (ctx.tpgetlev() > 0) {
+                ctx.tpabort(0);
+            }
+        }
+        catch (RuntimeException e) {
+            ctx.tplogex(AtmiConst.LOG_ERROR, "Queue worker on [" + qspace + "]/[" 
+                    + qname + "] failed to finish", e);
+            abortActive(ctx);
+        }
+        
+        ctx.tpclose();
+        ctx.cleanup();
+    }
+}
+
+/* vim: set ts=4 sw=4 et smartindent: */
@@ -46,6 +46,57 @@ import java.util.Arrays;
  */
 public class TPQCTL {
 
+    /**
+     * Field transfer mask for \ref setXfer(). Fields flags and diagnostic
+     * are always transferred.
+     * @defgroup TPQCTLXfer TPQCTL field transfer mask
+     * @{
+     */
+    public static final long XFER_ALL           = 0;
+    public static final long XFER_PRIORITY      = 0x0001;
+    public static final long XFER_DIAGMSG       = 0x0002;
+    public static final long XFER_MSGID         = 0x0004;
+    public static final long XFER_CORRID        = 0x0008;
+    public static final long XFER_REPLYQUEUE    = 0x0010;
+    public static final long XFER_FAILUREQUEUE  = 0x0020;
+    public static final long XFER_CLTID         = 0x0040;
+    public static final long XFER_URCODE        = 0x0080;
+    public static final long XFER_APPKEY        = 0x0100;
+    /** delivery_qos and reply_qos */
+    public static final long XFER_QOS           = 0x0200;
+    public static final long XFER_EXPTIME       = 0x0400;
+    /** only flags and diagnostic */
+    public static final long XFER_BASIC         = 0x0800;
+    /** @} */ // end of TPQCTLXfer
+    
+    public TPQCTL() {
+    }
+    
+    /**
+     * Create lean control block, which transfers only given fields
+     * to and from the C side
+     * @param xfer transfer mask, see \ref setXfer()
+     */
+    public TPQCTL(long xfer) {
+        this.xfer = xfer;
+    }
+    
+    public long getXfer() {
+        return xfer;
+    }
+
+    /**
+     * Set fields to transfer between Java and C on enqueue/dequeue.
+     * Fields not in the mask are not read (C side gets zeros) and
+     * are not updated by the call. Also in this mode msgid and corrid arrays
+     * are updated in place, thus arrays returned by getters are
+     * overwritten by next call.
+     * @param xfer XFER_* bits or'ed, XFER_ALL (default) transfers all fields
+     */
+    public void setXfer(long xfer) {
+        this.xfer = xfer;
+    }
+
     public long getFlags() {
         return flags;
     }
@@ -95,9 +146,44 @@ public class TPQCTL {
         this.msgid = Arrays.copyOf(msgid, msgid.length);
     }
 
+    /**
+     * Copy message id to given array, with out allocation
+     * @param dst destination, at least \ref AtmiConst.TMMSGIDLEN bytes
+     */
+    public void getMsgid(byte[] dst) {
+        System.arraycopy(msgid, 0, dst, 0, msgid.length);
+    }
+    
+    /**
+     * Copy message id from given array, e.g. from 
+     * \ref AtmiCtx.tpenqueueBatch() result, with out allocation
+     * @param src source array
+     * @param off offset in \p src
+     */
+    public void setMsgid(byte[] src, int off) {
+        System.arraycopy(src, off, msgid, 0, msgid.length);
+    }
+
     public byte[] getCorrid() {
         return corrid;
     }
+    
+    /**
+     * Copy correlation id to given array, with out allocation
+     * @param dst destination, at least \ref AtmiConst.TMCORRIDLEN bytes
+     */
+    public void getCorrid(byte[] dst) {
+        System.arraycopy(corrid, 0, dst, 0, corrid.length);
+    }
+    
+    /**
+     * Copy correlation id from given array, with out allocation
+     * @param src source array
+     * @param off offset in \p src
+     */
+    public void setCorrid(byte[] src, int off) {
+        System.arraycopy(src, off, corrid, 0, corrid.length);
+    }
 
     public void setCorrid(byte[] corrid) {
         /*
@@ -193,6 +279,7 @@ public class TPQCTL {
     long delivery_qos;      /**< delivery quality of service  */
     long reply_qos;         /**< reply message quality of service  */
     long exp_time;          /**< expiration time  */
+    long xfer;              /**< fields to transfer, 0 - all */
 }
 
 /* vim: set ts=4 sw=4 et smartindent: */
@@ -64,6 +64,12 @@ public class TypedBuffer {
      */
     long cPtr;
     long len;
+    
+    /**
+     * Modification counter, increased by native side when buffer content
+     * may be changed (used by \ref UbfIndex)
+     */
+    int modCount;
 
     /**
      * Free up the given buffer
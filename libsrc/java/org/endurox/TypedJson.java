@@ -37,6 +37,9 @@
  */
 package org.endurox;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+
 /**
  * Typed JSON ATMI buffer
  */
@@ -66,6 +69,219 @@ public class TypedJson extends TypedBuffer {
     */
    public native String getJSON();
    
+   /**
+    * Read chunk of JSON text directly from the C buffer
+    * @param pos position in JSON text
+    * @param b array where to read
+    * @param off offset in \p b
+    * @param len max number of bytes to read
+    * @return number of bytes read or -1 if end of text is reached
+    */
+   native int readC(long pos, byte[] b, int off, int len);
+   
+   /**
+    * Write chunk of JSON text to the C buffer, buffer is reallocated
+    * if needed. Text is terminated right after the written chunk.
+    * @param pos position in JSON text
+    * @param b array to write from
+    * @param off offset in \p b
+    * @param len number of bytes to write
+    */
+   native void writeC(long pos, byte[] b, int off, int len);
+   
+   /**
+    * Size of the Java side chunk used by the streams
+    */
+   static final int STREAM_CHUNK = 8192;
+   
+   /**
+    * Get stream for reading the JSON text (UTF-8 bytes) straight from the
+    * C buffer, without building the \ref String. Text is fetched in chunks
+    * into the stream's array, thus single byte reads do not cross JNI.
+    * The buffer must not be modified while the stream is in use.
+    * @return input stream over the buffer
+    */
+   public InputStream getInputStream() {
+       
+       return new InputStream() {
+           
+           /** position in C text of the next chunk */
+           long pos = 0;
+           
+           /** fetched chunk */
+           final byte[] buf = new byte[STREAM_CHUNK];
+           
+           /** next byte in the chunk */
+           int bpos = 0;
+           
+           /** bytes in the chunk */
+           int blen = 0;
+           
+           /**
+            * Fetch next chunk
+            * @return false if end of text reached
+            */
+           boolean fill() {
+               
+               int ret = readC(pos, buf, 0, buf.length);
+               
+               if (ret <= 0) {
+                   return false;
+               }
+               
+               pos+=ret;
+               bpos = 0;
+               blen = ret;
+               
+               return true;
+           }
+           
+           @Override
+           public int read() {
+               
+               if (bpos >= blen && !fill()) {
+                   return -1;
+               }
+               
+               return buf[bpos++] & 0xff;
+           }
+           
+           @Override
+           public int read(byte[] b, int off, int len) {
+               
+               if (off < 0 || len < 0 || len > b.length - off) {
+                   throw new IndexOutOfBoundsException();
+               }
+               
+               if (0 == len) {
+                   return 0;
+               }
+               
+               /* serve from the chunk first */
+               if (bpos < blen) {
+                   
+                   int n = Math.min(len, blen - bpos);
+                   System.arraycopy(buf, bpos, b, off, n);
+                   bpos+=n;
+                   
+                   return n;
+               }
+               
+               /* large reads go directly to the caller's array */
+               if (len >= buf.length) {
+                   
+                   int ret = readC(pos, b, off, len);
+                   
+                   if (ret > 0) {
+                       pos+=ret;
+                   }
+                   
+                   return ret;
+               }
+               
+               if (!fill()) {
+                   return -1;
+               }
+               
+               return read(b, off, len);
+           }
+           
+           @Override
+           public int available() {
+               return blen - bpos;
+           }
+           
+           @Override
+           public long skip(long n) {
+               
+               long skipped = 0;
+               
+               while (skipped < n && (bpos < blen || fill())) {
+                   
+                   int k = (int)Math.min(n - skipped, blen - bpos);
+                   bpos+=k;
+                   skipped+=k;
+               }
+               
+               return skipped;
+           }
+       };
+   }
+   
+   /**
+    * Get stream for writing JSON text (UTF-8 bytes) straight into the
+    * C buffer. The current text is truncated, the buffer grows with
+    * \ref TypedBuffer.tprealloc() as data is written, so that large
+    * documents do not need to be built as \ref String. Small writes are
+    * collected in the stream's array and passed to C in chunks, thus the
+    * text is complete in the buffer after flush() or close().
+    * @return output stream over the buffer
+    */
+   public OutputStream getOutputStream() {
+       
+       writeC(0, new byte[0], 0, 0);
+       
+       return new OutputStream() {
+           
+           /** position in C text of the chunk */
+           long pos = 0;
+           
+           /** collected bytes */
+           final byte[] buf = new byte[STREAM_CHUNK];
+           
+           /** bytes in the chunk */
+           int blen = 0;
+           
+           @Override
+           public void write(int b) {
+               
+               if (blen == buf.length) {
+                   flush();
+               }
+               
+               buf[blen++] = (byte)b;
+           }
+           
+           @Override
+           public void write(byte[] b, int off, int len) {
+               
+               if (off < 0 || len < 0 || len > b.length - off) {
+                   throw new IndexOutOfBoundsException();
+               }
+               
+               if (len > buf.length - blen) {
+                   
+                   flush();
+                   
+                   /* large writes go directly from the caller's array */
+                   if (len >= buf.length) {
+                       writeC(pos, b, off, len);
+                       pos+=len;
+                       return;
+                   }
+               }
+               
+               System.arraycopy(b, off, buf, blen, len);
+               blen+=len;
+           }
+           
+           @Override
+           public void flush() {
+               
+               if (blen > 0) {
+                   writeC(pos, buf, 0, blen);
+                   pos+=blen;
+                   blen = 0;
+               }
+           }
+           
+           @Override
+           public void close() {
+               flush();
+           }
+       };
+   }
+   
 }
 
 /* vim: set ts=4 sw=4 et smartindent: */
@@ -38,9 +38,23 @@
 package org.endurox;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalLong;
 import org.endurox.exceptions.AtmiTPENOENTException;
 import org.endurox.exceptions.UbfBALIGNERRException;
 import org.endurox.exceptions.UbfBBADFLDException;
+import org.endurox.exceptions.UbfBEINVALException;
+import org.endurox.exceptions.UbfBEUNIXException;
 import org.endurox.exceptions.UbfBNOTFLDException;
 import org.endurox.exceptions.UbfBNOTPRESException;
 
@@ -147,6 +161,66 @@ public class TypedUbf extends TypedBuffer {
      */
     public native void Bprint();
     
+    /**
+     * Print buffer to channel in chunks
+     * @param io chunk writer
+     * @param chunk direct buffer used for transfer
+     */
+    native void BfprintChunkC(UbfChunkIO io, ByteBuffer chunk);
+    
+    /**
+     * Print the UBF buffer to the channel, in the same format as \ref Bprint().
+     * Output is transfered in fixed size chunks via reusable direct buffer.
+     * See Bfprint(3) manpage for more information.
+     * @param ch channel to print to
+     * @throws IOException failed to write to channel
+     * @throws UbfBALIGNERRException Corrupted buffer or 
+     *  pointing to not aligned memory area.
+     * @throws UbfBNOTFLDException Buffer not fielded, not 
+     *  correctly allocated or corrupted.
+     */
+    public void Bfprint(WritableByteChannel ch) throws IOException {
+        
+        UbfChunkIO io = new UbfChunkIO(ch);
+        
+        try {
+            BfprintChunkC(io, io.chunk);
+        }
+        finally {
+            io.release();
+        }
+    }
+    
+    /**
+     * Print the UBF buffer to output stream.
+     * See \ref Bfprint(WritableByteChannel).
+     * @param os stream to print to
+     * @throws IOException failed to write to stream
+     */
+    public void Bfprint(OutputStream os) throws IOException {
+        Bfprint(Channels.newChannel(os));
+    }
+    
+    /**
+     * Return printed version of the buffer (as by \ref Bprint()), e.g.
+     * for diagnostics and audit logs.
+     * @return buffer print
+     */
+    public String toPrintString() {
+        
+        ByteArrayOutputStream bos = new ByteArrayOutputStream(1024);
+        
+        try {
+            Bfprint(bos);
+        } catch (IOException ex) {
+            /* not possible with byte array stream */
+            throw new UbfBEUNIXException("Failed to print buffer: " + 
+                    ex.getMessage(), ex);
+        }
+        
+        return new String(bos.toByteArray(), StandardCharsets.UTF_8);
+    }
+    
     
     /**
      * Get field value from UBF buffer. The values are casted according function
@@ -172,6 +246,103 @@ public class TypedUbf extends TypedBuffer {
     
     /** @} */ // end of Bget
     
+    /**
+     * Get field value from UBF buffer, if field is not present, return
+     * default value. Unlike \ref BgetLong(), missing field does not
+     * create exception.
+     * @defgroup BgetOr Getting field from UBF with default
+     * @param bfldid compiled field id
+     * @param occ field occurrence
+     * @param dflt value returned if field occurrence is not present
+     * @return casted field value or \p dflt
+     * @throws UbfBBADFLDException Bad field id requested
+     * @throws UbfBALIGNERRException Invalid Buffer
+     * @throws UbfBNOTFLDException Invalid Buffer
+     * @{
+     */
+    public native long BgetLongOr(int bfldid, int occ, long dflt);
+    public native double BgetDoubleOr(int bfldid, int occ, double dflt);
+    public native String BgetStringOr(int bfldid, int occ, String dflt);
+    /** @} */ // end of BgetOr
+    
+    /**
+     * Get long field value if present. In common case single native call
+     * is made, \ref Bpres() is checked only if value matches the internal
+     * marker.
+     * @param bfldid compiled field id
+     * @param occ field occurrence
+     * @return field value or empty if field is not present
+     * @throws UbfBBADFLDException Bad field id requested
+     * @throws UbfBALIGNERRException Invalid Buffer
+     * @throws UbfBNOTFLDException Invalid Buffer
+     */
+    public OptionalLong BgetLongOpt(int bfldid, int occ) {
+        
+        long v = BgetLongOr(bfldid, occ, Long.MIN_VALUE);
+        
+        if (Long.MIN_VALUE==v && !Bpres(bfldid, occ)) {
+            return OptionalLong.empty();
+        }
+        
+        return OptionalLong.of(v);
+    }
+    
+    /**
+     * Get double field value if present. 
+     * See \ref BgetLongOpt() for details.
+     * @param bfldid compiled field id
+     * @param occ field occurrence
+     * @return field value or empty if field is not present
+     * @throws UbfBBADFLDException Bad field id requested
+     * @throws UbfBALIGNERRException Invalid Buffer
+     * @throws UbfBNOTFLDException Invalid Buffer
+     */
+    public OptionalDouble BgetDoubleOpt(int bfldid, int occ) {
+        
+        double v = BgetDoubleOr(bfldid, occ, Double.NaN);
+        
+        if (Double.isNaN(v) && !Bpres(bfldid, occ)) {
+            return OptionalDouble.empty();
+        }
+        
+        return OptionalDouble.of(v);
+    }
+    
+    /**
+     * Get string field value if present, single native call is made.
+     * @param bfldid compiled field id
+     * @param occ field occurrence
+     * @return field value or empty if field is not present
+     * @throws UbfBBADFLDException Bad field id requested
+     * @throws UbfBALIGNERRException Invalid Buffer
+     * @throws UbfBNOTFLDException Invalid Buffer
+     */
+    public Optional<String> BgetStringOpt(int bfldid, int occ) {
+        return Optional.ofNullable(BgetStringOr(bfldid, occ, null));
+    }
+    
+    /**
+     * Scan the buffer and return data offsets of all field occurrences,
+     * used by \ref UbfIndex
+     * @return records of (fldid << 32 | occ), (offset << 32 | len), type
+     */
+    native long[] BindexC();
+    
+    /**
+     * Read field data at the given offset, no type conversion is done.
+     * Used by \ref UbfIndex
+     * @defgroup BgetAt field data read by offset
+     * @{
+     */
+    native short BgetShortAtC(long off);
+    native long BgetLongAtC(long off);
+    native byte BgetByteAtC(long off);
+    native float BgetFloatAtC(long off);
+    native double BgetDoubleAtC(long off);
+    native String BgetStringAtC(long off);
+    native byte[] BgetByteArrAtC(long off, int len);
+    /** @} */ // end of BgetAt
+    
     /**
      * Fast add field to UBF buffer. This function is used when series of the
      *  same field occurrences are added to buffer. This saves a pointer to
@@ -349,13 +520,25 @@ public class TypedUbf extends TypedBuffer {
     public native boolean Bboolev(BExprTree tree);
 
     /**
-     * Evaluate the boolean expression immediately
-     * and the release the compiled expression. 
+     * Evaluate the boolean expression immediately. The compiled expression
+     * is taken from (or compiled and stored in) the process wide
+     * \ref BExprTreeCache, thus repeated evaluations of the same expression
+     * text do not compile it again.
      * For more information see Bboolco(3) and Bboolev(3) manpages.
      * @param expr boolean expression string
      * @return true or false
      */
-    public native boolean Bqboolev(String expr);
+    public boolean Bqboolev(String expr) {
+
+        BExprTreeCache.Entry e = BExprTreeCache.acquire(ctx, expr);
+
+        try {
+            return Bboolev(e.tree);
+        }
+        finally {
+            BExprTreeCache.release(e);
+        }
+    }
 
     /**
      * Evaluate compiled expression and return the result as a float value.
@@ -365,6 +548,127 @@ public class TypedUbf extends TypedBuffer {
      */
     public native double Bfloatev(BExprTree tree);
 
+    /**
+     * Evaluate the expression immediately and return the result as
+     * a float value. Compiled expression is cached in \ref BExprTreeCache.
+     * For more information see Bboolco(3) and Bfloatev(3) manpages.
+     * @param expr expression string
+     * @return evaluated floating point value
+     */
+    public double Bqfloatev(String expr) {
+
+        BExprTreeCache.Entry e = BExprTreeCache.acquire(ctx, expr);
+
+        try {
+            return Bfloatev(e.tree);
+        }
+        finally {
+            BExprTreeCache.release(e);
+        }
+    }
+
+    /**
+     * Evaluate list of compiled boolean expressions in single native call
+     * @param trees compiled expressions
+     * @param results result array, same size as \p trees
+     * @param firstMatch stop at first expression evaluated to true
+     * @return index of first matched expression or -1
+     */
+    native int BboolevArrC(BExprTree[] trees, boolean[] results,
+            boolean firstMatch);
+
+    /**
+     * Evaluate list of compiled expressions to float values in single
+     * native call
+     * @param trees compiled expressions
+     * @param results result array, same size as \p trees
+     */
+    native void BfloatevArrC(BExprTree[] trees, double[] results);
+
+    /**
+     * Evaluate all compiled boolean expressions against this buffer.
+     * All expressions are evaluated in single native call, thus this is
+     * faster than calling \ref Bboolev() for each of the trees.
+     * For more information see Bboolev(3) manpage.
+     * @param trees compiled boolean expressions
+     * @return evaluation result for each of the expressions (by index)
+     * @throws UbfBEINVALException \p trees or some of the elements is NULL.
+     */
+    public boolean[] Bboolev(BExprTree[] trees) {
+
+        if (null==trees) {
+            throw new UbfBEINVALException("trees must not be null");
+        }
+
+        boolean[] ret = new boolean[trees.length];
+        BboolevArrC(trees, ret, false);
+        return ret;
+    }
+
+    /**
+     * Evaluate compiled boolean expressions in given order and stop at the
+     * first one which evaluates to true. Useful for priority ordered routing
+     * tables. Evaluation is done in single native call.
+     * For more information see Bboolev(3) manpage.
+     * @param trees compiled boolean expressions
+     * @return index of the first expression evaluated to true, or -1 if none
+     *  of the expressions matched
+     * @throws UbfBEINVALException \p trees or some of the elements is NULL.
+     */
+    public int Bboolfirst(BExprTree[] trees) {
+
+        if (null==trees) {
+            throw new UbfBEINVALException("trees must not be null");
+        }
+
+        return BboolevArrC(trees, new boolean[trees.length], true);
+    }
+
+    /**
+     * Evaluate all compiled expressions as float values against this buffer,
+     * in single native call.
+     * For more information see Bfloatev(3) manpage.
+     * @param trees compiled expressions
+     * @return evaluated values for each of the expressions (by index)
+     * @throws UbfBEINVALException \p trees or some of the elements is NULL.
+     */
+    public double[] Bfloatev(BExprTree[] trees) {
+
+        if (null==trees) {
+            throw new UbfBEINVALException("trees must not be null");
+        }
+
+        double[] ret = new double[trees.length];
+        BfloatevArrC(trees, ret);
+        return ret;
+    }
+
+    /**
+     * Evaluate boolean expression and on match perform projection
+     * @param ctx ATMI Context in which to run, if null buffer's context is used
+     * @param tree compiled boolean expression
+     * @param bfldida fields to leave in buffer, if null projection is not done
+     * @return true if expression matched
+     */
+    native boolean BboolevProjC(AtmiCtx ctx, BExprTree tree, int [] bfldida);
+
+    /**
+     * Evaluate boolean expression against the buffer and if it evaluates
+     * to true, leave in the buffer only fields listed in \p bfldida (i.e.
+     * perform Bproj()). Evaluation and projection is done in single native
+     * call. If expression does not match, buffer is not modified.
+     * For more information see Bboolev(3) and Bproj(3) manpages.
+     * @param tree compiled boolean expression
+     * @param bfldida array of field ids to leave in buffer. If null, buffer
+     *  is only evaluated.
+     * @return true if expression matched (and buffer was projected),
+     *  false if did not match
+     * @throws UbfBEINVALException \p tree is NULL or free'd.
+     */
+    public boolean Bboolproj(BExprTree tree, int [] bfldida) {
+        return BboolevProjC(null, tree, bfldida);
+    }
+
     /** @} */ // end of Bboolubf
     
     /**
@@ -426,6 +730,93 @@ public class TypedUbf extends TypedBuffer {
      */
     public native void Bextread(BufferedReader reader);
     
+    /**
+     * Parse text from byte array range
+     * @param data text bytes
+     * @param off start offset
+     * @param len number of bytes
+     */
+    native void BextreadArrC(byte[] data, int off, int len);
+    
+    /**
+     * Parse text from direct buffer range
+     * @param buf direct buffer
+     * @param off start offset
+     * @param len number of bytes
+     */
+    native void BextreadDirectC(ByteBuffer buf, int off, int len);
+    
+    /**
+     * Restore UBF buffer from printed text held in memory. Whole text is
+     * parsed at native side in single call, which is much faster than
+     * line by line reading of \ref Bextread(BufferedReader). Lines are
+     * separated by \n (optionally \r\n).
+     * See Bextread(3) manpage.
+     * @param data text in Bextread(3) format
+     * @param off offset of the text in \p data
+     * @param len text length in bytes
+     * @thows UbfBEINVALException invalid range.
+     * @thows UbfBSYNTAXException Missing tab between field id 
+     *  or missing newline.
+     * @thows UbfBBADNAMEException Field not found in field table.
+     */
+    public void Bextread(byte[] data, int off, int len) {
+        BextreadArrC(data, off, len);
+    }
+    
+    /**
+     * Restore UBF buffer from printed text held in byte array.
+     * See \ref Bextread(byte[], int, int).
+     * @param data text in Bextread(3) format
+     */
+    public void Bextread(byte[] data) {
+        BextreadArrC(data, 0, data.length);
+    }
+    
+    /**
+     * Restore UBF buffer from printed text held in byte buffer (remaining
+     * bytes). Buffer position is moved to limit. Direct buffers are parsed
+     * in place. See \ref Bextread(byte[], int, int).
+     * @param buf text in Bextread(3) format
+     */
+    public void Bextread(ByteBuffer buf) {
+        
+        if (buf.isDirect()) {
+            BextreadDirectC(buf, buf.position(), buf.remaining());
+        }
+        else if (buf.hasArray()) {
+            BextreadArrC(buf.array(), buf.arrayOffset() + buf.position(), 
+                    buf.remaining());
+        }
+        else {
+            byte [] tmp = new byte[buf.remaining()];
+            buf.duplicate().get(tmp);
+            BextreadArrC(tmp, 0, tmp.length);
+        }
+        
+        buf.position(buf.limit());
+    }
+    
+    /**
+     * Restore UBF buffer from printed text read from the stream. Stream is
+     * read up to the end and then parsed in single native call.
+     * See \ref Bextread(byte[], int, int).
+     * @param is stream with text in Bextread(3) format
+     * @throws IOException failed to read stream
+     */
+    public void Bextread(InputStream is) throws IOException {
+        
+        ByteArrayOutputStream bos = new ByteArrayOutputStream(4096);
+        byte [] tmp = new byte[4096];
+        int n;
+        
+        while ((n = is.read(tmp)) >= 0) {
+            bos.write(tmp, 0, n);
+        }
+        
+        Bextread(bos.toByteArray());
+    }
+    
     /**
      * Test UBF buffer to see does underlying memory corresponds to the UBF format.
      * For more information see Bisubf(3) manpage.
@@ -504,6 +895,109 @@ public class TypedUbf extends TypedBuffer {
      * @throws UbfBNOSPACEException No space in UBF buffer.
      */
     public native byte[] Bwrite();
+
+    /**
+     * Write buffer image to channel in chunks
+     * @param io chunk writer
+     * @param chunk direct buffer used for transfer
+     */
+    native void BwriteChunkC(UbfChunkIO io, ByteBuffer chunk);
+    
+    /**
+     * Read buffer image from channel in chunks
+     * @param io chunk reader
+     * @param chunk direct buffer used for transfer
+     * @return false if stream was at EOF
+     */
+    native boolean BreadChunkC(UbfChunkIO io, ByteBuffer chunk);
+    
+    /**
+     * Write buffer image to direct buffer
+     * @param buf direct buffer
+     * @param offset offset in \p buf where to put the image
+     * @return image size. If image does not fit in \p buf after \p offset,
+     *  nothing is copied and caller shall retry with larger buffer.
+     */
+    native int BwriteDirectC(ByteBuffer buf, int offset);
+    
+    /**
+     * Read buffer image from direct buffer (e.g. memory mapped file)
+     * @param buf direct buffer
+     * @param offset image start offset in \p buf
+     * @param len image length
+     */
+    native void BreadDirectC(ByteBuffer buf, int offset, int len);
+    
+    /**
+     * Write the buffer to channel. The produced image is the same as
+     * by \ref Bwrite(). Data is transfered in fixed size chunks via reusable
+     * direct buffer, thus no full size copy of the buffer is made in heap.
+     * See Bwrite(3) manpage for more information.
+     * @param ch channel to write to
+     * @throws IOException failed to write to channel
+     * @throws UbfBALIGNERRException Corrupted buffer or pointing to 
+     *  not aligned memory area.
+     * @throws UbfBNOTFLDException Buffer not fielded, not correctly 
+     *  allocated or corrupted.
+     */
+    public void Bwrite(WritableByteChannel ch) throws IOException {
+        
+        UbfChunkIO io = new UbfChunkIO(ch);
+        
+        try {
+            BwriteChunkC(io, io.chunk);
+        }
+        finally {
+            io.release();
+        }
+    }
+    
+    /**
+     * Write the buffer to output stream. See \ref Bwrite(WritableByteChannel).
+     * @param os stream to write to
+     * @throws IOException failed to write to stream
+     */
+    public void Bwrite(OutputStream os) throws IOException {
+        Bwrite(Channels.newChannel(os));
+    }
+    
+    /**
+     * Read the buffer from channel. Exactly one buffer image (as produced
+     * by \ref Bwrite()) is consumed from the channel, thus several images
+     * may be read sequentially from the same channel. If channel is
+     * non-blocking, thread waits for data on selector. Data is transfered
+     * in fixed size chunks via reusable direct buffer.
+     * See Bread(3) manpage for more information.
+     * @param ch channel to read from
+     * @return true if buffer was read, false if channel was at end of stream
+     * @throws IOException failed to read from channel
+     * @throws UbfBALIGNERRException Corrupted buffer or pointing to not 
+     *  aligned memory area.
+     * @throws UbfBNOTFLDException Buffer not fielded, not correctly 
+     *  allocated or corrupted, or stream ended in the middle of the image.
+     * @throws UbfBNOSPACEException No space in UBF buffer.
+     */
+    public boolean Bread(ReadableByteChannel ch) throws IOException {
+        
+        UbfChunkIO io = new UbfChunkIO(ch);
+        
+        try {
+            return BreadChunkC(io, io.chunk);
+        }
+        finally {
+            io.release();
+        }
+    }
+    
+    /**
+     * Read the buffer from input stream. See \ref Bread(ReadableByteChannel).
+     * @param is stream to read from
+     * @return true if buffer was read, false if stream was at end
+     * @throws IOException failed to read from stream
+     */
+    public boolean Bread(InputStream is) throws IOException {
+        return Bread(Channels.newChannel(is));
+    }
     
     /**
      * Return buffer size in bytes, this includes the header data too.
@@ -805,6 +1299,122 @@ public class TypedUbf extends TypedBuffer {
      */
     public native String tpubftojson();
     
+    /**
+     * Load UBF buffer from UTF-8 JSON held in byte array range
+     * @param json JSON bytes
+     * @param off JSON offset
+     * @param len JSON length
+     */
+    native void tpjsontoubfArrC(byte[] json, int off, int len);
+    
+    /**
+     * Load UBF buffer from UTF-8 JSON held in direct buffer range
+     * @param json JSON bytes
+     * @param off JSON offset
+     * @param len JSON length
+     */
+    native void tpjsontoubfDirectC(ByteBuffer json, int off, int len);
+    
+    /**
+     * Generate UTF-8 JSON into byte array range
+     * @param out output array
+     * @param off offset where to start
+     * @param len space available, including EOS
+     * @return JSON length in bytes
+     */
+    native int tpubftojsonArrC(byte[] out, int off, int len);
+    
+    /**
+     * Generate UTF-8 JSON into direct buffer range
+     * @param out output buffer
+     * @param off offset where to start
+     * @param len space available, including EOS
+     * @return JSON length in bytes
+     */
+    native int tpubftojsonDirectC(ByteBuffer out, int off, int len);
+    
+    /**
+     * Restore UBF buffer from UTF-8 encoded JSON. Bytes are passed to
+     * native side as is, no String transcoding is done.
+     * See \ref tpjsontoubf(String) and tpjsontoubf(3) manpage.
+     * @param json JSON bytes
+     * @param off JSON offset in \p json
+     * @param len JSON length in bytes
+     * @throws AtmiTPEINVALException Invalid JSON, invalid base64 encoding
+     *  or invalid range.
+     * @throws AtmiTPESYSTEMException UBF sub-system error, JSON sub-system error.
+     */
+    public void tpjsontoubf(byte[] json, int off, int len) {
+        tpjsontoubfArrC(json, off, len);
+    }
+    
+    /**
+     * Restore UBF buffer from UTF-8 encoded JSON in byte buffer (remaining
+     * bytes). Buffer position is moved to limit.
+     * See \ref tpjsontoubf(byte[], int, int).
+     * @param json JSON bytes
+     */
+    public void tpjsontoubf(ByteBuffer json) {
+        
+        if (json.isDirect()) {
+            tpjsontoubfDirectC(json, json.position(), json.remaining());
+        }
+        else if (json.hasArray()) {
+            tpjsontoubfArrC(json.array(), json.arrayOffset() + json.position(), 
+                    json.remaining());
+        }
+        else {
+            byte [] tmp = new byte[json.remaining()];
+            json.duplicate().get(tmp);
+            tpjsontoubfArrC(tmp, 0, tmp.length);
+        }
+        
+        json.position(json.limit());
+    }
+    
+    /**
+     * Convert UBF buffer to UTF-8 encoded JSON, written into caller supplied
+     * buffer starting at its position. JSON is generated in place, for both
+     * direct and array backed buffers. The remaining space must hold the JSON
+     * and the terminating EOS (0x00) byte, which is written after the JSON,
+     * but is not counted: return value and position advance is JSON length
+     * only.
+     * See tpubftojson(3) manpage for more information.
+     * @param out output buffer
+     * @return number of JSON bytes written (without EOS)
+     * @throws AtmiTPESYSTEMException System failure occurred during serving,
+     *  might be not enough space in \p out.
+     */
+    public int tpubftojson(ByteBuffer out) {
+        
+        int ret;
+        
+        if (out.isDirect()) {
+            ret = tpubftojsonDirectC(out, out.position(), out.remaining());
+        }
+        else if (out.hasArray()) {
+            ret = tpubftojsonArrC(out.array(), 
+                    out.arrayOffset() + out.position(), out.remaining());
+        }
+        else {
+            byte [] tmp = tpubftojsonBytes();
+            out.put(tmp);
+            return tmp.length;
+        }
+        
+        out.position(out.position() + ret);
+        return ret;
+    }
+    
+    /**
+     * Convert UBF buffer to UTF-8 encoded JSON bytes, without String
+     * transcoding.
+     * See tpubftojson(3) manpage for more information.
+     * @return JSON bytes
+     * @throws AtmiTPESYSTEMException System failure occurred during serving.
+     */
+    public native byte[] tpubftojsonBytes();
+    
     /**
      * Print UBF buffer to TPLOG
      * @param [in] lev log level see AtmiConstants.LOG_...
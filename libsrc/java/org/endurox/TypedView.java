@@ -37,8 +37,33 @@
  */
 package org.endurox;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.endurox.exceptions.UbfBBADVIEWException;
+import org.endurox.exceptions.UbfBEINVALException;
+import org.endurox.exceptions.UbfBNOCNAMEException;
+import org.endurox.exceptions.UbfBNOSPACEException;
+
+/**
+ * VIEW (C structure) buffer. Fields can be accessed by name, in the same
+ * way as \ref TypedUbf fields by id, or by resolved \ref ViewField
+ * descriptors which read/write the C structure memory directly at the field
+ * offsets. Typed accessor classes can be generated from view files by
+ * \ref ViewGen.
+ */
 public class TypedView extends TypedBuffer {
-	
+    
+    /**
+     * Resolved field descriptors, key is "view.cname"
+     */
+    private static final Map<String, ViewField> fieldCache = 
+            new ConcurrentHashMap<>();
+    
+    /**
+     * View name of this buffer, loaded on first use
+     */
+    private String view;
+    
    /**
     * Initialize VIEW Object
     * @param ctx[in] ATMI Context allocated this method
@@ -49,6 +74,464 @@ public class TypedView extends TypedBuffer {
    public TypedView(AtmiCtx ctx, boolean doFinalize, long cPtr, long len) {
         super(ctx, doFinalize, cPtr, len);
    }
+   
+    /**
+     * Return view name of the buffer
+     * @return view name
+     */
+    public String getViewName() {
+        
+        if (null==view) {
+            view = tptypes().getSubType();
+        }
+        
+        return view;
+    }
+    
+    /**
+     * Change view field value, by field name
+     * @defgroup Bvchg change view field value
+     * @{
+     */
+    
+    /**
+     * Change short field value
+     * @param cname field name in view
+     * @param occ field occurrence
+     * @param s value to set
+     */
+    public native void Bvchg(String cname, int occ, short s);
+    
+    /**
+     * Change long field value
+     * @param cname field name in view
+     * @param occ field occurrence
+     * @param l value to set
+     */
+    public native void Bvchg(String cname, int occ, long l);
+    
+    /**
+     * Change char field value
+     * @param cname field name in view
+     * @param occ field occurrence
+     * @param c value to set
+     */
+    public native void Bvchg(String cname, int occ, byte c);
+    
+    /**
+     * Change float field value
+     * @param cname field name in view
+     * @param occ field occurrence
+     * @param f value to set
+     */
+    public native void Bvchg(String cname, int occ, float f);
+    
+    /**
+     * Change double field value
+     * @param cname field name in view
+     * @param occ field occurrence
+     * @param d value to set
+     */
+    public native void Bvchg(String cname, int occ, double d);
+    
+    /**
+     * Change string field value
+     * @param cname field name in view
+     * @param occ field occurrence
+     * @param s value to set
+     */
+    public native void Bvchg(String cname, int occ, String s);
+    
+    /**
+     * Change carray field value
+     * @param cname field name in view
+     * @param occ field occurrence
+     * @param b value to set
+     */
+    public native void Bvchg(String cname, int occ, byte []b);
+    
+    /** @} */ // end of Bvchg
+    
+    /**
+     * Get view field value, by field name. Value is converted to the
+     * requested type, if needed.
+     * @defgroup Bvget get view field value
+     * @{
+     */
+    
+    /**
+     * Get field value as short
+     * @param cname field name in view
+     * @param occ field occurrence
+     * @return field value
+     * @throws UbfBNOCNAMEException field not found in view
+     * @throws UbfBBADVIEWException view not found
+     * @throws UbfBEINVALException invalid occurrence
+     */
+    public native short BvgetShort(String cname, int occ);
+    
+    /**
+     * Get field value as long
+     * @param cname field name in view
+     * @param occ field occurrence
+     * @return field value
+     * @throws UbfBNOCNAMEException field not found in view
+     * @throws UbfBBADVIEWException view not found
+     * @throws UbfBEINVALException invalid occurrence
+     */
+    public native long BvgetLong(String cname, int occ);
+    
+    /**
+     * Get field value as char
+     * @param cname field name in view
+     * @param occ field occurrence
+     * @return field value
+     * @throws UbfBNOCNAMEException field not found in view
+     * @throws UbfBBADVIEWException view not found
+     * @throws UbfBEINVALException invalid occurrence
+     */
+    public native byte BvgetByte(String cname, int occ);
+    
+    /**
+     * Get field value as float
+     * @param cname field name in view
+     * @param occ field occurrence
+     * @return field value
+     * @throws UbfBNOCNAMEException field not found in view
+     * @throws UbfBBADVIEWException view not found
+     * @throws UbfBEINVALException invalid occurrence
+     */
+    public native float BvgetFloat(String cname, int occ);
+    
+    /**
+     * Get field value as double
+     * @param cname field name in view
+     * @param occ field occurrence
+     * @return field value
+     * @throws UbfBNOCNAMEException field not found in view
+     * @throws UbfBBADVIEWException view not found
+     * @throws UbfBEINVALException invalid occurrence
+     */
+    public native double BvgetDouble(String cname, int occ);
+    
+    /**
+     * Get field value as string
+     * @param cname field name in view
+     * @param occ field occurrence
+     * @return field value
+     * @throws UbfBNOCNAMEException field not found in view
+     * @throws UbfBBADVIEWException view not found
+     * @throws UbfBEINVALException invalid occurrence
+     */
+    public native String BvgetString(String cname, int occ);
+    
+    /**
+     * Get field value as carray
+     * @param cname field name in view
+     * @param occ field occurrence
+     * @return field value
+     * @throws UbfBNOCNAMEException field not found in view
+     * @throws UbfBBADVIEWException view not found
+     * @throws UbfBEINVALException invalid occurrence
+     */
+    public native byte[] BvgetByteArr(String cname, int occ);
+    
+    /** @} */ // end of Bvget
+    
+    /**
+     * Return number of occurrences set for the field (count field value,
+     * if field has C flag, otherwise max occurrences)
+     * @param cname field name in view
+     * @return number of occurrences
+     */
+    public native int Bvoccur(String cname);
+    
+    /**
+     * Set the count field of the array field. Field must have "C" flag.
+     * @param cname field name in view
+     * @param occ number of occurrences to set
+     */
+    public native void Bvsetoccur(String cname, int occ);
+    
+    /**
+     * Test is field occurrence set to NULL value
+     * @param cname field name in view
+     * @param occ occurrence to test
+     * @return true if field is NULL
+     */
+    public native boolean Bvnull(String cname, int occ);
+    
+    /**
+     * Initialize field to NULL value (all occurrences)
+     * @param cname field name in view
+     */
+    public native void Bvselinit(String cname);
+    
+    /**
+     * Initialize all fields of the view to NULL values
+     */
+    public native void Bvsinit();
+    
+    /**
+     * Resolve field descriptor
+     * @param cname field name in view
+     * @return offset, type, max occurrences, element size and view size
+     */
+    native long[] BvfieldC(String cname);
+    
+    /**
+     * Resolve field descriptor for direct, offset based access. Descriptors
+     * are cached by view and field name, so only first call per field
+     * goes to the native side.
+     * @param cname field name in view
+     * @return field descriptor
+     */
+    public ViewField Bvfield(String cname) {
+        
+        String v = getViewName();
+        String key = v + "." + cname;
+        ViewField ret = fieldCache.get(key);
+        
+        if (null==ret) {
+            
+            long [] d = BvfieldC(cname);
+            ret = new ViewField(v, cname, d[0], (int)d[1], (int)d[2], (int)d[3], 
+                    d[4]);
+            fieldCache.put(key, ret);
+        }
+        
+        return ret;
+    }
+    
+    /**
+     * Resolve list of field descriptors
+     * @param cnames field names in view
+     * @return field descriptors, in the same order as \p cnames
+     */
+    public ViewField[] Bvfields(String... cnames) {
+        
+        ViewField[] ret = new ViewField[cnames.length];
+        
+        for (int i=0; i<cnames.length; i++) {
+            ret[i] = Bvfield(cnames[i]);
+        }
+        
+        return ret;
+    }
+    
+    /**
+     * Validate the descriptor against this buffer and return offset
+     * of the occurrence
+     * @param f field descriptor
+     * @param occ field occurrence
+     * @return offset in C structure
+     */
+    private long offset(ViewField f, int occ) {
+        
+        if (!f.getView().equals(getViewName())) {
+            throw new UbfBEINVALException(String.format("Field [%s] is from "+
+                    "view [%s], but buffer is [%s]", f.getCname(), f.getView(), 
+                    getViewName()));
+        }
+        
+        if (occ < 0 || occ >= f.getMaxocc()) {
+            throw new UbfBEINVALException(String.format("Invalid occurrence %d "+
+                    "for field [%s], max %d", occ, f.getCname(), f.getMaxocc()));
+        }
+        
+        return f.getOffset() + (long)occ * f.getDimSize();
+    }
+    
+    /**
+     * Offset based field access. No type conversion is performed, thus
+     * accessor type must match field type (for "int" fields long accessors
+     * are used). Count (C) and length (L) fields are not maintained, for
+     * such fields use name based \ref Bvchg.
+     * @defgroup BvgetAt offset based access
+     * @{
+     */
+    native short BvgetShortAtC(int type, long off);
+    native long BvgetLongAtC(int type, long off);
+    native byte BvgetByteAtC(int type, long off);
+    native float BvgetFloatAtC(int type, long off);
+    native double BvgetDoubleAtC(int type, long off);
+    native String BvgetStringAtC(int type, long off, int len);
+    native byte[] BvgetByteArrAtC(int type, long off, int len);
+    
+    native void BvchgAtC(int type, long off, short s);
+    native void BvchgAtC(int type, long off, long l);
+    native void BvchgAtC(int type, long off, byte c);
+    native void BvchgAtC(int type, long off, float f);
+    native void BvchgAtC(int type, long off, double d);
+    native void BvchgAtC(int type, long off, int len, String s);
+    native void BvchgAtC(int type, long off, int len, byte []b);
+    
+    /**
+     * Get short field
+     * @param f field descriptor
+     * @param occ occurrence
+     * @return field value
+     * @throws UbfBEINVALException descriptor is from other view, invalid
+     *  occurrence or field type does not match accessor
+     */
+    public short BvgetShort(ViewField f, int occ) {
+        return BvgetShortAtC(f.getType(), offset(f, occ));
+    }
+    
+    /**
+     * Get long field ("int" and "long" view types)
+     * @param f field descriptor
+     * @param occ occurrence
+     * @return field value
+     * @throws UbfBEINVALException descriptor is from other view, invalid
+     *  occurrence or field type does not match accessor
+     */
+    public long BvgetLong(ViewField f, int occ) {
+        return BvgetLongAtC(f.getType(), offset(f, occ));
+    }
+    
+    /**
+     * Get char field
+     * @param f field descriptor
+     * @param occ occurrence
+     * @return field value
+     * @throws UbfBEINVALException descriptor is from other view, invalid
+     *  occurrence or field type does not match accessor
+     */
+    public byte BvgetByte(ViewField f, int occ) {
+        return BvgetByteAtC(f.getType(), offset(f, occ));
+    }
+    
+    /**
+     * Get float field
+     * @param f field descriptor
+     * @param occ occurrence
+     * @return field value
+     * @throws UbfBEINVALException descriptor is from other view, invalid
+     *  occurrence or field type does not match accessor
+     */
+    public float BvgetFloat(ViewField f, int occ) {
+        return BvgetFloatAtC(f.getType(), offset(f, occ));
+    }
+    
+    /**
+     * Get double field
+     * @param f field descriptor
+     * @param occ occurrence
+     * @return field value
+     * @throws UbfBEINVALException descriptor is from other view, invalid
+     *  occurrence or field type does not match accessor
+     */
+    public double BvgetDouble(ViewField f, int occ) {
+        return BvgetDoubleAtC(f.getType(), offset(f, occ));
+    }
+    
+    /**
+     * Get string field, value is read up to EOS or element size
+     * @param f field descriptor
+     * @param occ occurrence
+     * @return field value
+     * @throws UbfBEINVALException descriptor is from other view, invalid
+     *  occurrence or field type does not match accessor
+     */
+    public String BvgetString(ViewField f, int occ) {
+        return BvgetStringAtC(f.getType(), offset(f, occ), f.getDimSize());
+    }
+    
+    /**
+     * Get carray field, whole element is returned
+     * @param f field descriptor
+     * @param occ occurrence
+     * @return field bytes
+     */
+    public byte[] BvgetByteArr(ViewField f, int occ) {
+        return BvgetByteArrAtC(f.getType(), offset(f, occ), f.getDimSize());
+    }
+    
+    /**
+     * Set short field
+     * @param f field descriptor
+     * @param occ occurrence
+     * @param s value to set
+     * @throws UbfBEINVALException descriptor is from other view, invalid
+     *  occurrence or field type does not match accessor
+     */
+    public void Bvchg(ViewField f, int occ, short s) {
+        BvchgAtC(f.getType(), offset(f, occ), s);
+    }
+    
+    /**
+     * Set long field ("int" and "long" view types)
+     * @param f field descriptor
+     * @param occ occurrence
+     * @param l value to set
+     * @throws UbfBEINVALException descriptor is from other view, invalid
+     *  occurrence or field type does not match accessor
+     */
+    public void Bvchg(ViewField f, int occ, long l) {
+        BvchgAtC(f.getType(), offset(f, occ), l);
+    }
+    
+    /**
+     * Set char field
+     * @param f field descriptor
+     * @param occ occurrence
+     * @param c value to set
+     * @throws UbfBEINVALException descriptor is from other view, invalid
+     *  occurrence or field type does not match accessor
+     */
+    public void Bvchg(ViewField f, int occ, byte c) {
+        BvchgAtC(f.getType(), offset(f, occ), c);
+    }
+    
+    /**
+     * Set float field
+     * @param f field descriptor
+     * @param occ occurrence
+     * @param fl value to set
+     * @throws UbfBEINVALException descriptor is from other view, invalid
+     *  occurrence or field type does not match accessor
+     */
+    public void Bvchg(ViewField f, int occ, float fl) {
+        BvchgAtC(f.getType(), offset(f, occ), fl);
+    }
+    
+    /**
+     * Set double field
+     * @param f field descriptor
+     * @param occ occurrence
+     * @param d value to set
+     * @throws UbfBEINVALException descriptor is from other view, invalid
+     *  occurrence or field type does not match accessor
+     */
+    public void Bvchg(ViewField f, int occ, double d) {
+        BvchgAtC(f.getType(), offset(f, occ), d);
+    }
+    
+    /**
+     * Set string field, value including EOS must fit in the element
+     * @param f field descriptor
+     * @param occ occurrence
+     * @param s value to set
+     * @throws UbfBEINVALException descriptor is from other view, invalid
+     *  occurrence or field type does not match accessor
+     * @throws UbfBNOSPACEException value does not fit in the field
+     */
+    public void Bvchg(ViewField f, int occ, String s) {
+        BvchgAtC(f.getType(), offset(f, occ), f.getDimSize(), s);
+    }
+    
+    /**
+     * Set carray field, rest of the element is zero filled
+     * @param f field descriptor
+     * @param occ occurrence
+     * @param b value to set
+     */
+    public void Bvchg(ViewField f, int occ, byte []b) {
+        BvchgAtC(f.getType(), offset(f, occ), f.getDimSize(), b);
+    }
+    
+    /** @} */ // end of BvgetAt
 }
 
 /* vim: set ts=4 sw=4 et smartindent: */
@@ -0,0 +1,216 @@
+/**
+ * @brief Chunked channel I/O for UBF buffer images
+ *
+ * @class UbfChunkIO
+ */
+/* -----------------------------------------------------------------------------
+ * Enduro/X Middleware Platform for Distributed Transaction Processing
+ * Copyright (C) 2009-2016, ATR Baltic, Ltd. All Rights Reserved.
+ * Copyright (C) 2017-2019, Mavimax, Ltd. All Rights Reserved.
+ * This software is released under one of the following licenses:
+ * LGPL or Mavimax's license for commercial use.
+ * See LICENSE file for full text.
+ *
+ * C (as designed by Dennis Ritchie and later authors) language code is licensed
+ * under Enduro/X Modified GNU Affero General Public License, version 3.
+ * See LICENSE_C file for full text.
+ * -----------------------------------------------------------------------------
+ * LGPL license:
+ * 
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License, version 3 as published
+ * by the Free Software Foundation;
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE. See the GNU Lesser General Public License, version 3
+ * for more details.
+ *
+ * You should have received a copy of the Lesser General Public License along 
+ * with this program; if not, write to the Free Software Foundation, Inc., 
+ * 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ *
+ * -----------------------------------------------------------------------------
+ * A commercial use license is available from Mavimax, Ltd
+ * contact@mavimax.com
+ * -----------------------------------------------------------------------------
+ */
+package org.endurox;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Moves UBF buffer image (\ref TypedUbf.Bwrite(), \ref TypedUbf.Bread()) 
+ * between native side and java channel in fixed size chunks. Native side
+ * copies the data into direct buffer and calls \ref flush() / \ref fill().
+ * Direct buffers are cached per thread, thus no full size heap copy and no
+ * per call allocation is done.
+ *
+ * Non-blocking selectable channels are supported: when channel does not
+ * accept or provide data, thread waits for readiness on the selector,
+ * instead of retrying the call.
+ */
+class UbfChunkIO {
+    
+    /** Size of the transfer chunk */
+    static final int CHUNK_SIZE = 64*1024;
+    
+    /** Per thread cached chunk, null if currently in use */
+    private static final ThreadLocal<ByteBuffer> chunks = 
+            new ThreadLocal<ByteBuffer>();
+    
+    /** Chunk in use */
+    ByteBuffer chunk;
+    
+    /** Output channel */
+    WritableByteChannel wch;
+    
+    /** Input channel */
+    ReadableByteChannel rch;
+    
+    /** Readiness selector for non-blocking channel, opened on demand */
+    Selector selector;
+    
+    /**
+     * Create writer
+     * @param wch output channel
+     */
+    UbfChunkIO(WritableByteChannel wch) {
+        this.wch = wch;
+        chunk = acquire();
+    }
+    
+    /**
+     * Create reader
+     * @param rch input channel
+     */
+    UbfChunkIO(ReadableByteChannel rch) {
+        this.rch = rch;
+        chunk = acquire();
+    }
+    
+    /**
+     * Get thread's direct buffer or allocate new one, if it is used
+     * (re-entrant call).
+     * @return direct buffer
+     */
+    private static ByteBuffer acquire() {
+        
+        ByteBuffer b = chunks.get();
+        
+        if (null==b) {
+            b = ByteBuffer.allocateDirect(CHUNK_SIZE);
+        }
+        else {
+            chunks.set(null);
+        }
+        
+        return b;
+    }
+    
+    /**
+     * Return the chunk to thread cache
+     */
+    void release() {
+        
+        if (null!=chunk) {
+            chunks.set(chunk);
+            chunk = null;
+        }
+        
+        if (null!=selector) {
+            
+            try {
+                selector.close();
+            }
+            catch (IOException e) {
+                /* nothing to do, keys are cancelled anyway */
+            }
+            
+            selector = null;
+        }
+    }
+    
+    /**
+     * Wait until channel is ready for the operation. Called when channel
+     * did not transfer any data.
+     * @param ch channel
+     * @param op SelectionKey.OP_READ or SelectionKey.OP_WRITE
+     * @throws IOException channel is not selectable, or failed to wait
+     */
+    private void await(Object ch, int op) throws IOException {
+        
+        if (!(ch instanceof SelectableChannel) || 
+                ((SelectableChannel)ch).isBlocking()) {
+            throw new IOException("Channel transferred no data and does "
+                    + "not support readiness selection");
+        }
+        
+        if (null==selector) {
+            selector = Selector.open();
+        }
+        
+        SelectionKey key = ((SelectableChannel)ch).register(selector, op);
+        
+        try {
+            selector.select();
+        }
+        finally {
+            key.cancel();
+            /* flush cancelled key, so that channel may be registered again */
+            selector.selectNow();
+        }
+    }
+    
+    /**
+     * Write chunk to channel. Called from native side.
+     * @param len number of bytes filled in chunk
+     * @throws IOException failed to write
+     */
+    void flush(int len) throws IOException {
+        
+        chunk.clear();
+        chunk.limit(len);
+        
+        while (chunk.hasRemaining()) {
+            
+            if (0==wch.write(chunk)) {
+                await(wch, SelectionKey.OP_WRITE);
+            }
+        }
+    }
+    
+    /**
+     * Read data to chunk from channel. Called from native side.
+     * Non-blocking channel is waited on the selector until data is available.
+     * @param max max number of bytes to read
+     * @return number of bytes read (0 only if \p max is 0), -1 on end
+     *  of stream
+     * @throws IOException failed to read
+     */
+    int fill(int max) throws IOException {
+        
+        int n;
+        
+        chunk.clear();
+        chunk.limit(Math.min(max, chunk.capacity()));
+        
+        if (!chunk.hasRemaining()) {
+            return 0;
+        }
+        
+        while (0==(n = rch.read(chunk))) {
+            await(rch, SelectionKey.OP_READ);
+        }
+        
+        return n;
+    }
+}
+
+/* vim: set ts=4 sw=4 et smartindent: */
@@ -0,0 +1,173 @@
+/**
+ * @brief Process wide UBF field id, name and type cache
+ *
+ * @class UbfFieldCache
+ */
+/* -----------------------------------------------------------------------------
+ * Enduro/X Middleware Platform for Distributed Transaction Processing
+ * Copyright (C) 2009-2016, ATR Baltic, Ltd. All Rights Reserved.
+ * Copyright (C) 2017-2019, Mavimax, Ltd. All Rights Reserved.
+ * This software is released under one of the following licenses:
+ * LGPL or Mavimax's license for commercial use.
+ * See LICENSE file for full text.
+ *
+ * C (as designed by Dennis Ritchie and later authors) language code is licensed
+ * under Enduro/X Modified GNU Affero General Public License, version 3.
+ * See LICENSE_C file for full text.
+ * -----------------------------------------------------------------------------
+ * LGPL license:
+ * 
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License, version 3 as published
+ * by the Free Software Foundation;
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE. See the GNU Lesser General Public License, version 3
+ * for more details.
+ *
+ * You should have received a copy of the Lesser General Public License along 
+ * with this program; if not, write to the Free Software Foundation, Inc., 
+ * 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ *
+ * -----------------------------------------------------------------------------
+ * A commercial use license is available from Mavimax, Ltd
+ * contact@mavimax.com
+ * -----------------------------------------------------------------------------
+ */
+package org.endurox;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process wide cache of UBF field definitions. Used by \ref AtmiCtx.Bfldid(),
+ * \ref AtmiCtx.Bfname() and \ref AtmiCtx.Btype() so that repeated resolution
+ * of the same field does not need to go to the native side. Field tables are
+ * loaded once per process, thus resolved values are shared by all of the
+ * ATMI Contexts. Cache is filled lazily and is lock free for readers.
+ * Failed lookups (unknown fields) are not cached.
+ */
+public class UbfFieldCache {
+    
+    /** Prefix of the name returned by Bfname() for unknown fields */
+    static final String UNKNOWN_PFX = "((BFLDID32)";
+    
+    /** Field id to name mapping */
+    static final ConcurrentHashMap<Integer, String> names = 
+            new ConcurrentHashMap<Integer, String>();
+    
+    /** Field name to id mapping */
+    static final ConcurrentHashMap<String, Integer> ids = 
+            new ConcurrentHashMap<String, Integer>();
+    
+    /** Field id to type name mapping */
+    static final ConcurrentHashMap<Integer, String> types = 
+            new ConcurrentHashMap<Integer, String>();
+    
+    /**
+     * Get field name
+     * @param ctx ATMI Context used for resolving when not cached
+     * @param bfldid compiled field id
+     * @return field name
+     */
+    static String Bfname(AtmiCtx ctx, int bfldid) {
+        
+        String ret = names.get(bfldid);
+        
+        if (null==ret) {
+            ret = ctx.BfnameC(bfldid);
+            
+            if (null!=ret && !ret.startsWith(UNKNOWN_PFX)) {
+                names.put(bfldid, ret);
+                ids.put(ret, bfldid);
+            }
+        }
+        
+        return ret;
+    }
+    
+    /**
+     * Get field id
+     * @param ctx ATMI Context used for resolving when not cached
+     * @param fldnm field name
+     * @return compiled field id or \ref TypedUbf.BBADFLDID if not found
+     */
+    static int Bfldid(AtmiCtx ctx, String fldnm) {
+        
+        /* let the native side to throw the exception */
+        if (null==fldnm) {
+            return ctx.BfldidC(fldnm);
+        }
+        
+        Integer ret = ids.get(fldnm);
+        
+        if (null==ret) {
+            
+            int bfldid = ctx.BfldidC(fldnm);
+            
+            if (TypedUbf.BBADFLDID!=bfldid) {
+                ids.put(fldnm, bfldid);
+                names.put(bfldid, fldnm);
+            }
+            
+            return bfldid;
+        }
+        
+        return ret;
+    }
+    
+    /**
+     * Get field type name
+     * @param ctx ATMI Context used for resolving when not cached
+     * @param bfldid compiled field id
+     * @return type name
+     */
+    static String Btype(AtmiCtx ctx, int bfldid) {
+        
+        String ret = types.get(bfldid);
+        
+        if (null==ret) {
+            ret = ctx.BtypeC(bfldid);
+            
+            if (null!=ret) {
+                types.put(bfldid, ret);
+            }
+        }
+        
+        return ret;
+    }
+    
+    /**
+     * Pre-load the cache with given fields, e.g. at the application startup,
+     * so that later lookups does not cross to native side.
+     * @param ctx ATMI Context to use for resolving
+     * @param bfldids list of compiled field ids
+     */
+    public static void load(AtmiCtx ctx, int... bfldids) {
+        
+        for (int bfldid : bfldids) {
+            Bfname(ctx, bfldid);
+            Btype(ctx, bfldid);
+        }
+    }
+    
+    /**
+     * Return number of fields cached by id
+     * @return number of names cached
+     */
+    public static int size() {
+        return names.size();
+    }
+    
+    /**
+     * Drop all cached values. Shall be used if field tables are changed
+     * at runtime.
+     */
+    public static void clear() {
+        names.clear();
+        ids.clear();
+        types.clear();
+    }
+}
+
+/* vim: set ts=4 sw=4 et smartindent: */
@@ -0,0 +1,371 @@
+/**
+ * @brief UBF buffer list filtering and projection
+ *
+ * @class UbfFilter
+ */
+/* -----------------------------------------------------------------------------
+ * Enduro/X Middleware Platform for Distributed Transaction Processing
+ * Copyright (C) 2009-2016, ATR Baltic, Ltd. All Rights Reserved.
+ * Copyright (C) 2017-2019, Mavimax, Ltd. All Rights Reserved.
+ * This software is released under one of the following licenses:
+ * LGPL or Mavimax's license for commercial use.
+ * See LICENSE file for full text.
+ *
+ * C (as designed by Dennis Ritchie and later authors) language code is licensed
+ * under Enduro/X Modified GNU Affero General Public License, version 3.
+ * See LICENSE_C file for full text.
+ * -----------------------------------------------------------------------------
+ * LGPL license:
+ * 
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License, version 3 as published
+ * by the Free Software Foundation;
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE. See the GNU Lesser General Public License, version 3
+ * for more details.
+ *
+ * You should have received a copy of the Lesser General Public License along 
+ * with this program; if not, write to the Free Software Foundation, Inc., 
+ * 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ *
+ * -----------------------------------------------------------------------------
+ * A commercial use license is available from Mavimax, Ltd
+ * contact@mavimax.com
+ * -----------------------------------------------------------------------------
+ */
+package org.endurox;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.endurox.exceptions.UbfBEINVALException;
+
+/**
+ * Filter list of UBF buffers by boolean expression and project matched
+ * buffers to given field set. Each of the buffers is evaluated and projected
+ * in single native call (see \ref TypedUbf.Bboolproj()). Buffers are processed
+ * in place, i.e. matched buffers are modified and returned in the result
+ * list (in the original order), not matched buffers are left intact and
+ * stays in ownership of the caller.
+ * 
+ * Processing may be done in parallel, on caller supplied executor or on the
+ * shared pool of the class. Expression is compiled once (taken from
+ * \ref BExprTreeCache) and the compiled tree is shared by the workers.
+ * Each worker thread evaluates in its own ATMI Context, which is allocated
+ * on first use and kept for the life of the thread (threads of the shared
+ * pool terminate it on exit, for caller's threads it is left to the GC).
+ * Buffers in the list shall not be used by other threads during the
+ * filtering.
+ *
+ * Expression and the list are validated before any of the buffers is
+ * touched. But if the evaluation or projection fails at runtime, the
+ * batch is left partially processed: buffers handled before the failure
+ * (by any of the workers) are already projected. Other workers stop
+ * at the next buffer and the first error is thrown.
+ */
+public class UbfFilter {
+    
+    /** boolean expression */
+    String expr;
+    
+    /** fields to leave in buffer, null if projection not needed */
+    int [] bfldida;
+    
+    /** Shared pool, created on first parallel filter without executor */
+    private static ExecutorService pool;
+    
+    /** ATMI Context of the worker thread */
+    private static final ThreadLocal<AtmiCtx> workerCtx = 
+            new ThreadLocal<AtmiCtx>();
+    
+    /**
+     * Create filter
+     * @param expr UBF boolean expression
+     * @param bfldida field ids to leave in matched buffers. If null,
+     *  buffers are only filtered.
+     * @throws UbfBEINVALException expr is null
+     */
+    public UbfFilter(String expr, int [] bfldida) {
+        
+        if (null==expr) {
+            throw new UbfBEINVALException("expr must not be null");
+        }
+        
+        this.expr = expr;
+        
+        if (null!=bfldida) {
+            this.bfldida = bfldida.clone();
+        }
+    }
+    
+    /**
+     * Get filter expression
+     * @return UBF boolean expression
+     */
+    public String getExpr() {
+        return expr;
+    }
+    
+    /**
+     * Filter buffers in the current thread. Expression is taken
+     * from \ref BExprTreeCache, buffer contexts are used for evaluation.
+     * @param bufs buffers to process
+     * @return list of matched (and projected) buffers
+     * @throws UbfBSYNTAXException invalid expression
+     * @throws UbfBEINVALException list contains null
+     */
+    public List<TypedUbf> filter(List<TypedUbf> bufs) {
+        
+        List<TypedUbf> ret = new ArrayList<TypedUbf>();
+        int i = 0;
+        
+        if (bufs.isEmpty()) {
+            return ret;
+        }
+        
+        for (TypedUbf ub : bufs) {
+            if (null==ub) {
+                throw new UbfBEINVALException(String.format(
+                        "buffer %d is null", i));
+            }
+            i++;
+        }
+        
+        BExprTreeCache.Entry e = BExprTreeCache.acquire(bufs.get(0).ctx, expr);
+        
+        try {
+            for (TypedUbf ub : bufs) {
+                if (ub.BboolevProjC(null, e.tree, bfldida)) {
+                    ret.add(ub);
+                }
+            }
+        }
+        finally {
+            BExprTreeCache.release(e);
+        }
+        
+        return ret;
+    }
+    
+    /**
+     * Get the shared worker pool. Threads are daemons, created on demand
+     * and terminated (together with their ATMI Contexts) when idle.
+     * @return executor
+     */
+    private static synchronized ExecutorService getPool() {
+        
+        if (null==pool) {
+            
+            final AtomicInteger seq = new AtomicInteger();
+            
+            pool = Executors.newCachedThreadPool(new ThreadFactory() {
+                
+                @Override
+                public Thread newThread(final Runnable r) {
+                    
+                    Thread t = new Thread(new Runnable() {
+                        @Override
+                        public void run() {
+                            try {
+                                r.run();
+                            }
+                            finally {
+                                releaseWorkerCtx();
+                            }
+                        }
+                    }, "UbfFilter-" + seq.incrementAndGet());
+                    
+                    t.setDaemon(true);
+                    return t;
+                }
+            });
+        }
+        
+        return pool;
+    }
+    
+    /**
+     * @return ATMI Context of the current worker thread, allocated on
+     *  first use
+     */
+    private static AtmiCtx getWorkerCtx() {
+        
+        AtmiCtx ctx = workerCtx.get();
+        
+        if (null==ctx) {
+            ctx = new AtmiCtx();
+            workerCtx.set(ctx);
+        }
+        
+        return ctx;
+    }
+    
+    /**
+     * Terminate ATMI Context of the current worker thread, if any
+     */
+    private static void releaseWorkerCtx() {
+        
+        AtmiCtx ctx = workerCtx.get();
+        
+        if (null!=ctx) {
+            workerCtx.remove();
+            ctx.cleanup();
+        }
+    }
+    
+    /**
+     * Filter buffers in parallel on the shared pool, see
+     * \ref filter(List, ExecutorService, int).
+     * @param bufs buffers to process
+     * @param nrthreads number of parallel tasks. If 1 or less, then
+     *  processing is done in current thread by \ref filter(List)
+     * @return list of matched (and projected) buffers, in the original order
+     * @throws UbfBSYNTAXException invalid expression
+     * @throws UbfBEINVALException list contains null
+     */
+    public List<TypedUbf> filter(List<TypedUbf> bufs, int nrthreads) {
+        
+        if (nrthreads > bufs.size()) {
+            nrthreads = bufs.size();
+        }
+        
+        if (nrthreads <= 1) {
+            return filter(bufs);
+        }
+        
+        return filter(bufs, getPool(), nrthreads);
+    }
+    
+    /**
+     * Filter buffers in parallel. List is split in \p parts continuous
+     * chunks, each processed by separate task of the executor.
+     * @param bufs buffers to process
+     * @param exec executor to run the tasks on
+     * @param parts number of tasks
+     * @return list of matched (and projected) buffers, in the original order
+     * @throws UbfBSYNTAXException invalid expression
+     * @throws UbfBEINVALException list contains null, executor is null
+     * @throws RejectedExecutionException executor did not accept the task,
+     *  already submitted tasks are finished before the throw
+     */
+    public List<TypedUbf> filter(List<TypedUbf> bufs, ExecutorService exec,
+            int parts) {
+        
+        if (null==exec) {
+            throw new UbfBEINVALException("exec must not be null");
+        }
+        
+        if (parts > bufs.size()) {
+            parts = bufs.size();
+        }
+        
+        if (parts < 1) {
+            return new ArrayList<TypedUbf>();
+        }
+        
+        final TypedUbf [] arr = bufs.toArray(new TypedUbf[bufs.size()]);
+        
+        /* validate all, before any of buffers is modified */
+        for (int i=0; i<arr.length; i++) {
+            if (null==arr[i]) {
+                throw new UbfBEINVALException(String.format(
+                        "buffer %d is null", i));
+            }
+        }
+        
+        final BExprTreeCache.Entry e = BExprTreeCache.acquire(arr[0].ctx, expr);
+        final boolean [] matched = new boolean[arr.length];
+        final AtomicBoolean failed = new AtomicBoolean(false);
+        List<Future<?>> tasks = new ArrayList<Future<?>>(parts);
+        int chunk = (arr.length + parts - 1) / parts;
+        Throwable err = null;
+        
+        try {
+            for (int i=0; i<parts; i++) {
+                
+                final int from = i * chunk;
+                final int to = Math.min(from + chunk, arr.length);
+                
+                tasks.add(exec.submit(new Runnable() {
+                    @Override
+                    public void run() {
+                        
+                        AtmiCtx ctx = getWorkerCtx();
+                        
+                        try {
+                            for (int j=from; j<to && !failed.get(); j++) {
+                                matched[j] = arr[j].BboolevProjC(ctx, e.tree, 
+                                        bfldida);
+                            }
+                        }
+                        catch (RuntimeException ex) {
+                            failed.set(true);
+                            throw ex;
+                        }
+                    }
+                }));
+            }
+        }
+        catch (RejectedExecutionException ex) {
+            failed.set(true);
+            err = ex;
+        }
+        
+        /* tasks use the buffers and the tree, thus wait for all */
+        boolean interrupted = false;
+        
+        for (Future<?> f : tasks) {
+            
+            while (true) {
+                try {
+                    f.get();
+                    break;
+                }
+                catch (InterruptedException ex) {
+                    interrupted = true;
+                }
+                catch (ExecutionException ex) {
+                    
+                    if (null==err) {
+                        err = ex.getCause();
+                    }
+                    break;
+                }
+            }
+        }
+        
+        BExprTreeCache.release(e);
+        
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        
+        if (err instanceof RuntimeException) {
+            throw (RuntimeException)err;
+        }
+        else if (err instanceof Error) {
+            throw (Error)err;
+        }
+        
+        List<TypedUbf> ret = new ArrayList<TypedUbf>();
+        
+        for (int i=0; i<arr.length; i++) {
+            if (matched[i]) {
+                ret.add(arr[i]);
+            }
+        }
+        
+        return ret;
+    }
+}
+
+/* vim: set ts=4 sw=4 et smartindent: */
@@ -0,0 +1,299 @@
+/**
+ * @brief Field offset index over UBF buffer
+ *
+ * @class UbfIndex
+ */
+/* -----------------------------------------------------------------------------
+ * Enduro/X Middleware Platform for Distributed Transaction Processing
+ * Copyright (C) 2009-2016, ATR Baltic, Ltd. All Rights Reserved.
+ * Copyright (C) 2017-2019, Mavimax, Ltd. All Rights Reserved.
+ * This software is released under one of the following licenses:
+ * LGPL or Mavimax's license for commercial use.
+ * See LICENSE file for full text.
+ *
+ * C (as designed by Dennis Ritchie and later authors) language code is licensed
+ * under Enduro/X Modified GNU Affero General Public License, version 3.
+ * See LICENSE_C file for full text.
+ * -----------------------------------------------------------------------------
+ * LGPL license:
+ * 
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License, version 3 as published
+ * by the Free Software Foundation;
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE. See the GNU Lesser General Public License, version 3
+ * for more details.
+ *
+ * You should have received a copy of the Lesser General Public License along 
+ * with this program; if not, write to the Free Software Foundation, Inc., 
+ * 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ *
+ * -----------------------------------------------------------------------------
+ * A commercial use license is available from Mavimax, Ltd
+ * contact@mavimax.com
+ * -----------------------------------------------------------------------------
+ */
+package org.endurox;
+
+/**
+ * Indexed view of the \ref TypedUbf buffer for read-heavy processing. Buffer
+ * is scanned once at native side and data offsets of all field occurrences
+ * are recorded, thus subsequent typed reads of any (field, occurrence) are
+ * served in O(1) instead of searching the buffer each time.
+ * Index is rebuilt automatically on the next read, if buffer is modified
+ * (detected by buffer modification counter) or reallocated.
+ *
+ * Limitation: modification counter is kept in the Java wrapper object, thus
+ * only changes done through the same \ref TypedUbf instance, which was
+ * given to the index, are detected. Changes done through other wrapper of
+ * the same C buffer (e.g. buffer re-obtained from a call) or at C side
+ * are not seen, and \ref invalidate() must be called explicitly after them.
+ * Reads via stale index are bound-checked at native side against buffer
+ * used length, so they fail with UbfBEINVALException or return wrong
+ * data, but never read outside of the buffer.
+ * If field is not in the index or read type differs from the field type,
+ * read is passed to the buffer's standard Bget* methods (i.e. conversion
+ * is performed or exception is thrown).
+ * The object is not thread safe, the same as the buffer.
+ */
+public class UbfIndex {
+    
+    /**
+     * Indexed buffer
+     */
+    private final TypedUbf ub;
+    
+    /**
+     * Buffer state at the index build
+     */
+    private long cPtr = 0;
+    private int modCount;
+    private boolean built = false;
+    
+    /**
+     * Open addressing hash table: keys are (fldid << 32 | occ), 0 for empty
+     * slot (fldid 0 is bad field id), values are (offset << 32 | len)
+     */
+    private long[] keys = new long[0];
+    private long[] vals;
+    private byte[] types;
+    private int mask;
+    private int size;
+    
+    /**
+     * Create index over the buffer. The index is built on first read.
+     * @param ub UBF buffer
+     */
+    public UbfIndex(TypedUbf ub) {
+        this.ub = ub;
+    }
+    
+    /**
+     * Is index up to date with the buffer. Only changes done via the indexed
+     * \ref TypedUbf instance are seen, see class description.
+     * @return true if buffer is not modified since last index build
+     */
+    public boolean isValid() {
+        return built && ub.cPtr==cPtr && ub.modCount==modCount;
+    }
+    
+    /**
+     * Mark index as stale, so that it is rebuilt on next read. To be used
+     * when buffer is changed not via indexed \ref TypedUbf instance.
+     */
+    public void invalidate() {
+        built = false;
+    }
+    
+    /**
+     * Rebuild the index, if buffer is changed
+     */
+    public void refresh() {
+        
+        if (isValid()) {
+            return;
+        }
+        
+        int cnt = ub.modCount;
+        long [] recs = ub.BindexC();
+        int n = recs.length / 3;
+        int cap = Integer.highestOneBit(Math.max(n, 1) * 2 - 1) << 1;
+        
+        keys = new long[cap];
+        vals = new long[cap];
+        types = new byte[cap];
+        mask = cap - 1;
+        
+        for (int i=0; i<n; i++) {
+            
+            int slot = slot(recs[i*3]);
+            
+            keys[slot] = recs[i*3];
+            vals[slot] = recs[i*3+1];
+            types[slot] = (byte)recs[i*3+2];
+        }
+        
+        size = n;
+        cPtr = ub.cPtr;
+        modCount = cnt;
+        built = true;
+    }
+    
+    /**
+     * Number of indexed field occurrences
+     * @return number of field occurrences
+     */
+    public int size() {
+        refresh();
+        return size;
+    }
+    
+    /**
+     * Find slot for the key: existing or empty one
+     * @param key key to find
+     * @return slot index
+     */
+    private int slot(long key) {
+        
+        long h = key * 0x9E3779B97F4A7C15L;
+        int i = (int)(h ^ (h >>> 32)) & mask;
+        
+        while (0!=keys[i] && key!=keys[i]) {
+            i = (i + 1) & mask;
+        }
+        
+        return i;
+    }
+    
+    /**
+     * Lookup field occurrence of the given type
+     * @param bfldid compiled field id
+     * @param occ field occurrence
+     * @param type expected field type BFLD_*
+     * @return slot or -1 if not found or different type
+     */
+    private int lookup(int bfldid, int occ, int type) {
+        
+        refresh();
+        
+        if (0==keys.length) {
+            return -1;
+        }
+        
+        int i = slot(((long)bfldid << 32) | (occ & 0xffffffffL));
+        
+        if (0==keys[i] || types[i]!=type) {
+            return -1;
+        }
+        
+        return i;
+    }
+    
+    /**
+     * Check is field occurrence present in buffer
+     * @param bfldid compiled field id
+     * @param occ field occurrence
+     * @return true if present
+     */
+    public boolean Bpres(int bfldid, int occ) {
+        
+        refresh();
+        
+        if (0==keys.length) {
+            return false;
+        }
+        
+        return 0!=keys[slot(((long)bfldid << 32) | (occ & 0xffffffffL))];
+    }
+    
+    /**
+     * Get field value from the buffer, by index
+     * @defgroup UbfIndexGet indexed field read
+     * @param bfldid compiled field id
+     * @param occ field occurrence
+     * @return field value
+     * @throws UbfBNOTPRESException Field not present
+     * @{
+     */
+    public short BgetShort(int bfldid, int occ) {
+        
+        int i = lookup(bfldid, occ, AtmiConst.BFLD_SHORT);
+        
+        if (i < 0) {
+            return ub.BgetShort(bfldid, occ);
+        }
+        
+        return ub.BgetShortAtC(vals[i] >>> 32);
+    }
+    
+    public long BgetLong(int bfldid, int occ) {
+        
+        int i = lookup(bfldid, occ, AtmiConst.BFLD_LONG);
+        
+        if (i < 0) {
+            return ub.BgetLong(bfldid, occ);
+        }
+        
+        return ub.BgetLongAtC(vals[i] >>> 32);
+    }
+    
+    public byte BgetByte(int bfldid, int occ) {
+        
+        int i = lookup(bfldid, occ, AtmiConst.BFLD_CHAR);
+        
+        if (i < 0) {
+            return ub.BgetByte(bfldid, occ);
+        }
+        
+        return ub.BgetByteAtC(vals[i] >>> 32);
+    }
+    
+    public float BgetFloat(int bfldid, int occ) {
+        
+        int i = lookup(bfldid, occ, AtmiConst.BFLD_FLOAT);
+        
+        if (i < 0) {
+            return ub.BgetFloat(bfldid, occ);
+        }
+        
+        return ub.BgetFloatAtC(vals[i] >>> 32);
+    }
+    
+    public double BgetDouble(int bfldid, int occ) {
+        
+        int i = lookup(bfldid, occ, AtmiConst.BFLD_DOUBLE);
+        
+        if (i < 0) {
+            return ub.BgetDouble(bfldid, occ);
+        }
+        
+        return ub.BgetDoubleAtC(vals[i] >>> 32);
+    }
+    
+    public String BgetString(int bfldid, int occ) {
+        
+        int i = lookup(bfldid, occ, AtmiConst.BFLD_STRING);
+        
+        if (i < 0) {
+            return ub.BgetString(bfldid, occ);
+        }
+        
+        return ub.BgetStringAtC(vals[i] >>> 32);
+    }
+    
+    public byte[] BgetByteArr(int bfldid, int occ) {
+        
+        int i = lookup(bfldid, occ, AtmiConst.BFLD_CARRAY);
+        
+        if (i < 0) {
+            return ub.BgetByteArr(bfldid, occ);
+        }
+        
+        return ub.BgetByteArrAtC(vals[i] >>> 32, (int)vals[i]);
+    }
+    /** @} */ // end of UbfIndexGet
+}
+
+/* vim: set ts=4 sw=4 et smartindent: */
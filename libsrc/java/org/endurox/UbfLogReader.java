@@ -0,0 +1,413 @@
+/**
+ * @brief Memory mapped UBF message log reader
+ *
+ * @class UbfLogReader
+ */
+/* -----------------------------------------------------------------------------
+ * Enduro/X Middleware Platform for Distributed Transaction Processing
+ * Copyright (C) 2009-2016, ATR Baltic, Ltd. All Rights Reserved.
+ * Copyright (C) 2017-2019, Mavimax, Ltd. All Rights Reserved.
+ * This software is released under one of the following licenses:
+ * LGPL or Mavimax's license for commercial use.
+ * See LICENSE file for full text.
+ *
+ * C (as designed by Dennis Ritchie and later authors) language code is licensed
+ * under Enduro/X Modified GNU Affero General Public License, version 3.
+ * See LICENSE_C file for full text.
+ * -----------------------------------------------------------------------------
+ * LGPL license:
+ * 
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License, version 3 as published
+ * by the Free Software Foundation;
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE. See the GNU Lesser General Public License, version 3
+ * for more details.
+ *
+ * You should have received a copy of the Lesser General Public License along 
+ * with this program; if not, write to the Free Software Foundation, Inc., 
+ * 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ *
+ * -----------------------------------------------------------------------------
+ * A commercial use license is available from Mavimax, Ltd
+ * contact@mavimax.com
+ * -----------------------------------------------------------------------------
+ */
+package org.endurox;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * Reader of the logs written by \ref UbfLogWriter. File is memory mapped
+ * in windows, and buffers are restored with Bread() directly from the
+ * mapped memory, thus no intermediate heap copies are made. Buffers may
+ * be reused between records (\ref next(TypedUbf)), so replay of large logs
+ * is bound by I/O. Reader is not thread safe.
+ *
+ * Single mapping window is kept; when reader moves out of it, the old
+ * window is unmapped explicitly before the next one is mapped, and
+ * \ref close() unmaps the window and the index, thus long scans do not
+ * depend on GC for releasing address space and file handles.
+ */
+public class UbfLogReader implements Closeable {
+    
+    /** Size of the mapping window */
+    static final long WINDOW_SIZE = 256L*1024*1024;
+    
+    /** Log file */
+    FileChannel ch;
+    
+    /** Index file (mapped), null if not present */
+    MappedByteBuffer idx;
+    
+    /** Flags from header */
+    int flags;
+    
+    /** File size at open */
+    long size;
+    
+    /** Current read position in the file */
+    long pos = UbfLogWriter.HDR_SIZE;
+    
+    /** Current mapping */
+    MappedByteBuffer map;
+    
+    /** File offset of the mapping */
+    long mapStart;
+    
+    /** Checksum calculator */
+    CRC32 crc = new CRC32();
+    
+    /** Last buffer read into */
+    TypedUbf lastUb;
+    
+    /** Known size of the last buffer */
+    long lastUbSize;
+    
+    /**
+     * Read and validate log file header
+     * @param ch channel to read from
+     * @return flags stored in header
+     * @throws IOException invalid file
+     */
+    static int readHeader(FileChannel ch) throws IOException {
+        
+        ByteBuffer hdr = ByteBuffer.allocate(UbfLogWriter.HDR_SIZE);
+        long off = 0;
+        
+        while (hdr.hasRemaining()) {
+            
+            int n = ch.read(hdr, off);
+            
+            if (n < 0) {
+                throw new IOException("UBF log header truncated");
+            }
+            off+=n;
+        }
+        
+        byte [] magic = new byte[UbfLogWriter.MAGIC.length];
+        hdr.flip();
+        hdr.get(magic);
+        
+        if (!Arrays.equals(magic, UbfLogWriter.MAGIC)) {
+            throw new IOException("Not an UBF log file (bad magic)");
+        }
+        
+        int version = hdr.getInt();
+        
+        if (UbfLogWriter.VERSION!=version) {
+            throw new IOException(String.format("Unsupported UBF log version %d", 
+                    version));
+        }
+        
+        return hdr.getInt();
+    }
+    
+    /**
+     * Open log for reading. Only records which are present at the open time
+     * are read.
+     * @param path log file
+     * @throws IOException failed to open or invalid file
+     */
+    public UbfLogReader(Path path) throws IOException {
+        
+        ch = FileChannel.open(path, StandardOpenOption.READ);
+        
+        try {
+            flags = readHeader(ch);
+            size = ch.size();
+            
+            Path idxPath = Paths.get(path.toString()+UbfLogWriter.INDEX_SUFFIX);
+            
+            if (0!=(flags & UbfLogWriter.FLAG_INDEX) && Files.exists(idxPath)) {
+                
+                FileChannel ich = FileChannel.open(idxPath, 
+                        StandardOpenOption.READ);
+                try {
+                    idx = ich.map(FileChannel.MapMode.READ_ONLY, 0, 
+                            ich.size() & ~7L);
+                }
+                finally {
+                    ich.close();
+                }
+            }
+        }
+        catch (IOException e) {
+            ch.close();
+            throw e;
+        }
+    }
+    
+    /**
+     * Get flags from the file header
+     * @return UbfLogWriter.FLAG_* bits
+     */
+    public int getFlags() {
+        return flags;
+    }
+    
+    /**
+     * Number of records according to index
+     * @return number of records or -1 if index is not available
+     */
+    public long count() {
+        
+        if (null==idx) {
+            return -1;
+        }
+        
+        return idx.limit() / 8;
+    }
+    
+    /**
+     * Position reader to given record. Requires index.
+     * @param recno record number, 0 based
+     * @throws IOException index not available or record number out of range
+     */
+    public void seek(long recno) throws IOException {
+        
+        if (null==idx) {
+            throw new IOException("UBF log index not available");
+        }
+        
+        if (recno < 0 || recno >= count()) {
+            throw new IOException(String.format("Record %d out of range (0..%d)", 
+                    recno, count()-1));
+        }
+        
+        pos = idx.getLong((int)(recno*8));
+    }
+    
+    /**
+     * Position reader to the first record
+     */
+    public void rewind() {
+        pos = UbfLogWriter.HDR_SIZE;
+    }
+    
+    /**
+     * Current file offset
+     * @return offset of the next record
+     */
+    public long position() {
+        return pos;
+    }
+    
+    /**
+     * Release the mapping now, instead of waiting for GC. Buffer must not
+     * be accessed after the call. If the JVM does not provide the cleaner,
+     * mapping is left to GC.
+     * @param buf mapping to release, may be null
+     */
+    static void unmap(MappedByteBuffer buf) {
+        
+        if (null==buf) {
+            return;
+        }
+        
+        try {
+            /* Java 9+ */
+            Class<?> clazz = Class.forName("sun.misc.Unsafe");
+            Field f = clazz.getDeclaredField("theUnsafe");
+            f.setAccessible(true);
+            Method m = clazz.getMethod("invokeCleaner", ByteBuffer.class);
+            m.invoke(f.get(null), buf);
+            return;
+        }
+        catch (Exception e) {
+            /* try Java 8 way */
+        }
+        
+        try {
+            Method m = buf.getClass().getMethod("cleaner");
+            m.setAccessible(true);
+            Object cleaner = m.invoke(buf);
+            
+            if (null!=cleaner) {
+                Method clean = cleaner.getClass().getMethod("clean");
+                clean.setAccessible(true);
+                clean.invoke(cleaner);
+            }
+        }
+        catch (Exception e) {
+            /* left to GC */
+        }
+    }
+    
+    /**
+     * Ensure that file region is mapped
+     * @param off file offset
+     * @param len region length
+     * @throws IOException failed to map
+     */
+    private void ensure(long off, long len) throws IOException {
+        
+        if (null!=map && off >= mapStart && off+len <= mapStart+map.limit()) {
+            return;
+        }
+        
+        long msize = Math.max(len, Math.min(WINDOW_SIZE, size - off));
+        
+        /* do not keep previous window until GC */
+        MappedByteBuffer old = map;
+        map = null;
+        unmap(old);
+        
+        map = ch.map(FileChannel.MapMode.READ_ONLY, off, msize);
+        mapStart = off;
+    }
+    
+    /**
+     * Read next record into given buffer. Buffer is reallocated if
+     * it is too small for the record.
+     * @param ub buffer to read into
+     * @return true if record was read, false if end of log reached
+     * @throws IOException I/O error, truncated record or CRC mismatch
+     * @throws UbfBNOTFLDException Corrupted image.
+     */
+    public boolean next(TypedUbf ub) throws IOException {
+        
+        int rechdr = (0!=(flags & UbfLogWriter.FLAG_CRC))?8:4;
+        
+        if (pos >= size) {
+            return false;
+        }
+        
+        if (pos + rechdr > size) {
+            throw new IOException(String.format("Truncated record header at %d", 
+                    pos));
+        }
+        
+        ensure(pos, rechdr);
+        
+        int off = (int)(pos - mapStart);
+        int len = map.getInt(off);
+        
+        if (len < 0 || pos + rechdr + len > size) {
+            throw new IOException(String.format("Truncated record at %d "
+                    + "(len %d, file size %d)", pos, len, size));
+        }
+        
+        ensure(pos, rechdr + len);
+        off = (int)(pos - mapStart);
+        
+        if (0!=(flags & UbfLogWriter.FLAG_CRC)) {
+            
+            int exp = map.getInt(off + 4);
+            
+            map.limit(off + rechdr + len);
+            map.position(off + rechdr);
+            crc.reset();
+            crc.update(map);
+            map.clear();
+            
+            if ((int)crc.getValue()!=exp) {
+                throw new IOException(String.format("CRC mismatch for record "
+                        + "at %d", pos));
+            }
+        }
+        
+        /* grow buffer if needed */
+        if (ub!=lastUb) {
+            lastUb = ub;
+            lastUbSize = ub.Bsizeof();
+        }
+        
+        if (lastUbSize < len) {
+            ub.tprealloc(len);
+            lastUbSize = ub.Bsizeof();
+        }
+        
+        ub.BreadDirectC(map, off + rechdr, len);
+        pos+=rechdr + len;
+        
+        return true;
+    }
+    
+    /**
+     * Read next record into newly allocated buffer
+     * @param ctx ATMI Context to allocate buffer in
+     * @return buffer or null if end of log reached
+     * @throws IOException I/O error, truncated record or CRC mismatch
+     */
+    public TypedUbf next(AtmiCtx ctx) throws IOException {
+        
+        if (pos >= size) {
+            return null;
+        }
+        
+        TypedUbf ub = (TypedUbf)ctx.tpalloc("UBF", "", 1024);
+        
+        try {
+            next(ub);
+        }
+        catch (IOException | RuntimeException e) {
+            ub.cleanup();
+            throw e;
+        }
+        finally {
+            lastUb = null;
+        }
+        
+        return ub;
+    }
+    
+    /**
+     * Close the reader
+     * @throws IOException failed to close
+     */
+    @Override
+    public void close() throws IOException {
+        
+        MappedByteBuffer m = map;
+        MappedByteBuffer i = idx;
+        
+        map = null;
+        idx = null;
+        lastUb = null;
+        
+        unmap(m);
+        unmap(i);
+        
+        if (null!=ch) {
+            ch.close();
+            ch = null;
+        }
+    }
+}
+
+/* vim: set ts=4 sw=4 et smartindent: */
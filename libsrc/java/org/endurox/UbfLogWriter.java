@@ -0,0 +1,395 @@
+/**
+ * @brief Append-only UBF message log writer
+ *
+ * @class UbfLogWriter
+ */
+/* -----------------------------------------------------------------------------
+ * Enduro/X Middleware Platform for Distributed Transaction Processing
+ * Copyright (C) 2009-2016, ATR Baltic, Ltd. All Rights Reserved.
+ * Copyright (C) 2017-2019, Mavimax, Ltd. All Rights Reserved.
+ * This software is released under one of the following licenses:
+ * LGPL or Mavimax's license for commercial use.
+ * See LICENSE file for full text.
+ *
+ * C (as designed by Dennis Ritchie and later authors) language code is licensed
+ * under Enduro/X Modified GNU Affero General Public License, version 3.
+ * See LICENSE_C file for full text.
+ * -----------------------------------------------------------------------------
+ * LGPL license:
+ * 
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License, version 3 as published
+ * by the Free Software Foundation;
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE. See the GNU Lesser General Public License, version 3
+ * for more details.
+ *
+ * You should have received a copy of the Lesser General Public License along 
+ * with this program; if not, write to the Free Software Foundation, Inc., 
+ * 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ *
+ * -----------------------------------------------------------------------------
+ * A commercial use license is available from Mavimax, Ltd
+ * contact@mavimax.com
+ * -----------------------------------------------------------------------------
+ */
+package org.endurox;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of UBF buffers, for audit and replay. Read back with
+ * \ref UbfLogReader.
+ * 
+ * File format (all integers are big endian):
+ * - file header: 8 bytes magic \ref MAGIC, int version, int flags
+ * - records: int image length, int CRC32 of image (only if \ref FLAG_CRC),
+ *   image as produced by \ref TypedUbf.Bwrite()
+ * 
+ * If \ref FLAG_INDEX is set, then next to the log file \<file\>.idx is kept,
+ * which holds long file offset for each of the records, thus reader may
+ * seek to record by number.
+ * 
+ * Images are produced directly into reusable direct buffer, no per record
+ * heap allocation is done. fsync() is batched: it is performed when
+ * given number of records or given time has passed since last sync, see
+ * \ref UbfLogWriter(Path, int, int, long). Appends are serialized by lock.
+ * If existing log is opened, records are appended and flags are taken from
+ * the file header.
+ */
+public class UbfLogWriter implements Closeable {
+    
+    /** File magic */
+    public static final byte[] MAGIC = 
+            {'N', 'D', 'R', 'X', 'U', 'L', 'O', 'G'};
+    
+    /** Format version */
+    public static final int VERSION = 1;
+    
+    /** File header size */
+    public static final int HDR_SIZE = 16;
+    
+    /** Records contain CRC32 of the image */
+    public static final int FLAG_CRC = 0x00000001;
+    
+    /** Record offsets index file is maintained */
+    public static final int FLAG_INDEX = 0x00000002;
+    
+    /** Index file name suffix */
+    public static final String INDEX_SUFFIX = ".idx";
+    
+    /** Initial size of image buffer */
+    static final int INIT_BUF_SIZE = 64*1024;
+    
+    /** Log file */
+    FileChannel ch;
+    
+    /** Index file, null if not used */
+    FileChannel idx;
+    
+    /** Current end of index */
+    long idxPos;
+    
+    /** Effective flags */
+    int flags;
+    
+    /** Sync after this number of records, 0 - not used */
+    int syncRecords;
+    
+    /** Sync after this number of millis, 0 - not used */
+    long syncMillis;
+    
+    /** Records appended since last sync */
+    int pending;
+    
+    /** Time of last sync */
+    long lastSync;
+    
+    /** Current end of log */
+    long pos;
+    
+    /** Record build buffer */
+    ByteBuffer buf = ByteBuffer.allocateDirect(INIT_BUF_SIZE);
+    
+    /** Index entry buffer */
+    ByteBuffer idxBuf = ByteBuffer.allocateDirect(8);
+    
+    /** Checksum calculator */
+    CRC32 crc = new CRC32();
+    
+    /** Writer lock */
+    final Lock mutex = new ReentrantLock();
+    
+    /**
+     * Open log for writing with default sync policy (each 1000 records
+     * or 1 second)
+     * @param path log file
+     * @param flags \ref FLAG_CRC, \ref FLAG_INDEX, used for new files
+     * @throws IOException failed to open or invalid existing file
+     */
+    public UbfLogWriter(Path path, int flags) throws IOException {
+        this(path, flags, 1000, 1000);
+    }
+    
+    /**
+     * Open log for writing
+     * @param path log file
+     * @param flags \ref FLAG_CRC, \ref FLAG_INDEX, used for new files
+     * @param syncRecords fsync after given number of records appended,
+     *  0 - do not sync by count
+     * @param syncMillis fsync on append if given time is passed since 
+     *  last sync, 0 - do not sync by time
+     * @throws IOException failed to open or invalid existing file
+     */
+    public UbfLogWriter(Path path, int flags, int syncRecords, long syncMillis) 
+            throws IOException {
+        
+        this.syncRecords = syncRecords;
+        this.syncMillis = syncMillis;
+        
+        ch = FileChannel.open(path, StandardOpenOption.CREATE, 
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        
+        try {
+            pos = ch.size();
+            
+            if (0==pos) {
+                
+                this.flags = flags;
+                
+                ByteBuffer hdr = ByteBuffer.allocate(HDR_SIZE);
+                hdr.put(MAGIC);
+                hdr.putInt(VERSION);
+                hdr.putInt(flags);
+                hdr.flip();
+                
+                long end = pos;
+                
+                try {
+                    while (hdr.hasRemaining()) {
+                        end+=ch.write(hdr, end);
+                    }
+                }
+                catch (IOException e) {
+                    /* do not leave partial header, file would be unusable */
+                    truncate(ch, 0, e);
+                    throw e;
+                }
+                
+                pos = end;
+            }
+            else {
+                this.flags = UbfLogReader.readHeader(ch);
+            }
+            
+            if (0!=(this.flags & FLAG_INDEX)) {
+                idx = FileChannel.open(Paths.get(path.toString()+INDEX_SUFFIX), 
+                        StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                        StandardOpenOption.APPEND);
+                idxPos = idx.size();
+            }
+        }
+        catch (IOException e) {
+            ch.close();
+            throw e;
+        }
+        
+        lastSync = System.currentTimeMillis();
+    }
+    
+    /**
+     * Get effective flags
+     * @return FLAG_* bits
+     */
+    public int getFlags() {
+        return flags;
+    }
+    
+    /**
+     * Append buffer to the log
+     * @param ub UBF buffer to write
+     * @return file offset of the record
+     * @throws IOException failed to write
+     * @throws UbfBNOTFLDException Buffer not fielded, not correctly 
+     *  allocated or corrupted.
+     */
+    public long append(TypedUbf ub) throws IOException {
+        
+        int rechdr = (0!=(flags & FLAG_CRC))?8:4;
+        long ret;
+        
+        mutex.lock();
+        try {
+            
+            int len = ub.BwriteDirectC(buf, rechdr);
+            
+            if (rechdr+len > buf.capacity()) {
+                buf = ByteBuffer.allocateDirect(Math.max(buf.capacity()*2, 
+                        rechdr+len));
+                len = ub.BwriteDirectC(buf, rechdr);
+            }
+            
+            buf.clear();
+            buf.putInt(0, len);
+            
+            if (0!=(flags & FLAG_CRC)) {
+                buf.position(rechdr);
+                buf.limit(rechdr+len);
+                crc.reset();
+                crc.update(buf);
+                buf.putInt(4, (int)crc.getValue());
+                buf.clear();
+            }
+            
+            buf.limit(rechdr+len);
+            
+            ret = pos;
+            
+            /* pos is moved only when whole record (and index entry) is
+             * written, on failure partial data is cut off */
+            long end = pos;
+            
+            try {
+                while (buf.hasRemaining()) {
+                    end+=ch.write(buf, end);
+                }
+            }
+            catch (IOException e) {
+                truncate(ch, ret, e);
+                throw e;
+            }
+            
+            if (null!=idx) {
+                
+                idxBuf.clear();
+                idxBuf.putLong(0, ret);
+                
+                try {
+                    while (idxBuf.hasRemaining()) {
+                        idx.write(idxBuf);
+                    }
+                }
+                catch (IOException e) {
+                    truncate(idx, idxPos, e);
+                    truncate(ch, ret, e);
+                    throw e;
+                }
+            }
+            
+            pos = end;
+            
+            if (null!=idx) {
+                idxPos+=8;
+            }
+            
+            pending++;
+            
+            if ((syncRecords > 0 && pending >= syncRecords) || 
+                    (syncMillis > 0 && 
+                        System.currentTimeMillis() - lastSync >= syncMillis)) {
+                syncInt();
+            }
+        }
+        finally {
+            mutex.unlock();
+        }
+        
+        return ret;
+    }
+    
+    /**
+     * Cut off partially written data after failed write
+     * @param fc channel to truncate
+     * @param size size to restore
+     * @param cause write error, truncate error is attached to it
+     */
+    private static void truncate(FileChannel fc, long size, IOException cause) {
+        
+        try {
+            fc.truncate(size);
+        }
+        catch (IOException e) {
+            cause.addSuppressed(e);
+        }
+    }
+    
+    /**
+     * Perform fsync, lock must be held
+     * @throws IOException failed to sync
+     */
+    private void syncInt() throws IOException {
+        
+        ch.force(false);
+        
+        if (null!=idx) {
+            idx.force(false);
+        }
+        
+        pending = 0;
+        lastSync = System.currentTimeMillis();
+    }
+    
+    /**
+     * Sync appended records to disk
+     * @throws IOException failed to sync
+     */
+    public void sync() throws IOException {
+        
+        mutex.lock();
+        try {
+            if (pending > 0) {
+                syncInt();
+            }
+        }
+        finally {
+            mutex.unlock();
+        }
+    }
+    
+    /**
+     * Sync and close the log
+     * @throws IOException failed to sync or close
+     */
+    @Override
+    public void close() throws IOException {
+        
+        mutex.lock();
+        try {
+            
+            if (null==ch) {
+                return;
+            }
+            
+            try {
+                if (pending > 0) {
+                    syncInt();
+                }
+            }
+            finally {
+                ch.close();
+                ch = null;
+                
+                if (null!=idx) {
+                    idx.close();
+                    idx = null;
+                }
+            }
+        }
+        finally {
+            mutex.unlock();
+        }
+    }
+}
+
+/* vim: set ts=4 sw=4 et smartindent: */
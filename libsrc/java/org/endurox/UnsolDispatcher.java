@@ -0,0 +1,532 @@
+/**
+ * @brief Asynchronous unsolicited message dispatcher
+ *
+ * @class UnsolDispatcher
+ */
+/* -----------------------------------------------------------------------------
+ * Enduro/X Middleware Platform for Distributed Transaction Processing
+ * Copyright (C) 2009-2016, ATR Baltic, Ltd. All Rights Reserved.
+ * Copyright (C) 2017-2019, Mavimax, Ltd. All Rights Reserved.
+ * This software is released under one of the following licenses:
+ * LGPL or Mavimax's license for commercial use.
+ * See LICENSE file for full text.
+ *
+ * C (as designed by Dennis Ritchie and later authors) language code is licensed
+ * under Enduro/X Modified GNU Affero General Public License, version 3.
+ * See LICENSE_C file for full text.
+ * -----------------------------------------------------------------------------
+ * LGPL license:
+ * 
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License, version 3 as published
+ * by the Free Software Foundation;
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE. See the GNU Lesser General Public License, version 3
+ * for more details.
+ *
+ * You should have received a copy of the Lesser General Public License along 
+ * with this program; if not, write to the Free Software Foundation, Inc., 
+ * 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ *
+ * -----------------------------------------------------------------------------
+ * A commercial use license is available from Mavimax, Ltd
+ * contact@mavimax.com
+ * -----------------------------------------------------------------------------
+ */
+package org.endurox;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Dispatches unsolicited messages to \ref UnsolCallback on the given
+ * executor, so that slow callback does not block the thread which
+ * received the message in tpchkunsol() or tpcall(). Register with
+ * \ref AtmiCtx.tpsetunsol(UnsolCallback, UnsolDispatcher).
+ *
+ * Messages of each receiving context (client) are queued to own lane and
+ * delivered in order of arrival, by one executor task at a time. Callback
+ * receives buffer copy which it owns, bound to the lane's own ATMI Context,
+ * thus callback may perform any ATMI calls with the passed context
+ * (not limited as in synchronous unsolicited callback). When lane is
+ * drained, it is removed and its context is returned to the dispatcher's
+ * pool, thus receiving contexts which come and go do not accumulate in the
+ * dispatcher, and delivery contexts are not allocated per message burst.
+ * Number of pooled contexts is bounded by the number of lanes delivering
+ * at the same time. Pooled contexts are released by \ref close().
+ *
+ * Lane queue is bounded, when full the \ref Overflow policy applies.
+ * One dispatcher may be shared by many contexts.
+ */
+public class UnsolDispatcher implements AutoCloseable {
+    
+    /**
+     * Policy when lane queue is full
+     */
+    public enum Overflow {
+        /** drop the message received */
+        DROP_NEWEST,
+        /** drop oldest queued message */
+        DROP_OLDEST,
+        /** block the receiving thread until space is available */
+        BLOCK
+    }
+    
+    /**
+     * Queued message
+     */
+    private static final class Message {
+        
+        final UnsolCallback cb;
+        final TypedBuffer buf;
+        final long flags;
+        
+        Message(UnsolCallback cb, TypedBuffer buf, long flags) {
+            this.cb = cb;
+            this.buf = buf;
+            this.flags = flags;
+        }
+    }
+    
+    /**
+     * Per receiving context queue. Lane exists while it has messages queued
+     * or delivered, when drained it is removed from the dispatcher and its
+     * context is returned to the pool.
+     */
+    private class Lane implements Runnable {
+        
+        final AtmiCtx key;
+        final ArrayDeque<Message> queue = new ArrayDeque<Message>();
+        
+        /**
+         * Delivery context, taken from the pool by the task
+         */
+        AtmiCtx ctx = null;
+        
+        /**
+         * Task is submitted to executor
+         */
+        boolean scheduled = false;
+        
+        /**
+         * Task is delivering messages
+         */
+        boolean running = false;
+        
+        /**
+         * Lane is removed from the dispatcher, no more messages accepted
+         */
+        boolean retired = false;
+        
+        Lane(AtmiCtx key) {
+            this.key = key;
+        }
+        
+        /**
+         * Deliver queued messages
+         */
+        @Override
+        public void run() {
+            
+            synchronized (this) {
+                
+                if (retired) {
+                    scheduled = false;
+                    notifyAll();
+                    return;
+                }
+                
+                running = true;
+            }
+            
+            if (null==ctx) {
+                ctx = takeCtx();
+            }
+            
+            while (true) {
+                
+                Message msg;
+                
+                synchronized (this) {
+                    
+                    msg = retired ? null : queue.poll();
+                    
+                    /* space for blocked receivers */
+                    notifyAll();
+                }
+                
+                if (null==msg) {
+                    
+                    synchronized (lanes) {
+                        
+                        synchronized (this) {
+                            
+                            if (!retired && !queue.isEmpty()) {
+                                /* message arrived meanwhile */
+                                continue;
+                            }
+                            
+                            retire();
+                            scheduled = false;
+                        }
+                    }
+                    
+                    releaseCtx(ctx);
+                    ctx = null;
+                    
+                    synchronized (this) {
+                        running = false;
+                        notifyAll();
+                    }
+                    
+                    return;
+                }
+                
+                if (null!=msg.buf) {
+                    msg.buf.setAtmiCtx(ctx);
+                }
+                
+                try {
+                    msg.cb.unsolCallback(ctx, msg.buf, msg.flags);
+                    delivered.incrementAndGet();
+                }
+                catch (RuntimeException e) {
+                    ctx.tplogex(AtmiConst.LOG_ERROR, 
+                            "Got exception during unsol handling (ignore)", e);
+                }
+            }
+        }
+        
+        /**
+         * Remove the lane from the dispatcher. Called with \p lanes and lane
+         * locks held.
+         */
+        void retire() {
+            
+            retired = true;
+            
+            if (lanes.get(key)==this) {
+                lanes.remove(key);
+            }
+        }
+        
+        /**
+         * Take all queued messages. Called with lane lock held.
+         * @return messages
+         */
+        List<Message> drain() {
+            
+            List<Message> ret = new ArrayList<Message>(queue);
+            queue.clear();
+            notifyAll();
+            
+            return ret;
+        }
+    }
+    
+    private final Executor executor;
+    private final int capacity;
+    private final Overflow overflow;
+    private final Map<AtmiCtx, Lane> lanes = new IdentityHashMap<AtmiCtx, Lane>();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    
+    /**
+     * Idle delivery contexts, guarded by \p lanes
+     */
+    private final ArrayDeque<AtmiCtx> contexts = new ArrayDeque<AtmiCtx>();
+    private boolean closed = false;
+    
+    /**
+     * Create dispatcher
+     * @param executor executor to run callbacks on
+     * @param capacity max messages queued per receiving context
+     * @param overflow policy when queue is full
+     */
+    public UnsolDispatcher(Executor executor, int capacity, Overflow overflow) {
+        
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be >= 1");
+        }
+        
+        this.executor = executor;
+        this.capacity = capacity;
+        this.overflow = overflow;
+    }
+    
+    /**
+     * @return number of messages passed to callbacks
+     */
+    public long getDelivered() {
+        return delivered.get();
+    }
+    
+    /**
+     * @return number of messages dropped due to overflow, executor
+     *  rejection or dispatcher close
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+    
+    /**
+     * @return number of lanes, i.e. receiving contexts with messages
+     *  in delivery
+     */
+    public int getLanes() {
+        
+        synchronized (lanes) {
+            return lanes.size();
+        }
+    }
+    
+    /**
+     * @return number of idle delivery contexts in the pool
+     */
+    public int getContexts() {
+        
+        synchronized (lanes) {
+            return contexts.size();
+        }
+    }
+    
+    /**
+     * Get delivery context from the pool or create new one
+     * @return delivery context
+     */
+    private AtmiCtx takeCtx() {
+        
+        AtmiCtx ret;
+        
+        synchronized (lanes) {
+            ret = contexts.poll();
+        }
+        
+        if (null==ret) {
+            ret = new AtmiCtx();
+        }
+        
+        return ret;
+    }
+    
+    /**
+     * Return delivery context to the pool, if dispatcher is closed, context
+     * is released
+     * @param ctx delivery context
+     */
+    private void releaseCtx(AtmiCtx ctx) {
+        
+        synchronized (lanes) {
+            
+            if (!closed) {
+                contexts.push(ctx);
+                return;
+            }
+        }
+        
+        ctx.cleanup();
+    }
+    
+    /**
+     * Get lane of the receiving context
+     * @param ctx receiving context
+     * @return lane or null if dispatcher is closed
+     */
+    private Lane lane(AtmiCtx ctx) {
+        
+        synchronized (lanes) {
+            
+            if (closed) {
+                return null;
+            }
+            
+            Lane l = lanes.get(ctx);
+            
+            if (null==l) {
+                l = new Lane(ctx);
+                lanes.put(ctx, l);
+            }
+            
+            return l;
+        }
+    }
+    
+    /**
+     * Free dropped messages
+     * @param msgs messages
+     */
+    private void drop(List<Message> msgs) {
+        
+        for (Message m : msgs) {
+            
+            dropped.incrementAndGet();
+            
+            if (null!=m.buf) {
+                m.buf.cleanup();
+            }
+        }
+    }
+    
+    /**
+     * Queue message for delivery, called on receiving thread
+     * @param ctx receiving context
+     * @param cb callback
+     * @param buf message buffer (owned copy)
+     * @param flags flags
+     */
+    void dispatch(AtmiCtx ctx, UnsolCallback cb, TypedBuffer buf, long flags) {
+        
+        Message msg = new Message(cb, buf, flags);
+        Message drop = null;
+        boolean schedule = false;
+        Lane l;
+        
+        while (true) {
+            
+            if (null==(l = lane(ctx))) {
+                drop = msg;
+                break;
+            }
+            
+            synchronized (l) {
+                
+                /* lane drained and removed meanwhile, get new one */
+                if (l.retired) {
+                    continue;
+                }
+                
+                while (l.queue.size() >= capacity && !l.retired) {
+                    
+                    if (Overflow.DROP_NEWEST==overflow) {
+                        drop = msg;
+                        break;
+                    }
+                    else if (Overflow.DROP_OLDEST==overflow) {
+                        drop = l.queue.poll();
+                        break;
+                    }
+                    
+                    try {
+                        l.wait();
+                    }
+                    catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        drop = msg;
+                        break;
+                    }
+                }
+                
+                if (l.retired) {
+                    /* closed while waiting */
+                    drop = msg;
+                }
+                else if (drop!=msg) {
+                    
+                    l.queue.add(msg);
+                    
+                    if (!l.scheduled) {
+                        l.scheduled = true;
+                        schedule = true;
+                    }
+                }
+            }
+            
+            break;
+        }
+        
+        if (null!=drop) {
+            drop(Collections.singletonList(drop));
+        }
+        
+        if (schedule) {
+            
+            try {
+                executor.execute(l);
+            }
+            catch (RejectedExecutionException e) {
+                
+                List<Message> msgs;
+                
+                synchronized (lanes) {
+                    
+                    synchronized (l) {
+                        l.retire();
+                        l.scheduled = false;
+                        msgs = l.drain();
+                    }
+                }
+                
+                ctx.tplogex(AtmiConst.LOG_ERROR, "Unsol dispatch rejected by "
+                        + "executor, dropping " + msgs.size() + " messages", e);
+                drop(msgs);
+            }
+        }
+    }
+    
+    /**
+     * Stop dispatching. Queued messages are dropped, callbacks in progress
+     * are waited to finish, then pooled delivery contexts are released.
+     * Executor is not shut down.
+     */
+    @Override
+    public void close() {
+        
+        List<Lane> all;
+        List<Message> msgs = new ArrayList<Message>();
+        
+        synchronized (lanes) {
+            closed = true;
+            all = new ArrayList<Lane>(lanes.values());
+            
+            for (Lane l : all) {
+                
+                synchronized (l) {
+                    l.retire();
+                    msgs.addAll(l.drain());
+                }
+            }
+        }
+        
+        drop(msgs);
+        
+        for (Lane l : all) {
+            
+            synchronized (l) {
+                
+                while (l.running) {
+                    
+                    try {
+                        l.wait();
+                    }
+                    catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                }
+            }
+        }
+        
+        /* lanes still running release their contexts themselves */
+        List<AtmiCtx> idle;
+        
+        synchronized (lanes) {
+            idle = new ArrayList<AtmiCtx>(contexts);
+            contexts.clear();
+        }
+        
+        for (AtmiCtx c : idle) {
+            c.cleanup();
+        }
+    }
+}
+
+/* vim: set ts=4 sw=4 et smartindent: */
@@ -0,0 +1,303 @@
+/**
+ * @brief Background unsolicited message poller
+ *
+ * @class UnsolPoller
+ */
+/* -----------------------------------------------------------------------------
+ * Enduro/X Middleware Platform for Distributed Transaction Processing
+ * Copyright (C) 2009-2016, ATR Baltic, Ltd. All Rights Reserved.
+ * Copyright (C) 2017-2019, Mavimax, Ltd. All Rights Reserved.
+ * This software is released under one of the following licenses:
+ * LGPL or Mavimax's license for commercial use.
+ * See LICENSE file for full text.
+ *
+ * C (as designed by Dennis Ritchie and later authors) language code is licensed
+ * under Enduro/X Modified GNU Affero General Public License, version 3.
+ * See LICENSE_C file for full text.
+ * -----------------------------------------------------------------------------
+ * LGPL license:
+ * 
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License, version 3 as published
+ * by the Free Software Foundation;
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE. See the GNU Lesser General Public License, version 3
+ * for more details.
+ *
+ * You should have received a copy of the Lesser General Public License along 
+ * with this program; if not, write to the Free Software Foundation, Inc., 
+ * 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ *
+ * -----------------------------------------------------------------------------
+ * A commercial use license is available from Mavimax, Ltd
+ * contact@mavimax.com
+ * -----------------------------------------------------------------------------
+ */
+package org.endurox;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Background thread which owns dedicated ATMI Context (client) and
+ * receives unsolicited messages (tpnotify/tpbroadcast) for it, delivering
+ * them to the registered \ref UnsolCallback handlers. Thus notification
+ * receivers do not need to interleave tpchkunsol() with own processing.
+ *
+ * XATMI provides non-blocking tpchkunsol() only, thus poller processes all
+ * messages available while there are any, and when the queue is empty it
+ * waits with exponential back-off from \ref setWait() min to max, which
+ * keeps the latency low under load and the CPU usage low while idle.
+ * The price is delivery latency: message arriving to idle poller waits up
+ * to the max back-off (100 ms by default) before it is picked up. Latency
+ * sensitive receivers shall lower the max with \ref setWait().
+ *
+ * Callbacks are invoked on the poller thread with the poller context,
+ * unless \ref UnsolDispatcher is given, in which case messages are dispatched
+ * on its executor.
+ */
+public class UnsolPoller implements AutoCloseable {
+    
+    private final CopyOnWriteArrayList<UnsolCallback> callbacks = 
+            new CopyOnWriteArrayList<UnsolCallback>();
+    private final UnsolDispatcher dispatcher;
+    private long waitMin = 1;
+    private long waitMax = 100;
+    private volatile boolean stopped = false;
+    private Thread thread;
+    
+    /**
+     * Poller context, valid while thread is running
+     */
+    private volatile AtmiCtx ctx;
+    
+    /**
+     * Number of messages received
+     */
+    private final AtomicLong received = new AtomicLong();
+    
+    /**
+     * Wait/notify object for back-off
+     */
+    private final Object lock = new Object();
+    
+    /**
+     * Fan out to the registered callbacks
+     */
+    private final UnsolCallback fanout = new UnsolCallback() {
+        
+        @Override
+        public void unsolCallback(AtmiCtx ctx, TypedBuffer buf, long flags) {
+            
+            received.incrementAndGet();
+            
+            for (UnsolCallback cb : callbacks) {
+                
+                try {
+                    cb.unsolCallback(ctx, buf, flags);
+                }
+                catch (RuntimeException e) {
+                    ctx.tplogex(AtmiConst.LOG_ERROR, 
+                            "Got exception during unsol handling (ignore)", e);
+                }
+            }
+        }
+    };
+    
+    /**
+     * Create poller, delivering on the poller thread
+     */
+    public UnsolPoller() {
+        this(null);
+    }
+    
+    /**
+     * Create poller
+     * @param dispatcher asynchronous dispatcher, or null to invoke callbacks
+     *  on the poller thread
+     */
+    public UnsolPoller(UnsolDispatcher dispatcher) {
+        this.dispatcher = dispatcher;
+    }
+    
+    /**
+     * Empty queue wait
+     * @param minMs first wait in milliseconds, default 1
+     * @param maxMs max wait in milliseconds, default 100
+     */
+    public void setWait(long minMs, long maxMs) {
+        
+        if (minMs < 1 || maxMs < minMs) {
+            throw new IllegalArgumentException("invalid wait: " 
+                    + minMs + ".." + maxMs);
+        }
+        this.waitMin = minMs;
+        this.waitMax = maxMs;
+    }
+    
+    /**
+     * Register callback
+     * @param cb callback
+     */
+    public void addCallback(UnsolCallback cb) {
+        callbacks.add(cb);
+    }
+    
+    /**
+     * Unregister callback
+     * @param cb callback
+     * @return true if was registered
+     */
+    public boolean removeCallback(UnsolCallback cb) {
+        return callbacks.remove(cb);
+    }
+    
+    /**
+     * @return number of messages received
+     */
+    public long getReceived() {
+        return received.get();
+    }
+    
+    /**
+     * Start the poller thread. Returns when context is initialized, thus
+     * it is ready to receive broadcasts.
+     * @throws InterruptedException interrupted while waiting for init
+     * @throws AtmiException context initialization failed
+     */
+    public synchronized void start() throws InterruptedException {
+        
+        if (null!=thread) {
+            throw new IllegalStateException("poller already started");
+        }
+        
+        stopped = false;
+        
+        final RuntimeException[] initErr = new RuntimeException[1];
+        final Object ready = new Object();
+        
+        thread = new Thread(new Runnable() {
+            
+            @Override
+            public void run() {
+                
+                AtmiCtx c = new AtmiCtx();
+                
+                try {
+                    c.tpinit(null);
+                    c.tpsetunsol(fanout, dispatcher);
+                }
+                catch (RuntimeException e) {
+                    initErr[0] = e;
+                    c.cleanup();
+                    c = null;
+                }
+                
+                synchronized (ready) {
+                    ctx = c;
+                    ready.notifyAll();
+                }
+                
+                if (null!=c) {
+                    poll(c);
+                }
+            }
+        }, "UnsolPoller");
+        
+        thread.setDaemon(true);
+        
+        synchronized (ready) {
+            
+            thread.start();
+            
+            while (null==ctx && null==initErr[0]) {
+                ready.wait();
+            }
+        }
+        
+        if (null!=initErr[0]) {
+            thread = null;
+            throw initErr[0];
+        }
+    }
+    
+    /**
+     * Poll loop
+     * @param c poller context
+     */
+    private void poll(AtmiCtx c) {
+        
+        long wait = 0;
+        
+        try {
+            while (!stopped) {
+                
+                int n;
+                
+                try {
+                    n = c.tpchkunsol();
+                }
+                catch (RuntimeException e) {
+                    c.tplogex(AtmiConst.LOG_ERROR, "tpchkunsol failed", e);
+                    n = 0;
+                    wait = waitMax;
+                }
+                
+                if (n > 0) {
+                    wait = 0;
+                    continue;
+                }
+                
+                wait = (0==wait) ? waitMin : Math.min(wait * 2, waitMax);
+                
+                synchronized (lock) {
+                    if (!stopped) {
+                        lock.wait(wait);
+                    }
+                }
+            }
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        finally {
+            c.tpsetunsol(null, null);
+            ctx = null;
+            c.cleanup();
+        }
+    }
+    
+    /**
+     * Stop the poller and release the context
+     */
+    @Override
+    public void close() {
+        
+        Thread t;
+        
+        synchronized (this) {
+            t = thread;
+            thread = null;
+        }
+        
+        if (null==t) {
+            return;
+        }
+        
+        stopped = true;
+        
+        synchronized (lock) {
+            lock.notifyAll();
+        }
+        
+        try {
+            t.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
+
+/* vim: set ts=4 sw=4 et smartindent: */
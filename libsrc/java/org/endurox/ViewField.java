@@ -0,0 +1,134 @@
+/**
+ * @brief Resolved VIEW field descriptor
+ *
+ * @class ViewField
+ */
+/* -----------------------------------------------------------------------------
+ * Enduro/X Middleware Platform for Distributed Transaction Processing
+ * Copyright (C) 2009-2016, ATR Baltic, Ltd. All Rights Reserved.
+ * Copyright (C) 2017-2019, Mavimax, Ltd. All Rights Reserved.
+ * This software is released under one of the following licenses:
+ * LGPL or Mavimax's license for commercial use.
+ * See LICENSE file for full text.
+ *
+ * C (as designed by Dennis Ritchie and later authors) language code is licensed
+ * under Enduro/X Modified GNU Affero General Public License, version 3.
+ * See LICENSE_C file for full text.
+ * -----------------------------------------------------------------------------
+ * LGPL license:
+ * 
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License, version 3 as published
+ * by the Free Software Foundation;
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE. See the GNU Lesser General Public License, version 3
+ * for more details.
+ *
+ * You should have received a copy of the Lesser General Public License along 
+ * with this program; if not, write to the Free Software Foundation, Inc., 
+ * 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ *
+ * -----------------------------------------------------------------------------
+ * A commercial use license is available from Mavimax, Ltd
+ * contact@mavimax.com
+ * -----------------------------------------------------------------------------
+ */
+package org.endurox;
+
+/**
+ * Resolved VIEW field, used for direct offset based access to the
+ * \ref TypedView buffer fields. Obtained by \ref TypedView.Bvfield().
+ */
+public class ViewField {
+    
+    private final String view;
+    private final String cname;
+    private final long offset;
+    private final int type;
+    private final int maxocc;
+    private final int dimSize;
+    private final long viewSize;
+    
+    /**
+     * Create field descriptor
+     * @param view view name
+     * @param cname field name in view
+     * @param offset field offset in C structure
+     * @param type field type BFLD_* code
+     * @param maxocc max number of occurrences
+     * @param dimSize single occurrence size in bytes
+     * @param viewSize C structure size
+     */
+    ViewField(String view, String cname, long offset, int type, int maxocc, 
+            int dimSize, long viewSize) {
+        this.view = view;
+        this.cname = cname;
+        this.offset = offset;
+        this.type = type;
+        this.maxocc = maxocc;
+        this.dimSize = dimSize;
+        this.viewSize = viewSize;
+    }
+    
+    /**
+     * @return view name to which the field belongs
+     */
+    public String getView() {
+        return view;
+    }
+    
+    /**
+     * @return field name in the view
+     */
+    public String getCname() {
+        return cname;
+    }
+    
+    /**
+     * Offset of the field (occurrence 0) in the C structure, as compiled
+     * in the view object file. Occurrence \p n is at offset + n * dim size.
+     * @return offset in bytes
+     */
+    public long getOffset() {
+        return offset;
+    }
+    
+    /**
+     * @return field type, BFLD_* code (BFLD_INT for "int" fields)
+     */
+    public int getType() {
+        return type;
+    }
+    
+    /**
+     * @return max number of occurrences (count in view file)
+     */
+    public int getMaxocc() {
+        return maxocc;
+    }
+    
+    /**
+     * Size of the single occurrence, for strings including EOS
+     * @return size in bytes
+     */
+    public int getDimSize() {
+        return dimSize;
+    }
+    
+    /**
+     * @return size of the whole C structure in bytes
+     */
+    public long getViewSize() {
+        return viewSize;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("%s.%s: offset=%d type=%d maxocc=%d dim_size=%d", 
+                view, cname, offset, type, maxocc, dimSize);
+    }
+}
+
+/* vim: set ts=4 sw=4 et smartindent: */
@@ -0,0 +1,374 @@
+/**
+ * @brief Java accessor class generator for VIEW files
+ *
+ * @class ViewGen
+ */
+/* -----------------------------------------------------------------------------
+ * Enduro/X Middleware Platform for Distributed Transaction Processing
+ * Copyright (C) 2009-2016, ATR Baltic, Ltd. All Rights Reserved.
+ * Copyright (C) 2017-2019, Mavimax, Ltd. All Rights Reserved.
+ * This software is released under one of the following licenses:
+ * LGPL or Mavimax's license for commercial use.
+ * See LICENSE file for full text.
+ *
+ * C (as designed by Dennis Ritchie and later authors) language code is licensed
+ * under Enduro/X Modified GNU Affero General Public License, version 3.
+ * See LICENSE_C file for full text.
+ * -----------------------------------------------------------------------------
+ * LGPL license:
+ * 
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License, version 3 as published
+ * by the Free Software Foundation;
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE. See the GNU Lesser General Public License, version 3
+ * for more details.
+ *
+ * You should have received a copy of the Lesser General Public License along 
+ * with this program; if not, write to the Free Software Foundation, Inc., 
+ * 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ *
+ * -----------------------------------------------------------------------------
+ * A commercial use license is available from Mavimax, Ltd
+ * contact@mavimax.com
+ * -----------------------------------------------------------------------------
+ */
+package org.endurox;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Generates typed Java classes from VIEW source (.v) files. Compiled
+ * object (.V) files are not supported. For each view a class named after
+ * the view is generated, which wraps \ref TypedView and provides
+ * getters/setters working over the resolved field offsets
+ * (\ref ViewField). Fields having count (C) or length (L) flags are
+ * changed by name, so that the count/length fields are maintained by
+ * Enduro/X.
+ * 
+ * Usage: java -cp enduroxjava.jar org.endurox.ViewGen [-p package] 
+ *  [-d outdir] viewfile...
+ */
+public class ViewGen {
+    
+    /**
+     * Parsed view field
+     */
+    public static class Field {
+        public String type;
+        public String cname;
+        public int count;
+        public String flags;
+        
+        boolean byName() {
+            return flags.contains("C") || flags.contains("L");
+        }
+    }
+    
+    /**
+     * Split the view line in tokens, quoted tokens (null values) are kept
+     * as single token
+     * @param line line to split
+     * @return tokens
+     */
+    static List<String> tokenize(String line) {
+        
+        List<String> ret = new ArrayList<>();
+        StringBuilder sb = null;
+        boolean quoted = false;
+        
+        for (int i=0; i<line.length(); i++) {
+            
+            char c = line.charAt(i);
+            
+            if (quoted) {
+                
+                sb.append(c);
+                
+                if ('\\'==c && i+1<line.length()) {
+                    sb.append(line.charAt(++i));
+                } else if ('"'==c) {
+                    quoted = false;
+                }
+            } else if (Character.isWhitespace(c)) {
+                
+                if (null!=sb) {
+                    ret.add(sb.toString());
+                    sb = null;
+                }
+            } else {
+                
+                if (null==sb) {
+                    sb = new StringBuilder();
+                }
+                
+                sb.append(c);
+                
+                if ('"'==c) {
+                    quoted = true;
+                }
+            }
+        }
+        
+        if (null!=sb) {
+            ret.add(sb.toString());
+        }
+        
+        return ret;
+    }
+    
+    /**
+     * Parse view file
+     * @param in reader
+     * @return views, key is view name, value is list of fields
+     * @throws IOException on read or syntax error
+     */
+    public static Map<String, List<Field>> parse(BufferedReader in) 
+            throws IOException {
+        
+        Map<String, List<Field>> ret = new LinkedHashMap<>();
+        List<Field> fields = null;
+        String line;
+        int lineno = 0;
+        
+        while (null!=(line = in.readLine())) {
+            
+            lineno++;
+            line = line.trim();
+            
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            
+            List<String> tok = tokenize(line);
+            
+            if (null==fields) {
+                
+                if (2!=tok.size() || !"VIEW".equals(tok.get(0))) {
+                    throw new IOException(String.format("Line %d: expected "+
+                            "VIEW <name>, got [%s]", lineno, line));
+                }
+                
+                fields = new ArrayList<>();
+                ret.put(tok.get(1), fields);
+            } else if ("END".equals(tok.get(0))) {
+                fields = null;
+            } else {
+                
+                if (tok.size() < 6) {
+                    throw new IOException(String.format("Line %d: invalid "+
+                            "field definition [%s]", lineno, line));
+                }
+                
+                Field f = new Field();
+                f.type = tok.get(0);
+                f.cname = tok.get(1);
+                f.flags = tok.get(4);
+                
+                try {
+                    f.count = Integer.parseInt(tok.get(3));
+                } catch (NumberFormatException e) {
+                    throw new IOException(String.format("Line %d: invalid "+
+                            "count [%s]", lineno, tok.get(3)), e);
+                }
+                
+                fields.add(f);
+            }
+        }
+        
+        if (null!=fields) {
+            throw new IOException("Missing END of view");
+        }
+        
+        return ret;
+    }
+    
+    /**
+     * Java type and accessor suffix for the view field type
+     * @param type view field type
+     * @return [java type, accessor suffix]
+     * @throws IOException unsupported type
+     */
+    static String[] javaType(String type) throws IOException {
+        
+        switch (type) {
+            case "short":
+                return new String[]{"short", "Short"};
+            case "int":
+            case "long":
+                return new String[]{"long", "Long"};
+            case "char":
+                return new String[]{"byte", "Byte"};
+            case "float":
+                return new String[]{"float", "Float"};
+            case "double":
+                return new String[]{"double", "Double"};
+            case "string":
+                return new String[]{"String", "String"};
+            case "carray":
+                return new String[]{"byte[]", "ByteArr"};
+            default:
+                throw new IOException(String.format("Unsupported view field "+
+                        "type [%s]", type));
+        }
+    }
+    
+    /**
+     * Generate Java source for the view
+     * @param pkg package name, may be null or empty
+     * @param view view name
+     * @param fields view fields
+     * @return java source code
+     * @throws IOException unsupported field type
+     */
+    public static String generate(String pkg, String view, List<Field> fields) 
+            throws IOException {
+        
+        StringBuilder sb = new StringBuilder();
+        
+        sb.append("/* Generated by org.endurox.ViewGen, do not edit */\n");
+        
+        if (null!=pkg && !pkg.isEmpty()) {
+            sb.append("package ").append(pkg).append(";\n");
+        }
+        
+        sb.append("\nimport org.endurox.AtmiCtx;\n");
+        sb.append("import org.endurox.TypedView;\n");
+        sb.append("import org.endurox.ViewField;\n");
+        sb.append("import org.endurox.exceptions.UbfBBADVIEWException;\n\n");
+        sb.append("/**\n * VIEW ").append(view).append(" accessors\n */\n");
+        sb.append("public class ").append(view).append(" {\n\n");
+        sb.append("    public static final String VIEWNAME = \"").append(view)
+                .append("\";\n\n");
+        sb.append("    private static volatile ViewField[] fields;\n\n");
+        sb.append("    private final TypedView buf;\n\n");
+        
+        /* constructor, resolves the offsets on first use */
+        sb.append("    public ").append(view).append("(TypedView buf) {\n");
+        sb.append("        if (!VIEWNAME.equals(buf.getViewName())) {\n");
+        sb.append("            throw new UbfBBADVIEWException(\"Buffer view is \" + ");
+        sb.append("buf.getViewName() + \", expected \" + VIEWNAME);\n");
+        sb.append("        }\n");
+        sb.append("        if (null==fields) {\n");
+        sb.append("            fields = buf.Bvfields(");
+        
+        for (int i=0; i<fields.size(); i++) {
+            
+            if (i>0) {
+                sb.append(", ");
+            }
+            
+            sb.append('"').append(fields.get(i).cname).append('"');
+        }
+        
+        sb.append(");\n        }\n        this.buf = buf;\n    }\n\n");
+        
+        sb.append("    public static ").append(view)
+                .append(" alloc(AtmiCtx ctx) {\n");
+        sb.append("        return new ").append(view)
+                .append("(ctx.newView(VIEWNAME));\n    }\n\n");
+        sb.append("    public TypedView getBuffer() {\n");
+        sb.append("        return buf;\n    }\n");
+        
+        for (int i=0; i<fields.size(); i++) {
+            
+            Field f = fields.get(i);
+            String [] jt = javaType(f.type);
+            String name = Character.toUpperCase(f.cname.charAt(0)) + 
+                    f.cname.substring(1);
+            String occArg = f.count > 1 ? "int occ" : "";
+            String occ = f.count > 1 ? "occ" : "0";
+            String fld = "fields[" + i + "]";
+            /* L fields return actual length only by name */
+            String getRef = "carray".equals(f.type) && f.flags.contains("L") ? 
+                    "\"" + f.cname + "\"" : fld;
+            String setRef = f.byName() ? "\"" + f.cname + "\"" : fld;
+            
+            sb.append("\n    public ").append(jt[0]).append(" get").append(name)
+                    .append("(").append(occArg).append(") {\n");
+            sb.append("        return buf.Bvget").append(jt[1]).append("(").append(getRef)
+                    .append(", ").append(occ).append(");\n    }\n");
+            
+            sb.append("\n    public void set").append(name).append("(")
+                    .append(occArg).append(f.count > 1 ? ", " : "")
+                    .append(jt[0]).append(" v) {\n");
+            sb.append("        buf.Bvchg(").append(setRef).append(", ")
+                    .append(occ).append(", v);\n    }\n");
+            
+            if (f.flags.contains("C")) {
+                sb.append("\n    public int get").append(name)
+                        .append("Count() {\n");
+                sb.append("        return buf.Bvoccur(\"").append(f.cname)
+                        .append("\");\n    }\n");
+                sb.append("\n    public void set").append(name)
+                        .append("Count(int count) {\n");
+                sb.append("        buf.Bvsetoccur(\"").append(f.cname)
+                        .append("\", count);\n    }\n");
+            }
+        }
+        
+        sb.append("}\n");
+        
+        return sb.toString();
+    }
+    
+    /**
+     * Generate classes for the view files
+     * @param args [-p package] [-d outdir] viewfile...
+     * @throws IOException on read/write/syntax error
+     */
+    public static void main(String[] args) throws IOException {
+        
+        String pkg = null;
+        Path outdir = Paths.get(".");
+        List<String> files = new ArrayList<>();
+        
+        for (int i=0; i<args.length; i++) {
+            
+            if ("-p".equals(args[i]) && i+1<args.length) {
+                pkg = args[++i];
+            } else if ("-d".equals(args[i]) && i+1<args.length) {
+                outdir = Paths.get(args[++i]);
+            } else {
+                files.add(args[i]);
+            }
+        }
+        
+        if (files.isEmpty()) {
+            System.err.println("Usage: ViewGen [-p package] [-d outdir] "+
+                    "viewfile...");
+            System.exit(1);
+        }
+        
+        for (String file : files) {
+            
+            Map<String, List<Field>> views;
+            
+            try (BufferedReader in = Files.newBufferedReader(Paths.get(file), 
+                    StandardCharsets.UTF_8)) {
+                views = parse(in);
+            }
+            
+            for (Map.Entry<String, List<Field>> e : views.entrySet()) {
+                
+                Path out = outdir.resolve(e.getKey() + ".java");
+                Files.write(out, generate(pkg, e.getKey(), e.getValue())
+                        .getBytes(StandardCharsets.UTF_8));
+                System.out.println("Generated " + out);
+            }
+        }
+    }
+}
+
+/* vim: set ts=4 sw=4 et smartindent: */
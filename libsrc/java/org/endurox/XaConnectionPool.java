@@ -0,0 +1,771 @@
+/**
+ * @brief XA Connection pool
+ *
+ * @class XaConnectionPool
+ */
+/* -----------------------------------------------------------------------------
+ * Enduro/X Middleware Platform for Distributed Transaction Processing
+ * Copyright (C) 2009-2016, ATR Baltic, Ltd. All Rights Reserved.
+ * Copyright (C) 2017-2019, Mavimax, Ltd. All Rights Reserved.
+ * This software is released under one of the following licenses:
+ * LGPL or Mavimax's license for commercial use.
+ * See LICENSE file for full text.
+ *
+ * C (as designed by Dennis Ritchie and later authors) language code is licensed
+ * under Enduro/X Modified GNU Affero General Public License, version 3.
+ * See LICENSE_C file for full text.
+ * -----------------------------------------------------------------------------
+ * LGPL license:
+ * 
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License, version 3 as published
+ * by the Free Software Foundation;
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE. See the GNU Lesser General Public License, version 3
+ * for more details.
+ *
+ * You should have received a copy of the Lesser General Public License along 
+ * with this program; if not, write to the Free Software Foundation, Inc., 
+ * 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ *
+ * -----------------------------------------------------------------------------
+ * A commercial use license is available from Mavimax, Ltd
+ * contact@mavimax.com
+ * -----------------------------------------------------------------------------
+ */
+package org.endurox;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import javax.sql.ConnectionEvent;
+import javax.sql.ConnectionEventListener;
+import javax.sql.XAConnection;
+import javax.sql.XADataSource;
+import javax.transaction.xa.XAResource;
+import javax.transaction.xa.Xid;
+
+/**
+ * Bounded pool of XA connections shared by all ATMI Contexts of the process.
+ * Pool is enabled by "pool" object in NDRX_XA_OPEN_STR, e.g.:
+ * 
+ * {"class":"...", "set":{...}, "pool":{"maxsize":"20", "minidle":"5"}}
+ * 
+ * Supported settings:
+ * - maxsize max number of physical connections (default 10)
+ * - minidle number of idle connections kept open, pre-warmed at init
+ *  (default 0)
+ * - idletimeout milliseconds after which idle connection above minidle
+ *  is closed, 0 - never (default 60000)
+ * - borrowtimeout milliseconds to wait for free connection (default 30000)
+ * - validatetimeout seconds for Connection.isValid() check on borrow,
+ *  0 - no validation (default 0)
+ * - validateidle validate only connections idle for at least given
+ *  milliseconds (default 5000)
+ * - reserve seconds for which connection of the ended branch is kept
+ *  reserved for the branch, 0 - not reserved (default 0)
+ * 
+ * With pool, tpopen() does not open physical connection. Connection is 
+ * borrowed for the transaction branch at xa_start, and by default it is
+ * returned to the pool at xa_end (or suspend). Completion calls (prepare,
+ * commit, rollback) and recovery run on connection borrowed for the
+ * duration of call, as usually they are driven by tmsrv in other process.
+ * 
+ * For drivers, which require the branch to be resumed or prepared on the
+ * connection which did the work, "reserve" may be set. Then the connection
+ * of ended branch is kept for the branch XID and is used if this process
+ * resumes or completes the branch. As completion may be done by other
+ * process, reservation expires after given time (shall be set to the
+ * transaction timeout): expired connection is closed by the evictor, so
+ * the database discards the branch work, if it was not prepared.
+ * 
+ * Connections which reported error to the connection event listener
+ * are discarded.
+ */
+public class XaConnectionPool {
+    
+    /**
+     * Pooled physical connection
+     */
+    static class Entry implements ConnectionEventListener {
+        
+        final XAConnection conn;
+        final XAResource res;
+        long lastUsed;
+        
+        /** Reservation deadline (System.nanoTime()) for parked branch */
+        long reservedUntil;
+        volatile boolean broken = false;
+        
+        /**
+         * Logical connection handed out to the application for the branch
+         */
+        private Connection handle = null;
+        
+        /**
+         * Wrap new XA connection
+         * @param conn physical connection
+         * @throws SQLException failed to get XA resource
+         */
+        Entry(XAConnection conn) throws SQLException {
+            this.conn = conn;
+            this.res = conn.getXAResource();
+            this.lastUsed = System.nanoTime();
+            conn.addConnectionEventListener(this);
+        }
+        
+        /**
+         * Get logical connection for the current branch
+         * @return open handle
+         * @throws SQLException failed to get connection
+         */
+        Connection getHandle() throws SQLException {
+            
+            if (null==handle || handle.isClosed()) {
+                handle = conn.getConnection();
+            }
+            
+            return handle;
+        }
+        
+        /**
+         * Close logical connection, so that application can not use it
+         * after the branch has left the context.
+         */
+        void closeHandle() {
+            
+            if (null!=handle) {
+                
+                try {
+                    handle.close();
+                }
+                catch (SQLException ex) {
+                    broken = true;
+                }
+                
+                handle = null;
+            }
+        }
+        
+        @Override
+        public void connectionClosed(ConnectionEvent event) {
+            /* logical handle closed, physical stays in pool */
+        }
+        
+        @Override
+        public void connectionErrorOccurred(ConnectionEvent event) {
+            broken = true;
+        }
+    }
+    
+    private final XADataSource ds;
+    private final Object lock = new Object();
+    
+    /**
+     * Idle connections, most recently used first
+     */
+    private final ArrayDeque<Entry> idle = new ArrayDeque<Entry>();
+    
+    /**
+     * Connections reserved for ended or suspended branches
+     */
+    private final Map<Xid, Entry> branches = new HashMap<Xid, Entry>();
+    
+    /**
+     * Idle, borrowed and being opened connections
+     */
+    private int total = 0;
+    private boolean closed = false;
+    private Thread evictor = null;
+    
+    private int maxSize = 10;
+    private int minIdle = 0;
+    private long idleTimeout = 60000;
+    private long borrowTimeout = 30000;
+    private int validateTimeout = 0;
+    private long validateIdle = 5000;
+    private long reserve = 0;
+    
+    private long created = 0;
+    private long destroyed = 0;
+    private long waits = 0;
+    
+    /**
+     * Create pool
+     * @param ds XA data source from which connections are opened
+     */
+    public XaConnectionPool(XADataSource ds) {
+        this.ds = ds;
+    }
+    
+    /**
+     * Apply setting from XA open string
+     * @param key setting name
+     * @param value setting value
+     * @throws IllegalArgumentException invalid key or value
+     */
+    void configure(String key, String value) {
+        
+        switch (key) {
+            case "maxsize":
+                setMaxSize(Integer.parseInt(value.trim()));
+                break;
+            case "minidle":
+                setMinIdle(Integer.parseInt(value.trim()));
+                break;
+            case "idletimeout":
+                setIdleTimeout(Long.parseLong(value.trim()));
+                break;
+            case "borrowtimeout":
+                setBorrowTimeout(Long.parseLong(value.trim()));
+                break;
+            case "validatetimeout":
+                setValidation(Integer.parseInt(value.trim()), validateIdle);
+                break;
+            case "validateidle":
+                setValidation(validateTimeout, Long.parseLong(value.trim()));
+                break;
+            case "reserve":
+                setReserve(Long.parseLong(value.trim()));
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown XA pool setting: " + key);
+        }
+    }
+    
+    /**
+     * Set max number of physical connections
+     * @param maxSize max connections, at least 1
+     */
+    public void setMaxSize(int maxSize) {
+        
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxsize must be >= 1");
+        }
+        this.maxSize = maxSize;
+    }
+    
+    /**
+     * Set number of idle connections kept open
+     * @param minIdle idle connections
+     */
+    public void setMinIdle(int minIdle) {
+        this.minIdle = Math.max(0, minIdle);
+    }
+    
+    /**
+     * Set idle timeout
+     * @param ms milliseconds, 0 - do not evict idle connections
+     */
+    public void setIdleTimeout(long ms) {
+        this.idleTimeout = Math.max(0, ms);
+    }
+    
+    /**
+     * Set max wait for free connection
+     * @param ms milliseconds
+     */
+    public void setBorrowTimeout(long ms) {
+        this.borrowTimeout = Math.max(0, ms);
+    }
+    
+    /**
+     * Configure validation on borrow
+     * @param timeoutSec Connection.isValid() timeout, 0 - no validation
+     * @param idleMs validate connections idle at least given time
+     */
+    public void setValidation(int timeoutSec, long idleMs) {
+        this.validateTimeout = Math.max(0, timeoutSec);
+        this.validateIdle = Math.max(0, idleMs);
+    }
+    
+    /**
+     * Set reservation of connection for ended branches
+     * @param sec seconds for which connection is kept for the branch XID,
+     *  shall match the transaction timeout. 0 - connection is returned to
+     *  the pool at branch end.
+     */
+    public void setReserve(long sec) {
+        this.reserve = Math.max(0, sec);
+    }
+    
+    /**
+     * Open idle connections up to min idle and start eviction thread
+     */
+    public void start() {
+        
+        fill();
+        
+        synchronized (lock) {
+            
+            if ((idleTimeout > 0 || reserve > 0) && null==evictor && !closed) {
+                
+                evictor = new Thread(new Runnable() {
+                    @Override
+                    public void run() {
+                        evictLoop();
+                    }
+                }, "XaConnectionPool-evictor");
+                
+                evictor.setDaemon(true);
+                evictor.start();
+            }
+        }
+    }
+    
+    /**
+     * Borrow connection, wait for free one if pool is exhausted
+     * @return pooled connection
+     * @throws SQLException failed to open connection, pool closed or
+     *  timed out waiting
+     */
+    Entry borrow() throws SQLException {
+        
+        long deadline = System.nanoTime() + 
+                TimeUnit.MILLISECONDS.toNanos(borrowTimeout);
+        
+        while (true) {
+            
+            Entry e;
+            
+            synchronized (lock) {
+                
+                while (true) {
+                    
+                    if (closed) {
+                        throw new SQLException("XA connection pool is closed");
+                    }
+                    
+                    if (null!=(e = idle.pollFirst())) {
+                        break;
+                    }
+                    
+                    if (total < maxSize) {
+                        total++;
+                        break;
+                    }
+                    
+                    long wait = deadline - System.nanoTime();
+                    
+                    if (wait <= 0) {
+                        throw new SQLException(String.format(
+                                "Timed out waiting for XA connection, "
+                                + "pool max size %d", maxSize));
+                    }
+                    
+                    waits++;
+                    
+                    try {
+                        TimeUnit.NANOSECONDS.timedWait(lock, wait);
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                        throw new SQLException("Interrupted while waiting "
+                                + "for XA connection", ex);
+                    }
+                }
+            }
+            
+            if (null==e) {
+                return open();
+            }
+            
+            if (validate(e)) {
+                return e;
+            }
+            
+            destroy(e);
+        }
+    }
+    
+    /**
+     * Branch is ended or suspended. If reservation is configured, connection
+     * is kept for the branch until it is claimed back or the reservation
+     * expires, otherwise it is returned to the pool.
+     * @param xid branch XID
+     * @param e connection on which the branch was executed
+     */
+    void park(Xid xid, Entry e) {
+        
+        if (0==reserve) {
+            release(e);
+            return;
+        }
+        
+        Entry prev = null;
+        boolean drop;
+        
+        synchronized (lock) {
+            
+            drop = closed;
+            
+            if (!drop) {
+                e.reservedUntil = System.nanoTime() + 
+                        TimeUnit.SECONDS.toNanos(reserve);
+                prev = branches.put(xid, e);
+            }
+        }
+        
+        if (drop) {
+            destroy(e);
+        }
+        /* same branch parked twice shall not happen, do not leak */
+        else if (null!=prev && prev!=e) {
+            release(prev);
+        }
+    }
+    
+    /**
+     * Take connection reserved for the branch
+     * @param xid branch XID
+     * @return connection or null if branch is not known (or reservation
+     *  is not used)
+     */
+    Entry claim(Xid xid) {
+        
+        if (0==reserve) {
+            return null;
+        }
+        
+        Entry e;
+        
+        synchronized (lock) {
+            e = branches.remove(xid);
+        }
+        
+        /* expired, not yet evicted: branch work is not trusted anymore */
+        if (null!=e && System.nanoTime() - e.reservedUntil >= 0) {
+            destroy(e);
+            return null;
+        }
+        
+        return e;
+    }
+    
+    /**
+     * Return connection to the pool
+     * @param e connection borrowed by \ref borrow()
+     */
+    void release(Entry e) {
+        
+        e.closeHandle();
+        
+        if (e.broken) {
+            destroy(e);
+            return;
+        }
+        
+        e.lastUsed = System.nanoTime();
+        
+        synchronized (lock) {
+            
+            if (!closed) {
+                idle.addFirst(e);
+                lock.notify();
+                return;
+            }
+        }
+        
+        destroy(e);
+    }
+    
+    /**
+     * Open new physical connection, slot in total is already reserved
+     * @return new entry
+     * @throws SQLException failed to open
+     */
+    private Entry open() throws SQLException {
+        
+        XAConnection conn = null;
+        
+        try {
+            conn = ds.getXAConnection();
+            Entry e = new Entry(conn);
+            
+            synchronized (lock) {
+                created++;
+            }
+            
+            return e;
+        }
+        catch (SQLException | RuntimeException ex) {
+            
+            if (null!=conn) {
+                closeQuietly(conn);
+            }
+            
+            synchronized (lock) {
+                total--;
+                lock.notify();
+            }
+            
+            throw ex;
+        }
+    }
+    
+    /**
+     * Check connection before handing it out
+     * @param e idle connection
+     * @return true if connection is usable
+     */
+    private boolean validate(Entry e) {
+        
+        if (e.broken) {
+            return false;
+        }
+        
+        if (0==validateTimeout || System.nanoTime() - e.lastUsed < 
+                TimeUnit.MILLISECONDS.toNanos(validateIdle)) {
+            return true;
+        }
+        
+        try {
+            Connection c = e.conn.getConnection();
+            
+            try {
+                return c.isValid(validateTimeout);
+            }
+            finally {
+                c.close();
+            }
+        }
+        catch (SQLException ex) {
+            return false;
+        }
+    }
+    
+    /**
+     * Close physical connection and free its slot
+     * @param e connection
+     */
+    private void destroy(Entry e) {
+        
+        e.conn.removeConnectionEventListener(e);
+        closeQuietly(e.conn);
+        
+        synchronized (lock) {
+            total--;
+            destroyed++;
+            lock.notify();
+        }
+    }
+    
+    /**
+     * Close connection, ignore errors
+     * @param conn connection to close
+     */
+    private static void closeQuietly(XAConnection conn) {
+        try {
+            conn.close();
+        }
+        catch (SQLException ex) {
+            /* connection is dropped anyway */
+        }
+    }
+    
+    /**
+     * Open idle connections up to min idle
+     */
+    private void fill() {
+        
+        while (true) {
+            
+            synchronized (lock) {
+                
+                if (closed || idle.size() >= minIdle || total >= maxSize) {
+                    return;
+                }
+                
+                total++;
+            }
+            
+            try {
+                release(open());
+            }
+            catch (SQLException ex) {
+                /* database not available, retried by evictor */
+                return;
+            }
+        }
+    }
+    
+    /**
+     * Close connections idle for longer than idle timeout, keeping
+     * min idle connections open. Close connections of branches, for which
+     * reservation has expired.
+     */
+    void evict() {
+        
+        List<Entry> expired = new ArrayList<Entry>();
+        long limit = TimeUnit.MILLISECONDS.toNanos(idleTimeout);
+        long now = System.nanoTime();
+        
+        synchronized (lock) {
+            
+            Iterator<Entry> it = branches.values().iterator();
+            
+            while (it.hasNext()) {
+                
+                Entry e = it.next();
+                
+                if (now - e.reservedUntil >= 0) {
+                    it.remove();
+                    expired.add(e);
+                }
+            }
+            
+            /* oldest are at the end */
+            while (idleTimeout > 0 && idle.size() > minIdle) {
+                
+                Entry e = idle.peekLast();
+                
+                if (now - e.lastUsed < limit) {
+                    break;
+                }
+                
+                expired.add(idle.pollLast());
+            }
+        }
+        
+        for (Entry e : expired) {
+            destroy(e);
+        }
+        
+        fill();
+    }
+    
+    /**
+     * Eviction thread
+     */
+    private void evictLoop() {
+        
+        long interval = Long.MAX_VALUE;
+        
+        if (idleTimeout > 0) {
+            interval = idleTimeout / 2;
+        }
+        
+        if (reserve > 0) {
+            interval = Math.min(interval, TimeUnit.SECONDS.toMillis(reserve) / 2);
+        }
+        
+        interval = Math.max(1000, interval);
+        
+        while (true) {
+            
+            synchronized (lock) {
+                
+                if (closed) {
+                    return;
+                }
+                
+                try {
+                    lock.wait(interval);
+                } catch (InterruptedException ex) {
+                    return;
+                }
+                
+                if (closed) {
+                    return;
+                }
+            }
+            
+            evict();
+        }
+    }
+    
+    /**
+     * Close the pool. Idle and reserved connections are closed, borrowed
+     * connections are closed when returned.
+     */
+    public void close() {
+        
+        List<Entry> toClose;
+        
+        synchronized (lock) {
+            
+            closed = true;
+            toClose = new ArrayList<Entry>(idle);
+            toClose.addAll(branches.values());
+            idle.clear();
+            branches.clear();
+            lock.notifyAll();
+        }
+        
+        for (Entry e : toClose) {
+            destroy(e);
+        }
+    }
+    
+    /**
+     * @return number of open physical connections
+     */
+    public int getTotal() {
+        synchronized (lock) {
+            return total;
+        }
+    }
+    
+    /**
+     * @return number of idle connections
+     */
+    public int getIdle() {
+        synchronized (lock) {
+            return idle.size();
+        }
+    }
+    
+    /**
+     * @return number of connections in use, including reserved for branches
+     */
+    public int getActive() {
+        synchronized (lock) {
+            return total - idle.size();
+        }
+    }
+    
+    /**
+     * @return number of connections reserved for ended or suspended branches
+     */
+    public int getReserved() {
+        synchronized (lock) {
+            return branches.size();
+        }
+    }
+    
+    /**
+     * @return number of physical connections opened
+     */
+    public long getCreated() {
+        synchronized (lock) {
+            return created;
+        }
+    }
+    
+    /**
+     * @return number of physical connections closed
+     */
+    public long getDestroyed() {
+        synchronized (lock) {
+            return destroyed;
+        }
+    }
+    
+    /**
+     * @return number of times borrower had to wait for free connection
+     */
+    public long getWaits() {
+        synchronized (lock) {
+            return waits;
+        }
+    }
+}
+
+/* vim: set ts=4 sw=4 et smartindent: */
@@ -0,0 +1,267 @@
+/**
+ * @brief XA call timing statistics
+ *
+ * @class XaStats
+ */
+/* -----------------------------------------------------------------------------
+ * Enduro/X Middleware Platform for Distributed Transaction Processing
+ * Copyright (C) 2009-2016, ATR Baltic, Ltd. All Rights Reserved.
+ * Copyright (C) 2017-2019, Mavimax, Ltd. All Rights Reserved.
+ * This software is released under one of the following licenses:
+ * LGPL or Mavimax's license for commercial use.
+ * See LICENSE file for full text.
+ *
+ * C (as designed by Dennis Ritchie and later authors) language code is licensed
+ * under Enduro/X Modified GNU Affero General Public License, version 3.
+ * See LICENSE_C file for full text.
+ * -----------------------------------------------------------------------------
+ * LGPL license:
+ * 
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License, version 3 as published
+ * by the Free Software Foundation;
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE. See the GNU Lesser General Public License, version 3
+ * for more details.
+ *
+ * You should have received a copy of the Lesser General Public License along 
+ * with this program; if not, write to the Free Software Foundation, Inc., 
+ * 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ *
+ * -----------------------------------------------------------------------------
+ * A commercial use license is available from Mavimax, Ltd
+ * contact@mavimax.com
+ * -----------------------------------------------------------------------------
+ */
+package org.endurox;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Timing statistics of XA calls made by transaction manager to the Java
+ * resource manager. Statistics are shared by all contexts of the process.
+ * Each phase records number of calls, failed calls, total and max duration,
+ * and histogram of durations. Histogram bucket \p i counts calls which
+ * took less than 2^i microseconds (bucket 0: less than 1 microsecond), the
+ * last bucket counts all slower calls.
+ */
+public class XaStats {
+    
+    /** xa_start() */
+    public static final int XA_START = 0;
+    /** xa_end() */
+    public static final int XA_END = 1;
+    /** xa_prepare() */
+    public static final int XA_PREPARE = 2;
+    /** xa_commit() */
+    public static final int XA_COMMIT = 3;
+    /** xa_rollback() */
+    public static final int XA_ROLLBACK = 4;
+    /** xa_forget() */
+    public static final int XA_FORGET = 5;
+    /** xa_recover() */
+    public static final int XA_RECOVER = 6;
+    
+    /**
+     * Number of histogram buckets, last bucket collects calls
+     * above 2^(BUCKETS-2) microseconds (~ 8 sec)
+     */
+    public static final int BUCKETS = 25;
+    
+    private static final String[] NAMES = {"start", "end", "prepare", 
+        "commit", "rollback", "forget", "recover"};
+    
+    private static final int PHASES = NAMES.length;
+    
+    private final LongAdder[] calls = new LongAdder[PHASES];
+    private final LongAdder[] errors = new LongAdder[PHASES];
+    private final LongAdder[] nanos = new LongAdder[PHASES];
+    private final AtomicLongArray max = new AtomicLongArray(PHASES);
+    private final AtomicLongArray hist = new AtomicLongArray(PHASES * BUCKETS);
+    
+    /**
+     * Create empty statistics
+     */
+    XaStats() {
+        
+        for (int i=0; i<PHASES; i++) {
+            calls[i] = new LongAdder();
+            errors[i] = new LongAdder();
+            nanos[i] = new LongAdder();
+        }
+    }
+    
+    /**
+     * Record single call
+     * @param phase XA_ phase constant
+     * @param took call duration in nanoseconds
+     * @param ok true if call returned XA_OK
+     */
+    void record(int phase, long took, boolean ok) {
+        
+        calls[phase].increment();
+        nanos[phase].add(took);
+        
+        if (!ok) {
+            errors[phase].increment();
+        }
+        
+        long m;
+        
+        while (took > (m = max.get(phase)) && !max.compareAndSet(phase, m, took)) {
+            /* retry */
+        }
+        
+        hist.incrementAndGet(phase * BUCKETS + bucket(took));
+    }
+    
+    /**
+     * Get histogram bucket for duration
+     * @param took duration in nanoseconds
+     * @return bucket index
+     */
+    static int bucket(long took) {
+        
+        long us = took / 1000;
+        
+        if (us <= 0) {
+            return 0;
+        }
+        
+        /* us < 2^b */
+        int b = 64 - Long.numberOfLeadingZeros(us);
+        
+        return Math.min(b, BUCKETS - 1);
+    }
+    
+    /**
+     * Get phase name
+     * @param phase XA_ phase constant
+     * @return name, e.g. "commit"
+     */
+    public static String getName(int phase) {
+        return NAMES[phase];
+    }
+    
+    /**
+     * @param phase XA_ phase constant
+     * @return number of calls
+     */
+    public long getCalls(int phase) {
+        return calls[phase].sum();
+    }
+    
+    /**
+     * @param phase XA_ phase constant
+     * @return number of calls which returned error
+     */
+    public long getErrors(int phase) {
+        return errors[phase].sum();
+    }
+    
+    /**
+     * @param phase XA_ phase constant
+     * @return total time spent in nanoseconds
+     */
+    public long getTotalNanos(int phase) {
+        return nanos[phase].sum();
+    }
+    
+    /**
+     * @param phase XA_ phase constant
+     * @return longest call in nanoseconds
+     */
+    public long getMaxNanos(int phase) {
+        return max.get(phase);
+    }
+    
+    /**
+     * Get duration histogram
+     * @param phase XA_ phase constant
+     * @return array of \ref BUCKETS counters
+     */
+    public long[] getHistogram(int phase) {
+        
+        long[] ret = new long[BUCKETS];
+        
+        for (int i=0; i<BUCKETS; i++) {
+            ret[i] = hist.get(phase * BUCKETS + i);
+        }
+        
+        return ret;
+    }
+    
+    /**
+     * Reset all counters. Calls running concurrently may be partially
+     * accounted.
+     */
+    public void reset() {
+        
+        for (int i=0; i<PHASES; i++) {
+            calls[i].reset();
+            errors[i].reset();
+            nanos[i].reset();
+            max.set(i, 0);
+        }
+        
+        for (int i=0; i<hist.length(); i++) {
+            hist.set(i, 0);
+        }
+    }
+    
+    /**
+     * Format statistics for logging. Phases without calls are skipped,
+     * histogram lists only non empty buckets as "<upper bound us>:count".
+     * @return multi-line text
+     */
+    @Override
+    public String toString() {
+        
+        StringBuilder sb = new StringBuilder("XA call statistics:");
+        
+        for (int i=0; i<PHASES; i++) {
+            
+            long n = getCalls(i);
+            
+            if (0==n) {
+                continue;
+            }
+            
+            sb.append(String.format("%n  %-8s calls=%d errors=%d avg=%dus max=%dus hist=[",
+                    NAMES[i], n, getErrors(i), getTotalNanos(i) / n / 1000,
+                    getMaxNanos(i) / 1000));
+            
+            long[] h = getHistogram(i);
+            boolean first = true;
+            
+            for (int j=0; j<BUCKETS; j++) {
+                
+                if (0==h[j]) {
+                    continue;
+                }
+                
+                if (!first) {
+                    sb.append(' ');
+                }
+                
+                if (BUCKETS-1==j) {
+                    sb.append(">").append(1L << (j-1));
+                } else {
+                    sb.append("<").append(1L << j);
+                }
+                
+                sb.append(':').append(h[j]);
+                first = false;
+            }
+            
+            sb.append(']');
+        }
+        
+        return sb.toString();
+    }
+}
+
+/* vim: set ts=4 sw=4 et smartindent: */
@@ -37,6 +37,7 @@
  */
 package org.endurox.exceptions;
 import org.endurox.AtmiConst;
+import org.endurox.ExceptionMode;
 
 /**
  * ATMI Base exception
@@ -47,6 +48,11 @@ public class NstdException extends RuntimeException {
      * Error code
      */
     private int errorCode;
+    
+    /**
+     * Message formatted from error code, if exception has no message
+     */
+    private String lazyMsg;
 
     /**
      * Create ATMI Exception
@@ -71,6 +77,43 @@ public class NstdException extends RuntimeException {
         
     }
     
+    /**
+     * In stackless mode stack trace is not collected
+     * @return this exception
+     */
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        
+        if (ExceptionMode.isStackless()) {
+            return this;
+        }
+        
+        return super.fillInStackTrace();
+    }
+    
+    /**
+     * Get error message. Exceptions created by stackless mode have no
+     * message, for them it is formatted from the exception class
+     * and error code on first access.
+     * @return error message
+     */
+    @Override
+    public String getMessage() {
+        
+        String msg = super.getMessage();
+        
+        if (null==msg) {
+            
+            if (null==lazyMsg) {
+                lazyMsg = getClass().getSimpleName() + " (" + errorCode + ")";
+            }
+            
+            msg = lazyMsg;
+        }
+        
+        return msg;
+    }
+    
     /**
      * return error code
      * @return
@@ -92,6 +92,37 @@ public class AtmiCtxTest {
         assertEquals(test.T_SHORT_FLD, ctx.Bfldid("T_SHORT_FLD"));
     }
     
+    /**
+     * Test field id/name/type cache
+     */
+    @Test
+    public void testUbfFieldCache() {
+        AtmiCtx ctx = new AtmiCtx();
+        assertNotEquals(0x0, ctx.getCtx());
+        
+        UbfFieldCache.clear();
+        assertEquals(0, UbfFieldCache.size());
+        
+        for (int i=0; i<1000; i++) {
+            assertEquals(test.T_STRING_FLD, ctx.Bfldid("T_STRING_FLD"));
+            assertEquals("T_STRING_FLD", ctx.Bfname(test.T_STRING_FLD));
+            assertEquals("string", ctx.Btype(test.T_STRING_FLD));
+        }
+        
+        assertEquals(1, UbfFieldCache.size());
+        
+        /* unknown fields are not cached */
+        assertEquals(TypedUbf.BBADFLDID, ctx.Bfldid("NO_SUCH_FIELD_NAME"));
+        assertEquals(1, UbfFieldCache.size());
+        
+        UbfFieldCache.load(ctx, test.T_SHORT_FLD, test.T_LONG_FLD);
+        assertEquals(3, UbfFieldCache.size());
+        assertEquals(test.T_LONG_FLD, ctx.Bfldid("T_LONG_FLD"));
+        assertEquals("short", ctx.Btype(test.T_SHORT_FLD));
+        
+        ctx.cleanup();
+    }
+    
     /**
      * Test invalid field id / NULL
      */
@@ -1,9 +1,14 @@
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import org.junit.Test;
 import static org.junit.Assert.*;
 import org.endurox.*;
+import org.endurox.exceptions.UbfBEINVALException;
 
 /**
  * Buffer projection tests
@@ -343,4 +348,92 @@ public class BProjTest {
         assertEquals(true, dst.Bqboolev("T_STRING_FLD=='HELLO'"));
     }
     
+    /**
+     * Filter & project list of buffers (sequential and parallel)
+     */
+    @Test
+    public void testUbfFilter() {
+        
+        AtmiCtx ctx = new AtmiCtx();
+        List<TypedUbf> bufs = new ArrayList<TypedUbf>();
+        
+        for (int i=0; i<100; i++) {
+            TypedUbf ub = (TypedUbf)ctx.tpalloc("UBF", "", 1024);
+            ub.Badd(test.T_LONG_FLD, i);
+            ub.Badd(test.T_STRING_FLD, "HELLO");
+            ub.Badd(test.T_SHORT_FLD, (short)i);
+            bufs.add(ub);
+        }
+        
+        UbfFilter f = new UbfFilter("T_LONG_FLD%2==0", 
+                new int[] {test.T_LONG_FLD, test.T_STRING_FLD});
+        
+        List<TypedUbf> res = f.filter(bufs);
+        assertEquals(50, res.size());
+        
+        for (int i=0; i<res.size(); i++) {
+            assertEquals(i*2, res.get(i).BgetLong(test.T_LONG_FLD, 0));
+            assertEquals(true, res.get(i).Bqboolev("T_STRING_FLD=='HELLO' "
+                    + "&& !T_SHORT_FLD"));
+        }
+        
+        /* odd ones are not touched */
+        assertEquals(true, bufs.get(1).Bqboolev("T_SHORT_FLD==1"));
+        
+        /* parallel, only filter */
+        f = new UbfFilter("T_LONG_FLD>=10 && T_SHORT_FLD", null);
+        res = f.filter(bufs, 4);
+        assertEquals(45, res.size());
+        
+        for (int i=0; i<res.size(); i++) {
+            assertEquals(true, res.get(i).Bqboolev("T_SHORT_FLD[0]>=10"));
+        }
+        
+        /* caller's executor, projected in parallel */
+        ExecutorService exec = Executors.newFixedThreadPool(3);
+        
+        try {
+            /* invalid list is rejected before any buffer is touched */
+            List<TypedUbf> bad = new ArrayList<TypedUbf>(bufs);
+            bad.add(null);
+            
+            try {
+                new UbfFilter("T_LONG_FLD>=0", new int[] {test.T_LONG_FLD})
+                        .filter(bad, exec, 3);
+                fail("null buffer not detected");
+            } catch (UbfBEINVALException e) {
+                /* ok */
+            }
+            
+            /* the same for sequential path */
+            try {
+                new UbfFilter("T_LONG_FLD>=0", new int[] {test.T_LONG_FLD})
+                        .filter(bad);
+                fail("null buffer not detected");
+            } catch (UbfBEINVALException e) {
+                /* ok */
+            }
+            
+            assertEquals(true, bufs.get(3).Bqboolev("T_STRING_FLD=='HELLO'"));
+            
+            f = new UbfFilter("T_LONG_FLD>=90", new int[] {test.T_LONG_FLD});
+            res = f.filter(bufs, exec, 3);
+            assertEquals(10, res.size());
+            
+            for (int i=0; i<res.size(); i++) {
+                assertEquals(90+i, res.get(i).BgetLong(test.T_LONG_FLD, 0));
+                assertEquals(false, res.get(i).Bqboolev("T_STRING_FLD"));
+            }
+        }
+        finally {
+            exec.shutdown();
+        }
+        
+        for (TypedUbf ub : bufs) {
+            ub.cleanup();
+        }
+        
+        ctx.cleanup();
+    }
+    
 }
@@ -178,6 +178,132 @@ public class BboolTest {
             ub.cleanup();
         }
     }
+    /**
+     * Test quick float expression evaluation (uses expression cache)
+     */
+    @Test
+    public void testBqfloatev() {
+        
+        AtmiCtx ctx = new AtmiCtx();
+        assertNotEquals(ctx.getCtx(), 0x0);
+
+        TypedUbf ub = (TypedUbf)ctx.tpalloc("UBF", "", 1024);
+        assertNotEquals(ub, null);
+
+        for (int i=0; i<10000; i++)
+        {
+            ub.Bchg(test.T_LONG_FLD, 0, i);
+            assertEquals(i+1, ub.Bqfloatev("T_LONG_FLD + 1"), 0.0001);
+        }
+        
+        ub.cleanup();
+        ctx.cleanup();
+    }
+    
+    /**
+     * Test expression cache eviction & capacity handling
+     */
+    @Test
+    public void testBExprTreeCache() {
+        
+        AtmiCtx ctx = new AtmiCtx();
+        assertNotEquals(ctx.getCtx(), 0x0);
+
+        TypedUbf ub = (TypedUbf)ctx.tpalloc("UBF", "", 1024);
+        assertNotEquals(ub, null);
+        
+        ub.Bchg(test.T_LONG_FLD, 0, 551);
+        
+        int capacity = BExprTreeCache.getCapacity();
+        
+        BExprTreeCache.clear();
+        BExprTreeCache.setCapacity(10);
+        
+        for (int i=0; i<1000; i++)
+        {
+            assertEquals(i==551, ub.Bqboolev(String.format("T_LONG_FLD==%d", i)));
+            assertTrue(BExprTreeCache.size() <= 10);
+        }
+        
+        assertEquals(10, BExprTreeCache.size());
+        
+        /* shrink the cache */
+        BExprTreeCache.setCapacity(5);
+        assertEquals(5, BExprTreeCache.size());
+        
+        /* disable cache */
+        BExprTreeCache.setCapacity(0);
+        assertEquals(0, BExprTreeCache.size());
+        assertEquals(true, ub.Bqboolev("T_LONG_FLD==551"));
+        assertEquals(0, BExprTreeCache.size());
+        
+        BExprTreeCache.setCapacity(capacity);
+        
+        ub.cleanup();
+        ctx.cleanup();
+    }
+    
+    /**
+     * Test evaluation of multiple expressions in single call
+     */
+    @Test
+    public void testBboolevArr() {
+        
+        AtmiCtx ctx = new AtmiCtx();
+        assertNotEquals(ctx.getCtx(), 0x0);
+
+        TypedUbf ub = (TypedUbf)ctx.tpalloc("UBF", "", 1024);
+        assertNotEquals(ub, null);
+        
+        BExprTree [] trees = new BExprTree[] {
+            ctx.Bboolco("T_LONG_FLD==1"),
+            ctx.Bboolco("T_LONG_FLD>1"),
+            ctx.Bboolco("T_LONG_FLD>=1"),
+            ctx.Bboolco("T_STRING_FLD=='HELLO'")
+        };
+        
+        for (int i=0; i<1000; i++)
+        {
+            ub.Bchg(test.T_LONG_FLD, 0, 1);
+            ub.Bchg(test.T_STRING_FLD, 0, "HELLO");
+            
+            assertArrayEquals(new boolean[] {true, false, true, true}, 
+                    ub.Bboolev(trees));
+            assertEquals(0, ub.Bboolfirst(trees));
+            
+            ub.Bchg(test.T_LONG_FLD, 0, 2);
+            assertArrayEquals(new boolean[] {false, true, true, true}, 
+                    ub.Bboolev(trees));
+            assertEquals(1, ub.Bboolfirst(trees));
+            
+            ub.Bchg(test.T_LONG_FLD, 0, 0);
+            ub.Bchg(test.T_STRING_FLD, 0, "WORLD");
+            assertArrayEquals(new boolean[] {false, false, false, false}, 
+                    ub.Bboolev(trees));
+            assertEquals(-1, ub.Bboolfirst(trees));
+        }
+        
+        /* float evaluation */
+        BExprTree [] ftrees = new BExprTree[] {
+            ctx.Bboolco("T_LONG_FLD + 1"),
+            ctx.Bboolco("T_LONG_FLD * 2")
+        };
+        
+        ub.Bchg(test.T_LONG_FLD, 0, 5);
+        assertArrayEquals(new double[] {6, 10}, ub.Bfloatev(ftrees), 0.0001);
+        
+        for (BExprTree t : trees) {
+            t.cleanup();
+        }
+        
+        for (BExprTree t : ftrees) {
+            t.cleanup();
+        }
+        
+        ub.cleanup();
+        ctx.cleanup();
+    }
+    
     /**
      * Callback class for boolean expression evaluation...
      */
@@ -1,6 +1,7 @@
 import static org.junit.Assert.*;
 import org.junit.Test;
 import org.endurox.*;
+import org.endurox.exceptions.*;
 
 public class BchgTest {
     
@@ -152,4 +153,174 @@ public class BchgTest {
         assertArrayEquals("WORLD".getBytes(), ub.BgetByteArr(test.T_CARRAY_FLD, 1));
     }
   
+    /**
+     * Test indexed reads, index is rebuilt when buffer is changed
+     */
+    @Test
+    public void testUbfIndex() {
+        AtmiCtx ctx = new AtmiCtx();
+        assertNotEquals(ctx.getCtx(), 0x0);
+        TypedUbf ub = (TypedUbf)ctx.tpalloc("UBF", "", 1024);
+        assertNotEquals(ub, null);
+
+        for (int i=0; i<100; i++) {
+            ub.Bchg(test.T_LONG_FLD, i, (long)i);
+            ub.Bchg(test.T_STRING_FLD, i, "STR "+i);
+        }
+
+        ub.Bchg(test.T_SHORT_FLD, 0, (short)55);
+        ub.Bchg(test.T_CHAR_FLD, 0, (byte)'X');
+        ub.Bchg(test.T_FLOAT_FLD, 0, 1.5f);
+        ub.Bchg(test.T_DOUBLE_FLD, 0, 2.5);
+        ub.Bchg(test.T_CARRAY_FLD, 0, "HELLO".getBytes());
+
+        UbfIndex idx = new UbfIndex(ub);
+
+        assertEquals(205, idx.size());
+        assertTrue(idx.isValid());
+
+        for (int i=99; i>=0; i--) {
+            assertEquals(i, idx.BgetLong(test.T_LONG_FLD, i));
+            assertEquals("STR "+i, idx.BgetString(test.T_STRING_FLD, i));
+        }
+
+        assertEquals(55, idx.BgetShort(test.T_SHORT_FLD, 0));
+        assertEquals((byte)'X', idx.BgetByte(test.T_CHAR_FLD, 0));
+        assertEquals(1.5f, idx.BgetFloat(test.T_FLOAT_FLD, 0), 0.01);
+        assertEquals(2.5, idx.BgetDouble(test.T_DOUBLE_FLD, 0), 0.01);
+        assertArrayEquals("HELLO".getBytes(), idx.BgetByteArr(test.T_CARRAY_FLD, 0));
+
+        /* conversion goes to the buffer */
+        assertEquals("55", idx.BgetString(test.T_SHORT_FLD, 0));
+        assertTrue(idx.Bpres(test.T_LONG_FLD, 99));
+        assertFalse(idx.Bpres(test.T_LONG_FLD, 100));
+
+        /* modify the buffer, index must be refreshed */
+        ub.Bdel(test.T_STRING_FLD, 0);
+        assertFalse(idx.isValid());
+        assertEquals("STR 1", idx.BgetString(test.T_STRING_FLD, 0));
+        assertEquals(204, idx.size());
+
+        ub.Bchg(test.T_STRING_FLD, 0, "SOME LONGER VALUE");
+        assertEquals("SOME LONGER VALUE", idx.BgetString(test.T_STRING_FLD, 0));
+        assertEquals(99, idx.BgetLong(test.T_LONG_FLD, 99));
+
+        try {
+            idx.BgetLong(test.T_LONG_FLD, 100);
+            fail("Exception expected");
+        }
+        catch (UbfBNOTPRESException e) {
+            /* OK */
+        }
+
+        /* empty buffer gives empty index */
+        TypedUbf empty = (TypedUbf)ctx.tpalloc("UBF", "", 1024);
+        UbfIndex eidx = new UbfIndex(empty);
+        assertEquals(0, eidx.size());
+        assertTrue(eidx.isValid());
+        assertFalse(eidx.Bpres(test.T_LONG_FLD, 0));
+        empty.cleanup();
+
+        /* forced rebuild, for changes not seen via the wrapper */
+        assertTrue(idx.isValid());
+        idx.invalidate();
+        assertFalse(idx.isValid());
+        assertEquals(99, idx.BgetLong(test.T_LONG_FLD, 99));
+        assertTrue(idx.isValid());
+
+        ctx.cleanup();
+    }
+
+    /**
+     * Test non throwing getters
+     */
+    @Test
+    public void testBgetOr() {
+        AtmiCtx ctx = new AtmiCtx();
+        assertNotEquals(ctx.getCtx(), 0x0);
+        TypedUbf ub = (TypedUbf)ctx.tpalloc("UBF", "", 1024);
+        assertNotEquals(ub, null);
+
+        ub.Bchg(test.T_LONG_FLD, 0, 777L);
+        ub.Bchg(test.T_LONG_FLD, 1, Long.MIN_VALUE);
+        ub.Bchg(test.T_DOUBLE_FLD, 0, 1.5);
+        ub.Bchg(test.T_STRING_FLD, 0, "HELLO");
+
+        for (int i=0; i<10000; i++) {
+            
+            assertEquals(777L, ub.BgetLongOr(test.T_LONG_FLD, 0, -1));
+            assertEquals(-1L, ub.BgetLongOr(test.T_LONG_FLD, 2, -1));
+            assertEquals(-1L, ub.BgetLongOr(test.T_LONG_2_FLD, 0, -1));
+            assertEquals(1.5, ub.BgetDoubleOr(test.T_DOUBLE_FLD, 0, 9.0), 0.001);
+            assertEquals(9.0, ub.BgetDoubleOr(test.T_DOUBLE_FLD, 1, 9.0), 0.001);
+            assertEquals("HELLO", ub.BgetStringOr(test.T_STRING_FLD, 0, "X"));
+            assertEquals("X", ub.BgetStringOr(test.T_STRING_FLD, 1, "X"));
+            assertNull(ub.BgetStringOr(test.T_STRING_FLD, 1, null));
+
+            /* converted */
+            assertEquals("777", ub.BgetStringOr(test.T_LONG_FLD, 0, null));
+        }
+
+        assertEquals(777L, ub.BgetLongOpt(test.T_LONG_FLD, 0).getAsLong());
+        assertEquals(Long.MIN_VALUE, ub.BgetLongOpt(test.T_LONG_FLD, 1).getAsLong());
+        assertFalse(ub.BgetLongOpt(test.T_LONG_FLD, 2).isPresent());
+        assertEquals(1.5, ub.BgetDoubleOpt(test.T_DOUBLE_FLD, 0).getAsDouble(), 0.001);
+        assertFalse(ub.BgetDoubleOpt(test.T_DOUBLE_FLD, 1).isPresent());
+        assertEquals("HELLO", ub.BgetStringOpt(test.T_STRING_FLD, 0).get());
+        assertFalse(ub.BgetStringOpt(test.T_STRING_FLD, 1).isPresent());
+
+        /* other errors are still thrown */
+        try {
+            ub.BgetLongOr(-1, 0, 0);
+            fail("Exception expected");
+        }
+        catch (UbfBBADFLDException e) {
+            /* OK */
+        }
+
+        ctx.cleanup();
+    }
+
+    /**
+     * Test stackless exception mode
+     */
+    @Test
+    public void testStackless() {
+        AtmiCtx ctx = new AtmiCtx();
+        assertNotEquals(ctx.getCtx(), 0x0);
+        TypedUbf ub = (TypedUbf)ctx.tpalloc("UBF", "", 1024);
+        assertNotEquals(ub, null);
+
+        AtmiCtx.setStacklessExceptions(true);
+
+        try {
+            assertTrue(AtmiCtx.isStacklessExceptions());
+            
+            for (int i=0; i<1000; i++) {
+                try {
+                    ub.BgetLong(test.T_LONG_FLD, 0);
+                    fail("Exception expected");
+                }
+                catch (UbfBNOTPRESException e) {
+                    assertEquals(AtmiConst.BNOTPRES, e.getErrorCode());
+                    assertEquals(0, e.getStackTrace().length);
+                    assertTrue(e.getMessage().contains("BNOTPRES"));
+                }
+            }
+        }
+        finally {
+            AtmiCtx.setStacklessExceptions(false);
+        }
+
+        try {
+            ub.BgetLong(test.T_LONG_FLD, 0);
+            fail("Exception expected");
+        }
+        catch (UbfBNOTPRESException e) {
+            assertTrue(e.getStackTrace().length > 0);
+            assertNotNull(e.getMessage());
+        }
+
+        ctx.cleanup();
+    }
 }
@@ -1,6 +1,9 @@
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 import org.junit.Test;
 import static org.junit.Assert.*;
 import org.endurox.*;
+import org.endurox.exceptions.AtmiException;
 
 /**
  * Buffer field delete tests
@@ -90,4 +93,80 @@ public class BjsonTest {
             ctx.cleanup();
         }
     }
+    
+    /**
+     * UTF-8 byte oriented JSON conversion round trip
+     */
+    @Test
+    public void testJsonBytes() {
+        
+        AtmiCtx ctx = new AtmiCtx();
+        assertNotEquals(ctx.getCtx(), 0x0);
+        
+        TypedUbf ub = (TypedUbf)ctx.tpalloc("UBF", "", 1024);
+        ButilTest.loadTestData1(ub);
+        ub.Bchg(test.T_STRING_2_FLD, 0, "\u0161\u0101\u017e");
+        
+        ByteBuffer direct = ByteBuffer.allocateDirect(16*1024);
+        ByteBuffer heap = ByteBuffer.allocate(16*1024);
+        
+        for (int i=0; i<100; i++) {
+            
+            byte [] json = ub.tpubftojsonBytes();
+            
+            direct.clear();
+            assertEquals(json.length, ub.tpubftojson(direct));
+            assertEquals(json.length, direct.position());
+            
+            heap.clear();
+            heap.put((byte)'X');
+            assertEquals(json.length, ub.tpubftojson(heap));
+            assertArrayEquals(json, Arrays.copyOfRange(heap.array(), 1, 
+                    json.length+1));
+            
+            /* EOS is written, but not counted, the same for both paths */
+            assertEquals(0, direct.get(json.length));
+            assertEquals(0, heap.get(json.length+1));
+            
+            ByteBuffer exact = ByteBuffer.allocateDirect(json.length+1);
+            assertEquals(json.length, ub.tpubftojson(exact));
+            exact = ByteBuffer.allocate(json.length+1);
+            assertEquals(json.length, ub.tpubftojson(exact));
+            
+            /* no space for EOS */
+            try {
+                ub.tpubftojson(ByteBuffer.allocateDirect(json.length));
+                fail("direct buffer without EOS space accepted");
+            }
+            catch (AtmiException e) {
+                /* ok */
+            }
+            
+            try {
+                ub.tpubftojson(ByteBuffer.allocate(json.length));
+                fail("array buffer without EOS space accepted");
+            }
+            catch (AtmiException e) {
+                /* ok */
+            }
+            
+            /* load back from array range */
+            TypedUbf ub2 = (TypedUbf)ctx.tpalloc("UBF", "", 1024);
+            ub2.tpjsontoubf(heap.array(), 1, json.length);
+            assertEquals(0, ub.Bcmp(ub2));
+            assertEquals("\u0161\u0101\u017e", 
+                    ub2.BgetString(test.T_STRING_2_FLD, 0));
+            ub2.cleanup();
+            
+            /* load back from direct buffer */
+            direct.flip();
+            ub2 = (TypedUbf)ctx.tpalloc("UBF", "", 1024);
+            ub2.tpjsontoubf(direct);
+            assertEquals(0, ub.Bcmp(ub2));
+            ub2.cleanup();
+        }
+        
+        ub.cleanup();
+        ctx.cleanup();
+    }
 }
@@ -1,7 +1,15 @@
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.Reader;
+import java.nio.ByteBuffer;
 import java.nio.CharBuffer;
+import java.nio.channels.Pipe;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
 import static org.junit.Assert.*;
 import org.junit.Test;
 import org.endurox.*;
@@ -110,6 +118,102 @@ public class BprintTest {
         }
     }
     
+    /**
+     * Test buffer reading from text held in memory (byte array, 
+     * direct buffer, stream)
+     * @throws IOException
+     */
+    @Test
+    public void testExtreadMem() throws IOException {
+        
+        AtmiCtx ctx = new AtmiCtx();
+        assertNotEquals(ctx.getCtx(), 0x0);
+        
+        byte [] text = ("T_SHORT_FLD\t88\n"
+                + "T_SHORT_FLD\t-111\r\n"
+                + "T_LONG_FLD\t-2\n"
+                + "T_STRING_2_FLD\tHELLO\n"
+                + "T_CARRAY_2_FLD\t\\00\\01\\02\n").getBytes();
+        
+        ByteBuffer direct = ByteBuffer.allocateDirect(text.length);
+        direct.put(text);
+        
+        for (int i=0; i<300; i++)
+        {
+            TypedUbf ub = (TypedUbf)ctx.tpalloc("UBF", "", 1024);
+            assertNotEquals(ub, null);
+            
+            switch (i % 3)
+            {
+                case 0:
+                    ub.Bextread(text);
+                    break;
+                case 1:
+                    direct.flip();
+                    ub.Bextread(direct);
+                    assertEquals(false, direct.hasRemaining());
+                    direct.limit(direct.capacity());
+                    break;
+                default:
+                    ub.Bextread(new ByteArrayInputStream(text));
+                    break;
+            }
+            
+            assertEquals(88, ub.BgetShort(test.T_SHORT_FLD, 0));
+            assertEquals(-111, ub.BgetShort(test.T_SHORT_FLD, 1));
+            assertEquals(-2, ub.BgetLong(test.T_LONG_FLD, 0));
+            assertEquals("HELLO", ub.BgetString(test.T_STRING_2_FLD, 0));
+            assertArrayEquals(new byte [] {0x00, 0x01, 0x02}, 
+                    ub.BgetByteArr(test.T_CARRAY_2_FLD, 0));
+            ub.cleanup();
+        }
+        
+        ctx.cleanup();
+    }
+    
+    /**
+     * Print buffer to stream and string, read back with Bextread
+     * @throws IOException
+     */
+    @Test
+    public void testBfprint() throws IOException {
+        
+        AtmiCtx ctx = new AtmiCtx();
+        assertNotEquals(ctx.getCtx(), 0x0);
+        
+        TypedUbf ub = (TypedUbf)ctx.tpalloc("UBF", "", 1024);
+        ButilTest.loadTestData1(ub);
+        
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        ub.Bfprint(os);
+        
+        String print = ub.toPrintString();
+        assertEquals(new String(os.toByteArray(), "UTF-8"), print);
+        assertTrue(print.contains("T_STRING_FLD\tHELLO\n"));
+        
+        /* read back */
+        TypedUbf ub2 = (TypedUbf)ctx.tpalloc("UBF", "", 1024);
+        ub2.Bextread(os.toByteArray());
+        ButilTest.validateTestData(ub2);
+        
+        /* large buffer, several chunks */
+        TypedUbf big = (TypedUbf)ctx.tpalloc("UBF", "", 1024*1024);
+        
+        for (int i=0; i<10000; i++)
+        {
+            big.Badd(test.T_STRING_3_FLD, "HELLO WORLD "+i);
+        }
+        
+        print = big.toPrintString();
+        assertTrue(print.length() > 64*1024);
+        assertTrue(print.endsWith("T_STRING_3_FLD\tHELLO WORLD 9999\n"));
+        
+        big.cleanup();
+        ub2.cleanup();
+        ub.cleanup();
+        ctx.cleanup();
+    }
+    
     /**
      * Test buffer write/read functions
      */
@@ -139,6 +243,189 @@ public class BprintTest {
             ButilTest.validateTestData(ub2);
         }
     }
+    
+    /**
+     * Write/Read buffers to/from streams, several images in one stream
+     * @throws IOException 
+     */
+    @Test
+    public void testBwriteBreadStream() throws IOException {
+        
+        AtmiCtx ctx = new AtmiCtx();
+        assertNotEquals(ctx.getCtx(), 0x0);
+        
+        TypedUbf ub = (TypedUbf)ctx.tpalloc("UBF", "", 1024);
+        ButilTest.loadTestData1(ub);
+        
+        byte[] single = ub.Bwrite();
+        
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        
+        for (int i=0; i<100; i++)
+        {
+            ub.Bwrite(os);
+        }
+        
+        byte[] data = os.toByteArray();
+        
+        /* image must match the in-memory version */
+        assertEquals(single.length*100, data.length);
+        assertArrayEquals(single, Arrays.copyOf(data, single.length));
+        
+        ByteArrayInputStream is = new ByteArrayInputStream(data);
+        
+        for (int i=0; i<100; i++)
+        {
+            TypedUbf ub2 = (TypedUbf)ctx.tpalloc("UBF", "", 1024);
+            assertEquals(true, ub2.Bread(is));
+            ButilTest.validateTestData(ub2);
+            ub2.cleanup();
+        }
+        
+        /* stream is at the end */
+        TypedUbf ub2 = (TypedUbf)ctx.tpalloc("UBF", "", 1024);
+        assertEquals(false, ub2.Bread(is));
+        ub2.cleanup();
+        
+        ub.cleanup();
+        ctx.cleanup();
+    }
+    
+    /**
+     * Read from non-blocking pipe, data arrives in pieces with delays,
+     * reader waits for data on selector.
+     * @throws Exception 
+     */
+    @Test
+    public void testBreadNonBlocking() throws Exception {
+        
+        AtmiCtx ctx = new AtmiCtx();
+        assertNotEquals(ctx.getCtx(), 0x0);
+        
+        TypedUbf ub = (TypedUbf)ctx.tpalloc("UBF", "", 1024);
+        ButilTest.loadTestData1(ub);
+        
+        final byte[] data = ub.Bwrite();
+        final Pipe pipe = Pipe.open();
+        
+        pipe.source().configureBlocking(false);
+        
+        Thread t = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                
+                try {
+                    int half = data.length / 2;
+                    
+                    Thread.sleep(100);
+                    pipe.sink().write(ByteBuffer.wrap(data, 0, half));
+                    Thread.sleep(100);
+                    pipe.sink().write(ByteBuffer.wrap(data, half, 
+                            data.length - half));
+                    pipe.sink().close();
+                }
+                catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        });
+        t.start();
+        
+        TypedUbf ub2 = (TypedUbf)ctx.tpalloc("UBF", "", 1024);
+        assertEquals(true, ub2.Bread(pipe.source()));
+        ButilTest.validateTestData(ub2);
+        
+        t.join();
+        
+        /* sink closed -> end of stream */
+        assertEquals(false, ub2.Bread(pipe.source()));
+        pipe.source().close();
+        
+        ub2.cleanup();
+        ub.cleanup();
+        ctx.cleanup();
+    }
+    
+    /**
+     * Write UBF log with CRC & index and replay it
+     * @throws IOException 
+     */
+    @Test
+    public void testUbfLog() throws IOException {
+        
+        AtmiCtx ctx = new AtmiCtx();
+        assertNotEquals(ctx.getCtx(), 0x0);
+        
+        Path path = Files.createTempFile("ubflog", ".log");
+        Path idx = Paths.get(path.toString()+UbfLogWriter.INDEX_SUFFIX);
+        
+        try {
+            TypedUbf ub = (TypedUbf)ctx.tpalloc("UBF", "", 1024);
+            ButilTest.loadTestData1(ub);
+
+            UbfLogWriter w = new UbfLogWriter(path, 
+                    UbfLogWriter.FLAG_CRC | UbfLogWriter.FLAG_INDEX, 100, 0);
+
+            for (int i=0; i<1000; i++)
+            {
+                ub.Bchg(test.T_STRING_9_FLD, 0, String.valueOf(i));
+                w.append(ub);
+            }
+
+            w.close();
+            
+            /* sequential read, buffer reused */
+            UbfLogReader r = new UbfLogReader(path);
+            assertEquals(1000, r.count());
+            
+            TypedUbf ub2 = (TypedUbf)ctx.tpalloc("UBF", "", 128);
+            int i = 0;
+            
+            while (r.next(ub2))
+            {
+                ButilTest.validateTestData(ub2);
+                assertEquals(String.valueOf(i), 
+                        ub2.BgetString(test.T_STRING_9_FLD, 0));
+                i++;
+            }
+            
+            assertEquals(1000, i);
+            
+            /* random access */
+            r.seek(555);
+            TypedUbf ub3 = r.next(ctx);
+            assertEquals("555", ub3.BgetString(test.T_STRING_9_FLD, 0));
+            
+            r.close();
+            
+            ub3.cleanup();
+            ub2.cleanup();
+            ub.cleanup();
+        }
+        finally {
+            Files.deleteIfExists(path);
+            Files.deleteIfExists(idx);
+        }
+        
+        ctx.cleanup();
+    }
+    
+    /**
+     * Truncated stream shall give an error
+     * @throws IOException 
+     */
+    @Test(expected = org.endurox.exceptions.UbfException.class)
+    public void testBreadStreamTruncated() throws IOException {
+        
+        AtmiCtx ctx = new AtmiCtx();
+        assertNotEquals(ctx.getCtx(), 0x0);
+        
+        TypedUbf ub = (TypedUbf)ctx.tpalloc("UBF", "", 1024);
+        ButilTest.loadTestData1(ub);
+        
+        byte[] data = ub.Bwrite();
+        ub.Bread(new ByteArrayInputStream(Arrays.copyOf(data, data.length-1)));
+    }
 
 }
   
@@ -2,6 +2,8 @@ import static org.junit.Assert.*;
 import org.junit.Test;
 import org.endurox.*;
 import org.endurox.exceptions.*;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
 
 /**
  * Typed JSON buffer tests
@@ -54,4 +56,100 @@ public class TypedJsonTest {
         
         ctx.cleanup();
     }
+
+    /**
+     * Test JSON text streaming to/from the C buffer
+     */
+    @Test
+    public void testJsonStreams() throws IOException {
+        
+        AtmiCtx ctx = new AtmiCtx();
+        assertNotEquals(ctx.getCtx(), 0x0);
+        
+        for (int i=0; i<100; i++)
+        {
+            TypedJson jsn = ctx.newJson("{}");
+            
+            /* write bigger than allocated, in chunks */
+            StringBuilder sb = new StringBuilder("{\"T_STRING_FLD\":\"");
+            
+            for (int j=0; j<100; j++)
+            {
+                sb.append(BIGTEST);
+            }
+            
+            sb.append("\"}");
+            String cmp = sb.toString();
+            byte[] b = cmp.getBytes(StandardCharsets.UTF_8);
+            
+            OutputStream os = jsn.getOutputStream();
+            
+            for (int off=0; off<b.length; off+=1000)
+            {
+                os.write(b, off, Math.min(1000, b.length-off));
+            }
+            
+            os.close();
+            
+            assertEquals(cmp, jsn.getJSON());
+            
+            /* read back in chunks */
+            InputStream is = jsn.getInputStream();
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            byte[] chunk = new byte[777];
+            int n;
+            
+            while ((n = is.read(chunk, 0, chunk.length)) > 0)
+            {
+                bos.write(chunk, 0, n);
+            }
+            
+            assertEquals(-1, is.read());
+            assertArrayEquals(b, bos.toByteArray());
+            
+            /* single byte reads and writes, over the chunk boundaries */
+            if (0==i)
+            {
+                
+                int c;
+                
+                is = jsn.getInputStream();
+                bos.reset();
+                
+                while ((c = is.read()) >= 0)
+                {
+                    bos.write(c);
+                }
+                
+                assertArrayEquals(b, bos.toByteArray());
+                
+                os = jsn.getOutputStream();
+                
+                for (int k=0; k<b.length; k++)
+                {
+                    os.write(b[k]);
+                }
+                
+                os.close();
+                assertEquals(cmp, jsn.getJSON());
+            }
+            
+            /* overwrite with shorter text, buffer truncated */
+            os = jsn.getOutputStream();
+            os.write("[".getBytes(StandardCharsets.UTF_8));
+            os.write(']');
+            
+            /* collected in the stream until flush */
+            assertEquals("", jsn.getJSON());
+            os.flush();
+            assertEquals("[]", jsn.getJSON());
+            
+            is = jsn.getInputStream();
+            assertEquals('[', is.read());
+            assertEquals(']', is.read());
+            assertEquals(-1, is.read());
+        }
+        
+        ctx.cleanup();
+    }
 }
@@ -0,0 +1,221 @@
+import static org.junit.Assert.*;
+import org.junit.Test;
+import org.endurox.*;
+import org.endurox.exceptions.*;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import org.junit.Assume;
+
+/**
+ * VIEW buffer test
+ */
+public class TypedViewTest {
+
+    /**
+     * Test field access by name
+     */
+    @Test
+    public void testViewByName() {
+
+        AtmiCtx ctx = new AtmiCtx();
+        assertNotEquals(ctx.getCtx(), 0x0);
+
+        for (int i=0; i<1000; i++) {
+
+            TypedView v = ctx.newView("JVIEW1");
+
+            assertEquals("JVIEW1", v.getViewName());
+            assertTrue(v.Bvnull("tshort1", 0));
+
+            v.Bvchg("tshort1", 0, (short)i);
+            v.Bvchg("tlong1", 0, 100000000L+i);
+            v.Bvchg("tchar1", 0, (byte)'A');
+            v.Bvchg("tfloat1", 0, 1.5f);
+            v.Bvchg("tdouble1", 1, 2.25);
+            v.Bvchg("tstring1", 2, "HELLO "+i);
+            v.Bvchg("tcarray2", 0, new byte[]{1, 2, 3});
+
+            assertFalse(v.Bvnull("tshort1", 0));
+            assertEquals((short)i, v.BvgetShort("tshort1", 0));
+            assertEquals(100000000L+i, v.BvgetLong("tlong1", 0));
+            assertEquals((byte)'A', v.BvgetByte("tchar1", 0));
+            assertEquals(1.5f, v.BvgetFloat("tfloat1", 0), 0.001);
+            assertEquals(2.25, v.BvgetDouble("tdouble1", 1), 0.001);
+            assertEquals("HELLO "+i, v.BvgetString("tstring1", 2));
+            assertArrayEquals(new byte[]{1, 2, 3}, v.BvgetByteArr("tcarray2", 0));
+
+            /* conversion */
+            assertEquals(String.valueOf(i), v.BvgetString("tshort1", 0));
+
+            /* count field */
+            v.Bvchg("tshort2", 1, (short)5);
+            assertEquals(2, v.Bvoccur("tshort2"));
+            v.Bvsetoccur("tshort2", 1);
+            assertEquals(1, v.Bvoccur("tshort2"));
+
+            v.Bvselinit("tshort1");
+            assertTrue(v.Bvnull("tshort1", 0));
+        }
+
+        try {
+            ctx.newView("JVIEW1").Bvchg("no_such_field", 0, 1L);
+            fail("Exception expected");
+        }
+        catch (UbfException e) {
+            /* OK */
+        }
+
+        ctx.cleanup();
+    }
+
+    /**
+     * Test offset based field access
+     */
+    @Test
+    public void testViewByOffset() {
+
+        AtmiCtx ctx = new AtmiCtx();
+        assertNotEquals(ctx.getCtx(), 0x0);
+
+        for (int i=0; i<1000; i++) {
+
+            TypedView v = ctx.newView("JVIEW1");
+            ViewField [] f = v.Bvfields("tshort1", "tlong1", "tchar1",
+                    "tfloat1", "tdouble1", "tstring1", "tcarray1");
+
+            assertEquals(f[0].getOffset(), v.Bvfield("tshort1").getOffset());
+            assertEquals(3, f[5].getMaxocc());
+            assertEquals(20, f[5].getDimSize());
+
+            v.Bvchg(f[0], 0, (short)i);
+            v.Bvchg(f[1], 0, -5L-i);
+            v.Bvchg(f[2], 0, (byte)'B');
+            v.Bvchg(f[3], 0, 3.5f);
+            v.Bvchg(f[4], 1, 7.25);
+            v.Bvchg(f[5], 1, "WORLD "+i);
+            v.Bvchg(f[6], 0, new byte[]{9, 8});
+
+            /* offset written, name read */
+            assertEquals((short)i, v.BvgetShort("tshort1", 0));
+            assertEquals(-5L-i, v.BvgetLong("tlong1", 0));
+            assertEquals((byte)'B', v.BvgetByte("tchar1", 0));
+            assertEquals(3.5f, v.BvgetFloat("tfloat1", 0), 0.001);
+            assertEquals(7.25, v.BvgetDouble("tdouble1", 1), 0.001);
+            assertEquals("WORLD "+i, v.BvgetString("tstring1", 1));
+
+            /* name written, offset read */
+            v.Bvchg("tstring1", 0, "ABC");
+            assertEquals("ABC", v.BvgetString(f[5], 0));
+            assertEquals("WORLD "+i, v.BvgetString(f[5], 1));
+            assertEquals(7.25, v.BvgetDouble(f[4], 1), 0.001);
+            assertArrayEquals(new byte[]{9, 8, 0, 0, 0, 0, 0, 0, 0, 0},
+                    v.BvgetByteArr(f[6], 0));
+        }
+
+        TypedView v = ctx.newView("JVIEW1");
+        ViewField f = v.Bvfield("tstring1");
+
+        try {
+            v.Bvchg(f, 3, "X");
+            fail("Exception expected");
+        }
+        catch (UbfBEINVALException e) {
+            /* OK, invalid occurrence */
+        }
+
+        try {
+            v.Bvchg(f, 0, "THIS STRING IS LONGER THAN 20");
+            fail("Exception expected");
+        }
+        catch (UbfBNOSPACEException e) {
+            /* OK */
+        }
+
+        try {
+            v.BvgetLong(f, 0);
+            fail("Exception expected");
+        }
+        catch (UbfBEINVALException e) {
+            /* OK, type mismatch */
+        }
+
+        ctx.cleanup();
+    }
+
+    /**
+     * Test accessor generator
+     */
+    @Test
+    public void testViewGen() throws Exception {
+
+        Map<String, List<ViewGen.Field>> views;
+
+        try (BufferedReader in = new BufferedReader(new FileReader("test.v"))) {
+            views = ViewGen.parse(in);
+        }
+
+        assertEquals(1, views.size());
+        assertEquals(9, views.get("JVIEW1").size());
+
+        String src = ViewGen.generate("test.gen", "JVIEW1", views.get("JVIEW1"));
+
+        assertTrue(src.contains("package test.gen;"));
+        assertTrue(src.contains("public class JVIEW1 {"));
+        assertTrue(src.contains("public short getTshort1() {"));
+        assertTrue(src.contains("public void setTstring1(int occ, String v) {"));
+        assertTrue(src.contains("buf.Bvchg(\"tshort2\", occ, v);"));
+        assertTrue(src.contains("public int getTshort2Count() {"));
+        
+        /* compile and use the generated class */
+        JavaCompiler javac = ToolProvider.getSystemJavaCompiler();
+        Assume.assumeNotNull(javac);
+        
+        Path dir = Files.createTempDirectory("viewgen");
+        Path pkg = Files.createDirectories(dir.resolve("test/gen"));
+        Path java = pkg.resolve("JVIEW1.java");
+        Files.write(java, src.getBytes(StandardCharsets.UTF_8));
+        
+        String cp = "../../libsrc/enduroxjava.jar" + File.pathSeparator + 
+                System.getProperty("java.class.path");
+        
+        assertEquals(0, javac.run(null, null, null, "-cp", cp, "-d", 
+                dir.toString(), java.toString()));
+        
+        AtmiCtx ctx = new AtmiCtx();
+        
+        try (URLClassLoader cl = new URLClassLoader(new URL[]{dir.toUri().toURL()},
+                TypedViewTest.class.getClassLoader())) {
+            
+            Class<?> cls = cl.loadClass("test.gen.JVIEW1");
+            Object o = cls.getMethod("alloc", AtmiCtx.class).invoke(null, ctx);
+            
+            cls.getMethod("setTshort1", short.class).invoke(o, (short)77);
+            cls.getMethod("setTlong1", long.class).invoke(o, 123456789L);
+            cls.getMethod("setTstring1", int.class, String.class).invoke(o, 1, "GEN");
+            cls.getMethod("setTshort2", int.class, short.class).invoke(o, 1, (short)5);
+            
+            assertEquals((short)77, cls.getMethod("getTshort1").invoke(o));
+            assertEquals(123456789L, cls.getMethod("getTlong1").invoke(o));
+            assertEquals("GEN", cls.getMethod("getTstring1", int.class).invoke(o, 1));
+            assertEquals(2, cls.getMethod("getTshort2Count").invoke(o));
+            
+            /* same data seen by name based access */
+            TypedView v = (TypedView)cls.getMethod("getBuffer").invoke(o);
+            assertEquals((short)77, v.BvgetShort("tshort1", 0));
+            assertEquals("GEN", v.BvgetString("tstring1", 1));
+        }
+        
+        ctx.cleanup();
+    }
+}
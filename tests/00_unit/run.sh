@@ -43,6 +43,11 @@ export LANG=en_UK.UTF-8
 export NDRX_CCONFIG1=`pwd`/settings.ini
 export FIELDTBLS=Exfields,test.fd
 export FLDTBLDIR=`pwd`
+
+# compile the test views
+viewc test.v || exit 1
+export VIEWFILES=test.V
+export VIEWDIR=`pwd`
 unset NDRX_DEBUG_CONF
 
 #
@@ -84,6 +89,7 @@ else
     ./jexunit00b TypedJsonTest|| exit 14
     ./jexunit00b TypedCarrayTest|| exit 15
     ./jexunit00b TypedBufferTest || exit 16
+    ./jexunit00b TypedViewTest || exit 17
 
 fi
 
@@ -0,0 +1,15 @@
+#
+# Test views for Java unit tests
+#
+VIEW JVIEW1
+#type    cname      fbname              count   flag    size    null
+short    tshort1    -                   1       -       -       2000
+short    tshort2    -                   2       C       -       -
+long     tlong1     -                   1       -       -       0
+char     tchar1     -                   1       -       -       -
+float    tfloat1    -                   1       -       -       -
+double   tdouble1   -                   2       -       -       -
+string   tstring1   -                   3       -       20      -
+carray   tcarray1   -                   1       -       10      -
+carray   tcarray2   -                   1       L       10      -
+END
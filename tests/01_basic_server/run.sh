@@ -108,6 +108,15 @@ else
     trunc_logs;
     jexunit01b QueueTests || go_out 9
     trunc_logs;
+    # worker pool runs transactions on the queue space RM
+    NDRX_XA_RES_ID=2 \
+        NDRX_XA_OPEN_STR="datadir=${NDRX_APPHOME}/QTEST,qspace=MYSPACE" \
+        NDRX_XA_CLOSE_STR="datadir=${NDRX_APPHOME}/QTEST,qspace=MYSPACE" \
+        NDRX_XA_DRIVERLIB="libndrxxaqdisks.${NDRX_LIBEXT}" \
+        NDRX_XA_RMLIB="libndrxxaqdisk.${NDRX_LIBEXT}" \
+        NDRX_XA_LAZY_INIT=1 \
+        jexunit01b QueueWorkerTests || go_out 13
+    trunc_logs;
     jexunit01b TpBroadcastTests || go_out 8
     trunc_logs;
     jexunit01b TpNotifyTests || go_out 7
@@ -78,6 +78,7 @@ public class JServer01_2 implements Server, Service {
         //Notification servers:
         ctx.tpadvertise("GLOBNOTIF", "GlobNotif", new GlobNotif());
         ctx.tpadvertise("GLOBBROAD", "GlobBroad", new GlobBroad());
+        ctx.tpadvertise("MULTINOTIF", "MultiNotif", new MultiNotif());
         
         //for failed startup...
         return AtmiConst.SUCCEED;
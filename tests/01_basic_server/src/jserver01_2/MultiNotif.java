@@ -0,0 +1,35 @@
+import org.endurox.*;
+import java.util.*;
+
+/**
+ * Notify caller several times in single tpnotifyAll() call. Delivery
+ * results are returned in T_LONG_FLD occurrences.
+ */
+public class MultiNotif implements Service {
+
+    /**
+     * Send UBF notifications to the caller
+     */
+    public void tpService(AtmiCtx ctx, TpSvcInfo svcinfo) {
+        
+        TypedUbf ub = (TypedUbf)svcinfo.getData();
+        
+        ctx.tplogDebug("tpService MultiNotif called");
+        
+        TypedUbf b = (TypedUbf)ctx.tpalloc("UBF", "", 100);
+        b.Bchg(test.T_STRING_10_FLD, 5, "HELLO UBF FROM SERVICE");
+        
+        /* 3x delivered, null id is invalid */
+        List<ClientId> ids = Arrays.asList(svcinfo.getCltId(), 
+                svcinfo.getCltId(), null, svcinfo.getCltId());
+        
+        int [] res = ctx.tpnotifyAll(ids, b, 0);
+        b.cleanup();
+        
+        for (int i=0; i<res.length; i++) {
+            ub.Bchg(test.T_LONG_FLD, i, res[i]);
+        }
+        
+        ctx.tpreturn(AtmiConst.TPSUCCESS, 0, ub, 0);
+    }
+}
@@ -1,6 +1,8 @@
 import org.junit.Test;
 import static org.junit.Assert.*;
 import org.endurox.*;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Conversations tests
@@ -48,4 +50,57 @@ public class Conversations {
         ctx.cleanup();
     }
     
+    /**
+     * Conversation object API test: iterate received messages with buffer
+     * reuse and send the answers in single batch
+     */
+    @Test
+    public void convObjTest() {
+        
+        AtmiCtx ctx = new AtmiCtx();
+        assertNotEquals(ctx.getCtx(), 0x0);
+        
+        for (int i=0; i<50; i++) {
+            
+            TypedUbf ub = (TypedUbf)ctx.tpalloc("UBF", "", 1024);
+            
+            try (Conversation conv = Conversation.connect(ctx, "UBFCONV", 
+                    ub, 0)) {
+                
+                int rcv = 0;
+                TypedBuffer prev = null;
+                
+                for (TypedBuffer b : conv) {
+                    
+                    TypedUbf u = (TypedUbf)b;
+                    assertEquals(rcv + 3, u.BgetLong(test.T_LONG_FLD, 0));
+                    
+                    /* receive buffer is reused */
+                    if (null!=prev) {
+                        assertSame(prev, b);
+                    }
+                    
+                    prev = b;
+                    rcv++;
+                }
+                
+                assertEquals(100, rcv);
+                assertEquals(AtmiConst.TPEV_SENDONLY, conv.getLastEvent());
+                
+                List<TypedBuffer> bufs = new ArrayList<TypedBuffer>();
+                
+                for (int j=0; j<100; j++) {
+                    TypedUbf u = (TypedUbf)ctx.tpalloc("UBF", "", 1024);
+                    u.Bchg(test.T_LONG_FLD, 0, j + 7);
+                    bufs.add(u);
+                }
+                
+                assertEquals(100, conv.send(bufs, 0, 0));
+                assertEquals(0, conv.getLastEvent());
+            }
+        }
+        
+        ctx.cleanup();
+    }
+    
 }
@@ -1,9 +1,17 @@
 import org.junit.Test;
 import static org.junit.Assert.*;
 import org.endurox.*;
+import org.endurox.exceptions.AtmiException;
 import org.endurox.exceptions.AtmiTPEDIAGNOSTICException;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.not;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Queue tests
@@ -188,5 +196,189 @@ public class QueueTests {
         }
         ctx.cleanup();
     }    
+    
+    /**
+     * Queue consumer test, messages are delivered according to demand,
+     * empty queue does not stop the consumer
+     */
+    @Test
+    public void queueConsumerTest() throws InterruptedException {
+        
+        AtmiCtx ctx = new AtmiCtx();
+        assertNotEquals(ctx.getCtx(), 0x0);
+        
+        final int msgs = 200;
+        final CountDownLatch done = new CountDownLatch(msgs);
+        final AtomicLong sum = new AtomicLong();
+        final AtomicReference<Throwable> err = new AtomicReference<Throwable>();
+        final CountDownLatch complete = new CountDownLatch(1);
+        
+        QueueConsumer qc = new QueueConsumer("MYSPACE", "TESTQ");
+        qc.setThreads(2);
+        qc.setPrefetch(8);
+        qc.setBackoff(1, 50);
+        
+        qc.subscribe(new QueueConsumer.Subscriber() {
+            
+            QueueConsumer.Subscription s;
+            int got = 0;
+            long requested = 0;
+            
+            @Override
+            public void onSubscribe(QueueConsumer.Subscription subscription) {
+                s = subscription;
+                requested+=10;
+                s.request(10);
+            }
+            
+            @Override
+            public void onNext(TypedBuffer item) {
+                
+                sum.addAndGet(((TypedUbf)item).BgetLong(test.T_LONG_FLD, 0));
+                got++;
+                
+                /* delivery must stay within the demand */
+                if (got > requested) {
+                    err.compareAndSet(null, new AssertionError("delivered " 
+                            + got + " > requested " + requested));
+                }
+                
+                if (0==got % 10) {
+                    requested+=10;
+                    s.request(10);
+                }
+                done.countDown();
+            }
+            
+            @Override
+            public void onError(Throwable throwable) {
+                err.set(throwable);
+                complete.countDown();
+            }
+            
+            @Override
+            public void onComplete() {
+                complete.countDown();
+            }
+        });
+        
+        /* consumer polls empty queue in the mean time */
+        Thread.sleep(200);
+        
+        for (int i=0; i<msgs; i++) {
+            
+            TypedUbf ub = (TypedUbf)ctx.tpalloc("UBF", "", 1024);
+            ub.Bchg(test.T_LONG_FLD, 0, i);
+            ctx.tpenqueue("MYSPACE", "TESTQ", new TPQCTL(), ub, 0);
+        }
+        
+        assertTrue(done.await(60, TimeUnit.SECONDS));
+        
+        qc.close();
+        
+        assertTrue(complete.await(10, TimeUnit.SECONDS));
+        assertNull(err.get());
+        assertEquals((long)msgs * (msgs - 1) / 2, sum.get());
+        
+        ctx.cleanup();
+    }
+    
+    /**
+     * Batch enqueue, messages are read back by returned msgids
+     */
+    @Test
+    public void batchEnqueueTest() {
+        
+        AtmiCtx ctx = new AtmiCtx();
+        assertNotEquals(ctx.getCtx(), 0x0);
+        
+        for (int i=0; i<10; i++) {
+            
+            List<TypedBuffer> bufs = new ArrayList<TypedBuffer>();
+            
+            for (int j=0; j<100; j++) {
+                TypedUbf ub = (TypedUbf)ctx.tpalloc("UBF", "", 1024);
+                ub.Bchg(test.T_LONG_FLD, 0, i*1000+j);
+                bufs.add(ub);
+            }
+            
+            byte[] msgids = ctx.tpenqueueBatch("MYSPACE", "TESTQ", bufs, 
+                    new TPQCTL(), 0);
+            
+            assertEquals(100 * AtmiConst.TMMSGIDLEN, msgids.length);
+            
+            /* read back in reverse order */
+            for (int j=99; j>=0; j--) {
+                
+                TPQCTL ctl = new TPQCTL();
+                ctl.setMsgid(Arrays.copyOfRange(msgids, j*AtmiConst.TMMSGIDLEN, 
+                        (j+1)*AtmiConst.TMMSGIDLEN));
+                ctl.setFlags(AtmiConst.TPQGETBYMSGID);
+                
+                TypedUbf ub = (TypedUbf)ctx.tpdequeue("MYSPACE", "TESTQ", 
+                        ctl, null, 0);
+                assertEquals(i*1000+j, ub.BgetLong(test.T_LONG_FLD, 0));
+            }
+        }
+        
+        /* invalid queue name */
+        List<TypedBuffer> bufs = new ArrayList<TypedBuffer>();
+        bufs.add(ctx.tpalloc("UBF", "", 1024));
+        
+        try {
+            ctx.tpenqueueBatch("MYSPACE", "", bufs, new TPQCTL(), 0);
+            fail("Exception expected");
+        }
+        catch (AtmiException e) {
+            /* OK */
+        }
+        
+        ctx.cleanup();
+    }
+    
+    /**
+     * Lean control block, only selected fields are transferred
+     */
+    @Test
+    public void leanCtlTest() {
+        
+        AtmiCtx ctx = new AtmiCtx();
+        assertNotEquals(ctx.getCtx(), 0x0);
+        
+        TPQCTL enq = new TPQCTL(TPQCTL.XFER_MSGID);
+        TPQCTL deq = new TPQCTL(TPQCTL.XFER_MSGID);
+        byte[] enqId = enq.getMsgid();
+        byte[] deqId = deq.getMsgid();
+        byte[] msgid = new byte[AtmiConst.TMMSGIDLEN];
+        
+        for (int i=0; i<1000; i++) {
+            
+            TypedUbf ub = (TypedUbf)ctx.tpalloc("UBF", "", 1024);
+            ub.Bchg(test.T_LONG_FLD, 0, i);
+            
+            enq.setFlags(0);
+            enq.setReplyqueue("NOT_TRANSFERRED");
+            ctx.tpenqueue("MYSPACE", "TESTQ", enq, ub, 0);
+            
+            /* msgid updated in place, other fields untouched */
+            assertSame(enqId, enq.getMsgid());
+            assertEquals("NOT_TRANSFERRED", enq.getReplyqueue());
+            assertNull(enq.getCltid());
+            
+            enq.getMsgid(msgid);
+            deq.setMsgid(msgid, 0);
+            deq.setFlags(AtmiConst.TPQGETBYMSGID);
+            
+            ub = (TypedUbf)ctx.tpdequeue("MYSPACE", "TESTQ", deq, null, 0);
+            
+            assertEquals(i, ub.BgetLong(test.T_LONG_FLD, 0));
+            assertSame(deqId, deq.getMsgid());
+            assertArrayEquals(msgid, deq.getMsgid());
+            assertNull(deq.getCltid());
+        }
+        
+        ctx.cleanup();
+    }
+    
     /* TODO: Test queue with different buffer kinds... */
 }
@@ -0,0 +1,150 @@
+import org.junit.Test;
+import static org.junit.Assert.*;
+import org.endurox.*;
+import org.endurox.exceptions.AtmiTPEDIAGNOSTICException;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Queue worker pool tests. Requires XA settings of the queue space
+ * resource manager (see run.sh).
+ */
+public class QueueWorkerTests {
+    
+    /**
+     * Process messages with several workers in batches, with one
+     * failing message retried
+     */
+    @Test
+    public void workerPoolTest() throws InterruptedException {
+        
+        AtmiCtx ctx = new AtmiCtx();
+        assertNotEquals(ctx.getCtx(), 0x0);
+        
+        final int msgs = 500;
+        final Set<Long> got = Collections.synchronizedSet(new HashSet<Long>());
+        final AtomicInteger fails = new AtomicInteger(1);
+        
+        QueueWorkerPool pool = new QueueWorkerPool("MYSPACE", "TESTQ", 
+                new QueueWorkerPool.Handler() {
+            
+            @Override
+            public void handle(AtmiCtx ctx, TypedBuffer buf, TPQCTL ctl) {
+                
+                long v = ((TypedUbf)buf).BgetLong(test.T_LONG_FLD, 0);
+                
+                /* fail the first attempt of one message */
+                if (13==v && fails.getAndDecrement() > 0) {
+                    throw new RuntimeException("test failure");
+                }
+                
+                got.add(v);
+            }
+        });
+        
+        pool.setThreads(4);
+        pool.setBatch(10, 200);
+        pool.setRetries(2, 10);
+        pool.setBackoff(1, 50);
+        pool.start();
+        
+        for (int i=0; i<msgs; i++) {
+            
+            TypedUbf ub = (TypedUbf)ctx.tpalloc("UBF", "", 1024);
+            ub.Bchg(test.T_LONG_FLD, 0, i);
+            ctx.tpenqueue("MYSPACE", "TESTQ", new TPQCTL(), ub, 0);
+        }
+        
+        for (int i=0; i<600 && pool.getMetrics().getProcessed() < msgs; i++) {
+            Thread.sleep(100);
+        }
+        
+        pool.stop();
+        
+        QueueWorkerPool.Metrics m = pool.getMetrics();
+        ctx.tplogInfo("Pool metrics: %s", m.toString());
+        
+        assertEquals(msgs, m.getProcessed());
+        assertEquals(msgs, got.size());
+        assertEquals(1, m.getRetries());
+        assertEquals(0, m.getFailures());
+        assertEquals(0, m.getAborts());
+        assertTrue(m.getCommits() >= msgs / 10);
+        
+        ctx.cleanup();
+    }
+    
+    /**
+     * Queue becomes empty in the middle of the batch. Empty dequeue
+     * must not abort the transaction, batch shall be committed.
+     */
+    @Test
+    public void emptyQueueMidBatchTest() throws InterruptedException {
+        
+        AtmiCtx ctx = new AtmiCtx();
+        assertNotEquals(ctx.getCtx(), 0x0);
+        
+        final Set<Long> got = Collections.synchronizedSet(new HashSet<Long>());
+        
+        QueueWorkerPool pool = new QueueWorkerPool("MYSPACE", "TESTQ", 
+                new QueueWorkerPool.Handler() {
+            
+            @Override
+            public void handle(AtmiCtx ctx, TypedBuffer buf, TPQCTL ctl) {
+                got.add(((TypedUbf)buf).BgetLong(test.T_LONG_FLD, 0));
+            }
+        });
+        
+        /* batch is never full, nor timed out */
+        pool.setThreads(1);
+        pool.setBatch(100, 60000);
+        pool.setBackoff(1, 20);
+        pool.start();
+        
+        for (int round=1; round<=2; round++) {
+            
+            for (int i=0; i<5; i++) {
+                
+                TypedUbf ub = (TypedUbf)ctx.tpalloc("UBF", "", 1024);
+                ub.Bchg(test.T_LONG_FLD, 0, round*100+i);
+                ctx.tpenqueue("MYSPACE", "TESTQ", new TPQCTL(), ub, 0);
+            }
+            
+            for (int i=0; i<100 && pool.getMetrics().getProcessed() < round*5; i++) {
+                Thread.sleep(100);
+            }
+            
+            QueueWorkerPool.Metrics m = pool.getMetrics();
+            
+            assertEquals(round*5, m.getProcessed());
+            assertEquals(0, m.getAborts());
+            assertEquals(0, m.getFailures());
+            /* partial batch committed on empty queue */
+            assertTrue(m.getCommits() >= round);
+            assertTrue(m.getEmptyPolls() > 0);
+        }
+        
+        pool.stop();
+        
+        QueueWorkerPool.Metrics m = pool.getMetrics();
+        ctx.tplogInfo("Pool metrics: %s", m.toString());
+        
+        assertEquals(10, got.size());
+        assertEquals(0, m.getAborts());
+        
+        /* nothing redelivered */
+        TPQCTL ctl = new TPQCTL();
+        
+        try {
+            ctx.tpdequeue("MYSPACE", "TESTQ", ctl, null, 0);
+            fail("Queue shall be empty");
+        }
+        catch (AtmiTPEDIAGNOSTICException e) {
+            assertEquals(AtmiConst.QMENOMSG, e.getQctl().getDiagnostic());
+        }
+        
+        ctx.cleanup();
+    }
+}
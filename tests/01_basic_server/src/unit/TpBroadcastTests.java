@@ -5,6 +5,7 @@ import org.endurox.exceptions.AtmiTPEBLOCKException;
 import org.junit.Test;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.atomic.AtomicInteger;
 
 
 /**
@@ -325,4 +326,56 @@ public class TpBroadcastTests implements UnsolCallback, Runnable {
         ctx.cleanup();
     }
     
+    /**
+     * Background poller receives broadcasts with out polling by the
+     * test thread
+     */
+    @Test
+    public void pollerTest() throws InterruptedException {
+        
+        AtmiCtx ctx = new AtmiCtx();
+        assertNotEquals(ctx.getCtx(), 0x0);
+        
+        final AtomicInteger ubfs = new AtomicInteger();
+        final AtomicInteger errors = new AtomicInteger();
+        
+        UnsolPoller poller = new UnsolPoller();
+        poller.setWait(1, 20);
+        poller.addCallback(new UnsolCallback() {
+            
+            @Override
+            public void unsolCallback(AtmiCtx ctx, TypedBuffer buf, long flags) {
+                
+                if (null==buf || !"HELLO UBF FROM SERVICE".equals(
+                        ((TypedUbf)buf).BgetString(test.T_STRING_10_FLD, 5))) {
+                    errors.incrementAndGet();
+                }
+                else {
+                    ubfs.incrementAndGet();
+                }
+            }
+        });
+        
+        poller.start();
+        
+        for (int i=0; i<50; i++) {
+            
+            TypedUbf ub = (TypedUbf)ctx.tpalloc("UBF", "", 1024);
+            ctx.tpcall("GLOBBROAD", ub, 0);
+        }
+        
+        /* 4x matched broadcasts per call */
+        for (int i=0; i<400 && ubfs.get() < 200; i++) {
+            Thread.sleep(50);
+        }
+        
+        poller.close();
+        
+        assertEquals(200, ubfs.get());
+        assertEquals(0, errors.get());
+        assertEquals(200, poller.getReceived());
+        
+        ctx.cleanup();
+    }
+    
 }
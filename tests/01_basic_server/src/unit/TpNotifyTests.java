@@ -3,6 +3,10 @@ import org.endurox.*;
 import org.endurox.exceptions.AtmiException;
 import org.endurox.exceptions.UbfBNOTPRESException;
 import org.junit.Test;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Perform tpnotify tests
@@ -200,4 +204,117 @@ public class TpNotifyTests implements UnsolCallback {
         ctx.cleanup();
     }
     
+    /**
+     * Unsolicited messages dispatched on executor, in order, with buffer
+     * ownership passed to the callback
+     */
+    @Test
+    public void asyncNotifyTest() throws InterruptedException {
+        
+        final AtmiCtx ctx = new AtmiCtx();
+        assertNotEquals(ctx.getCtx(), 0x0);
+        
+        final AtomicInteger got = new AtomicInteger();
+        final AtomicInteger inflight = new AtomicInteger();
+        final AtomicInteger errors = new AtomicInteger();
+        
+        ExecutorService exec = Executors.newFixedThreadPool(4);
+        UnsolDispatcher disp = new UnsolDispatcher(exec, 1000, 
+                UnsolDispatcher.Overflow.BLOCK);
+        
+        ctx.tpsetunsol(new UnsolCallback() {
+            
+            @Override
+            public void unsolCallback(AtmiCtx cbctx, TypedBuffer buf, long flags) {
+                
+                /* lane delivers one at a time */
+                if (1!=inflight.incrementAndGet() || cbctx==ctx) {
+                    errors.incrementAndGet();
+                }
+                
+                /* buffer is owned copy, valid on this thread */
+                TypedUbf ub = (TypedUbf)buf;
+                
+                if (!"HELLO UBF FROM SERVICE".equals(
+                        ub.BgetString(test.T_STRING_10_FLD, 5))) {
+                    errors.incrementAndGet();
+                }
+                
+                ub.cleanup();
+                got.incrementAndGet();
+                inflight.decrementAndGet();
+            }
+        }, disp);
+        
+        for (int i=0; i<200; i++) {
+            TypedUbf ub = (TypedUbf)ctx.tpalloc("UBF", "", 1024);
+            ctx.tpcall("GLOBNOTIF", ub, 0);
+        }
+        
+        for (int i=0; i<4000 && got.get() < 200; i++) {
+            ctx.tpchkunsol();
+            Thread.sleep(10);
+        }
+        
+        exec.shutdown();
+        assertTrue(exec.awaitTermination(10, TimeUnit.SECONDS));
+        
+        assertEquals(200, got.get());
+        assertEquals(0, errors.get());
+        assertEquals(0, disp.getDropped());
+        assertEquals(200, disp.getDelivered());
+        
+        /* drained lanes are released, contexts kept for reuse */
+        assertEquals(0, disp.getLanes());
+        assertTrue(disp.getContexts() >= 1);
+        assertTrue(disp.getContexts() <= 4);
+        
+        /* executor rejects: message dropped, lane not stuck */
+        TypedUbf ub = (TypedUbf)ctx.tpalloc("UBF", "", 1024);
+        ctx.tpcall("GLOBNOTIF", ub, 0);
+        
+        for (int i=0; i<1000 && 0==disp.getDropped(); i++) {
+            ctx.tpchkunsol();
+            Thread.sleep(10);
+        }
+        
+        assertEquals(1, disp.getDropped());
+        assertEquals(0, disp.getLanes());
+        
+        ctx.tpsetunsol(null, null);
+        disp.close();
+        assertEquals(0, disp.getContexts());
+        ctx.cleanup();
+    }
+    
+    /**
+     * Notify list of clients in one call, failures are returned per client
+     */
+    @Test
+    public void notifyAllTest() {
+        
+        AtmiCtx ctx = new AtmiCtx();
+        assertNotEquals(ctx.getCtx(), 0x0);
+        
+        ctx.tpsetunsol(this);
+        
+        for (int i=0; i<100; i++) {
+            
+            nrubf = 0;
+            
+            TypedUbf ub = (TypedUbf)ctx.tpalloc("UBF", "", 1024);
+            ctx.tpcall("MULTINOTIF", ub, 0);
+            
+            assertEquals(3, nrubf);
+            assertEquals(4, ub.Boccur(test.T_LONG_FLD));
+            assertEquals(0, ub.BgetLong(test.T_LONG_FLD, 0));
+            assertEquals(0, ub.BgetLong(test.T_LONG_FLD, 1));
+            assertEquals(AtmiConst.TPEINVAL, ub.BgetLong(test.T_LONG_FLD, 2));
+            assertEquals(0, ub.BgetLong(test.T_LONG_FLD, 3));
+            ub.cleanup();
+        }
+        
+        ctx.cleanup();
+    }
+    
 }
@@ -104,5 +104,22 @@ if [ "X$RET" != "X0" ]; then
 	go_out 1
 fi
 
+#
+# Running client 03 with pooled XA connections, server pooled too,
+# test runs far more transactions than pool maxsize
+#
+xadmin stop -i 340
+xadmin start -i 341
+
+echo "Running jclient03b... 3 (XA pool)"
+NDRX_CCTAG=DB1_JDBC_POOL/DEBUG jexunit03b XAPgTests > $NDRX_APPHOME/log/jexunit03b-pool.log 2>&1
+
+RET=$?
+
+if [ "X$RET" != "X0" ]; then
+	echo "jexunit03b failed 3"
+	go_out 1
+fi
+
 
 go_out 0
@@ -32,8 +32,28 @@ public class JServer03 implements Server, Service {
         ctx.tplogInfo("Running stmt: [%s]", sql);
         
         try {
-            // insert the data
-            statement.executeUpdate(sql);
+            
+            if (null!=AtmiCtx.getXaPool()) {
+                
+                /* pooled connection is valid only in the branch */
+                Statement stmt = ctx.tpgetconn().createStatement();
+                
+                try {
+                    stmt.executeUpdate(sql);
+                }
+                finally {
+                    stmt.close();
+                }
+                
+                ctx.tplogInfo("XA pool: total %d active %d reserved %d", 
+                        AtmiCtx.getXaPool().getTotal(), 
+                        AtmiCtx.getXaPool().getActive(),
+                        AtmiCtx.getXaPool().getReserved());
+            }
+            else {
+                // insert the data
+                statement.executeUpdate(sql);
+            }
         }
         catch (Exception e) {
             ctx.tplogex(AtmiConst.LOG_ERROR, "Failed to run update", e);
@@ -57,6 +77,12 @@ public class JServer03 implements Server, Service {
         /* Open Connection */
         ctx.tpopen();
         
+        /* with XA pool, connection is taken in the service */
+        if (null!=AtmiCtx.getXaPool()) {
+            ctx.tpadvertise("DoTran", "DoTran", this);
+            return AtmiConst.SUCCEED;
+        }
+        
         try {
             conn = ctx.tpgetconn();
             // create a Statement from the connection
@@ -81,6 +107,11 @@ public class JServer03 implements Server, Service {
     public void tpSvrDone(AtmiCtx ctx) {
         ctx.tplogDebug("Into tpSvrDone()");
         
+        if (null==conn) {
+            ctx.tpclose();
+            return;
+        }
+        
         try {
             statement.close();
         } catch (Exception e) {
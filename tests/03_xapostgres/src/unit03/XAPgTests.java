@@ -27,6 +27,27 @@ public class XAPgTests implements  Runnable {
         shutdownReq = true;
     }
     
+    /**
+     * Begin transaction. With XA connection pool the connection is valid
+     * only inside of the transaction, thus get it again.
+     * @param ctx Atmi Context
+     * @param timeout transaction timeout
+     */
+    void begin(AtmiCtx ctx, long timeout) {
+        
+        ctx.tpbegin(timeout, 0);
+        
+        if (null!=AtmiCtx.getXaPool()) {
+            
+            try {
+                conn = ctx.tpgetconn();
+            } catch (SQLException e) {
+                ctx.tplogex(AtmiConst.LOG_ERROR, "Failed to get conn", e);
+                throw new RuntimeException(e);
+            }
+        }
+    }
+    
     /**
      * Delete all records from db
      * TODO: try xid 64?
@@ -37,7 +58,7 @@ public class XAPgTests implements  Runnable {
         Statement stmt = null;
         
         tranStarted = true;
-        ctx.tpbegin(60, 0);
+        begin(ctx, 60);
         /* delete all if error then abort... */
         String sql = "delete from EXJTEST";
         
@@ -91,7 +112,7 @@ public class XAPgTests implements  Runnable {
         if (ctx.tpgetlev() == 0) {
             
             tranStarted = true;
-            ctx.tpbegin(60, 0);
+            begin(ctx, 60);
         }
         
         /* delete all if error then abort... */
@@ -159,11 +180,35 @@ public class XAPgTests implements  Runnable {
         
         ctx.tpopen();
         
-        try {
-            conn = ctx.tpgetconn();
-        }  catch (SQLException e) {
-            ctx.tplogex(AtmiConst.LOG_ERROR, "Failed to get conn", e);
-            assertEquals(null, e);
+        if (null!=AtmiCtx.getXaPool()) {
+            
+            /* pooled connection is not available outside of transaction */
+            try {
+                ctx.tpgetconn();
+                fail("SQLException expected");
+            } catch (SQLException e) {
+                /* OK */
+            }
+            
+            begin(ctx, 60);
+            Connection tmp = conn;
+            ctx.tpabort(0);
+            
+            /* handle is closed when branch ends */
+            try {
+                assertTrue(tmp.isClosed());
+            } catch (SQLException e) {
+                assertEquals(null, e);
+            }
+        }
+        else {
+            
+            try {
+                conn = ctx.tpgetconn();
+            }  catch (SQLException e) {
+                ctx.tplogex(AtmiConst.LOG_ERROR, "Failed to get conn", e);
+                assertEquals(null, e);
+            }
         }
         
         assertNotNull(conn);
@@ -230,7 +275,7 @@ public class XAPgTests implements  Runnable {
             TPTRANID tx1 =  ctx.tpsuspend(0);
             assertNotNull(tx1);
             
-            ctx.tpbegin(20, 0);
+            begin(ctx, 20);
             
             chkCount(ctx, 0);
             
@@ -270,6 +315,23 @@ public class XAPgTests implements  Runnable {
             assertEquals(null, e);
         }
         
+        /* branches are started and ended in this process */
+        XaStats st = AtmiCtx.getXaStats();
+        assertTrue(st.getCalls(XaStats.XA_START) > 0);
+        assertEquals(st.getCalls(XaStats.XA_START), st.getCalls(XaStats.XA_END));
+        assertEquals(0, st.getErrors(XaStats.XA_START));
+        ctx.tplogInfo("%s", st);
+        
+        /* hundreds of branches over 5 connections: none are kept after end */
+        XaConnectionPool pool = AtmiCtx.getXaPool();
+        
+        if (null!=pool) {
+            assertTrue(st.getCalls(XaStats.XA_START) > 5);
+            assertEquals(0, pool.getReserved());
+            assertEquals(0, pool.getActive());
+            assertTrue(pool.getTotal() <= 5);
+        }
+        
         ctx.tplogError("Ending UP!");
         /*
         ctx.tpclose();